@@ -0,0 +1,129 @@
+package devtechly.aop.observation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aspect de mesure des composants de l'application, prévu pour rester actif en production.
+ * <p>
+ * Sur les mêmes points de coupe que {@link devtechly.aop.logging.LoggingAspect}, il enregistre :
+ * <ul>
+ *     <li>la durée de chaque méthode, dans le timer {@code method.timed} (étiquettes {@code class}, {@code method},
+ *     {@code exception}), le nom utilisé par l'annotation {@code @Timed} de Micrometer ;</li>
+ *     <li>le nombre de requêtes SQL de chaque appel le plus externe (la méthode REST pour une requête HTTP), dans
+ *     {@code app.request.statements}, avec un avertissement au-delà du seuil pour repérer les requêtes N+1 ;</li>
+ *     <li>les appels plus longs que le seuil configuré, journalisés avec leur nombre de requêtes SQL.</li>
+ * </ul>
+ * Les arguments ne sont jamais convertis en texte ; les meters sont créés une fois par méthode.
+ */
+@Aspect
+public class ObservationAspect {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ObservationAspect.class);
+
+    static final String TIMER_NAME = "method.timed";
+
+    static final String STATEMENTS_NAME = "app.request.statements";
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final MeterRegistry registry;
+    private final long slowCallThresholdNanos;
+    private final int statementThreshold;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param slowCallThreshold  durée au-delà de laquelle un appel est journalisé.
+     * @param statementThreshold nombre de requêtes SQL au-delà duquel un appel externe est signalé.
+     */
+    public ObservationAspect(MeterRegistry registry, Duration slowCallThreshold, int statementThreshold) {
+        this.registry = registry;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+        this.statementThreshold = statementThreshold;
+    }
+
+    @Around("devtechly.aop.logging.LoggingAspect.applicationPackagePointcut() && devtechly.aop.logging.LoggingAspect.springBeanPointcut()")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] depth = DEPTH.get();
+        boolean outermost = depth[0]++ == 0;
+        long statementsBefore = StatementCounter.current();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            depth[0]--;
+            record(joinPoint, elapsed, StatementCounter.current() - statementsBefore, outermost, failure);
+        }
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, long elapsed, long statements, boolean outermost, Throwable failure) {
+        Meters methodMeters = meters.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::meters);
+        if (failure == null) {
+            methodMeters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+        } else {
+            timer(methodMeters.className, methodMeters.methodName, failure.getClass().getSimpleName()).record(
+                elapsed,
+                TimeUnit.NANOSECONDS
+            );
+        }
+        if (outermost) {
+            methodMeters.statements.record(statements);
+            if (statements > statementThreshold) {
+                LOG.warn(
+                    "{}.{}() a exécuté {} requêtes SQL (seuil {}) : requêtes N+1 probables",
+                    methodMeters.className,
+                    methodMeters.methodName,
+                    statements,
+                    statementThreshold
+                );
+            }
+        }
+        if (elapsed > slowCallThresholdNanos) {
+            LOG.warn(
+                "Appel lent : {}.{}() en {} ms, {} requêtes SQL",
+                methodMeters.className,
+                methodMeters.methodName,
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                statements
+            );
+        }
+    }
+
+    private Meters meters(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        String methodName = method.getName();
+        DistributionSummary statements = DistributionSummary.builder(STATEMENTS_NAME)
+            .description("Requêtes SQL exécutées par appel externe (requête HTTP, tâche planifiée...)")
+            .tag("class", className)
+            .tag("method", methodName)
+            .register(registry);
+        return new Meters(className, methodName, timer(className, methodName, "none"), statements);
+    }
+
+    private Timer timer(String className, String methodName, String exception) {
+        return Timer.builder(TIMER_NAME)
+            .tag("class", className)
+            .tag("method", methodName)
+            .tag("exception", exception)
+            .register(registry);
+    }
+
+    private record Meters(String className, String methodName, Timer timer, DistributionSummary statements) {}
+}
@@ -0,0 +1,22 @@
+package devtechly.aop.observation;
+
+/**
+ * Nombre de requêtes SQL exécutées par le thread courant depuis son démarrage.
+ * <p>
+ * Le compteur ne fait que croître : on mesure les requêtes d'un appel par différence entre deux lectures, sans rien
+ * remettre à zéro. Un incrément coûte une lecture de {@link ThreadLocal}.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private StatementCounter() {}
+
+    public static void increment() {
+        COUNT.get()[0]++;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,97 @@
+package devtechly.aop.observation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} qui compte dans {@link StatementCounter} chaque exécution de requête SQL ({@code execute*}),
+ * quelle qu'en soit l'origine : Hibernate, {@code JdbcTemplate}, Liquibase...
+ * <p>
+ * Les connexions et les requêtes du pool sont enveloppées dans des proxys qui ne font que compter ; un lot
+ * ({@code executeBatch}) compte pour un aller-retour.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        ClassLoader classLoader = StatementCountingDataSource.class.getClassLoader();
+        return (T) Proxy.newProxyInstance(classLoader, new Class<?>[] { type }, new Counting(target));
+    }
+
+    private static final class Counting implements InvocationHandler {
+
+        private final Object target;
+
+        private Counting(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    if (name.startsWith("execute")) {
+                        StatementCounter.increment();
+                    }
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (method.getDeclaringClass() != Connection.class) {
+                return result;
+            }
+            // createStatement, prepareStatement, prepareCall
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement);
+            }
+            return result;
+        }
+    }
+}
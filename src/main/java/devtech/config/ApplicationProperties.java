@@ -1,5 +1,8 @@
 package devtechly.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DataSizeUnit;
 import org.springframework.util.unit.DataSize;
@@ -16,6 +19,16 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
     private final Upload upload = new Upload();
+    private final Outbox outbox = new Outbox();
+    private final NotificationStream notificationStream = new NotificationStream();
+    private final ActivityJournal activityJournal = new ActivityJournal();
+    private final ActivityTimeline activityTimeline = new ActivityTimeline();
+    private final Retention retention = new Retention();
+    private final Invoice invoice = new Invoice();
+    private final JwtCache jwtCache = new JwtCache();
+    private final LoginThrottle loginThrottle = new LoginThrottle();
+    private final UserCache userCache = new UserCache();
+    private final Observation observation = new Observation();
 
     // jhipster-needle-application-properties-property
 
@@ -27,6 +40,46 @@ public class ApplicationProperties {
         return upload;
     }
 
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public NotificationStream getNotificationStream() {
+        return notificationStream;
+    }
+
+    public ActivityJournal getActivityJournal() {
+        return activityJournal;
+    }
+
+    public ActivityTimeline getActivityTimeline() {
+        return activityTimeline;
+    }
+
+    public Retention getRetention() {
+        return retention;
+    }
+
+    public Invoice getInvoice() {
+        return invoice;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public LoginThrottle getLoginThrottle() {
+        return loginThrottle;
+    }
+
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    public Observation getObservation() {
+        return observation;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -49,6 +102,11 @@ public class ApplicationProperties {
         @DataSizeUnit(DataUnit.MEGABYTES)
         private DataSize maxFileSize = DataSize.ofMegabytes(5);
 
+        private final Storage storage = new Storage();
+
+        /** Tailles (plus grand côté, en pixels) des aperçus générés pour les images et les PDF déposés */
+        private List<Integer> previewSizes = new ArrayList<>(List.of(160, 480));
+
         public String getPath() {
             return path;
         }
@@ -68,6 +126,634 @@ public class ApplicationProperties {
         public long getMaxFileSizeInBytes() {
             return maxFileSize.toBytes();
         }
+
+        public Storage getStorage() {
+            return storage;
+        }
+
+        public List<Integer> getPreviewSizes() {
+            return previewSizes;
+        }
+
+        public void setPreviewSizes(List<Integer> previewSizes) {
+            this.previewSizes = previewSizes;
+        }
+
+        /**
+         * Moteur de stockage des fichiers déposés : "local" (disque, sous {@code path}) ou "s3" (API compatible S3).
+         */
+        public static class Storage {
+
+            private String type = "local";
+
+            /** Nombre de niveaux de sous-dossiers (2 caractères du hash chacun) */
+            private int shardDepth = 2;
+
+            private final S3 s3 = new S3();
+
+            public String getType() {
+                return type;
+            }
+
+            public void setType(String type) {
+                this.type = type;
+            }
+
+            public int getShardDepth() {
+                return shardDepth;
+            }
+
+            public void setShardDepth(int shardDepth) {
+                this.shardDepth = shardDepth;
+            }
+
+            public S3 getS3() {
+                return s3;
+            }
+        }
+
+        public static class S3 {
+
+            private String endpoint;
+            private String region = "us-east-1";
+            private String bucket;
+            private String accessKey;
+            private String secretKey;
+
+            public String getEndpoint() {
+                return endpoint;
+            }
+
+            public void setEndpoint(String endpoint) {
+                this.endpoint = endpoint;
+            }
+
+            public String getRegion() {
+                return region;
+            }
+
+            public void setRegion(String region) {
+                this.region = region;
+            }
+
+            public String getBucket() {
+                return bucket;
+            }
+
+            public void setBucket(String bucket) {
+                this.bucket = bucket;
+            }
+
+            public String getAccessKey() {
+                return accessKey;
+            }
+
+            public void setAccessKey(String accessKey) {
+                this.accessKey = accessKey;
+            }
+
+            public String getSecretKey() {
+                return secretKey;
+            }
+
+            public void setSecretKey(String secretKey) {
+                this.secretKey = secretKey;
+            }
+        }
+    }
+
+    /**
+     * Dispatcher de l'outbox des tickets : taille des lots et politique de nouvelle tentative.
+     */
+    public static class Outbox {
+
+        /** Délai entre deux passes du dispatcher (lu par {@code @Scheduled}) */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        private int batchSize = 50;
+
+        private int maxAttempts = 8;
+
+        /** Délai avant la 2e tentative, doublé à chaque échec */
+        private Duration initialBackoff = Duration.ofSeconds(10);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        /** Durée de réservation d'un lot : passé ce délai, un lot non acquitté (instance arrêtée) est repris */
+        private Duration lease = Duration.ofMinutes(5);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+    }
+
+    /**
+     * Flux SSE des notifications ({@code /api/notifications/stream}).
+     */
+    public static class NotificationStream {
+
+        /** Durée de vie d'une connexion ; le navigateur se reconnecte ensuite avec Last-Event-ID */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /** Intervalle des commentaires "ping", inférieur aux délais d'inactivité des proxys (lu par {@code @Scheduled}) */
+        private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+        /** Nombre maximal de notifications renvoyées à la reconnexion */
+        private int replayLimit = 100;
+
+        /** Connexions simultanées par utilisateur (onglets) ; au-delà, la plus ancienne est fermée */
+        private int maxConnectionsPerUser = 5;
+
+        /** Threads d'envoi : les écritures sur les connexions ne se font jamais sur le thread qui a validé la transaction */
+        private int sendThreads = 2;
+
+        /** Lots d'envoi en attente ; au-delà, le lot est abandonné et rattrapé par Last-Event-ID à la reconnexion */
+        private int sendQueueCapacity = 1_000;
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public int getReplayLimit() {
+            return replayLimit;
+        }
+
+        public void setReplayLimit(int replayLimit) {
+            this.replayLimit = replayLimit;
+        }
+
+        public int getMaxConnectionsPerUser() {
+            return maxConnectionsPerUser;
+        }
+
+        public void setMaxConnectionsPerUser(int maxConnectionsPerUser) {
+            this.maxConnectionsPerUser = maxConnectionsPerUser;
+        }
+
+        public int getSendThreads() {
+            return sendThreads;
+        }
+
+        public void setSendThreads(int sendThreads) {
+            this.sendThreads = sendThreads;
+        }
+
+        public int getSendQueueCapacity() {
+            return sendQueueCapacity;
+        }
+
+        public void setSendQueueCapacity(int sendQueueCapacity) {
+            this.sendQueueCapacity = sendQueueCapacity;
+        }
+    }
+
+    /**
+     * Journal d'activités en écriture différée : file bornée vidée par lots JDBC.
+     */
+    public static class ActivityJournal {
+
+        /** Taille maximale de la file ; au-delà, l'appelant écrit lui-même son activité (contre-pression) */
+        private int capacity = 10_000;
+
+        /** Nombre d'activités par lot, et seuil qui déclenche un vidage sans attendre l'intervalle */
+        private int batchSize = 200;
+
+        private Duration flushInterval = Duration.ofMillis(500);
+
+        /** Tentatives d'écriture d'un lot avant de l'abandonner */
+        private int maxAttempts = 3;
+
+        /** Délai avant la deuxième tentative, doublé à chaque nouvel échec */
+        private Duration retryBackoff = Duration.ofMillis(200);
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+    }
+
+    /**
+     * Fil des activités récentes gardé en mémoire (tableaux de bord).
+     */
+    public static class ActivityTimeline {
+
+        /** Activités récentes gardées pour l'ensemble des utilisateurs */
+        private int globalSize = 200;
+
+        /** Activités récentes gardées par utilisateur */
+        private int perUserSize = 50;
+
+        /** Utilisateurs dont le fil est gardé en mémoire (les moins récemment consultés sont oubliés) */
+        private int maxUsers = 5_000;
+
+        /** Durée avant rechargement d'un fil : retard maximal sur une activité écrite par une autre instance */
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        public int getGlobalSize() {
+            return globalSize;
+        }
+
+        public void setGlobalSize(int globalSize) {
+            this.globalSize = globalSize;
+        }
+
+        public int getPerUserSize() {
+            return perUserSize;
+        }
+
+        public void setPerUserSize(int perUserSize) {
+            this.perUserSize = perUserSize;
+        }
+
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+        public void setMaxUsers(int maxUsers) {
+            this.maxUsers = maxUsers;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    /**
+     * Archivage puis purge des activités et notifications anciennes.
+     */
+    public static class Retention {
+
+        private boolean enabled = true;
+
+        /** Planification de la purge (lue par {@code @Scheduled}) */
+        private String cron = "0 30 1 * * ?";
+
+        /** Répertoire des archives NDJSON compressées, un sous-répertoire par table */
+        private String archivePath = "archives";
+
+        private Duration activityHorizon = Duration.ofDays(365);
+
+        private Duration notificationHorizon = Duration.ofDays(180);
+
+        /** Lignes archivées puis supprimées par requête : chaque suppression ne verrouille que ces lignes */
+        private int chunkSize = 500;
+
+        /** Pause entre deux lots, pour laisser passer le trafic applicatif et la réplication */
+        private Duration chunkPause = Duration.ofMillis(100);
+
+        /** Durée maximale du verrou entre instances : libéré en fin de purge, repris après un arrêt brutal */
+        private Duration lockAtMost = Duration.ofHours(6);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public String getArchivePath() {
+            return archivePath;
+        }
+
+        public void setArchivePath(String archivePath) {
+            this.archivePath = archivePath;
+        }
+
+        public Duration getActivityHorizon() {
+            return activityHorizon;
+        }
+
+        public void setActivityHorizon(Duration activityHorizon) {
+            this.activityHorizon = activityHorizon;
+        }
+
+        public Duration getNotificationHorizon() {
+            return notificationHorizon;
+        }
+
+        public void setNotificationHorizon(Duration notificationHorizon) {
+            this.notificationHorizon = notificationHorizon;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getChunkPause() {
+            return chunkPause;
+        }
+
+        public void setChunkPause(Duration chunkPause) {
+            this.chunkPause = chunkPause;
+        }
+
+        public Duration getLockAtMost() {
+            return lockAtMost;
+        }
+
+        public void setLockAtMost(Duration lockAtMost) {
+            this.lockAtMost = lockAtMost;
+        }
+    }
+
+    public static class Invoice {
+
+        /** Répertoire des factures PDF définitives (paiements complétés, échoués ou annulés) */
+        private String path = "invoices";
+
+        /** Factures gardées en mémoire, y compris celles des paiements encore en cours */
+        private int memoryCacheSize = 200;
+
+        private final Bulk bulk = new Bulk();
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getMemoryCacheSize() {
+            return memoryCacheSize;
+        }
+
+        public void setMemoryCacheSize(int memoryCacheSize) {
+            this.memoryCacheSize = memoryCacheSize;
+        }
+
+        public Bulk getBulk() {
+            return bulk;
+        }
+
+        /**
+         * Archives ZIP de factures générées en tâche de fond.
+         */
+        public static class Bulk {
+
+            /** Threads de rendu des factures, partagés par toutes les archives */
+            private int threads = 4;
+
+            /** Archives en attente au-delà de celle en cours ; les demandes suivantes sont refusées */
+            private int maxPendingJobs = 4;
+
+            /** Durée de conservation d'une archive terminée avant suppression */
+            private Duration retention = Duration.ofDays(1);
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getMaxPendingJobs() {
+                return maxPendingJobs;
+            }
+
+            public void setMaxPendingJobs(int maxPendingJobs) {
+                this.maxPendingJobs = maxPendingJobs;
+            }
+
+            public Duration getRetention() {
+                return retention;
+            }
+
+            public void setRetention(Duration retention) {
+                this.retention = retention;
+            }
+        }
+    }
+
+    public static class JwtCache {
+
+        /** Jetons vérifiés gardés en mémoire (environ 2 Ko chacun) */
+        private int maxSize = 10_000;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class LoginThrottle {
+
+        /** Échecs de connexion tolérés pour une adresse e-mail pendant la fenêtre */
+        private int maxFailures = 5;
+
+        /** Fenêtre de comptage des échecs, qui est aussi la durée du blocage */
+        private Duration window = Duration.ofMinutes(15);
+
+        /** Adresses suivies en mémoire ; les moins récemment utilisées sont oubliées au-delà */
+        private int maxEntries = 10_000;
+
+        public int getMaxFailures() {
+            return maxFailures;
+        }
+
+        public void setMaxFailures(int maxFailures) {
+            this.maxFailures = maxFailures;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class UserCache {
+
+        /** Utilisateurs gardés en mémoire, par cache (droits pour l'authentification, compte) */
+        private int maxSize = 10_000;
+
+        /** Durée de vie d'une entrée : retard maximal sur une modification faite par une autre instance */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Observation {
+
+        /** Timers par méthode, requêtes SQL par appel et journal des appels lents (voir ObservationAspect) */
+        private boolean enabled = true;
+
+        /** Durée au-delà de laquelle un appel est journalisé */
+        private Duration slowCallThreshold = Duration.ofSeconds(1);
+
+        /** Requêtes SQL au-delà desquelles un appel externe (requête HTTP...) est signalé */
+        private int statementThreshold = 30;
+
+        /** Nombre de requêtes SQL de chaque requête HTTP dans l'en-tête X-SQL-Statement-Count (développement, tests) */
+        private boolean statementCountHeader = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSlowCallThreshold() {
+            return slowCallThreshold;
+        }
+
+        public void setSlowCallThreshold(Duration slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+        }
+
+        public int getStatementThreshold() {
+            return statementThreshold;
+        }
+
+        public void setStatementThreshold(int statementThreshold) {
+            this.statementThreshold = statementThreshold;
+        }
+
+        public boolean isStatementCountHeader() {
+            return statementCountHeader;
+        }
+
+        public void setStatementCountHeader(boolean statementCountHeader) {
+            this.statementCountHeader = statementCountHeader;
+        }
     }
     // jhipster-needle-application-properties-property-class
 }
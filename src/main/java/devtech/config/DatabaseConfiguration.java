@@ -1,8 +1,11 @@
 package devtechly.config;
 
+import devtechly.aop.observation.StatementCountingDataSource;
 import java.sql.SQLException;
+import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -31,6 +34,24 @@ public class DatabaseConfiguration {
         this.env = env;
     }
 
+    /**
+     * Enveloppe la source de données (pool Hikari) pour compter les requêtes SQL de chaque thread, et donc de chaque
+     * requête HTTP (voir {@link StatementCountingDataSource}). Actif dans tous les profils : le nombre de requêtes
+     * alimente {@code app.request.statements} et l'alerte N+1 en production.
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
     /**
      * Open the TCP port for the H2 database, so it is available remotely.
      *
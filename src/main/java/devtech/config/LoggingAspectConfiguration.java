@@ -1,6 +1,9 @@
 package devtechly.config;
 
 import devtechly.aop.logging.LoggingAspect;
+import devtechly.aop.observation.ObservationAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -14,4 +17,11 @@ public class LoggingAspectConfiguration {
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.observation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ObservationAspect observationAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Observation observation = applicationProperties.getObservation();
+        return new ObservationAspect(meterRegistry, observation.getSlowCallThreshold(), observation.getStatementThreshold());
+    }
 }
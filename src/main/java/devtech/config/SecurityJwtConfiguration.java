@@ -5,49 +5,31 @@ import static devtechly.security.SecurityUtils.JWT_ALGORITHM;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import devtechly.management.SecurityMetersService;
+import devtechly.security.CachedJwtDecoder;
+import java.time.Clock;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
 @Configuration
 public class SecurityJwtConfiguration {
 
-    private static final Logger LOG = LoggerFactory.getLogger(SecurityJwtConfiguration.class);
-
     @Value("${jhipster.security.authentication.jwt.base64-secret}")
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
-            try {
-                return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
-                    metersService.trackTokenMalformed();
-                } else {
-                    LOG.error("Unknown JWT error {}", e.getMessage());
-                }
-                throw e;
-            }
-        };
+        // Les jetons émis ne portent pas de certificat (cnf) : seules les dates sont validées
+        jwtDecoder.setJwtValidator(new JwtTimestampValidator());
+        return new CachedJwtDecoder(jwtDecoder, metersService, applicationProperties.getJwtCache().getMaxSize(), Clock.systemUTC());
     }
 
     @Bean
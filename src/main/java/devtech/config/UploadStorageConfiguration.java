@@ -0,0 +1,39 @@
+package devtechly.config;
+
+import devtechly.service.storage.LocalUploadStorage;
+import devtechly.service.storage.S3UploadStorage;
+import devtechly.service.storage.UploadStorage;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Choix du moteur de stockage des fichiers déposés selon {@code application.upload.storage.type}.
+ */
+@Configuration
+public class UploadStorageConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UploadStorageConfiguration.class);
+
+    @Bean
+    public UploadStorage uploadStorage(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Upload upload = applicationProperties.getUpload();
+        ApplicationProperties.Upload.Storage storage = upload.getStorage();
+        if ("s3".equalsIgnoreCase(storage.getType())) {
+            ApplicationProperties.Upload.S3 s3 = storage.getS3();
+            LOG.info("Stockage des fichiers dans le bucket S3 {} ({})", s3.getBucket(), s3.getEndpoint());
+            return new S3UploadStorage(
+                s3.getEndpoint(),
+                s3.getRegion(),
+                s3.getBucket(),
+                s3.getAccessKey(),
+                s3.getSecretKey(),
+                storage.getShardDepth()
+            );
+        }
+        LOG.info("Stockage des fichiers sur disque dans {}", upload.getPath());
+        return new LocalUploadStorage(Path.of(upload.getPath()), storage.getShardDepth());
+    }
+}
@@ -2,12 +2,14 @@ package devtechly.config;
 
 import static java.net.URLDecoder.decode;
 
+import devtechly.web.filter.StatementCountFilter;
 import jakarta.servlet.*;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.server.*;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
@@ -100,6 +102,16 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
         return new CorsFilter(source);
     }
 
+    /**
+     * Nombre de requêtes SQL de chaque requête HTTP dans l'en-tête {@value StatementCountFilter#HEADER}, activé en
+     * développement et dans les tests d'intégration.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.observation", name = "statement-count-header", havingValue = "true")
+    public StatementCountFilter statementCountFilter() {
+        return new StatementCountFilter();
+    }
+
     private boolean h2ConsoleIsEnabled(Environment env) {
         return (
             env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)) &&
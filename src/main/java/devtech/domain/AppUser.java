@@ -1,5 +1,6 @@
 package devtechly.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.time.Instant;
@@ -27,6 +28,8 @@ public class AppUser implements Serializable {
     @Column(name = "phone", nullable = false)
     private String phone;
 
+    /** Haché BCrypt : accepté en entrée, jamais renvoyé par l'API */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "password", nullable = false)
     private String password;
 
@@ -0,0 +1,168 @@
+package devtechly.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Un effet de bord (email, notification, activité) enregistré dans la même transaction que l'écriture du ticket.
+ * <p>
+ * Une ligne PENDING est exécutée puis supprimée par le dispatcher ; après trop d'échecs elle passe en FAILED et reste
+ * en base pour analyse.
+ */
+@Entity
+@Table(name = "outbox_event")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OutboxEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 50, nullable = false)
+    private OutboxEventType eventType;
+
+    @Column(name = "ticket_id")
+    private Long ticketId;
+
+    @NotNull
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @NotNull
+    @Column(name = "status", length = 20, nullable = false)
+    private String status = STATUS_PENDING;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Size(max = 1000)
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public OutboxEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(OutboxEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(Long ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboxEvent)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((OutboxEvent) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "OutboxEvent{" +
+            "id=" +
+            getId() +
+            ", eventType='" +
+            getEventType() +
+            "'" +
+            ", ticketId=" +
+            getTicketId() +
+            ", status='" +
+            getStatus() +
+            "'" +
+            ", attempts=" +
+            getAttempts() +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package devtechly.domain;
+
+/**
+ * Effets de bord d'un ticket enregistrés dans l'outbox, exécutés après le commit par {@code OutboxDispatcher}.
+ */
+public enum OutboxEventType {
+    CLIENT_EMAIL_TICKET_CREATED,
+    ADMIN_EMAIL_TICKET_CREATED,
+    CLIENT_EMAIL_TICKET_MESSAGE,
+    CLIENT_EMAIL_PAYMENT_VALIDATED,
+    NOTIFY_USER,
+    NOTIFY_CLIENT,
+    NOTIFY_ADMINS,
+    ACTIVITY_TICKET_CREATED,
+    ACTIVITY_TICKET_STATUS_UPDATED,
+    ACTIVITY_PAYMENT
+}
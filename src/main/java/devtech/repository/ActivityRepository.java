@@ -1,7 +1,11 @@
 package devtechly.repository;
 
 import devtechly.domain.Activity;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -13,7 +17,8 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ActivityRepository extends JpaRepository<Activity, Long>, JpaSpecificationExecutor<Activity> {
+public interface ActivityRepository
+    extends JpaRepository<Activity, Long>, JpaSpecificationExecutor<Activity>, ActivityRepositoryWithBatchInsert {
     /**
      * Find recent activities for a specific user, ordered by timestamp descending
      */
@@ -27,16 +32,23 @@ public interface ActivityRepository extends JpaRepository<Activity, Long>, JpaSp
     Page<Activity> findRecentActivities(Pageable pageable);
 
     /**
-     * Find recent activities for a specific user without pagination
+     * Stream the most recent activities of a user, bounded by {@code limit} (timeline seeding)
      */
-    @Query("select activity from Activity activity where activity.userId = :userId order by activity.timestamp desc")
-    List<Activity> findRecentActivitiesByUser(@Param("userId") Long userId);
+    @Query("select activity from Activity activity where activity.userId = :userId order by activity.timestamp desc, activity.id desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Activity> streamRecentActivitiesByUser(@Param("userId") Long userId, Limit limit);
 
     /**
-     * Find all recent activities without pagination
+     * Stream the most recent activities, bounded by {@code limit} (timeline seeding)
      */
-    @Query("select activity from Activity activity order by activity.timestamp desc")
-    List<Activity> findRecentActivities();
+    @Query("select activity from Activity activity order by activity.timestamp desc, activity.id desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Activity> streamRecentActivities(Limit limit);
+
+    /**
+     * Count activities of a user
+     */
+    long countByUserId(Long userId);
 
     /**
      * Find activities by ticket ID
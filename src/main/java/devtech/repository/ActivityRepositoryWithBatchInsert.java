@@ -0,0 +1,17 @@
+package devtechly.repository;
+
+import devtechly.domain.Activity;
+import java.util.List;
+
+/**
+ * Insertion groupée des activités, sans passer par le cycle de vie JPA.
+ */
+public interface ActivityRepositoryWithBatchInsert {
+    /**
+     * Insère toutes les activités en un seul batch JDBC (une requête multi-lignes avec
+     * {@code rewriteBatchedStatements=true}). Doit être appelée dans une transaction.
+     *
+     * @return le nombre de lignes insérées.
+     */
+    int insertAll(List<Activity> activities);
+}
@@ -0,0 +1,81 @@
+package devtechly.repository;
+
+import devtechly.domain.Activity;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * Insertion JDBC directe : avec des identifiants IDENTITY, Hibernate exécuterait un INSERT par activité.
+ */
+public class ActivityRepositoryWithBatchInsertImpl implements ActivityRepositoryWithBatchInsert {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO `activity` (`activity_type`, `title`, `description`, `timestamp`, `icon`, `user_id`, `ticket_id`, " +
+        "`entity_type`, `entity_id`) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ActivityRepositoryWithBatchInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<Activity> activities) {
+        if (activities.isEmpty()) {
+            return 0;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int[] counts = jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Activity activity = activities.get(i);
+                    ps.setString(1, activity.getActivityType().name());
+                    ps.setString(2, activity.getTitle());
+                    ps.setString(3, activity.getDescription());
+                    ps.setTimestamp(4, Timestamp.from(activity.getTimestamp()));
+                    ps.setString(5, activity.getIcon());
+                    setLong(ps, 6, activity.getUserId());
+                    setLong(ps, 7, activity.getTicketId());
+                    ps.setString(8, activity.getEntityType());
+                    setLong(ps, 9, activity.getEntityId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return activities.size();
+                }
+            },
+            keyHolder
+        );
+        // Les identifiants générés départagent les activités de même horodatage dans le fil récent
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < activities.size(); i++) {
+            Object key = keys.get(i).values().stream().findFirst().orElse(null);
+            if (key instanceof Number number) {
+                activities.get(i).setId(number.longValue());
+            }
+        }
+        // Avec rewriteBatchedStatements, le driver renvoie SUCCESS_NO_INFO (-2) pour chaque ligne
+        return (int) Arrays.stream(counts).filter(count -> count > 0 || count == Statement.SUCCESS_NO_INFO).count();
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package devtechly.repository;
 
 import devtechly.domain.AppUser;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     boolean existsByEmail(String email);
     Optional<AppUser> findByEmail(String email);
+
+    /**
+     * Clients dont le mot de passe n'est pas encore haché en BCrypt (les comptes OAuth2, sans mot de passe, sont exclus).
+     */
+    @Query("select u from AppUser u where u.password not like '$2%' and u.password <> ''")
+    List<AppUser> findWithLegacyPassword(Pageable pageable);
 }
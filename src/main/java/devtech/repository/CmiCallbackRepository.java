@@ -0,0 +1,51 @@
+package devtechly.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Registre des callbacks CMI traités, clé primaire {@code (order_id, transaction_id)}.
+ * <p>
+ * L'enregistrement se fait dans la transaction qui traite le callback : si le traitement échoue, la ligne disparaît
+ * avec lui et le renvoi suivant de la passerelle sera traité.
+ */
+@Repository
+public class CmiCallbackRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CmiCallbackRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Enregistre un callback ; faux s'il l'est déjà. Un enregistrement concurrent non encore validé (autre instance)
+     * bloque sur la clé primaire jusqu'à sa validation, puis est signalé comme doublon.
+     */
+    public boolean register(String orderId, String transactionId) {
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO `cmi_callback` (`order_id`, `transaction_id`, `received_at`) VALUES (?, ?, ?)",
+                orderId,
+                transactionId,
+                Timestamp.from(Instant.now())
+            );
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public void recordOutcome(String orderId, String transactionId, Long paiementId, String status) {
+        jdbcTemplate.update(
+            "UPDATE `cmi_callback` SET `paiement_id` = ?, `status` = ? WHERE `order_id` = ? AND `transaction_id` = ?",
+            paiementId,
+            status,
+            orderId,
+            transactionId
+        );
+    }
+}
@@ -15,7 +15,8 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long>, JpaSpecificationExecutor<Notification> {
+public interface NotificationRepository
+    extends JpaRepository<Notification, Long>, JpaSpecificationExecutor<Notification>, NotificationRepositoryWithBatchInsert {
     /**
      * Find all notifications by user ID
      */
@@ -31,6 +32,11 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     Page<Notification> findByUserLoginInOrderByTimestampDesc(Collection<String> userLogins, Pageable pageable);
 
+    /**
+     * Notifications créées après le curseur {@code afterId}, dans l'ordre de création (reprise du flux SSE)
+     */
+    List<Notification> findByUserLoginInAndIdGreaterThanOrderByIdAsc(Collection<String> userLogins, Long afterId, Pageable pageable);
+
     /**
      * Find a notification for a specific user by id
      */
@@ -61,6 +67,30 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     List<Notification> findByUserLoginInAndReadFalse(Collection<String> userLogins);
 
+    /**
+     * Compte les notifications non lues par destinataire (login ou email)
+     */
+    @Query("SELECT n.userLogin, COUNT(n) FROM Notification n WHERE n.userLogin IN :userLogins AND n.read = false GROUP BY n.userLogin")
+    List<Object[]> countUnreadByUserLogin(@Param("userLogins") Collection<String> userLogins);
+
+    /**
+     * Marque toutes les notifications non lues des destinataires comme lues, en une seule requête
+     *
+     * @return le nombre de notifications modifiées
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.userLogin IN :userLogins AND n.read = false")
+    int markAllAsReadByUserLoginIn(@Param("userLogins") Collection<String> userLogins);
+
+    /**
+     * Marque une notification comme lue si elle ne l'est pas déjà
+     *
+     * @return 1 si la notification a été modifiée, 0 sinon
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.read = false")
+    int markAsReadById(@Param("id") Long id);
+
     /**
      * Count unread notifications by user ID
      */
@@ -0,0 +1,18 @@
+package devtechly.repository;
+
+import devtechly.domain.Notification;
+import java.util.List;
+
+/**
+ * Insertion groupée des notifications, sans passer par le cycle de vie JPA.
+ */
+public interface NotificationRepositoryWithBatchInsert {
+    /**
+     * Insère toutes les notifications en un seul batch JDBC (une requête multi-lignes avec
+     * {@code rewriteBatchedStatements=true}). Les identifiants attribués par la base sont
+     * reportés sur les entités.
+     *
+     * @return le nombre de lignes insérées.
+     */
+    int insertAll(List<Notification> notifications);
+}
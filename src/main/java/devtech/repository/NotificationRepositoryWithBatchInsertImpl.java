@@ -0,0 +1,84 @@
+package devtechly.repository;
+
+import devtechly.domain.Notification;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * Avec des identifiants IDENTITY, Hibernate doit exécuter chaque INSERT seul pour relire la clé générée, ce qui rend
+ * {@code hibernate.jdbc.batch_size} inopérant. Cette implémentation insère directement en JDBC.
+ */
+public class NotificationRepositoryWithBatchInsertImpl implements NotificationRepositoryWithBatchInsert {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO `notification` (`title`, `message`, `type`, `timestamp`, `read`, `user_id`, `ticket_id`, `payment_id`, " +
+        "`action_url`, `user_login`, `created_date`) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationRepositoryWithBatchInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int[] counts = jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Notification notification = notifications.get(i);
+                    ps.setString(1, notification.getTitle());
+                    ps.setString(2, notification.getMessage());
+                    ps.setString(3, notification.getType());
+                    ps.setTimestamp(4, Timestamp.from(notification.getTimestamp()));
+                    ps.setBoolean(5, Boolean.TRUE.equals(notification.getRead()));
+                    setLong(ps, 6, notification.getUserId());
+                    setLong(ps, 7, notification.getTicketId());
+                    setLong(ps, 8, notification.getPaymentId());
+                    ps.setString(9, notification.getActionUrl());
+                    ps.setString(10, notification.getUserLogin());
+                    ps.setTimestamp(11, notification.getCreatedDate() != null ? Timestamp.from(notification.getCreatedDate()) : null);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return notifications.size();
+                }
+            },
+            keyHolder
+        );
+        // Les identifiants générés servent de curseur au flux SSE (Last-Event-ID)
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < notifications.size(); i++) {
+            Object key = keys.get(i).values().stream().findFirst().orElse(null);
+            if (key instanceof Number number) {
+                notifications.get(i).setId(number.longValue());
+            }
+        }
+        // Avec rewriteBatchedStatements, le driver renvoie SUCCESS_NO_INFO (-2) pour chaque ligne
+        return (int) Arrays.stream(counts).filter(count -> count > 0 || count == Statement.SUCCESS_NO_INFO).count();
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package devtechly.repository;
+
+import devtechly.domain.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OutboxEvent entity.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Événements à exécuter, verrouillés pour la durée de la transaction de réservation.
+     * Les lignes déjà verrouillées par une autre instance sont ignorées (SKIP LOCKED) plutôt qu'attendues.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findDueForUpdate(@Param("status") String status, @Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(String status);
+}
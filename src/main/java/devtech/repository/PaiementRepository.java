@@ -1,16 +1,25 @@
 package devtechly.repository;
 
 import devtechly.domain.Paiement;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PaiementRepository extends JpaRepository<Paiement, Long> {
+    /**
+     * Taille de lot qui fait lire le résultat ligne à ligne par le driver MySQL, au lieu de le charger en entier
+     */
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
     /**
      * Trouve un paiement par son ID de commande CMI
      */
@@ -81,4 +90,21 @@ public interface PaiementRepository extends JpaRepository<Paiement, Long> {
      */
     @Query("SELECT p FROM Paiement p WHERE p.status = 'COMPLETED' AND p.date = :today ORDER BY p.createdAt DESC")
     List<Paiement> findCompletedPaymentsToday(@Param("today") LocalDate today);
+
+    /**
+     * Nombre de paiements d'une période (progression des archives de factures)
+     */
+    long countByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Parcourt les paiements d'une période, en flux et en lecture seule (export, archives de factures) ; à consommer dans une transaction
+     */
+    @Query("SELECT p FROM Paiement p WHERE p.date BETWEEN :startDate AND :endDate ORDER BY p.date ASC, p.id ASC")
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    Stream<Paiement> streamByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
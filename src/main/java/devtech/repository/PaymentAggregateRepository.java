@@ -0,0 +1,156 @@
+package devtechly.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Agrégats des paiements (nombre et montant) par statut et devise, au total ({@code payment_total}) et par jour
+ * ({@code payment_daily_total}). Mis à jour par incréments dans la transaction qui modifie le paiement.
+ */
+@Repository
+public class PaymentAggregateRepository {
+
+    /** Statut des paiements enregistrés sans statut */
+    public static final String UNKNOWN_STATUS = "UNKNOWN";
+
+    private static final String UPSERT_TOTAL_SQL =
+        "INSERT INTO `payment_total` (`status`, `currency`, `payment_count`, `amount_total`) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE `payment_count` = `payment_count` + VALUES(`payment_count`), " +
+        "`amount_total` = `amount_total` + VALUES(`amount_total`)";
+
+    private static final String UPSERT_DAILY_SQL =
+        "INSERT INTO `payment_daily_total` (`status`, `currency`, `payment_day`, `payment_count`, `amount_total`) " +
+        "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE `payment_count` = `payment_count` + VALUES(`payment_count`), " +
+        "`amount_total` = `amount_total` + VALUES(`amount_total`)";
+
+    private static final String EXPECTED_TOTALS_SQL =
+        "SELECT COALESCE(`status`, '" + UNKNOWN_STATUS + "'), COALESCE(`currency`, ''), NULL, COUNT(*), COALESCE(SUM(`amount`), 0) " +
+        "FROM `paiement` GROUP BY COALESCE(`status`, '" + UNKNOWN_STATUS + "'), COALESCE(`currency`, '')";
+
+    private static final String EXPECTED_DAILY_TOTALS_SQL =
+        "SELECT COALESCE(`status`, '" + UNKNOWN_STATUS + "'), COALESCE(`currency`, ''), `date`, COUNT(*), COALESCE(SUM(`amount`), 0) " +
+        "FROM `paiement` WHERE `date` IS NOT NULL " +
+        "GROUP BY COALESCE(`status`, '" + UNKNOWN_STATUS + "'), COALESCE(`currency`, ''), `date`";
+
+    private static final String RECOMPUTE_TOTAL_SQL =
+        "INSERT INTO `payment_total` (`status`, `currency`, `payment_count`, `amount_total`) " +
+        "SELECT ?, ?, COUNT(*), COALESCE(SUM(`amount`), 0) FROM `paiement` " +
+        "WHERE COALESCE(`status`, '" + UNKNOWN_STATUS + "') = ? AND COALESCE(`currency`, '') = ? " +
+        "ON DUPLICATE KEY UPDATE `payment_count` = VALUES(`payment_count`), `amount_total` = VALUES(`amount_total`)";
+
+    private static final String RECOMPUTE_DAILY_SQL =
+        "INSERT INTO `payment_daily_total` (`status`, `currency`, `payment_day`, `payment_count`, `amount_total`) " +
+        "SELECT ?, ?, ?, COUNT(*), COALESCE(SUM(`amount`), 0) FROM `paiement` " +
+        "WHERE COALESCE(`status`, '" + UNKNOWN_STATUS + "') = ? AND COALESCE(`currency`, '') = ? AND `date` = ? " +
+        "ON DUPLICATE KEY UPDATE `payment_count` = VALUES(`payment_count`), `amount_total` = VALUES(`amount_total`)";
+
+    private static final RowMapper<AggregateRow> AGGREGATE_ROW_MAPPER = (rs, rowNum) -> {
+        Date day = rs.getDate(3);
+        return new AggregateRow(rs.getString(1), rs.getString(2), day != null ? day.toLocalDate() : null, rs.getLong(4), rs.getDouble(5));
+    };
+
+    /**
+     * Totaux d'un statut, toutes devises confondues.
+     */
+    public record StatusTotal(String status, long count, double amount) {}
+
+    /**
+     * Une ligne d'agrégat ; {@code day} est nul pour les totaux tous jours confondus.
+     */
+    public record AggregateRow(String status, String currency, LocalDate day, long count, double amount) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentAggregateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ajoute (ou retire, avec des valeurs négatives) la contribution d'un paiement ; {@code day} peut être nul.
+     * Les incréments sont commutatifs : des transactions concurrentes ne s'écrasent pas.
+     */
+    public void increment(String status, String currency, LocalDate day, long count, double amount) {
+        incrementTotal(status, currency, count, amount);
+        if (day != null) {
+            incrementDaily(status, currency, day, count, amount);
+        }
+    }
+
+    public void incrementTotal(String status, String currency, long count, double amount) {
+        jdbcTemplate.update(UPSERT_TOTAL_SQL, status, currency, count, amount);
+    }
+
+    public void incrementDaily(String status, String currency, LocalDate day, long count, double amount) {
+        jdbcTemplate.update(UPSERT_DAILY_SQL, status, currency, Date.valueOf(day), count, amount);
+    }
+
+    /**
+     * Remplace un agrégat par sa valeur recalculée depuis la table des paiements, en une seule requête ; {@code day}
+     * nul désigne le total tous jours confondus. Contrairement aux incréments, le résultat ne dépend pas de l'état
+     * précédent : l'appliquer deux fois, ou depuis deux instances, donne le même agrégat.
+     */
+    public void recompute(String status, String currency, LocalDate day) {
+        if (day == null) {
+            jdbcTemplate.update(RECOMPUTE_TOTAL_SQL, status, currency, status, currency);
+        } else {
+            Date date = Date.valueOf(day);
+            jdbcTemplate.update(RECOMPUTE_DAILY_SQL, status, currency, date, status, currency, date);
+        }
+    }
+
+    /**
+     * Totaux par statut : quelques lignes, quel que soit le nombre de paiements.
+     */
+    public List<StatusTotal> findTotalsByStatus() {
+        return jdbcTemplate.query(
+            "SELECT `status`, SUM(`payment_count`), SUM(`amount_total`) FROM `payment_total` GROUP BY `status`",
+            (rs, rowNum) -> new StatusTotal(rs.getString(1), rs.getLong(2), rs.getDouble(3))
+        );
+    }
+
+    /**
+     * Totaux d'un statut pour un jour donné, toutes devises confondues.
+     */
+    public StatusTotal findDailyTotal(String status, LocalDate day) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(`payment_count`), 0), COALESCE(SUM(`amount_total`), 0) FROM `payment_daily_total` " +
+            "WHERE `payment_day` = ? AND `status` = ?",
+            (rs, rowNum) -> new StatusTotal(status, rs.getLong(1), rs.getDouble(2)),
+            Date.valueOf(day),
+            status
+        );
+    }
+
+    /**
+     * Agrégats attendus, recalculés depuis la table des paiements (totaux puis totaux journaliers).
+     */
+    public List<AggregateRow> findExpectedAggregates() {
+        List<AggregateRow> rows = new ArrayList<>(jdbcTemplate.query(EXPECTED_TOTALS_SQL, AGGREGATE_ROW_MAPPER));
+        rows.addAll(jdbcTemplate.query(EXPECTED_DAILY_TOTALS_SQL, AGGREGATE_ROW_MAPPER));
+        return rows;
+    }
+
+    /**
+     * Agrégats enregistrés (totaux puis totaux journaliers).
+     */
+    public List<AggregateRow> findStoredAggregates() {
+        List<AggregateRow> rows = new ArrayList<>(
+            jdbcTemplate.query(
+                "SELECT `status`, `currency`, NULL, `payment_count`, `amount_total` FROM `payment_total`",
+                AGGREGATE_ROW_MAPPER
+            )
+        );
+        rows.addAll(
+            jdbcTemplate.query(
+                "SELECT `status`, `currency`, `payment_day`, `payment_count`, `amount_total` FROM `payment_daily_total`",
+                AGGREGATE_ROW_MAPPER
+            )
+        );
+        return rows;
+    }
+}
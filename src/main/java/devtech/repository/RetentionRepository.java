@@ -0,0 +1,122 @@
+package devtechly.repository;
+
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Accès JDBC générique aux tables purgées par la rétention : les lignes sont archivées telles qu'en base.
+ */
+@Repository
+public class RetentionRepository {
+
+    /**
+     * Tables soumises à la rétention ; le nom SQL n'est jamais issu d'une saisie.
+     */
+    public enum Table {
+        ACTIVITY("activity"),
+        NOTIFICATION("notification");
+
+        private final String tableName;
+
+        Table(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String tableName() {
+            return tableName;
+        }
+    }
+
+    private static final RowMapper<Map<String, Object>> ROW_MAPPER = (rs, rowNum) -> {
+        ResultSetMetaData metaData = rs.getMetaData();
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            Object value = rs.getObject(i);
+            row.put(metaData.getColumnLabel(i), value instanceof Timestamp timestamp ? timestamp.toInstant() : value);
+        }
+        return row;
+    };
+
+    /** Ligne de {@code job_lock} de la purge */
+    private static final String LOCK_NAME = "retention";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RetentionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long count(Table table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM `" + table.tableName() + "`", Long.class);
+        return count != null ? count : 0;
+    }
+
+    public long countOlderThan(Table table, Instant cutoff) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM `" + table.tableName() + "` WHERE `timestamp` < ?",
+            Long.class,
+            Timestamp.from(cutoff)
+        );
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Les plus anciennes lignes antérieures à {@code cutoff}, parcourues sur l'index du timestamp.
+     */
+    public List<Map<String, Object>> findOlderThan(Table table, Instant cutoff, int limit) {
+        return jdbcTemplate.query(
+            "SELECT * FROM `" + table.tableName() + "` WHERE `timestamp` < ? ORDER BY `timestamp`, `id` LIMIT ?",
+            ROW_MAPPER,
+            Timestamp.from(cutoff),
+            limit
+        );
+    }
+
+    /**
+     * Supprime par clé primaire : seules les lignes du lot sont verrouillées.
+     */
+    public int deleteByIds(Table table, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.update("DELETE FROM `" + table.tableName() + "` WHERE `id` IN (" + placeholders + ")", ids.toArray());
+    }
+
+    /**
+     * Prend le verrou de la purge jusqu'à {@code until}, s'il n'est pas tenu par une autre instance.
+     *
+     * @return {@code true} si le verrou est pris.
+     */
+    public boolean tryLock(String owner, Instant now, Instant until) {
+        int updated = jdbcTemplate.update(
+            "UPDATE `job_lock` SET `locked_until` = ?, `locked_by` = ? WHERE `name` = ? AND `locked_until` <= ?",
+            Timestamp.from(until),
+            owner,
+            LOCK_NAME,
+            Timestamp.from(now)
+        );
+        return updated == 1;
+    }
+
+    /**
+     * Libère le verrou de la purge, s'il est toujours tenu par {@code owner}.
+     */
+    public void unlock(String owner, Instant now) {
+        jdbcTemplate.update(
+            "UPDATE `job_lock` SET `locked_until` = ? WHERE `name` = ? AND `locked_by` = ?",
+            Timestamp.from(now),
+            LOCK_NAME,
+            owner
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package devtechly.repository;
 
 import devtechly.domain.TicketMessage;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -21,6 +22,18 @@ public interface TicketMessageRepository extends JpaRepository<TicketMessage, Lo
     @Query("SELECT tm FROM TicketMessage tm WHERE tm.ticket.id = :ticketId AND tm.isInternal = false ORDER BY tm.createdDate ASC")
     List<TicketMessage> findPublicMessagesByTicketIdOrderByCreatedDateAsc(@Param("ticketId") Long ticketId);
 
+    /**
+     * Trouve tous les messages d'un lot de tickets en une seule requête, ordonnés par date de création
+     */
+    @Query("SELECT tm FROM TicketMessage tm WHERE tm.ticket.id IN :ticketIds ORDER BY tm.createdDate ASC")
+    List<TicketMessage> findByTicketIdInOrderByCreatedDateAsc(@Param("ticketIds") Collection<Long> ticketIds);
+
+    /**
+     * Trouve les messages visibles par le client d'un lot de tickets en une seule requête
+     */
+    @Query("SELECT tm FROM TicketMessage tm WHERE tm.ticket.id IN :ticketIds AND tm.isInternal = false ORDER BY tm.createdDate ASC")
+    List<TicketMessage> findPublicMessagesByTicketIdInOrderByCreatedDateAsc(@Param("ticketIds") Collection<Long> ticketIds);
+
     /**
      * Compte le nombre de messages d'un ticket
      */
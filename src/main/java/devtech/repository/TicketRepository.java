@@ -1,15 +1,91 @@
 package devtechly.repository;
 
 import devtechly.domain.Ticket;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
     List<Ticket> findByCreatedBy(String createdBy);
 
+    /**
+     * Page des tickets d'un utilisateur, filtrée en base (index created_by, created_date)
+     */
+    Page<Ticket> findByCreatedBy(String createdBy, Pageable pageable);
+
+    /**
+     * Première page keyset des tickets d'un utilisateur (du plus récent au plus ancien)
+     */
+    List<Ticket> findByCreatedByOrderByCreatedDateDescIdDesc(String createdBy, Pageable pageable);
+
+    /**
+     * Page keyset suivante des tickets d'un utilisateur, à partir du dernier ticket lu
+     */
+    @Query(
+        "SELECT t FROM Ticket t WHERE t.createdBy = :createdBy " +
+        "AND (t.createdDate < :createdDate OR (t.createdDate = :createdDate AND t.id < :id)) " +
+        "ORDER BY t.createdDate DESC, t.id DESC"
+    )
+    List<Ticket> findByCreatedByBefore(
+        @Param("createdBy") String createdBy,
+        @Param("createdDate") Instant createdDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Première page keyset de tous les tickets (vue admin)
+     */
+    List<Ticket> findAllByOrderByCreatedDateDescIdDesc(Pageable pageable);
+
+    /**
+     * Page keyset suivante de tous les tickets (vue admin), à partir du dernier ticket lu
+     */
+    @Query(
+        "SELECT t FROM Ticket t WHERE t.createdDate < :createdDate OR (t.createdDate = :createdDate AND t.id < :id) " +
+        "ORDER BY t.createdDate DESC, t.id DESC"
+    )
+    List<Ticket> findAllBefore(@Param("createdDate") Instant createdDate, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Résumés de tous les tickets (vue admin) : nombre de messages et extrait du dernier message, internes compris
+     */
+    @Query(
+        value = "SELECT t.id AS id, t.type AS type, t.description AS description, t.status AS status, t.createdBy AS createdBy, " +
+        "t.createdDate AS createdDate, t.imageUrl AS imageUrl, t.paymentStatus AS paymentStatus, " +
+        "(SELECT COUNT(m) FROM TicketMessage m WHERE m.ticket.id = t.id) AS messageCount, " +
+        "(SELECT SUBSTRING(lm.content, 1, 120) FROM TicketMessage lm WHERE lm.id = " +
+        "(SELECT MAX(m2.id) FROM TicketMessage m2 WHERE m2.ticket.id = t.id)) AS lastMessageSnippet, " +
+        "(SELECT lm.createdDate FROM TicketMessage lm WHERE lm.id = " +
+        "(SELECT MAX(m2.id) FROM TicketMessage m2 WHERE m2.ticket.id = t.id)) AS lastMessageDate " +
+        "FROM Ticket t",
+        countQuery = "SELECT COUNT(t) FROM Ticket t"
+    )
+    Page<TicketSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Résumés des tickets d'un utilisateur : seuls les messages visibles par le client sont comptés
+     */
+    @Query(
+        value = "SELECT t.id AS id, t.type AS type, t.description AS description, t.status AS status, t.createdBy AS createdBy, " +
+        "t.createdDate AS createdDate, t.imageUrl AS imageUrl, t.paymentStatus AS paymentStatus, " +
+        "(SELECT COUNT(m) FROM TicketMessage m WHERE m.ticket.id = t.id AND m.isInternal = false) AS messageCount, " +
+        "(SELECT SUBSTRING(lm.content, 1, 120) FROM TicketMessage lm WHERE lm.id = " +
+        "(SELECT MAX(m2.id) FROM TicketMessage m2 WHERE m2.ticket.id = t.id AND m2.isInternal = false)) AS lastMessageSnippet, " +
+        "(SELECT lm.createdDate FROM TicketMessage lm WHERE lm.id = " +
+        "(SELECT MAX(m2.id) FROM TicketMessage m2 WHERE m2.ticket.id = t.id AND m2.isInternal = false)) AS lastMessageDate " +
+        "FROM Ticket t WHERE t.createdBy = :createdBy",
+        countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.createdBy = :createdBy"
+    )
+    Page<TicketSummary> findSummariesByCreatedBy(@Param("createdBy") String createdBy, Pageable pageable);
+
     /**
      * Trouve un ticket par son ID de paiement
      */
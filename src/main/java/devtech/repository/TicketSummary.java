@@ -0,0 +1,31 @@
+package devtechly.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection légère d'un ticket pour les vues liste : ni fil de messages complet, ni identifiants backoffice.
+ * Seuls le nombre de messages et un extrait du dernier message sont lus.
+ */
+public interface TicketSummary {
+    Long getId();
+
+    String getType();
+
+    String getDescription();
+
+    String getStatus();
+
+    String getCreatedBy();
+
+    Instant getCreatedDate();
+
+    String getImageUrl();
+
+    String getPaymentStatus();
+
+    Long getMessageCount();
+
+    String getLastMessageSnippet();
+
+    Instant getLastMessageDate();
+}
@@ -0,0 +1,50 @@
+package devtechly.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Actions à exécuter à la fin de la transaction courante : mise à jour d'un cache, publication d'un événement, tâche
+ * en arrière-plan. Hors transaction (ou sans synchronisation active), l'action est exécutée immédiatement.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    /**
+     * Exécute l'action après le commit de la transaction courante, ou immédiatement hors transaction.
+     * Elle n'est pas exécutée si la transaction est annulée.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Exécute l'action à la fin de la transaction courante, validée ou annulée, ou immédiatement hors transaction.
+     */
+    public static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package devtechly.security;
+
+import com.nimbusds.jose.proc.BadJWSException;
+import devtechly.management.SecurityMetersService;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * Décodeur JWT qui garde en mémoire les jetons déjà vérifiés.
+ * <p>
+ * Le client présente le même jeton à chaque appel pendant toute sa durée de validité : la vérification de la
+ * signature et l'analyse des claims ne sont faites qu'à la première présentation. Les jetons sont indexés par leur
+ * SHA-256 (jamais conservés en clair) dans un cache LRU borné ; un jeton n'est plus servi depuis le cache une fois sa
+ * date d'expiration passée. Les échecs ne sont pas mis en cache : ils sont classés d'après le type de l'exception et
+ * comptés par {@link SecurityMetersService}.
+ */
+public class CachedJwtDecoder implements JwtDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachedJwtDecoder.class);
+
+    /**
+     * Cause d'un refus de jeton.
+     */
+    enum Failure {
+        INVALID_SIGNATURE,
+        EXPIRED,
+        MALFORMED,
+        UNSUPPORTED,
+        UNKNOWN,
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    });
+
+    private final JwtDecoder delegate;
+    private final SecurityMetersService metersService;
+    private final Clock clock;
+    private final Map<TokenKey, Jwt> verified;
+
+    /**
+     * @param delegate le décodeur qui vérifie la signature ; ses seules validations de claims doivent porter sur les
+     *                 dates, un échec de validation étant compté comme une expiration.
+     * @param maxSize  nombre maximal de jetons gardés en mémoire.
+     */
+    public CachedJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, int maxSize, Clock clock) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.clock = clock;
+        this.verified = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TokenKey, Jwt> eldest) {
+                    return size() > maxSize;
+                }
+            }
+        );
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        TokenKey key = TokenKey.of(token);
+        Jwt jwt = verified.get(key);
+        if (jwt != null) {
+            if (isUsable(jwt)) {
+                return jwt;
+            }
+            verified.remove(key);
+        }
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            track(classify(e), e);
+            throw e;
+        }
+        if (isUsable(jwt)) {
+            verified.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    int size() {
+        return verified.size();
+    }
+
+    /**
+     * Un jeton sans date d'expiration n'est jamais mis en cache.
+     */
+    private boolean isUsable(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt != null && clock.instant().isBefore(expiresAt);
+    }
+
+    private void track(Failure failure, JwtException e) {
+        switch (failure) {
+            case INVALID_SIGNATURE -> metersService.trackTokenInvalidSignature();
+            case EXPIRED -> metersService.trackTokenExpired();
+            case MALFORMED -> metersService.trackTokenMalformed();
+            case UNSUPPORTED -> metersService.trackTokenUnsupported();
+            case UNKNOWN -> LOG.error("Unknown JWT error {}", e.getMessage());
+        }
+    }
+
+    static Failure classify(JwtException e) {
+        if (e instanceof JwtValidationException) {
+            return Failure.EXPIRED;
+        }
+        Throwable cause = e.getCause();
+        if (cause instanceof BadJWSException) {
+            return Failure.INVALID_SIGNATURE;
+        }
+        if (cause instanceof ParseException) {
+            return Failure.MALFORMED;
+        }
+        // Jeton non signé, chiffré, ou signé avec un autre algorithme
+        if (e instanceof BadJwtException) {
+            return Failure.UNSUPPORTED;
+        }
+        return Failure.UNKNOWN;
+    }
+
+    /**
+     * SHA-256 d'un jeton, en quatre mots de 64 bits.
+     */
+    private record TokenKey(long a, long b, long c, long d) {
+        static TokenKey of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenKey(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+    }
+}
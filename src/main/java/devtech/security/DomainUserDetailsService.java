@@ -1,8 +1,11 @@
 package devtechly.security;
 
+import devtechly.config.ApplicationProperties;
 import devtechly.domain.Authority;
 import devtechly.domain.User;
 import devtechly.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
 import java.util.*;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
@@ -13,7 +16,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Authenticate a user from the database.
@@ -25,15 +29,50 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final UserCache<UserWithId> cache;
+
+    public DomainUserDetailsService(
+        UserRepository userRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
         this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = new UserCache<>(
+            "user-details",
+            UserWithId::getUsername,
+            applicationProperties.getUserCache().getMaxSize(),
+            applicationProperties.getUserCache().getTimeToLive(),
+            meterRegistry,
+            Clock.systemUTC()
+        );
     }
 
+    /**
+     * Les droits sont servis depuis le cache ; chaque appel reçoit sa propre copie, dont le mot de passe peut être
+     * effacé après l'authentification sans toucher à l'entrée en cache.
+     */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
+        UserWithId user = cache.get(login, () -> readOnlyTransaction.execute(status -> Optional.of(load(login)))).orElseThrow();
+        return new UserWithId(user.getUsername(), user.getPassword(), user.getAuthorities(), user.getId());
+    }
+
+    /**
+     * Retire du cache les droits d'un utilisateur ; à appeler à chaque modification de son login, email, mot de passe,
+     * activation ou rôles, et à sa suppression.
+     */
+    public void evict(String login) {
+        cache.evict(login);
+    }
+
+    private UserWithId load(String login) {
         if (new EmailValidator().isValid(login, null)) {
             return userRepository
                 .findOneWithAuthoritiesByEmailIgnoreCase(login)
@@ -48,7 +87,7 @@ public class DomainUserDetailsService implements UserDetailsService {
             .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
     }
 
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
+    private UserWithId createSpringSecurityUser(String lowercaseLogin, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
         }
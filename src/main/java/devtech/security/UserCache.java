@@ -0,0 +1,125 @@
+package devtechly.security;
+
+import devtechly.repository.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache mémoire de données dérivées d'un utilisateur (droits, compte...), borné et à durée de vie limitée.
+ * <p>
+ * Chaque valeur appartient à un login : {@link #evict(String)} retire toutes les valeurs de ce login, quelle que soit
+ * la clé de recherche (login ou email), immédiatement puis à nouveau après la validation de la transaction en cours.
+ * Un chargement commencé avant une éviction n'est pas mis en cache, pas plus qu'une valeur lue dans une transaction
+ * en écriture, qui peut voir des modifications non validées. La durée de vie borne le retard sur les modifications
+ * faites par une autre instance.
+ * <p>
+ * Les accès sont comptés dans les métriques {@code cache.gets} ({@code result} = {@code hit} ou {@code miss}) et
+ * {@code cache.size}, étiquetées par le nom du cache.
+ */
+public class UserCache<V> {
+
+    private final Function<V, String> owner;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<String, Entry<V>> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param name  nom du cache dans les métriques.
+     * @param owner login (en minuscules) auquel appartient une valeur.
+     */
+    public UserCache(String name, Function<V, String> owner, int maxSize, Duration timeToLive, MeterRegistry registry, Clock clock) {
+        this.owner = owner;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                    return size() > maxSize;
+                }
+            }
+        );
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(registry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(registry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", name).register(registry);
+    }
+
+    /**
+     * Valeur associée à la clé (insensible à la casse), chargée par {@code loader} si elle est absente ou expirée.
+     * Une valeur absente n'est pas mise en cache.
+     */
+    public Optional<V> get(String key, Supplier<Optional<V>> loader) {
+        String normalizedKey = key.toLowerCase(Locale.ENGLISH);
+        Instant now = clock.instant();
+        Entry<V> entry = entries.get(normalizedKey);
+        if (entry != null && now.isBefore(entry.expiresAt)) {
+            hits.increment();
+            return Optional.of(entry.value);
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        Optional<V> value = loader.get();
+        if (value.isPresent() && isCacheable()) {
+            synchronized (entries) {
+                if (generation.get() == loadGeneration) {
+                    entries.put(normalizedKey, new Entry<>(value.orElseThrow(), now.plus(timeToLive)));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Retire les valeurs d'un login, maintenant et après la validation de la transaction en cours.
+     */
+    public void evict(String login) {
+        if (login == null) {
+            return;
+        }
+        String normalizedLogin = login.toLowerCase(Locale.ENGLISH);
+        evictNow(normalizedLogin);
+        TransactionCallbacks.afterCompletion(() -> evictNow(normalizedLogin));
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictNow(String login) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> login.equalsIgnoreCase(owner.apply(entry.value)));
+        }
+    }
+
+    private static boolean isCacheable() {
+        return (
+            !TransactionSynchronizationManager.isActualTransactionActive() || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        );
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {}
+}
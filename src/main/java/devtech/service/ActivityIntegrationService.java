@@ -8,57 +8,82 @@ import devtechly.security.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service for automatically creating activities based on system events.
+ * Activities are handed to the {@link ActivityJournal} and written in batches, outside the caller's transaction.
+ * The overloads taking a user id are called by the outbox: they write immediately and throw, so that a failed write is
+ * retried by the outbox instead of being lost with a write-behind batch.
  */
 @Service
-@Transactional
 public class ActivityIntegrationService {
 
     private final Logger log = LoggerFactory.getLogger(ActivityIntegrationService.class);
 
-    private final ActivityService activityService;
+    private final ActivityJournal activityJournal;
     private final UserRepository userRepository;
 
-    public ActivityIntegrationService(ActivityService activityService, UserRepository userRepository) {
-        this.activityService = activityService;
+    public ActivityIntegrationService(ActivityJournal activityJournal, UserRepository userRepository) {
+        this.activityJournal = activityJournal;
         this.userRepository = userRepository;
     }
 
     /**
-     * Create activity when a ticket is created.
-     * Uses REQUIRES_NEW propagation to avoid affecting the parent transaction.
+     * Create activity when a ticket is created. Errors are logged, never thrown.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW, noRollbackFor = Exception.class)
     public void createTicketCreatedActivity(Ticket ticket) {
+        try {
+            createTicketCreatedActivity(ticket, getCurrentUserId(), false);
+        } catch (Exception e) {
+            log.error("Error creating ticket created activity for ticket #{}: {}", ticket.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Create activity when a ticket is created, on behalf of the given user (outbox dispatch, no security context).
+     * Errors are thrown so that the outbox can retry.
+     */
+    public void createTicketCreatedActivity(Ticket ticket, Long userId) {
+        createTicketCreatedActivity(ticket, userId, true);
+    }
+
+    private void createTicketCreatedActivity(Ticket ticket, Long userId, boolean immediate) {
         if (ticket == null || ticket.getId() == null) {
             return;
         }
 
-        try {
-            Long userId = getCurrentUserId();
-            String title = String.format("Nouveau ticket créé #%d", ticket.getId());
-            String description = String.format(
-                "Ticket de type '%s': %s",
-                ticket.getType() != null ? ticket.getType() : "Non spécifié",
-                ticket.getDescription() != null ? ticket.getDescription() : "Aucune description"
-            );
+        String title = String.format("Nouveau ticket créé #%d", ticket.getId());
+        String description = String.format(
+            "Ticket de type '%s': %s",
+            ticket.getType() != null ? ticket.getType() : "Non spécifié",
+            ticket.getDescription() != null ? ticket.getDescription() : "Aucune description"
+        );
+
+        record(immediate, ActivityType.INFO, title, description, userId, ticket.getId(), "TICKET", ticket.getId());
 
-            activityService.createActivity(ActivityType.INFO, title, description, userId, ticket.getId(), "TICKET", ticket.getId());
+        log.debug("Created ticket created activity for ticket #{}", ticket.getId());
+    }
 
-            log.debug("Created ticket created activity for ticket #{}", ticket.getId());
+    /**
+     * Create activity when a ticket status is updated. Errors are logged, never thrown.
+     */
+    public void createTicketStatusUpdatedActivity(Ticket ticket, String oldStatus, String newStatus) {
+        try {
+            createTicketStatusUpdatedActivity(ticket, oldStatus, newStatus, getCurrentUserId(), false);
         } catch (Exception e) {
-            log.error("Error creating ticket created activity for ticket #{}: {}", ticket.getId(), e.getMessage());
+            log.error("Error creating ticket status updated activity for ticket #{}: {}", ticket.getId(), e.getMessage());
         }
     }
 
     /**
-     * Create activity when a ticket status is updated.
+     * Create activity when a ticket status is updated, on behalf of the given user. Errors are thrown so that the
+     * outbox can retry.
      */
-    public void createTicketStatusUpdatedActivity(Ticket ticket, String oldStatus, String newStatus) {
+    public void createTicketStatusUpdatedActivity(Ticket ticket, String oldStatus, String newStatus, Long userId) {
+        createTicketStatusUpdatedActivity(ticket, oldStatus, newStatus, userId, true);
+    }
+
+    private void createTicketStatusUpdatedActivity(Ticket ticket, String oldStatus, String newStatus, Long userId, boolean immediate) {
         if (ticket == null || ticket.getId() == null || oldStatus == null || newStatus == null) {
             return;
         }
@@ -67,45 +92,51 @@ public class ActivityIntegrationService {
             return; // No change
         }
 
-        try {
-            Long userId = getCurrentUserId();
-            ActivityType activityType = getActivityTypeForStatus(newStatus);
-            String title = String.format("Ticket #%d %s", ticket.getId(), getStatusActionText(newStatus));
-            String description = String.format("Statut changé de '%s' vers '%s'", oldStatus, newStatus);
+        ActivityType activityType = getActivityTypeForStatus(newStatus);
+        String title = String.format("Ticket #%d %s", ticket.getId(), getStatusActionText(newStatus));
+        String description = String.format("Statut changé de '%s' vers '%s'", oldStatus, newStatus);
+
+        record(immediate, activityType, title, description, userId, ticket.getId(), "TICKET", ticket.getId());
 
-            activityService.createActivity(activityType, title, description, userId, ticket.getId(), "TICKET", ticket.getId());
+        log.debug("Created ticket status updated activity for ticket #{}: {} -> {}", ticket.getId(), oldStatus, newStatus);
+    }
 
-            log.debug("Created ticket status updated activity for ticket #{}: {} -> {}", ticket.getId(), oldStatus, newStatus);
+    /**
+     * Create activity when a payment is processed. Errors are logged, never thrown.
+     */
+    public void createPaymentActivity(Long ticketId, String paymentType, String amount, boolean success) {
+        try {
+            createPaymentActivity(ticketId, paymentType, amount, success, getCurrentUserId(), false);
         } catch (Exception e) {
-            log.error("Error creating ticket status updated activity for ticket #{}: {}", ticket.getId(), e.getMessage());
+            log.error("Error creating payment activity for ticket #{}: {}", ticketId, e.getMessage());
         }
     }
 
     /**
-     * Create activity when a payment is processed.
+     * Create activity when a payment is processed, on behalf of the given user. Errors are thrown so that the outbox
+     * can retry.
      */
-    public void createPaymentActivity(Long ticketId, String paymentType, String amount, boolean success) {
+    public void createPaymentActivity(Long ticketId, String paymentType, String amount, boolean success, Long userId) {
+        createPaymentActivity(ticketId, paymentType, amount, success, userId, true);
+    }
+
+    private void createPaymentActivity(Long ticketId, String paymentType, String amount, boolean success, Long userId, boolean immediate) {
         if (ticketId == null) {
             return;
         }
 
-        try {
-            Long userId = getCurrentUserId();
-            ActivityType activityType = success ? ActivityType.SUCCESS : ActivityType.ERROR;
-            String title = String.format("Paiement %s pour le ticket #%d", success ? "validé" : "échoué", ticketId);
-            String description = String.format(
-                "%s de %s pour le ticket #%d",
-                success ? "Paiement validé" : "Échec du paiement",
-                amount != null ? amount : "montant inconnu",
-                ticketId
-            );
+        ActivityType activityType = success ? ActivityType.SUCCESS : ActivityType.ERROR;
+        String title = String.format("Paiement %s pour le ticket #%d", success ? "validé" : "échoué", ticketId);
+        String description = String.format(
+            "%s de %s pour le ticket #%d",
+            success ? "Paiement validé" : "Échec du paiement",
+            amount != null ? amount : "montant inconnu",
+            ticketId
+        );
 
-            activityService.createActivity(activityType, title, description, userId, ticketId, "PAYMENT", ticketId);
+        record(immediate, activityType, title, description, userId, ticketId, "PAYMENT", ticketId);
 
-            log.debug("Created payment activity for ticket #{}: {} - {}", ticketId, paymentType, success ? "success" : "failed");
-        } catch (Exception e) {
-            log.error("Error creating payment activity for ticket #{}: {}", ticketId, e.getMessage());
-        }
+        log.debug("Created payment activity for ticket #{}: {} - {}", ticketId, paymentType, success ? "success" : "failed");
     }
 
     /**
@@ -125,7 +156,7 @@ public class ActivityIntegrationService {
                 ticketId
             );
 
-            activityService.createActivity(ActivityType.INFO, title, description, userId, ticketId, "QUOTE", ticketId);
+            activityJournal.record(ActivityType.INFO, title, description, userId, ticketId, "QUOTE", ticketId);
 
             log.debug("Created quote activity for ticket #{}: {}", ticketId, amount);
         } catch (Exception e) {
@@ -140,7 +171,7 @@ public class ActivityIntegrationService {
         try {
             Long userId = getCurrentUserId();
 
-            activityService.createActivity(type, title, description, userId, null, "SYSTEM", 1L);
+            activityJournal.record(type, title, description, userId, null, "SYSTEM", 1L);
 
             log.debug("Created system activity: {}", title);
         } catch (Exception e) {
@@ -148,6 +179,23 @@ public class ActivityIntegrationService {
         }
     }
 
+    private void record(
+        boolean immediate,
+        ActivityType activityType,
+        String title,
+        String description,
+        Long userId,
+        Long ticketId,
+        String entityType,
+        Long entityId
+    ) {
+        if (immediate) {
+            activityJournal.recordNow(activityType, title, description, userId, ticketId, entityType, entityId);
+        } else {
+            activityJournal.record(activityType, title, description, userId, ticketId, entityType, entityId);
+        }
+    }
+
     /**
      * Get current user ID from security context.
      */
@@ -0,0 +1,279 @@
+package devtechly.service;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Activity;
+import devtechly.domain.ActivityType;
+import devtechly.repository.ActivityRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Journal des activités en écriture différée.
+ * <p>
+ * Les activités sont déposées dans une file non bloquante bornée et écrites par un thread dédié, en lots JDBC, toutes
+ * les {@code flush-interval} ou dès que {@code batch-size} activités sont en attente. Quand la file est pleine,
+ * l'appelant écrit lui-même son activité : il ralentit au rythme de la base plutôt que de perdre l'événement.
+ * Les activités en attente sont écrites à l'arrêt de l'application.
+ * <p>
+ * Un lot en échec est réessayé par le thread d'écriture ({@code max-attempts} fois, délai doublé à chaque essai) ;
+ * pendant ce temps la file se remplit et les appelants suivants écrivent eux-mêmes, l'échec leur étant alors levé.
+ * Un lot toujours en échec est abandonné : les activités qui ne doivent pas être perdues (celles de l'outbox) passent
+ * par {@link #recordNow}, dont l'échec remonte à l'appelant.
+ */
+@Service
+public class ActivityJournal implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActivityJournal.class);
+
+    /** Arrêté après le serveur web et le planificateur, qui peuvent encore produire des activités */
+    private static final int PHASE = 0;
+
+    private static final long STOP_TIMEOUT_MS = 30_000;
+
+    private final Consumer<List<Activity>> writer;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+
+    private final Queue<Activity> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong synchronousWrites = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    @Autowired
+    public ActivityJournal(
+        ActivityRepository activityRepository,
+        PlatformTransactionManager transactionManager,
+        RecentActivityTimeline recentActivityTimeline,
+        ApplicationProperties applicationProperties
+    ) {
+        this(batchWriter(activityRepository, transactionManager, recentActivityTimeline), applicationProperties.getActivityJournal());
+    }
+
+    ActivityJournal(Consumer<List<Activity>> writer, ApplicationProperties.ActivityJournal properties) {
+        this.writer = writer;
+        this.capacity = properties.getCapacity();
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.retryBackoffNanos = properties.getRetryBackoff().toNanos();
+    }
+
+    private static Consumer<List<Activity>> batchWriter(
+        ActivityRepository activityRepository,
+        PlatformTransactionManager transactionManager,
+        RecentActivityTimeline recentActivityTimeline
+    ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Indépendant de la transaction de l'appelant lors d'une écriture directe (file pleine ou journal arrêté)
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return batch -> {
+            transactionTemplate.executeWithoutResult(status -> activityRepository.insertAll(batch));
+            recentActivityTimeline.append(batch);
+        };
+    }
+
+    /**
+     * Enregistre une activité ; elle est écrite en base au prochain lot. Quand l'appelant l'écrit lui-même (journal
+     * arrêté ou file pleine), un échec d'écriture lui est levé.
+     */
+    public void record(
+        ActivityType activityType,
+        String title,
+        String description,
+        Long userId,
+        Long ticketId,
+        String entityType,
+        Long entityId
+    ) {
+        append(newActivity(activityType, title, description, userId, ticketId, entityType, entityId));
+    }
+
+    /**
+     * Écrit une activité immédiatement, dans sa propre transaction, sans passer par la file : un échec d'écriture est
+     * levé à l'appelant, qui peut réessayer (outbox).
+     */
+    public void recordNow(
+        ActivityType activityType,
+        String title,
+        String description,
+        Long userId,
+        Long ticketId,
+        String entityType,
+        Long entityId
+    ) {
+        writer.accept(List.of(newActivity(activityType, title, description, userId, ticketId, entityType, entityId)));
+    }
+
+    private static Activity newActivity(
+        ActivityType activityType,
+        String title,
+        String description,
+        Long userId,
+        Long ticketId,
+        String entityType,
+        Long entityId
+    ) {
+        Activity activity = new Activity();
+        activity.setActivityType(activityType);
+        activity.setTitle(title);
+        activity.setDescription(description);
+        activity.setTimestamp(Instant.now());
+        activity.setIcon(ActivityService.getIconForActivityType(activityType));
+        activity.setUserId(userId);
+        activity.setTicketId(ticketId);
+        activity.setEntityType(entityType);
+        activity.setEntityId(entityId);
+        return activity;
+    }
+
+    void append(Activity activity) {
+        if (!running) {
+            writer.accept(List.of(activity));
+            return;
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            if (synchronousWrites.getAndIncrement() % 1000 == 0) {
+                LOG.warn("Journal d'activités saturé ({} en attente) : écriture directe par l'appelant", capacity);
+            }
+            LockSupport.unpark(writerThread);
+            writer.accept(List.of(activity));
+            return;
+        }
+        queue.offer(activity);
+        if (!running && queue.remove(activity)) {
+            // Arrêt survenu pendant le dépôt : le dernier vidage a pu passer avant
+            size.decrementAndGet();
+            writer.accept(List.of(activity));
+        } else if (size.get() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    public int getPendingCount() {
+        return size.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runWriter, "activity-journal");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (size.get() > 0) {
+            LOG.warn("Journal d'activités arrêté avec {} activité(s) non écrite(s)", size.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void runWriter() {
+        while (running) {
+            if (size.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            flush();
+        }
+        // Vidage final à l'arrêt
+        flush();
+    }
+
+    private void flush() {
+        List<Activity> batch = new ArrayList<>(batchSize);
+        do {
+            batch.clear();
+            Activity activity;
+            while (batch.size() < batchSize && (activity = queue.poll()) != null) {
+                batch.add(activity);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            size.addAndGet(-batch.size());
+            write(batch);
+        } while (batch.size() == batchSize);
+    }
+
+    private void write(List<Activity> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writer.accept(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    LOG.error(
+                        "Échec de l'écriture de {} activité(s) après {} tentative(s), lot abandonné: {}",
+                        batch.size(),
+                        attempt,
+                        e.getMessage()
+                    );
+                    return;
+                }
+                long backoffNanos = retryBackoffNanos << (attempt - 1);
+                LOG.warn(
+                    "Échec de l'écriture de {} activité(s), tentative {}/{}, nouvel essai dans {} ms: {}",
+                    batch.size(),
+                    attempt,
+                    maxAttempts,
+                    backoffNanos / 1_000_000,
+                    e.getMessage()
+                );
+                pause(backoffNanos);
+            }
+        }
+    }
+
+    /**
+     * Attend la durée complète : un dépôt qui réveille le thread d'écriture ne raccourcit pas le délai entre deux essais.
+     */
+    private void pause(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+}
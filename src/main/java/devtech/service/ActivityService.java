@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -26,9 +27,16 @@ public class ActivityService {
 
     private final ActivityMapper activityMapper;
 
-    public ActivityService(ActivityRepository activityRepository, ActivityMapper activityMapper) {
+    private final RecentActivityTimeline recentActivityTimeline;
+
+    public ActivityService(
+        ActivityRepository activityRepository,
+        ActivityMapper activityMapper,
+        RecentActivityTimeline recentActivityTimeline
+    ) {
         this.activityRepository = activityRepository;
         this.activityMapper = activityMapper;
+        this.recentActivityTimeline = recentActivityTimeline;
     }
 
     /**
@@ -40,7 +48,13 @@ public class ActivityService {
     public ActivityDTO save(ActivityDTO activityDTO) {
         log.debug("Request to save Activity : {}", activityDTO);
         Activity activity = activityMapper.toEntity(activityDTO);
+        if (activity.getId() != null) {
+            recentActivityTimeline.invalidateAfterCommit();
+        }
         activity = activityRepository.save(activity);
+        if (activityDTO.getId() == null) {
+            recentActivityTimeline.appendAfterCommit(activity);
+        }
         return activityMapper.toDto(activity);
     }
 
@@ -54,6 +68,7 @@ public class ActivityService {
         log.debug("Request to update Activity : {}", activityDTO);
         Activity activity = activityMapper.toEntity(activityDTO);
         activity = activityRepository.save(activity);
+        recentActivityTimeline.invalidateAfterCommit();
         return activityMapper.toDto(activity);
     }
 
@@ -98,6 +113,7 @@ public class ActivityService {
                     existingActivity.setEntityId(activityDTO.getEntityId());
                 }
 
+                recentActivityTimeline.invalidateAfterCommit();
                 return existingActivity;
             })
             .map(activityRepository::save)
@@ -136,6 +152,7 @@ public class ActivityService {
     public void delete(Long id) {
         log.debug("Request to delete Activity : {}", id);
         activityRepository.deleteById(id);
+        recentActivityTimeline.invalidateAfterCommit();
     }
 
     /**
@@ -148,7 +165,9 @@ public class ActivityService {
     @Transactional(readOnly = true)
     public Page<ActivityDTO> findRecentActivitiesByUser(Long userId, Pageable pageable) {
         log.debug("Request to get recent Activities for user : {}", userId);
-        return activityRepository.findRecentActivitiesByUser(userId, pageable).map(activityMapper::toDto);
+        return recentActivityTimeline
+            .pageByUser(userId, pageable)
+            .orElseGet(() -> activityRepository.findRecentActivitiesByUser(userId, pageable).map(activityMapper::toDto));
     }
 
     /**
@@ -160,30 +179,32 @@ public class ActivityService {
     @Transactional(readOnly = true)
     public Page<ActivityDTO> findRecentActivities(Pageable pageable) {
         log.debug("Request to get all recent Activities");
-        return activityRepository.findRecentActivities(pageable).map(activityMapper::toDto);
+        return recentActivityTimeline
+            .page(pageable)
+            .orElseGet(() -> activityRepository.findRecentActivities(pageable).map(activityMapper::toDto));
     }
 
     /**
-     * Get recent activities for a specific user without pagination.
+     * Get the most recent activities for a specific user without pagination, served from the in-memory timeline.
      *
      * @param userId the user ID.
-     * @return the list of recent activities.
+     * @return the list of recent activities, at most {@code application.activity-timeline.per-user-size}.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<ActivityDTO> findRecentActivitiesByUser(Long userId) {
         log.debug("Request to get recent Activities for user : {}", userId);
-        return activityRepository.findRecentActivitiesByUser(userId).stream().map(activityMapper::toDto).toList();
+        return recentActivityTimeline.recentByUser(userId);
     }
 
     /**
-     * Get all recent activities without pagination.
+     * Get the most recent activities without pagination, served from the in-memory timeline.
      *
-     * @return the list of recent activities.
+     * @return the list of recent activities, at most {@code application.activity-timeline.global-size}.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<ActivityDTO> findRecentActivities() {
         log.debug("Request to get all recent Activities");
-        return activityRepository.findRecentActivities().stream().map(activityMapper::toDto).toList();
+        return recentActivityTimeline.recent();
     }
 
     /**
@@ -254,7 +275,7 @@ public class ActivityService {
      * @param activityType the activity type.
      * @return the icon name.
      */
-    private String getIconForActivityType(devtechly.domain.ActivityType activityType) {
+    static String getIconForActivityType(devtechly.domain.ActivityType activityType) {
         return switch (activityType) {
             case SUCCESS -> "check";
             case INFO -> "info";
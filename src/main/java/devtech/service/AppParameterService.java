@@ -1,20 +1,39 @@
 package devtechly.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import devtechly.domain.AppParameter;
 import devtechly.repository.AppParameterRepository;
+import devtechly.repository.TransactionCallbacks;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.util.DigestUtils;
+
+/**
+ * Paramètres applicatifs.
+ * <p>
+ * Les lectures par clé ou par type sont servies par un instantané en mémoire, chargé à la première lecture et
+ * invalidé après le commit de chaque modification ; l'écran d'administration ({@link #findAll()},
+ * {@link #findById(Long)}) lit toujours la base.
+ */
 @Service
 @Transactional
 public class AppParameterService {
 
     private final AppParameterRepository repository;
 
-    public AppParameterService(AppParameterRepository repository) {
+    private final ObjectMapper objectMapper;
+
+    private final Object snapshotLock = new Object();
+    private volatile CachedParameters cached;
+    private long snapshotGeneration;
+
+    public AppParameterService(AppParameterRepository repository, ObjectMapper objectMapper) {
         this.repository = repository;
+        this.objectMapper = objectMapper;
     }
 
     public List<AppParameter> findAll() {
@@ -25,12 +44,22 @@ public class AppParameterService {
         return repository.findById(id);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<AppParameter> findByKey(String key) {
-        return Optional.ofNullable(repository.findByKey(key));
+        return snapshot().findByKey(key);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<AppParameter> findByType(String type) {
-        return repository.findByType(type);
+        return snapshot().findByType(type);
+    }
+
+    /**
+     * Paramètres publics (statuts, types et priorités de ticket), déjà sérialisés en JSON, avec leur ETag.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SerializedParameters getPublicParameters() {
+        return cached().publicParameters();
     }
 
     public AppParameter save(AppParameter param) {
@@ -39,17 +68,20 @@ public class AppParameterService {
 
         // Vérifier si la clé existe déjà (sauf en mode édition)
         if (param.getId() == null) {
-            Optional<AppParameter> existing = findByKey(param.getKey());
-            if (existing.isPresent()) {
+            // Contrôle fait en base : l'instantané peut ignorer une création pas encore validée
+            if (repository.findByKey(param.getKey()) != null) {
                 throw new IllegalArgumentException("La clé '" + param.getKey() + "' existe déjà");
             }
         }
 
-        return repository.save(param);
+        AppParameter result = repository.save(param);
+        evictSnapshot();
+        return result;
     }
 
     public void delete(Long id) {
         repository.deleteById(id);
+        evictSnapshot();
     }
 
     // Méthodes utilitaires pour les paramètres spécifiques
@@ -65,59 +97,59 @@ public class AppParameterService {
         return findByType("ticket-priority");
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<AppParameter> getOtherParameters() {
-        return repository.findByTypeNotIn(List.of("ticket-status", "ticket-type", "ticket-priority"));
+        return snapshot().findByTypeNotIn(AppParameterSnapshot.PUBLIC_TYPES);
     }
 
     // Méthodes pour obtenir des valeurs spécifiques
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<String> getValueByKey(String key) {
-        return findByKey(key).map(AppParameter::getValue);
+        return snapshot().getValue(key);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getValueByKeyOrDefault(String key, String defaultValue) {
         return getValueByKey(key).orElse(defaultValue);
     }
 
     // Méthodes pour les valeurs par défaut
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getDefaultTicketStatus() {
         return getValueByKeyOrDefault("default_status", "open");
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getDefaultTicketType() {
         return getValueByKeyOrDefault("default_type", "support");
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getDefaultTicketPriority() {
         return getValueByKeyOrDefault("default_priority", "normal");
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public int getMaxTicketsPerUser() {
-        String value = getValueByKeyOrDefault("max_tickets_per_user", "10");
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return 10;
-        }
+        return snapshot().getInt("max_tickets_per_user", 10);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public int getTicketAutoCloseDays() {
-        String value = getValueByKeyOrDefault("ticket_auto_close_days", "30");
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return 30;
-        }
+        return snapshot().getInt("ticket_auto_close_days", 30);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean isNotificationEmailEnabled() {
-        String value = getValueByKeyOrDefault("notification_email_enabled", "true");
-        return Boolean.parseBoolean(value);
+        return snapshot().getBoolean("notification_email_enabled", true);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getSupportEmail() {
         return getValueByKeyOrDefault("support_email", "contact.devtechly@gmail.com");
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getCompanyName() {
         return getValueByKeyOrDefault("company_name", "devtechly");
     }
@@ -150,7 +182,9 @@ public class AppParameterService {
         for (AppParameter param : parameters) {
             validateParameter(param);
         }
-        return repository.saveAll(parameters);
+        List<AppParameter> result = repository.saveAll(parameters);
+        evictSnapshot();
+        return result;
     }
 
     // Méthodes pour la recherche
@@ -165,4 +199,60 @@ public class AppParameterService {
     public List<AppParameter> searchByDescriptionContaining(String description) {
         return repository.findByDescriptionContainingIgnoreCase(description);
     }
+
+    /**
+     * Invalide l'instantané ; dans une transaction, l'invalidation est répétée après le commit pour ne pas garder
+     * un instantané relu entre-temps.
+     */
+    public void evictSnapshot() {
+        clearSnapshot();
+        TransactionCallbacks.afterCommit(this::clearSnapshot);
+    }
+
+    AppParameterSnapshot snapshot() {
+        return cached().snapshot();
+    }
+
+    private CachedParameters cached() {
+        CachedParameters current = cached;
+        if (current != null) {
+            return current;
+        }
+        long generation;
+        synchronized (snapshotLock) {
+            generation = snapshotGeneration;
+        }
+        CachedParameters loaded = load();
+        synchronized (snapshotLock) {
+            // Une modification validée pendant le chargement rend la lecture douteuse : elle sert sans être gardée
+            if (generation == snapshotGeneration) {
+                cached = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private void clearSnapshot() {
+        synchronized (snapshotLock) {
+            snapshotGeneration++;
+            cached = null;
+        }
+    }
+
+    private CachedParameters load() {
+        AppParameterSnapshot snapshot = new AppParameterSnapshot(repository.findAll());
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(snapshot.publicParameters());
+            return new CachedParameters(snapshot, new SerializedParameters(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\""));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation des paramètres publics impossible", e);
+        }
+    }
+
+    /**
+     * Corps JSON prêt à l'envoi et son ETag (empreinte du contenu, stable d'un redémarrage à l'autre).
+     */
+    public record SerializedParameters(byte[] json, String eTag) {}
+
+    private record CachedParameters(AppParameterSnapshot snapshot, SerializedParameters publicParameters) {}
 }
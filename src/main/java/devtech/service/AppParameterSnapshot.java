@@ -0,0 +1,104 @@
+package devtechly.service;
+
+import devtechly.domain.AppParameter;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Vue immuable de la table des paramètres, remplacée en bloc après chaque modification.
+ * <p>
+ * Les paramètres sont des copies détachées, partagées entre tous les lecteurs : ils ne doivent pas être modifiés.
+ * Les valeurs entières sont analysées une seule fois, à la construction.
+ */
+final class AppParameterSnapshot {
+
+    static final Set<String> PUBLIC_TYPES = Set.of("ticket-status", "ticket-type", "ticket-priority");
+
+    private final List<AppParameter> all;
+    private final Map<String, AppParameter> byKey;
+    private final Map<String, List<AppParameter>> byType;
+    private final Map<String, Integer> intValues;
+
+    AppParameterSnapshot(Collection<AppParameter> parameters) {
+        this.all = parameters
+            .stream()
+            .map(AppParameterSnapshot::copy)
+            .sorted(Comparator.comparing(AppParameter::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+            .toList();
+        Map<String, AppParameter> keys = new HashMap<>();
+        Map<String, Integer> ints = new HashMap<>();
+        for (AppParameter parameter : all) {
+            keys.put(parameter.getKey(), parameter);
+            parseInt(parameter.getValue()).ifPresent(value -> ints.put(parameter.getKey(), value));
+        }
+        this.byKey = Map.copyOf(keys);
+        this.intValues = Map.copyOf(ints);
+        this.byType = all
+            .stream()
+            .filter(parameter -> parameter.getType() != null)
+            .collect(Collectors.groupingBy(AppParameter::getType, LinkedHashMap::new, Collectors.toUnmodifiableList()));
+    }
+
+    List<AppParameter> all() {
+        return all;
+    }
+
+    Optional<AppParameter> findByKey(String key) {
+        return Optional.ofNullable(byKey.get(key));
+    }
+
+    List<AppParameter> findByType(String type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    List<AppParameter> findByTypeNotIn(Collection<String> types) {
+        return all.stream().filter(parameter -> parameter.getType() == null || !types.contains(parameter.getType())).toList();
+    }
+
+    /**
+     * Paramètres exposés sans authentification (statuts, types et priorités de ticket).
+     */
+    List<AppParameter> publicParameters() {
+        return all.stream().filter(parameter -> parameter.getType() != null && PUBLIC_TYPES.contains(parameter.getType())).toList();
+    }
+
+    Optional<String> getValue(String key) {
+        return findByKey(key).map(AppParameter::getValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        return intValues.getOrDefault(key, defaultValue);
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        return getValue(key).map(Boolean::parseBoolean).orElse(defaultValue);
+    }
+
+    private static Optional<Integer> parseInt(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static AppParameter copy(AppParameter parameter) {
+        AppParameter copy = new AppParameter();
+        copy.setId(parameter.getId());
+        copy.setKey(parameter.getKey());
+        copy.setValue(parameter.getValue());
+        copy.setType(parameter.getType());
+        copy.setDescription(parameter.getDescription());
+        return copy;
+    }
+}
@@ -0,0 +1,145 @@
+package devtechly.service;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.AppUser;
+import devtechly.repository.AppUserRepository;
+import devtechly.service.exception.TooManyLoginAttemptsException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Identifiants des clients ({@link AppUser}).
+ * <p>
+ * Le client est retrouvé par l'index unique sur {@code email} et son mot de passe vérifié par le
+ * {@link PasswordEncoder} de l'application. Les échecs sont limités par adresse (voir {@link LoginAttemptThrottle}).
+ * Les mots de passe enregistrés en clair avant le hachage sont hachés par lots au démarrage ; d'ici là, ou si ce
+ * traitement échoue, un tel mot de passe est accepté une dernière fois et haché dans la transaction de la connexion.
+ */
+@Service
+public class AppUserCredentialService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppUserCredentialService.class);
+
+    private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    private static final int MIGRATION_BATCH_SIZE = 100;
+
+    private final AppUserRepository appUserRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final LoginAttemptThrottle throttle;
+
+    /** Haché comparé quand l'adresse est inconnue, pour que la réponse prenne le même temps */
+    private final String unknownUserHash;
+
+    public AppUserCredentialService(
+        AppUserRepository appUserRepository,
+        PasswordEncoder passwordEncoder,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.appUserRepository = appUserRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ApplicationProperties.LoginThrottle config = applicationProperties.getLoginThrottle();
+        this.throttle = new LoginAttemptThrottle(config.getMaxFailures(), config.getWindow(), config.getMaxEntries(), Clock.systemUTC());
+        this.unknownUserHash = passwordEncoder.encode("unknown-user");
+    }
+
+    /**
+     * Vérifie les identifiants d'un client.
+     *
+     * @return le client, vide si l'adresse est inconnue ou le mot de passe incorrect.
+     * @throws TooManyLoginAttemptsException si l'adresse a épuisé ses tentatives.
+     */
+    @Transactional
+    public Optional<AppUser> authenticate(String email, String password) {
+        if (email == null || email.isBlank() || password == null) {
+            return Optional.empty();
+        }
+        Duration retryAfter = throttle.retryAfter(email);
+        if (!retryAfter.isZero()) {
+            throw new TooManyLoginAttemptsException(retryAfter);
+        }
+        Optional<AppUser> appUser = appUserRepository.findByEmail(email.trim());
+        Optional<String> hashed = appUser.map(AppUser::getPassword).filter(AppUserCredentialService::isEncoded);
+        Optional<String> legacy = appUser.map(AppUser::getPassword).filter(stored -> !stored.isEmpty() && !isEncoded(stored));
+        // Le haché factice est aussi comparé pour un mot de passe en clair : même temps de réponse dans tous les cas
+        boolean hashMatches = passwordEncoder.matches(password, hashed.orElse(unknownUserHash));
+        boolean matches = hashed.isPresent() ? hashMatches : legacy.filter(stored -> plaintextMatches(password, stored)).isPresent();
+        if (matches) {
+            if (legacy.isPresent()) {
+                // Entité gérée : le nouveau haché est écrit à la fin de la transaction
+                appUser.orElseThrow().setPassword(passwordEncoder.encode(password));
+                LOG.debug("Mot de passe en clair haché à la connexion du client {}", appUser.orElseThrow().getId());
+            }
+            throttle.recordSuccess(email);
+            return appUser;
+        }
+        throttle.recordFailure(email);
+        return Optional.empty();
+    }
+
+    /**
+     * Mot de passe à enregistrer : haché, sauf s'il l'est déjà (formulaire renvoyant la valeur lue) ou vide (OAuth2).
+     */
+    public String encodePassword(String password) {
+        if (password == null || password.isEmpty() || isEncoded(password)) {
+            return password;
+        }
+        return passwordEncoder.encode(password);
+    }
+
+    private static boolean plaintextMatches(String password, String stored) {
+        return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static boolean isEncoded(String password) {
+        return password != null && BCRYPT.matcher(password).matches();
+    }
+
+    /**
+     * Hache les mots de passe encore en clair, par lots. Sans effet une fois la base migrée.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void hashLegacyPasswords() {
+        try {
+            int total = 0;
+            int migrated;
+            do {
+                migrated = transactionTemplate.execute(status -> hashLegacyPasswordBatch());
+                total += migrated;
+            } while (migrated == MIGRATION_BATCH_SIZE);
+            if (total > 0) {
+                LOG.info("Mots de passe clients hachés: {}", total);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Hachage des mots de passe clients interrompu: {}", e.getMessage());
+        }
+    }
+
+    private int hashLegacyPasswordBatch() {
+        List<AppUser> appUsers = appUserRepository.findWithLegacyPassword(PageRequest.of(0, MIGRATION_BATCH_SIZE));
+        for (AppUser appUser : appUsers) {
+            appUser.setPassword(encodePassword(appUser.getPassword()));
+        }
+        return appUsers.size();
+    }
+}
@@ -56,7 +56,9 @@ public class ClientToUserMigrationService {
             user.setFirstName(client.getFirstName());
             user.setLastName(client.getLastName());
             user.setEmail(client.getEmail().toLowerCase());
-            user.setPassword(passwordEncoder.encode(client.getPassword()));
+            // Les mots de passe clients sont désormais hachés : ne pas les hacher une seconde fois
+            String password = client.getPassword();
+            user.setPassword(AppUserCredentialService.isEncoded(password) ? password : passwordEncoder.encode(password));
             user.setActivated(true);
             user.setLangKey("fr"); // or default language
             HashSet<Authority> authorities = new HashSet<>();
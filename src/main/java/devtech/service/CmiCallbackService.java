@@ -0,0 +1,117 @@
+package devtechly.service;
+
+import devtechly.repository.CmiCallbackRepository;
+import devtechly.repository.TransactionCallbacks;
+import devtechly.service.dto.PaiementDTO;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Traitement idempotent des callbacks de la passerelle CMI, qui renvoie la même réponse tant qu'elle n'a pas obtenu
+ * de réponse satisfaisante.
+ * <p>
+ * Un callback est identifié par sa commande ({@code oid}) et sa transaction ({@code TransId}). Un renvoi récent est
+ * reconnu en mémoire, un renvoi plus ancien (ou reçu par une autre instance) par la clé primaire de
+ * {@code cmi_callback} : dans les deux cas le résultat du premier traitement est renvoyé, sans aucune écriture. Les
+ * callbacks d'une même commande sont traités l'un après l'autre (verrou par tranche de commandes), jusqu'à la
+ * validation de leur transaction.
+ * <p>
+ * Le hash de la passerelle est vérifié ici, une seule fois par callback : le traitement reçoit des paramètres
+ * authentifiés.
+ */
+@Service
+public class CmiCallbackService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CmiCallbackService.class);
+
+    /** Callbacks traités gardés en mémoire */
+    private static final int RECENT_CALLBACKS = 4096;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final CmiSigner cmiSigner;
+    private final CmiPaymentService cmiPaymentService;
+    private final CmiCallbackRepository cmiCallbackRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final Map<String, PaiementDTO> recent = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PaiementDTO> eldest) {
+                return size() > RECENT_CALLBACKS;
+            }
+        }
+    );
+
+    public CmiCallbackService(
+        CmiSigner cmiSigner,
+        CmiPaymentService cmiPaymentService,
+        CmiCallbackRepository cmiCallbackRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.cmiSigner = cmiSigner;
+        this.cmiPaymentService = cmiPaymentService;
+        this.cmiCallbackRepository = cmiCallbackRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Vérifie le hash du callback puis exécute {@code processing} une seule fois par callback, dans une transaction ;
+     * un doublon reçoit le paiement tel que laissé par le premier traitement.
+     *
+     * @param params     les paramètres reçus de la passerelle.
+     * @param processing le traitement du callback (mise à jour du paiement, du ticket...).
+     */
+    public PaiementDTO process(Map<String, String> params, Supplier<PaiementDTO> processing) {
+        String orderId = params.get("oid");
+        // Vérifié avant toute lecture du cache : un appel forgé ne doit rien apprendre du paiement
+        if (!cmiSigner.verifyResponse(params, params.get("HASH"))) {
+            LOG.error("Hash verification failed for order: {}", orderId);
+            throw new RuntimeException("Vérification du hash échouée");
+        }
+        if (orderId == null) {
+            return processing.get();
+        }
+        String transactionId = params.getOrDefault("TransId", "");
+        String key = orderId + '\u001f' + transactionId;
+        PaiementDTO previous = recent.get(key);
+        if (previous != null) {
+            LOG.info("Callback CMI déjà traité ignoré (commande {}, transaction {})", orderId, transactionId);
+            return previous;
+        }
+
+        ReentrantLock lock = locks[Math.floorMod(orderId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            previous = recent.get(key);
+            if (previous != null) {
+                return previous;
+            }
+            return transactionTemplate.execute(status -> {
+                if (!cmiCallbackRepository.register(orderId, transactionId)) {
+                    LOG.info("Callback CMI déjà enregistré ignoré (commande {}, transaction {})", orderId, transactionId);
+                    PaiementDTO current = cmiPaymentService.checkPaymentStatus(orderId);
+                    recent.put(key, current);
+                    return current;
+                }
+                PaiementDTO result = processing.get();
+                cmiCallbackRepository.recordOutcome(orderId, transactionId, result.id, result.status);
+                TransactionCallbacks.afterCommit(() -> recent.put(key, result));
+                return result;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+}
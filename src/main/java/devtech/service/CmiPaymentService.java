@@ -3,8 +3,6 @@ package devtechly.service;
 import devtechly.domain.Paiement;
 import devtechly.repository.PaiementRepository;
 import devtechly.service.dto.PaiementDTO;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -25,9 +23,6 @@ public class CmiPaymentService {
     @Value("${cmi.merchant.id:000000000000001}")
     private String merchantId;
 
-    @Value("${cmi.store.key:TEST123456789}")
-    private String storeKey;
-
     @Value("${cmi.store.name:devtechly Store}")
     private String storeName;
 
@@ -44,9 +39,17 @@ public class CmiPaymentService {
     private String failUrl;
 
     private final PaiementRepository paiementRepository;
-
-    public CmiPaymentService(PaiementRepository paiementRepository) {
+    private final PaymentAggregateService paymentAggregateService;
+    private final CmiSigner cmiSigner;
+
+    public CmiPaymentService(
+        PaiementRepository paiementRepository,
+        PaymentAggregateService paymentAggregateService,
+        CmiSigner cmiSigner
+    ) {
         this.paiementRepository = paiementRepository;
+        this.paymentAggregateService = paymentAggregateService;
+        this.cmiSigner = cmiSigner;
     }
 
     /**
@@ -104,6 +107,7 @@ public class CmiPaymentService {
             paiement.setCmiUpdatedAt(LocalDateTime.now());
 
             paiementRepository.save(paiement);
+            paymentAggregateService.recordChange(null, paiement);
 
             // Préparer les paramètres CMI
             Map<String, String> params = new HashMap<>();
@@ -150,7 +154,7 @@ public class CmiPaymentService {
             params.put("description", paiementDTO.description != null ? paiementDTO.description : "Paiement devtechly");
 
             // Générer le hash
-            String hash = generateHash(params);
+            String hash = cmiSigner.signRequest(params);
             params.put("hash", hash);
 
             log.info("Payment request created for order: {}", orderId);
@@ -162,7 +166,7 @@ public class CmiPaymentService {
     }
 
     /**
-     * Traite la réponse CMI
+     * Traite la réponse CMI, dont le hash a été vérifié par {@link CmiCallbackService#process}.
      */
     public PaiementDTO processPaymentResponse(Map<String, String> responseParams) {
         try {
@@ -171,18 +175,12 @@ public class CmiPaymentService {
             String responseMessage = responseParams.get("ErrMsg");
             String transactionId = responseParams.get("TransId");
             String approvalCode = responseParams.get("AuthCode");
-            String hash = responseParams.get("HASH");
-
-            // Vérifier le hash
-            if (!verifyHash(responseParams, hash)) {
-                log.error("Hash verification failed for order: {}", orderId);
-                throw new RuntimeException("Vérification du hash échouée");
-            }
 
             // Trouver le paiement
             Paiement paiement = paiementRepository
                 .findByCmiOrderId(orderId)
                 .orElseThrow(() -> new RuntimeException("Paiement non trouvé: " + orderId));
+            PaymentAggregateService.Contribution before = PaymentAggregateService.Contribution.of(paiement);
 
             // Mettre à jour le paiement
             paiement.setCmiTransactionId(transactionId);
@@ -208,6 +206,7 @@ public class CmiPaymentService {
             }
 
             paiementRepository.save(paiement);
+            paymentAggregateService.recordChange(before, paiement);
 
             log.info("Payment response processed for order: {} with status: {}", orderId, paiement.getStatus());
             return toDto(paiement);
@@ -252,89 +251,6 @@ public class CmiPaymentService {
         return sb.toString();
     }
 
-    /**
-     * Génère le hash CMI
-     */
-    private String generateHash(Map<String, String> params) {
-        try {
-            // Construire la chaîne à hasher
-            StringBuilder hashString = new StringBuilder();
-
-            // Ajouter les paramètres dans l'ordre spécifique
-            String[] hashParams = { "clientid", "amount", "oid", "okUrl", "failUrl", "rnd", "currency", "lang" };
-
-            for (String param : hashParams) {
-                if (params.containsKey(param)) {
-                    hashString.append(params.get(param));
-                }
-            }
-
-            // Ajouter la clé secrète
-            hashString.append(storeKey);
-
-            // Générer le hash SHA256
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(hashString.toString().getBytes(StandardCharsets.UTF_8));
-
-            // Convertir en hex
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-
-            return hexString.toString().toUpperCase();
-        } catch (Exception e) {
-            log.error("Error generating hash", e);
-            throw new RuntimeException("Erreur lors de la génération du hash", e);
-        }
-    }
-
-    /**
-     * Vérifie le hash de la réponse
-     */
-    private boolean verifyHash(Map<String, String> params, String receivedHash) {
-        try {
-            // Construire la chaîne à hasher
-            StringBuilder hashString = new StringBuilder();
-
-            // Ajouter les paramètres dans l'ordre spécifique pour la vérification
-            String[] hashParams = { "clientid", "oid", "Response", "AuthCode", "ProcReturnCode", "TransId", "ErrMsg" };
-
-            for (String param : hashParams) {
-                if (params.containsKey(param)) {
-                    hashString.append(params.get(param));
-                }
-            }
-
-            // Ajouter la clé secrète
-            hashString.append(storeKey);
-
-            // Générer le hash SHA256
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(hashString.toString().getBytes(StandardCharsets.UTF_8));
-
-            // Convertir en hex
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-
-            String calculatedHash = hexString.toString().toUpperCase();
-            return calculatedHash.equals(receivedHash);
-        } catch (Exception e) {
-            log.error("Error verifying hash", e);
-            return false;
-        }
-    }
-
     /**
      * Convertit l'entité en DTO
      */
@@ -0,0 +1,161 @@
+package devtechly.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signature SHA-256 des échanges avec la passerelle CMI.
+ * <p>
+ * Le hash porte sur la concaténation de champs dans un ordre fixé, suivie de la clé du magasin, et s'écrit en
+ * hexadécimal majuscule. Chaque thread réutilise son {@link MessageDigest} et ses tampons, la clé est encodée une
+ * fois pour toutes : signer ou vérifier une réponse n'alloue que la chaîne du hash produit. La vérification compare
+ * les octets en temps constant.
+ */
+@Component
+public class CmiSigner {
+
+    /** Champs signés d'une demande de paiement, dans l'ordre */
+    static final String[] REQUEST_FIELDS = { "clientid", "amount", "oid", "okUrl", "failUrl", "rnd", "currency", "lang" };
+
+    /** Champs signés d'une réponse de la passerelle, dans l'ordre */
+    static final String[] RESPONSE_FIELDS = { "clientid", "oid", "Response", "AuthCode", "ProcReturnCode", "TransId", "ErrMsg" };
+
+    private static final int HASH_LENGTH = 32;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /** Valeur de chaque caractère hexadécimal (majuscule ou minuscule), -1 pour les autres */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
+            HEX_VALUES[Character.toLowerCase(HEX_DIGITS[i])] = (byte) i;
+        }
+    }
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private final byte[] storeKeySuffix;
+
+    public CmiSigner(@Value("${cmi.store.key:TEST123456789}") String storeKey) {
+        this.storeKeySuffix = storeKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Hash d'une demande de paiement, à envoyer dans le champ {@code hash}.
+     */
+    public String signRequest(Map<String, String> params) {
+        State state = STATE.get();
+        digest(state, params, REQUEST_FIELDS);
+        return toHex(state.computed);
+    }
+
+    /**
+     * Vérifie le hash reçu ({@code HASH}) d'une réponse de la passerelle.
+     */
+    public boolean verifyResponse(Map<String, String> params, String receivedHash) {
+        State state = STATE.get();
+        if (!decodeHex(receivedHash, state.received)) {
+            return false;
+        }
+        digest(state, params, RESPONSE_FIELDS);
+        return MessageDigest.isEqual(state.computed, state.received);
+    }
+
+    /**
+     * Calcule le hash des champs présents (les champs absents ou nuls sont ignorés) dans {@code state.computed}.
+     */
+    private void digest(State state, Map<String, String> params, String[] fields) {
+        MessageDigest digest = state.digest;
+        for (String field : fields) {
+            String value = params.get(field);
+            if (value != null) {
+                state.update(value);
+            }
+        }
+        digest.update(storeKeySuffix);
+        try {
+            digest.digest(state.computed, 0, HASH_LENGTH);
+        } catch (DigestException e) {
+            digest.reset();
+            throw new IllegalStateException("Calcul du hash CMI impossible", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Décode un hash hexadécimal de {@code target.length} octets ; faux si la chaîne est absente ou mal formée.
+     */
+    static boolean decodeHex(String hex, byte[] target) {
+        if (hex == null || hex.length() != target.length * 2) {
+            return false;
+        }
+        int invalid = 0;
+        for (int i = 0; i < target.length; i++) {
+            int high = hexValue(hex.charAt(i * 2));
+            int low = hexValue(hex.charAt(i * 2 + 1));
+            invalid |= high | low;
+            target[i] = (byte) ((high << 4) | low);
+        }
+        // Un caractère invalide vaut -1 : le bit de signe signale l'erreur sans branchement par caractère
+        return invalid >= 0;
+    }
+
+    private static int hexValue(char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+    }
+
+    /**
+     * Digest et tampons propres à un thread.
+     */
+    private static final class State {
+
+        private final MessageDigest digest;
+        private final byte[] computed = new byte[HASH_LENGTH];
+        private final byte[] received = new byte[HASH_LENGTH];
+        private byte[] buffer = new byte[256];
+
+        private State() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 indisponible", e);
+            }
+        }
+
+        /**
+         * Ajoute la valeur encodée en UTF-8 ; les valeurs ASCII (le cas courant) sont copiées sans allocation.
+         */
+        private void update(String value) {
+            int length = value.length();
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    digest.update(value.getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                buffer[i] = (byte) c;
+            }
+            digest.update(buffer, 0, length);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package devtechly.service;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Paiement;
+import devtechly.repository.PaiementRepository;
+import devtechly.service.dto.InvoiceArchiveJobDTO;
+import devtechly.service.dto.InvoiceArchiveJobDTO.Status;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Archives ZIP des factures d'une période, générées en tâche de fond.
+ * <p>
+ * Les archives sont construites une à une ; les demandes suivantes attendent dans une file bornée. Pour chaque
+ * archive, les paiements sont lus en flux et leurs factures rendues en parallèle sur un pool de taille fixe. Au plus
+ * quelques factures par thread sont en cours à la fois : elles sont écrites dans le ZIP sur disque dans l'ordre des
+ * paiements, au fur et à mesure, sans que l'archive entière passe en mémoire.
+ * <p>
+ * L'état des archives n'est gardé qu'en mémoire, sur l'instance qui les construit : derrière un load balancer, le
+ * suivi et le téléchargement répondent 404 sur les autres instances, et un redémarrage oublie les archives en cours.
+ * Le service suppose donc une seule instance, ou des sessions "sticky" sur ces URL.
+ */
+@Service
+public class InvoiceArchiveService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InvoiceArchiveService.class);
+
+    /** Factures rendues d'avance par thread de rendu, en attendant leur écriture dans le ZIP */
+    private static final int RENDER_AHEAD_PER_THREAD = 4;
+
+    private static final String ARCHIVE_DIRECTORY = "bulk";
+
+    private static final String INTERRUPTED = "Archive interrompue";
+
+    private final InvoiceService invoiceService;
+    private final PaiementRepository paiementRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path archiveDirectory;
+    private final Duration retention;
+    private final int renderAhead;
+    private final ThreadPoolExecutor jobExecutor;
+    private final ExecutorService renderExecutor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public InvoiceArchiveService(
+        InvoiceService invoiceService,
+        PaiementRepository paiementRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.invoiceService = invoiceService;
+        this.paiementRepository = paiementRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        ApplicationProperties.Invoice properties = applicationProperties.getInvoice();
+        ApplicationProperties.Invoice.Bulk bulk = properties.getBulk();
+        this.archiveDirectory = Path.of(properties.getPath()).toAbsolutePath().normalize().resolve(ARCHIVE_DIRECTORY);
+        this.retention = bulk.getRetention();
+        this.renderAhead = bulk.getThreads() * RENDER_AHEAD_PER_THREAD;
+        CustomizableThreadFactory jobThreads = new CustomizableThreadFactory("invoice-archive-");
+        jobThreads.setDaemon(true);
+        this.jobExecutor = new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(bulk.getMaxPendingJobs()),
+            jobThreads
+        );
+        CustomizableThreadFactory renderThreads = new CustomizableThreadFactory("invoice-render-");
+        renderThreads.setDaemon(true);
+        this.renderExecutor = Executors.newFixedThreadPool(bulk.getThreads(), renderThreads);
+    }
+
+    /**
+     * Met en file une archive des factures des paiements datés entre {@code startDate} et {@code endDate} (inclus).
+     *
+     * @throws RejectedExecutionException si la file des archives est pleine.
+     */
+    public InvoiceArchiveJobDTO submit(LocalDate startDate, LocalDate endDate) {
+        Job job = new Job(UUID.randomUUID().toString(), startDate, endDate);
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        LOG.info("Archive de factures {} en file ({} au {})", job.id, startDate, endDate);
+        return job.toDto();
+    }
+
+    public Optional<InvoiceArchiveJobDTO> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::toDto);
+    }
+
+    /**
+     * Fichier ZIP d'une archive terminée.
+     */
+    public Optional<Path> getArchive(String id) {
+        Job job = jobs.get(id);
+        return job != null && job.status == Status.COMPLETED ? Optional.of(archiveFile(id)) : Optional.empty();
+    }
+
+    /**
+     * Supprime les archives plus anciennes que {@code application.invoice.bulk.retention}, y compris celles laissées
+     * par une exécution précédente de l'application.
+     */
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void purgeExpiredArchives() {
+        Instant limit = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(limit));
+        if (!Files.isDirectory(archiveDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archiveDirectory)) {
+            for (Path file : files) {
+                String id = file.getFileName().toString().replaceFirst("\\.zip(\\.part)?$", "");
+                if (!jobs.containsKey(id) && Files.getLastModifiedTime(file).toInstant().isBefore(limit)) {
+                    Files.deleteIfExists(file);
+                    LOG.debug("Archive de factures expirée supprimée: {}", file);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Purge des archives de factures impossible: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        renderExecutor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.status = Status.RUNNING;
+        Path target = archiveFile(job.id);
+        Path partial = target.resolveSibling(job.id + ".zip.part");
+        try {
+            Files.createDirectories(archiveDirectory);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                readOnlyTransaction.executeWithoutResult(status -> writeArchive(job, out));
+            }
+            try {
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            job.size = Files.size(target);
+            job.status = Status.COMPLETED;
+            LOG.info("Archive de factures {} terminée : {} facture(s), {} octets", job.id, job.processed.get(), job.size);
+        } catch (IOException | RuntimeException e) {
+            Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+            // À l'arrêt, l'interruption peut remonter du rendu ou du pool : une seule cause pour l'utilisateur
+            job.error = jobExecutor.isShutdown() ? INTERRUPTED : cause.getMessage();
+            job.status = Status.FAILED;
+            LOG.warn("Échec de l'archive de factures {}: {}", job.id, cause.getMessage());
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // Supprimée à la prochaine purge
+            }
+        } finally {
+            job.completedAt = Instant.now();
+        }
+    }
+
+    private void writeArchive(Job job, OutputStream out) {
+        job.total = paiementRepository.countByDateBetween(job.startDate, job.endDate);
+        Deque<Future<InvoiceService.Invoice>> rendering = new ArrayDeque<>(renderAhead);
+        try (
+            ZipOutputStream zip = new ZipOutputStream(out);
+            Stream<Paiement> paiements = paiementRepository.streamByDateRange(job.startDate, job.endDate)
+        ) {
+            // Les PDF sont déjà compressés : une compression rapide suffit
+            zip.setLevel(Deflater.BEST_SPEED);
+            Iterator<Paiement> iterator = paiements.iterator();
+            while (iterator.hasNext()) {
+                Paiement paiement = iterator.next();
+                entityManager.detach(paiement);
+                if (rendering.size() == renderAhead) {
+                    writeEntry(zip, rendering.removeFirst(), job);
+                }
+                rendering.addLast(renderExecutor.submit(() -> invoiceService.loadInvoice(paiement)));
+            }
+            while (!rendering.isEmpty()) {
+                writeEntry(zip, rendering.removeFirst(), job);
+            }
+            zip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rendering.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static void writeEntry(ZipOutputStream zip, Future<InvoiceService.Invoice> rendered, Job job) throws IOException {
+        InvoiceService.Invoice invoice;
+        try {
+            invoice = rendered.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rendu de facture impossible: " + e.getCause().getMessage(), e.getCause());
+        }
+        zip.putNextEntry(new ZipEntry("facture-paiement-" + invoice.paiementId() + ".pdf"));
+        zip.write(invoice.pdf());
+        zip.closeEntry();
+        job.processed.incrementAndGet();
+    }
+
+    private Path archiveFile(String id) {
+        return archiveDirectory.resolve(id + ".zip");
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Instant createdAt = Instant.now();
+        private final AtomicLong processed = new AtomicLong();
+        private volatile Status status = Status.QUEUED;
+        private volatile long total;
+        private volatile Long size;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private Job(String id, LocalDate startDate, LocalDate endDate) {
+            this.id = id;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        private InvoiceArchiveJobDTO toDto() {
+            InvoiceArchiveJobDTO dto = new InvoiceArchiveJobDTO();
+            dto.setId(id);
+            dto.setStartDate(startDate);
+            dto.setEndDate(endDate);
+            dto.setStatus(status);
+            dto.setTotal(total);
+            dto.setProcessed(processed.get());
+            dto.setSizeInBytes(size);
+            dto.setError(error);
+            dto.setCreatedAt(createdAt);
+            dto.setCompletedAt(completedAt);
+            if (status == Status.COMPLETED) {
+                dto.setDownloadUrl("/api/paiements/factures/archives/" + id + "/download");
+            }
+            return dto;
+        }
+    }
+}
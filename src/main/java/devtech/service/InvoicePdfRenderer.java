@@ -0,0 +1,144 @@
+package devtechly.service;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfWriter;
+import devtechly.domain.Paiement;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Mise en page des factures de paiement.
+ * <p>
+ * Les polices et les formats sont créés une seule fois et partagés entre les rendus ; seul le contenu variable est
+ * construit pour chaque facture.
+ */
+final class InvoicePdfRenderer {
+
+    /** À incrémenter à chaque changement de mise en page : les factures déjà stockées sont alors régénérées */
+    static final int TEMPLATE_VERSION = 1;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    /** Une facture fait quelques Ko : évite les agrandissements successifs du tampon */
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    private static final Font TITLE_FONT;
+    private static final Font HEADER_FONT;
+    private static final Font NORMAL_FONT;
+
+    static {
+        try {
+            BaseFont regular = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+            BaseFont bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+            TITLE_FONT = new Font(bold, 18);
+            HEADER_FONT = new Font(bold, 12);
+            NORMAL_FONT = new Font(regular, 10);
+        } catch (DocumentException | IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private InvoicePdfRenderer() {}
+
+    static byte[] render(Paiement paiement) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        Document document = new Document();
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            document.add(new Paragraph("FACTURE DE PAIEMENT", TITLE_FONT));
+            document.add(blankLine());
+
+            // Informations de la facture
+            document.add(new Paragraph("Numéro de facture: " + paiement.getId(), HEADER_FONT));
+            String date = paiement.getDate() != null ? paiement.getDate().format(DATE_FORMAT) : "N/A";
+            document.add(new Paragraph("Date: " + date, NORMAL_FONT));
+            document.add(blankLine());
+
+            // Informations du client
+            document.add(new Paragraph("INFORMATIONS CLIENT", HEADER_FONT));
+            document.add(new Paragraph("Utilisateur: " + paiement.getUser(), NORMAL_FONT));
+            document.add(blankLine());
+
+            // Détails du paiement
+            document.add(new Paragraph("DÉTAILS DU PAIEMENT", HEADER_FONT));
+            document.add(new Paragraph("Montant: " + formatAmount(paiement.getAmount()) + " " + paiement.getCurrency(), NORMAL_FONT));
+            document.add(new Paragraph("Statut: " + paiement.getStatus(), NORMAL_FONT));
+            if (paiement.getCmiTransactionId() != null) {
+                document.add(new Paragraph("ID Transaction: " + paiement.getCmiTransactionId(), NORMAL_FONT));
+            }
+            if (paiement.getCmiApprovalCode() != null) {
+                document.add(new Paragraph("Code d'approbation: " + paiement.getCmiApprovalCode(), NORMAL_FONT));
+            }
+            if (paiement.getDescription() != null) {
+                document.add(new Paragraph("Description: " + paiement.getDescription(), NORMAL_FONT));
+            }
+            document.add(blankLine());
+
+            // Informations CMI
+            if (paiement.getCmiOrderId() != null) {
+                document.add(new Paragraph("INFORMATIONS CMI", HEADER_FONT));
+                document.add(new Paragraph("ID Commande: " + paiement.getCmiOrderId(), NORMAL_FONT));
+                String createdAt = paiement.getCmiCreatedAt() != null ? paiement.getCmiCreatedAt().format(DATE_TIME_FORMAT) : "N/A";
+                document.add(new Paragraph("Date de création: " + createdAt, NORMAL_FONT));
+            }
+        } catch (DocumentException e) {
+            throw new IllegalStateException("Erreur génération PDF", e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Empreinte des champs imprimés sur la facture et de la version de mise en page : deux paiements de même
+     * empreinte produisent le même PDF.
+     */
+    static String version(Paiement paiement) {
+        String fields = String.join(
+            "\u001f",
+            String.valueOf(TEMPLATE_VERSION),
+            Objects.toString(paiement.getId()),
+            Objects.toString(paiement.getDate()),
+            Objects.toString(paiement.getUser()),
+            formatAmount(paiement.getAmount()),
+            Objects.toString(paiement.getCurrency()),
+            Objects.toString(paiement.getStatus()),
+            Objects.toString(paiement.getCmiTransactionId()),
+            Objects.toString(paiement.getCmiApprovalCode()),
+            Objects.toString(paiement.getDescription()),
+            Objects.toString(paiement.getCmiOrderId()),
+            Objects.toString(paiement.getCmiCreatedAt())
+        );
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fields.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    static String formatAmount(Double amount) {
+        return amount != null ? BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).toPlainString() : "N/A";
+    }
+
+    private static Paragraph blankLine() {
+        return new Paragraph(" ");
+    }
+}
@@ -0,0 +1,145 @@
+package devtechly.service;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Paiement;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Factures PDF des paiements, rendues une fois par version.
+ * <p>
+ * Une facture est identifiée par l'id du paiement et l'empreinte des champs qu'elle imprime (statut compris) :
+ * tant que le paiement ne change pas, la même facture est resservie sans nouveau rendu. Les factures des paiements
+ * dans un statut définitif sont stockées sur disque ({@code application.invoice.path}) et survivent aux
+ * redémarrages ; les plus récentes sont aussi gardées en mémoire.
+ */
+@Service
+public class InvoiceService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InvoiceService.class);
+
+    /** Statuts après lesquels un paiement n'évolue plus : seules leurs factures sont écrites sur disque */
+    static final Set<String> FINAL_STATUSES = Set.of("COMPLETED", "FAILED", "CANCELLED");
+
+    /** Paiements par sous-répertoire, pour garder des répertoires de taille raisonnable */
+    private static final long PAYMENTS_PER_DIRECTORY = 1000;
+
+    /**
+     * Facture rendue ; {@link #eTag()} change dès qu'un champ imprimé change.
+     */
+    public record Invoice(Long paiementId, String version, byte[] pdf) {
+        public String eTag() {
+            return "\"" + paiementId + "-" + version + "\"";
+        }
+    }
+
+    private final Path root;
+    private final Map<String, Invoice> recent;
+
+    public InvoiceService(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Invoice properties = applicationProperties.getInvoice();
+        this.root = Path.of(properties.getPath()).toAbsolutePath().normalize();
+        int memoryCacheSize = properties.getMemoryCacheSize();
+        this.recent = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Invoice> eldest) {
+                    return size() > memoryCacheSize;
+                }
+            }
+        );
+    }
+
+    /**
+     * Facture du paiement dans son état actuel : depuis la mémoire, le disque, ou rendue puis conservée.
+     */
+    public Invoice getInvoice(Paiement paiement) {
+        String version = InvoicePdfRenderer.version(paiement);
+        String key = paiement.getId() + "-" + version;
+        Invoice invoice = recent.get(key);
+        if (invoice == null) {
+            invoice = load(paiement, version);
+            recent.put(key, invoice);
+        }
+        return invoice;
+    }
+
+    /**
+     * Comme {@link #getInvoice(Paiement)}, sans passer par la mémoire : pour les traitements de masse, qui
+     * évinceraient les factures consultées récemment.
+     */
+    Invoice loadInvoice(Paiement paiement) {
+        return load(paiement, InvoicePdfRenderer.version(paiement));
+    }
+
+    private Invoice load(Paiement paiement, String version) {
+        boolean durable = FINAL_STATUSES.contains(paiement.getStatus());
+        Path file = file(paiement.getId(), version);
+        Invoice invoice = durable ? read(paiement.getId(), version, file) : null;
+        if (invoice == null) {
+            invoice = new Invoice(paiement.getId(), version, InvoicePdfRenderer.render(paiement));
+            if (durable) {
+                write(paiement.getId(), file, invoice.pdf());
+            }
+        }
+        return invoice;
+    }
+
+    private Invoice read(Long paiementId, String version, Path file) {
+        try {
+            return new Invoice(paiementId, version, Files.readAllBytes(file));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Lecture impossible de la facture {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Écrit la facture (copie temporaire puis renommage) et supprime les versions précédentes du même paiement.
+     * Un échec d'écriture n'empêche pas de servir la facture, qui sera simplement rendue à nouveau.
+     */
+    private void write(Long paiementId, Path file, byte[] pdf) {
+        Path directory = file.getParent();
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, ".invoice-", ".tmp");
+            try {
+                Files.write(temp, pdf);
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            try (DirectoryStream<Path> previous = Files.newDirectoryStream(directory, paiementId + "-*.pdf")) {
+                for (Path stale : previous) {
+                    if (!stale.equals(file)) {
+                        Files.deleteIfExists(stale);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Écriture impossible de la facture {}: {}", file, e.getMessage());
+        }
+    }
+
+    Path file(Long paiementId, String version) {
+        return root.resolve(String.valueOf(paiementId / PAYMENTS_PER_DIRECTORY)).resolve(paiementId + "-" + version + ".pdf");
+    }
+}
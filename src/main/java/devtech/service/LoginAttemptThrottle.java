@@ -0,0 +1,93 @@
+package devtechly.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Limite les échecs de connexion par adresse e-mail.
+ * <p>
+ * Au-delà de {@code maxFailures} échecs dans une fenêtre, l'adresse est bloquée jusqu'à la fin de cette fenêtre. Les
+ * compteurs sont gardés dans un cache LRU borné : une rafale d'adresses différentes ne peut pas faire grossir la
+ * mémoire, elle ne fait qu'oublier les adresses les moins récemment vues.
+ */
+final class LoginAttemptThrottle {
+
+    private final int maxFailures;
+    private final Duration window;
+    private final Clock clock;
+    private final Map<String, Attempts> attempts;
+
+    LoginAttemptThrottle(int maxFailures, Duration window, int maxEntries, Clock clock) {
+        this.maxFailures = maxFailures;
+        this.window = window;
+        this.clock = clock;
+        this.attempts = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Attempts> eldest) {
+                    return size() > maxEntries;
+                }
+            }
+        );
+    }
+
+    /**
+     * Durée restante du blocage de l'adresse, {@link Duration#ZERO} si une tentative est permise.
+     */
+    Duration retryAfter(String email) {
+        String key = key(email);
+        Instant now = clock.instant();
+        synchronized (attempts) {
+            Attempts current = attempts.get(key);
+            if (current == null) {
+                return Duration.ZERO;
+            }
+            Instant end = current.windowStart.plus(window);
+            if (!now.isBefore(end)) {
+                attempts.remove(key);
+                return Duration.ZERO;
+            }
+            return current.failures < maxFailures ? Duration.ZERO : Duration.between(now, end);
+        }
+    }
+
+    void recordFailure(String email) {
+        String key = key(email);
+        Instant now = clock.instant();
+        synchronized (attempts) {
+            Attempts current = attempts.get(key);
+            if (current == null || !now.isBefore(current.windowStart.plus(window))) {
+                attempts.put(key, new Attempts(now));
+            } else {
+                current.failures++;
+            }
+        }
+    }
+
+    void recordSuccess(String email) {
+        attempts.remove(key(email));
+    }
+
+    int size() {
+        return attempts.size();
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Attempts {
+
+        private final Instant windowStart;
+        private int failures = 1;
+
+        private Attempts(Instant windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+}
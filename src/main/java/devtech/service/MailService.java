@@ -201,6 +201,14 @@ public class MailService {
 
     @Async
     public void sendTicketCreatedEmail(Ticket ticket) {
+        sendTicketCreatedEmailSync(ticket);
+    }
+
+    /**
+     * Variante synchrone de {@link #sendTicketCreatedEmail(Ticket)} pour l'outbox : un échec SMTP est levé à l'appelant,
+     * qui replanifie l'envoi.
+     */
+    public void sendTicketCreatedEmailSync(Ticket ticket) {
         userRepository
             .findOneByLogin(ticket.getCreatedBy())
             .ifPresent(user -> {
@@ -216,7 +224,7 @@ public class MailService {
         // Notifier l'admin
         String subjectAdmin = "Nouveau ticket créé (ID: " + ticket.getId() + ")";
         String contentAdmin = "Un nouveau ticket a été créé par " + ticket.getCreatedBy() + ".\nDescription : " + ticket.getDescription();
-        sendEmail(adminEmail, subjectAdmin, contentAdmin, false, false);
+        sendEmailSync(adminEmail, subjectAdmin, contentAdmin, false, false);
     }
 
     @Async
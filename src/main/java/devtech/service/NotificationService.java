@@ -3,16 +3,26 @@ package devtechly.service;
 import devtechly.domain.Notification;
 import devtechly.domain.User;
 import devtechly.repository.NotificationRepository;
+import devtechly.repository.TransactionCallbacks;
 import devtechly.repository.UserRepository;
 import devtechly.security.AuthoritiesConstants;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -25,14 +35,49 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationStreamService notificationStreamService;
 
     /** Emails admin OAuth2 (sans User JHipster) pour lesquels créer des notifications. Liste séparée par des virgules. */
     @Value("${admin.notification-emails:}")
     private String adminNotificationEmailsConfig;
 
-    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository) {
+    /** Filet de sécurité si une modification de rôle n'a pas invalidé le cache */
+    private static final Duration ADMIN_RECIPIENTS_TTL = Duration.ofMinutes(10);
+
+    private final Object adminRecipientsLock = new Object();
+    private volatile AdminRecipients adminRecipients;
+    private long adminRecipientsGeneration;
+
+    /** Nombre maximal d'identifiants dont le compteur de non lues est gardé en mémoire */
+    private static final int MAX_UNREAD_COUNTERS = 10_000;
+
+    /** Durée de vie d'un compteur chargé en base : rattrape les notifications créées ou lues sur une autre instance */
+    private static final Duration UNREAD_COUNTER_TTL = Duration.ofMinutes(1);
+
+    private final UnreadNotificationCounter unreadCounter;
+
+    private final Clock clock;
+
+    @Autowired
+    public NotificationService(
+        NotificationRepository notificationRepository,
+        UserRepository userRepository,
+        NotificationStreamService notificationStreamService
+    ) {
+        this(notificationRepository, userRepository, notificationStreamService, Clock.systemUTC());
+    }
+
+    NotificationService(
+        NotificationRepository notificationRepository,
+        UserRepository userRepository,
+        NotificationStreamService notificationStreamService,
+        Clock clock
+    ) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.notificationStreamService = notificationStreamService;
+        this.clock = clock;
+        this.unreadCounter = new UnreadNotificationCounter(MAX_UNREAD_COUNTERS, UNREAD_COUNTER_TTL, clock);
     }
 
     /**
@@ -52,52 +97,157 @@ public class NotificationService {
             LOG.warn("notifyUser skipped: userLogin is null or blank");
             return;
         }
-        Notification notif = new Notification();
-        // Normaliser pour correspondance fiable (casse, espaces)
-        String normalizedLogin = userLogin.trim().toLowerCase();
-        notif.setUserLogin(normalizedLogin);
-        notif.setMessage(message);
-        notif.setType(type);
-        notif.setTicketId(ticketId);
-        notif.setActionUrl(actionUrl);
-        notif.setUserId(userId);
-        notif.setRead(false);
-        notif.setCreatedDate(Instant.now());
-        notif.setTimestamp(Instant.now());
-
-        // Définir un titre par défaut basé sur le type
-        String title = getDefaultTitle(type);
-        notif.setTitle(title);
-
-        notificationRepository.save(notif);
+        Notification saved = notificationRepository.save(newNotification(userLogin, message, type, ticketId, actionUrl, userId));
+        String key = saved.getUserLogin();
+        TransactionCallbacks.afterCommit(() -> unreadCounter.add(key, 1));
+        notificationStreamService.publishAfterCommit(List.of(saved));
     }
 
     /**
      * Notifier tous les administrateurs.
+     * Les destinataires sont résolus depuis le cache et toutes les notifications sont insérées en un seul batch JDBC,
+     * quel que soit le nombre d'admins.
      * REQUIRES_NEW pour ne pas affecter la transaction de création de ticket en cas d'erreur.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW, noRollbackFor = Exception.class)
     public void notifyAdmins(String message, String type, Long ticketId, String actionUrl) {
-        Set<String> notified = new HashSet<>();
+        List<Notification> notifications = getAdminRecipients()
+            .stream()
+            .map(recipient -> newNotification(recipient.identifier(), message, type, ticketId, actionUrl, recipient.userId()))
+            .toList();
+        int inserted = notificationRepository.insertAll(notifications);
+        LOG.debug("{} notification(s) admin créée(s) pour le type {}", inserted, type);
+        TransactionCallbacks.afterCommit(() -> notifications.forEach(notification -> unreadCounter.add(notification.getUserLogin(), 1)));
+        notificationStreamService.publishAfterCommit(notifications);
+    }
+
+    /**
+     * Nombre de notifications non lues d'un utilisateur (tous ses identifiants), servi depuis les compteurs en mémoire ;
+     * seuls les identifiants absents du cache déclenchent une requête.
+     */
+    @Transactional(readOnly = true)
+    public long countUnread(Collection<String> identifiers) {
+        Set<String> keys = normalizeAll(identifiers);
+        OptionalLong cached = unreadCounter.sum(keys);
+        if (cached.isPresent()) {
+            return cached.getAsLong();
+        }
+        Map<String, Long> loaded = null;
+        unreadCounter.beginLoad(keys);
+        try {
+            loaded = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUserLogin(keys)) {
+                // Avec une collation insensible à la casse, d'anciennes lignes non normalisées peuvent remonter
+                loaded.merge(normalizeLogin((String) row[0]), ((Number) row[1]).longValue(), Long::sum);
+            }
+        } finally {
+            unreadCounter.endLoad(keys, loaded);
+        }
+        return loaded.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Marque une notification de l'utilisateur comme lue.
+     *
+     * @return {@code false} si la notification n'existe pas ou n'appartient pas à l'utilisateur.
+     */
+    @Transactional
+    public boolean markAsRead(Long id, Collection<String> identifiers) {
+        Optional<Notification> notification = notificationRepository.findByIdAndUserLoginIn(id, identifiers);
+        if (notification.isEmpty()) {
+            return false;
+        }
+        if (notificationRepository.markAsReadById(id) > 0) {
+            String key = normalizeLogin(notification.orElseThrow().getUserLogin());
+            TransactionCallbacks.afterCommit(() -> unreadCounter.add(key, -1));
+        }
+        return true;
+    }
+
+    /**
+     * Marque toutes les notifications de l'utilisateur comme lues, en une seule requête.
+     * Les compteurs sont invalidés plutôt que remis à zéro, pour ne pas effacer une notification créée entre-temps.
+     *
+     * @return le nombre de notifications modifiées.
+     */
+    @Transactional
+    public int markAllAsRead(Collection<String> identifiers) {
+        int updated = notificationRepository.markAllAsReadByUserLoginIn(identifiers);
+        if (updated > 0) {
+            Set<String> keys = normalizeAll(identifiers);
+            TransactionCallbacks.afterCommit(() -> keys.forEach(unreadCounter::evict));
+        }
+        return updated;
+    }
+
+    /**
+     * Invalide le compteur de non lues d'un destinataire après une modification hors de ce service
+     * (création, mise à jour ou suppression directe d'une notification).
+     */
+    public void evictUnreadCount(String userLogin) {
+        if (userLogin != null) {
+            String key = normalizeLogin(userLogin);
+            unreadCounter.evict(key);
+            TransactionCallbacks.afterCommit(() -> unreadCounter.evict(key));
+        }
+    }
+
+    /**
+     * Invalide la liste des destinataires admin (création, suppression, changement de rôle ou d'email d'un utilisateur).
+     * Dans une transaction, l'invalidation est répétée après le commit pour ne pas garder une liste relue entre-temps.
+     */
+    public void evictAdminRecipients() {
+        clearAdminRecipients();
+        TransactionCallbacks.afterCommit(this::clearAdminRecipients);
+    }
+
+    /**
+     * Destinataires admin : admins de la table User (identifiés par leur email pour que OAuth2 les retrouve), puis
+     * emails admin OAuth2 configurés. Mis en cache, rechargés après invalidation ou expiration.
+     */
+    List<AdminRecipient> getAdminRecipients() {
+        AdminRecipients cached = adminRecipients;
+        if (cached != null && cached.loadedAt().plus(ADMIN_RECIPIENTS_TTL).isAfter(clock.instant())) {
+            return cached.recipients();
+        }
+        long generation;
+        synchronized (adminRecipientsLock) {
+            generation = adminRecipientsGeneration;
+        }
+        List<AdminRecipient> recipients = loadAdminRecipients();
+        synchronized (adminRecipientsLock) {
+            // Ne pas mettre en cache une liste lue avant une invalidation survenue pendant le chargement
+            if (generation == adminRecipientsGeneration) {
+                adminRecipients = new AdminRecipients(recipients, clock.instant());
+            }
+        }
+        return recipients;
+    }
+
+    private void clearAdminRecipients() {
+        synchronized (adminRecipientsLock) {
+            adminRecipientsGeneration++;
+            adminRecipients = null;
+        }
+    }
+
+    private List<AdminRecipient> loadAdminRecipients() {
+        Map<String, AdminRecipient> recipients = new LinkedHashMap<>();
 
         // 1) Admins de la table User (JHipster) — utiliser l'email pour que OAuth2 les retrouve
         List<User> admins = userRepository.findAllByAuthority(AuthoritiesConstants.ADMIN);
         if (admins != null) {
             for (User admin : admins) {
                 String adminIdentifier = (admin.getEmail() != null && !admin.getEmail().isEmpty()) ? admin.getEmail() : admin.getLogin();
-                if (notified.add(adminIdentifier)) {
-                    notifyUser(adminIdentifier, message, type, ticketId, actionUrl, admin.getId());
-                }
+                recipients.putIfAbsent(normalizeLogin(adminIdentifier), new AdminRecipient(adminIdentifier, admin.getId()));
             }
         }
 
         // 2) Emails admin OAuth2 (sans User) — pour que les admins connectés via Google voient les notifications
-        List<String> oauth2AdminEmails = parseAdminNotificationEmails();
-        for (String email : oauth2AdminEmails) {
-            if (email != null && !email.isBlank() && notified.add(email.trim())) {
-                notifyUser(email.trim(), message, type, ticketId, actionUrl, null);
-            }
+        for (String email : parseAdminNotificationEmails()) {
+            recipients.putIfAbsent(normalizeLogin(email), new AdminRecipient(email, null));
         }
+        return List.copyOf(recipients.values());
     }
 
     private List<String> parseAdminNotificationEmails() {
@@ -119,6 +269,39 @@ public class NotificationService {
         notifyUser(clientLogin, message, type, ticketId, actionUrl, null);
     }
 
+    private Notification newNotification(String userLogin, String message, String type, Long ticketId, String actionUrl, Long userId) {
+        Notification notif = new Notification();
+        // Normaliser pour correspondance fiable (casse, espaces)
+        notif.setUserLogin(normalizeLogin(userLogin));
+        notif.setMessage(message);
+        notif.setType(type);
+        notif.setTicketId(ticketId);
+        notif.setActionUrl(actionUrl);
+        notif.setUserId(userId);
+        notif.setRead(false);
+        Instant now = clock.instant();
+        notif.setCreatedDate(now);
+        notif.setTimestamp(now);
+
+        // Définir un titre par défaut basé sur le type
+        notif.setTitle(getDefaultTitle(type));
+        return notif;
+    }
+
+    private static String normalizeLogin(String login) {
+        return login.trim().toLowerCase();
+    }
+
+    private static Set<String> normalizeAll(Collection<String> identifiers) {
+        Set<String> keys = new LinkedHashSet<>();
+        identifiers.forEach(identifier -> keys.add(normalizeLogin(identifier)));
+        return keys;
+    }
+
+    record AdminRecipient(String identifier, Long userId) {}
+
+    private record AdminRecipients(List<AdminRecipient> recipients, Instant loadedAt) {}
+
     /**
      * Obtenir un titre par défaut basé sur le type de notification
      */
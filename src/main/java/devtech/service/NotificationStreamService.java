@@ -0,0 +1,237 @@
+package devtechly.service;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Notification;
+import devtechly.repository.NotificationRepository;
+import devtechly.repository.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Diffusion des notifications en Server-Sent Events : une connexion par onglet remplace le polling de
+ * {@code GET /api/notifications}.
+ * <p>
+ * Chaque notification est envoyée après le commit de la transaction qui l'a créée, avec son id comme identifiant
+ * d'événement ; à la reconnexion, le navigateur renvoie ce curseur dans {@code Last-Event-ID} et les notifications
+ * manquées sont relues en base. Les connexions sont propres à l'instance : sans load balancer "sticky", la reprise
+ * par curseur couvre les notifications créées sur une autre instance.
+ * <p>
+ * Les envois passent par un pool borné : un client lent ne bloque ni le thread qui a validé la transaction ni le
+ * scheduler des heartbeats. Si la file est pleine, le lot est abandonné ; le client le rattrape à sa reconnexion.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    static final String EVENT_NAME = "notification";
+
+    /** Délai de reconnexion suggéré au navigateur */
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final NotificationRepository notificationRepository;
+    private final ApplicationProperties.NotificationStream properties;
+
+    /** Connexions ouvertes, par identifiant normalisé (login ou email) */
+    private final Map<String, Deque<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    private final ExecutorService sendExecutor;
+
+    @Autowired
+    public NotificationStreamService(NotificationRepository notificationRepository, ApplicationProperties applicationProperties) {
+        this(notificationRepository, applicationProperties, newSendExecutor(applicationProperties.getNotificationStream()));
+    }
+
+    NotificationStreamService(
+        NotificationRepository notificationRepository,
+        ApplicationProperties applicationProperties,
+        ExecutorService sendExecutor
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.properties = applicationProperties.getNotificationStream();
+        this.sendExecutor = sendExecutor;
+    }
+
+    private static ExecutorService newSendExecutor(ApplicationProperties.NotificationStream properties) {
+        CustomizableThreadFactory sendThreads = new CustomizableThreadFactory("notification-stream-");
+        sendThreads.setDaemon(true);
+        return new ThreadPoolExecutor(
+            properties.getSendThreads(),
+            properties.getSendThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(properties.getSendQueueCapacity()),
+            sendThreads
+        );
+    }
+
+    /**
+     * Ouvre un flux pour l'utilisateur désigné par ses identifiants, en rejouant d'abord les notifications postérieures
+     * à {@code lastEventId} s'il est fourni.
+     */
+    public SseEmitter subscribe(Collection<String> identifiers, Long lastEventId) {
+        Set<String> keys = new LinkedHashSet<>();
+        identifiers.forEach(identifier -> keys.add(normalize(identifier)));
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        emitter.onCompletion(() -> unregister(keys, emitter));
+        // Sans complete(), la requête asynchrone expirée resterait ouverte côté conteneur
+        emitter.onTimeout(() -> {
+            unregister(keys, emitter);
+            emitter.complete();
+        });
+        emitter.onError(e -> unregister(keys, emitter));
+
+        // Enregistrer avant la relecture : une notification publiée entre les deux est au pire reçue deux fois
+        register(keys, emitter);
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_DELAY_MS).comment("connected"));
+            if (lastEventId != null) {
+                List<Notification> missed = notificationRepository.findByUserLoginInAndIdGreaterThanOrderByIdAsc(
+                    keys,
+                    lastEventId,
+                    PageRequest.ofSize(properties.getReplayLimit())
+                );
+                for (Notification notification : missed) {
+                    emitter.send(event(notification));
+                }
+                LOG.debug("Flux notifications: {} notification(s) rejouée(s) après {} pour {}", missed.size(), lastEventId, keys);
+            }
+        } catch (IOException | IllegalStateException e) {
+            unregister(keys, emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Envoie les notifications aux connexions de leurs destinataires, après le commit de la transaction courante
+     * (immédiatement hors transaction), sur le pool d'envoi. Une notification annulée par un rollback n'est jamais poussée.
+     */
+    public void publishAfterCommit(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> submit(() -> publish(notifications)));
+    }
+
+    /**
+     * Commentaire périodique : garde la connexion ouverte à travers les proxys et détecte les clients partis.
+     */
+    @Scheduled(
+        fixedRateString = "${application.notification-stream.heartbeat-interval:PT25S}",
+        initialDelayString = "${application.notification-stream.heartbeat-interval:PT25S}"
+    )
+    public void sendHeartbeats() {
+        Set<SseEmitter> all = Collections.newSetFromMap(new IdentityHashMap<>());
+        emitters.values().forEach(all::addAll);
+        if (!all.isEmpty()) {
+            submit(() -> all.forEach(emitter -> send(emitter, SseEmitter.event().comment("ping"))));
+        }
+    }
+
+    public int getConnectionCount() {
+        Set<SseEmitter> all = Collections.newSetFromMap(new IdentityHashMap<>());
+        emitters.values().forEach(all::addAll);
+        return all.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    private void submit(Runnable sends) {
+        try {
+            sendExecutor.execute(sends);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Flux notifications: file d'envoi pleine, envoi abandonné (rattrapé à la reconnexion)");
+        }
+    }
+
+    void publish(List<Notification> notifications) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        for (Notification notification : notifications) {
+            if (notification.getId() == null || notification.getUserLogin() == null) {
+                continue;
+            }
+            Deque<SseEmitter> recipients = emitters.get(normalize(notification.getUserLogin()));
+            if (recipients == null) {
+                continue;
+            }
+            for (SseEmitter emitter : recipients) {
+                send(emitter, event(notification));
+            }
+        }
+    }
+
+    private void register(Set<String> keys, SseEmitter emitter) {
+        for (String key : keys) {
+            emitters.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>()).addLast(emitter);
+        }
+        // Limite par utilisateur, sur son identifiant principal : on ferme les connexions les plus anciennes
+        Deque<SseEmitter> primary = emitters.get(keys.iterator().next());
+        while (primary != null && primary.size() > properties.getMaxConnectionsPerUser()) {
+            SseEmitter oldest = primary.pollFirst();
+            if (oldest == null || oldest == emitter) {
+                break;
+            }
+            emitters.values().forEach(deque -> deque.remove(oldest));
+            oldest.complete();
+        }
+    }
+
+    private void unregister(Set<String> keys, SseEmitter emitter) {
+        for (String key : keys) {
+            emitters.computeIfPresent(key, (k, deque) -> {
+                deque.remove(emitter);
+                return deque.isEmpty() ? null : deque;
+            });
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client déconnecté : les callbacks de l'emitter le désinscrivent
+            LOG.trace("Flux notifications: envoi impossible, connexion fermée ({})", e.getMessage());
+            emitters.values().forEach(deque -> deque.remove(emitter));
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(Notification notification) {
+        return SseEmitter.event().id(String.valueOf(notification.getId())).name(EVENT_NAME).data(notification, MediaType.APPLICATION_JSON);
+    }
+
+    private static String normalize(String identifier) {
+        return identifier.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,164 @@
+package devtechly.service;
+
+import devtechly.domain.AppUser;
+import devtechly.domain.Message;
+import devtechly.domain.OutboxEvent;
+import devtechly.domain.Paiement;
+import devtechly.domain.Ticket;
+import devtechly.repository.AppUserRepository;
+import devtechly.repository.TicketRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exécute les effets de bord enregistrés par {@link OutboxService}, par lots, en dehors des requêtes HTTP.
+ * <p>
+ * Livraison "au moins une fois" : un événement n'est supprimé qu'après succès ; en cas d'échec il est replanifié avec
+ * un délai exponentiel.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    /** Nombre maximal de lots traités par passe, pour rendre la main au planificateur */
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final OutboxService outboxService;
+    private final NotificationService notificationService;
+    private final ActivityIntegrationService activityIntegrationService;
+    private final ClientEmailService clientEmailService;
+    private final MailService mailService;
+    private final TicketRepository ticketRepository;
+    private final AppUserRepository appUserRepository;
+
+    public OutboxDispatcher(
+        OutboxService outboxService,
+        NotificationService notificationService,
+        ActivityIntegrationService activityIntegrationService,
+        ClientEmailService clientEmailService,
+        MailService mailService,
+        TicketRepository ticketRepository,
+        AppUserRepository appUserRepository
+    ) {
+        this.outboxService = outboxService;
+        this.notificationService = notificationService;
+        this.activityIntegrationService = activityIntegrationService;
+        this.clientEmailService = clientEmailService;
+        this.mailService = mailService;
+        this.ticketRepository = ticketRepository;
+        this.appUserRepository = appUserRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval:PT1S}", initialDelayString = "PT10S")
+    public void dispatchPendingEvents() {
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<OutboxEvent> events = outboxService.claimDueEvents();
+            if (events.isEmpty()) {
+                return;
+            }
+            List<Long> done = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                try {
+                    dispatch(event);
+                    done.add(event.getId());
+                } catch (Exception e) {
+                    outboxService.fail(event.getId(), e);
+                }
+            }
+            outboxService.complete(done);
+            LOG.debug("Outbox: {} événement(s) exécuté(s) sur {}", done.size(), events.size());
+        }
+    }
+
+    void dispatch(OutboxEvent event) {
+        Map<String, Object> payload = outboxService.readPayload(event);
+        Long ticketId = event.getTicketId();
+        switch (event.getEventType()) {
+            case CLIENT_EMAIL_TICKET_CREATED -> withTicketAndClient(ticketId, payload, clientEmailService::sendTicketCreatedEmail);
+            case ADMIN_EMAIL_TICKET_CREATED -> ticketRepository.findById(ticketId).ifPresent(mailService::sendTicketCreatedEmailSync);
+            case CLIENT_EMAIL_TICKET_MESSAGE -> withTicketAndClient(ticketId, payload, (client, ticket) -> {
+                Message messageForEmail = new Message();
+                messageForEmail.setSender("Équipe devtechly");
+                messageForEmail.setContent(string(payload, "content"));
+                messageForEmail.setCreatedDate(Instant.parse(string(payload, "createdDate")));
+                clientEmailService.sendTicketMessageEmail(client, ticket, messageForEmail);
+            });
+            case CLIENT_EMAIL_PAYMENT_VALIDATED -> withTicketAndClient(ticketId, payload, (client, ticket) -> {
+                // Objet Paiement temporaire pour le template de l'email
+                Paiement paiementForEmail = new Paiement();
+                paiementForEmail.setId(ticketId);
+                Object amount = payload.get("amount");
+                paiementForEmail.setAmount(amount instanceof Number number ? number.doubleValue() : 0.0);
+                paiementForEmail.setMethodePaiement("En ligne");
+                paiementForEmail.setDatePaiement(Instant.parse(string(payload, "validatedDate")));
+                clientEmailService.sendPaymentValidatedEmail(client, paiementForEmail);
+            });
+            case NOTIFY_USER -> notificationService.notifyUser(string(payload, "login"), string(payload, "message"), string(payload, "type"));
+            case NOTIFY_CLIENT -> notificationService.notifyClient(
+                string(payload, "login"),
+                string(payload, "message"),
+                string(payload, "type"),
+                ticketId,
+                string(payload, "actionUrl")
+            );
+            case NOTIFY_ADMINS -> notificationService.notifyAdmins(
+                string(payload, "message"),
+                string(payload, "type"),
+                ticketId,
+                string(payload, "actionUrl")
+            );
+            case ACTIVITY_TICKET_CREATED -> ticketRepository
+                .findById(ticketId)
+                .ifPresent(ticket -> activityIntegrationService.createTicketCreatedActivity(ticket, userId(payload)));
+            case ACTIVITY_TICKET_STATUS_UPDATED -> ticketRepository
+                .findById(ticketId)
+                .ifPresent(ticket ->
+                    activityIntegrationService.createTicketStatusUpdatedActivity(
+                        ticket,
+                        string(payload, "oldStatus"),
+                        string(payload, "newStatus"),
+                        userId(payload)
+                    )
+                );
+            case ACTIVITY_PAYMENT -> activityIntegrationService.createPaymentActivity(
+                ticketId,
+                string(payload, "paymentType"),
+                string(payload, "amount"),
+                Boolean.TRUE.equals(payload.get("success")),
+                userId(payload)
+            );
+        }
+    }
+
+    private void withTicketAndClient(Long ticketId, Map<String, Object> payload, TicketEmail email) {
+        Optional<Ticket> ticket = ticketRepository.findById(ticketId);
+        Optional<AppUser> client = appUserRepository.findByEmail(string(payload, "clientLogin"));
+        if (ticket.isEmpty() || client.isEmpty()) {
+            LOG.debug("Outbox: email ignoré, ticket {} ou client introuvable", ticketId);
+            return;
+        }
+        email.send(client.orElseThrow(), ticket.orElseThrow());
+    }
+
+    private static String string(Map<String, Object> payload, String key) {
+        Object value = payload.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private static Long userId(Map<String, Object> payload) {
+        return payload.get("userId") instanceof Number number ? number.longValue() : null;
+    }
+
+    @FunctionalInterface
+    private interface TicketEmail {
+        void send(AppUser client, Ticket ticket);
+    }
+}
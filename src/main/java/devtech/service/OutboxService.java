@@ -0,0 +1,250 @@
+package devtechly.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.OutboxEvent;
+import devtechly.domain.OutboxEventType;
+import devtechly.repository.OutboxEventRepository;
+import devtechly.security.SecurityUtils;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Outbox transactionnelle des effets de bord des tickets.
+ * <p>
+ * Les méthodes {@code enqueue*} s'exécutent dans la transaction de l'écriture du ticket : l'effet de bord est
+ * enregistré si et seulement si le ticket l'est. L'envoi réel (SMTP, notifications, activités) est fait après le
+ * commit par {@link OutboxDispatcher}, hors du temps de réponse de la requête.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationProperties.Outbox properties;
+
+    public OutboxService(
+        OutboxEventRepository outboxEventRepository,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getOutbox();
+    }
+
+    /**
+     * Email au client : ticket créé.
+     */
+    public void enqueueClientTicketCreatedEmail(Long ticketId, String clientLogin) {
+        enqueue(OutboxEventType.CLIENT_EMAIL_TICKET_CREATED, ticketId, payload("clientLogin", clientLogin));
+    }
+
+    /**
+     * Email à l'admin : ticket créé.
+     */
+    public void enqueueAdminTicketCreatedEmail(Long ticketId) {
+        enqueue(OutboxEventType.ADMIN_EMAIL_TICKET_CREATED, ticketId, payload());
+    }
+
+    /**
+     * Email au client : nouvelle réponse de l'équipe sur son ticket.
+     */
+    public void enqueueClientTicketMessageEmail(Long ticketId, String clientLogin, String content) {
+        enqueue(
+            OutboxEventType.CLIENT_EMAIL_TICKET_MESSAGE,
+            ticketId,
+            payload("clientLogin", clientLogin, "content", content, "createdDate", Instant.now().toString())
+        );
+    }
+
+    /**
+     * Email au client : paiement validé.
+     */
+    public void enqueueClientPaymentValidatedEmail(Long ticketId, String clientLogin, Double amount) {
+        enqueue(
+            OutboxEventType.CLIENT_EMAIL_PAYMENT_VALIDATED,
+            ticketId,
+            payload("clientLogin", clientLogin, "amount", amount, "validatedDate", Instant.now().toString())
+        );
+    }
+
+    /**
+     * Équivalent différé de {@link NotificationService#notifyUser(String, String, String)}.
+     */
+    public void enqueueNotifyUser(String userLogin, String message, String type) {
+        enqueue(OutboxEventType.NOTIFY_USER, null, payload("login", userLogin, "message", message, "type", type));
+    }
+
+    /**
+     * Équivalent différé de {@link NotificationService#notifyClient}.
+     */
+    public void enqueueNotifyClient(String clientLogin, String message, String type, Long ticketId, String actionUrl) {
+        enqueue(
+            OutboxEventType.NOTIFY_CLIENT,
+            ticketId,
+            payload("login", clientLogin, "message", message, "type", type, "actionUrl", actionUrl)
+        );
+    }
+
+    /**
+     * Équivalent différé de {@link NotificationService#notifyAdmins} : une seule ligne, quel que soit le nombre d'admins.
+     */
+    public void enqueueNotifyAdmins(String message, String type, Long ticketId, String actionUrl) {
+        enqueue(OutboxEventType.NOTIFY_ADMINS, ticketId, payload("message", message, "type", type, "actionUrl", actionUrl));
+    }
+
+    /**
+     * Activité "ticket créé", attribuée à l'utilisateur courant.
+     */
+    public void enqueueTicketCreatedActivity(Long ticketId) {
+        enqueue(OutboxEventType.ACTIVITY_TICKET_CREATED, ticketId, payload("userId", currentUserId()));
+    }
+
+    /**
+     * Activité de changement de statut, attribuée à l'utilisateur courant.
+     */
+    public void enqueueTicketStatusUpdatedActivity(Long ticketId, String oldStatus, String newStatus) {
+        enqueue(
+            OutboxEventType.ACTIVITY_TICKET_STATUS_UPDATED,
+            ticketId,
+            payload("userId", currentUserId(), "oldStatus", oldStatus, "newStatus", newStatus)
+        );
+    }
+
+    /**
+     * Activité de paiement, attribuée à l'utilisateur courant.
+     */
+    public void enqueuePaymentActivity(Long ticketId, String paymentType, String amount, boolean success) {
+        enqueue(
+            OutboxEventType.ACTIVITY_PAYMENT,
+            ticketId,
+            payload("userId", currentUserId(), "paymentType", paymentType, "amount", amount, "success", success)
+        );
+    }
+
+    /**
+     * Enregistre un effet de bord dans la transaction courante.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEventType type, Long ticketId, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        Instant now = Instant.now();
+        event.setEventType(type);
+        event.setTicketId(ticketId);
+        event.setPayload(toJson(payload));
+        event.setStatus(OutboxEvent.STATUS_PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(now);
+        event.setCreatedDate(now);
+        outboxEventRepository.save(event);
+    }
+
+    /**
+     * Réserve un lot d'événements à exécuter : leur prochaine échéance est repoussée de la durée du bail, ce qui les
+     * masque aux passes suivantes (et aux autres instances) tant qu'ils ne sont pas acquittés.
+     */
+    @Transactional
+    public List<OutboxEvent> claimDueEvents() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.findDueForUpdate(
+            OutboxEvent.STATUS_PENDING,
+            now,
+            PageRequest.ofSize(properties.getBatchSize())
+        );
+        Instant leaseEnd = now.plus(properties.getLease());
+        events.forEach(event -> event.setNextAttemptAt(leaseEnd));
+        return events;
+    }
+
+    /**
+     * Supprime les événements exécutés, en une seule requête.
+     */
+    @Transactional
+    public void complete(Collection<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(eventIds);
+        }
+    }
+
+    /**
+     * Replanifie un événement en échec avec un délai exponentiel, ou le passe en FAILED après trop de tentatives.
+     */
+    @Transactional
+    public void fail(Long eventId, Exception error) {
+        outboxEventRepository
+            .findById(eventId)
+            .ifPresent(event -> {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+                if (attempts >= properties.getMaxAttempts()) {
+                    event.setStatus(OutboxEvent.STATUS_FAILED);
+                    LOG.error("Outbox: abandon de l'événement {} après {} tentatives: {}", event, attempts, error.getMessage());
+                } else {
+                    Duration delay = backoff(attempts, properties.getInitialBackoff(), properties.getMaxBackoff());
+                    event.setNextAttemptAt(Instant.now().plus(delay));
+                    LOG.warn("Outbox: échec de l'événement {}, nouvelle tentative dans {}: {}", event, delay, error.getMessage());
+                }
+            });
+    }
+
+    /**
+     * Délai avant la tentative suivante : initial × 2^(tentatives - 1), plafonné.
+     */
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initial.multipliedBy(1L << exponent);
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    public Map<String, Object> readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload d'outbox illisible pour l'événement " + event.getId(), e);
+        }
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload d'outbox non sérialisable", e);
+        }
+    }
+
+    private static Map<String, Object> payload(Object... keyValues) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            payload.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return payload;
+    }
+
+    private static Long currentUserId() {
+        return SecurityUtils.getCurrentUserId().orElse(null);
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_ERROR_LENGTH ? value.substring(0, MAX_ERROR_LENGTH) : value;
+    }
+}
@@ -0,0 +1,153 @@
+package devtechly.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import devtechly.domain.Paiement;
+import devtechly.repository.PaiementRepository;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Export des paiements d'une période en CSV ou NDJSON.
+ * <p>
+ * Les paiements sont lus en flux (le driver ne garde qu'une ligne à la fois), écrits au fil de l'eau et détachés
+ * du contexte de persistance : la mémoire utilisée ne dépend pas de la taille de la période.
+ */
+@Service
+public class PaiementExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PaiementExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private final PaiementRepository paiementRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter rowWriter;
+
+    public PaiementExportService(PaiementRepository paiementRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.paiementRepository = paiementRepository;
+        this.entityManager = entityManager;
+        this.rowWriter = objectMapper.writer();
+    }
+
+    /**
+     * Écrit les paiements dont la date est comprise entre {@code startDate} et {@code endDate} (inclus).
+     *
+     * @return le nombre de paiements exportés.
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDate startDate, LocalDate endDate, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count = 0;
+        try (Stream<Paiement> paiements = paiementRepository.streamByDateRange(startDate, endDate)) {
+            if (format == Format.CSV) {
+                writeCsvLine(writer, toRow(null).keySet().iterator(), false);
+            }
+            Iterator<Paiement> iterator = paiements.iterator();
+            while (iterator.hasNext()) {
+                Paiement paiement = iterator.next();
+                Map<String, Object> row = toRow(paiement);
+                entityManager.detach(paiement);
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, row.values().iterator(), true);
+                } else {
+                    writer.write(rowWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                count++;
+            }
+        }
+        writer.flush();
+        LOG.info("Export {} des paiements du {} au {} : {} ligne(s)", format, startDate, endDate, count);
+        return count;
+    }
+
+    /**
+     * Colonnes exportées ; appelé avec {@code null} pour obtenir l'en-tête.
+     */
+    private static Map<String, Object> toRow(Paiement p) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", p != null ? p.getId() : null);
+        row.put("date", p != null ? p.getDate() : null);
+        row.put("user", p != null ? p.getUser() : null);
+        row.put("amount", p != null ? p.getAmount() : null);
+        row.put("currency", p != null ? p.getCurrency() : null);
+        row.put("status", p != null ? p.getStatus() : null);
+        row.put("description", p != null ? p.getDescription() : null);
+        row.put("cmiOrderId", p != null ? p.getCmiOrderId() : null);
+        row.put("cmiTransactionId", p != null ? p.getCmiTransactionId() : null);
+        row.put("cmiResponseCode", p != null ? p.getCmiResponseCode() : null);
+        row.put("cmiApprovalCode", p != null ? p.getCmiApprovalCode() : null);
+        row.put("cmiPaymentMethod", p != null ? p.getCmiPaymentMethod() : null);
+        row.put("cmiCardType", p != null ? p.getCmiCardType() : null);
+        row.put("createdAt", p != null ? p.getCreatedAt() : null);
+        row.put("updatedAt", p != null ? p.getUpdatedAt() : null);
+        return row;
+    }
+
+    private static void writeCsvLine(Writer writer, Iterator<?> values, boolean escapeFormulas) throws IOException {
+        boolean first = true;
+        while (values.hasNext()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            Object value = values.next();
+            if (value == null) {
+                continue;
+            }
+            writer.write(value instanceof String text ? csvField(text, escapeFormulas) : value.toString());
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Champ texte au format RFC 4180 ; un texte commençant par {@code = + - @} est préfixé d'une apostrophe pour ne
+     * pas être interprété comme une formule par les tableurs.
+     */
+    static String csvField(String value, boolean escapeFormulas) {
+        String text = value;
+        if (escapeFormulas && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -1,16 +1,11 @@
 package devtechly.service;
 
-// PDF
-import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.PdfWriter;
 import devtechly.domain.Paiement;
 import devtechly.repository.PaiementRepository;
 import devtechly.service.dto.PaiementDTO;
 import devtechly.service.exception.PaiementException;
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,10 +19,19 @@ public class PaiementService {
 
     private final PaiementRepository paiementRepository;
     private final CmiPaymentService cmiPaymentService;
-
-    public PaiementService(PaiementRepository paiementRepository, CmiPaymentService cmiPaymentService) {
+    private final PaymentAggregateService paymentAggregateService;
+    private final InvoiceService invoiceService;
+
+    public PaiementService(
+        PaiementRepository paiementRepository,
+        CmiPaymentService cmiPaymentService,
+        PaymentAggregateService paymentAggregateService,
+        InvoiceService invoiceService
+    ) {
         this.paiementRepository = paiementRepository;
         this.cmiPaymentService = cmiPaymentService;
+        this.paymentAggregateService = paymentAggregateService;
+        this.invoiceService = invoiceService;
     }
 
     public List<PaiementDTO> findAll() {
@@ -121,6 +125,7 @@ public class PaiementService {
 
         try {
             Paiement savedPaiement = paiementRepository.save(paiement);
+            paymentAggregateService.recordChange(null, savedPaiement);
             return toDto(savedPaiement);
         } catch (Exception e) {
             throw new PaiementException("Erreur lors de la création du paiement", e);
@@ -137,6 +142,7 @@ public class PaiementService {
         Paiement paiement = paiementRepository
             .findById(id)
             .orElseThrow(() -> new PaiementException("Paiement non trouvé avec l'ID: " + id));
+        PaymentAggregateService.Contribution before = PaymentAggregateService.Contribution.of(paiement);
 
         // Mettre à jour les champs
         paiement.setUser(paiementDTO.user);
@@ -193,6 +199,7 @@ public class PaiementService {
 
         try {
             Paiement updatedPaiement = paiementRepository.save(paiement);
+            paymentAggregateService.recordChange(before, updatedPaiement);
             return toDto(updatedPaiement);
         } catch (Exception e) {
             throw new PaiementException("Erreur lors de la mise à jour du paiement", e);
@@ -203,11 +210,12 @@ public class PaiementService {
      * Supprime un paiement
      */
     public void delete(Long id) {
-        if (!paiementRepository.existsById(id)) {
-            throw new PaiementException("Paiement non trouvé avec l'ID: " + id);
-        }
+        Paiement paiement = paiementRepository
+            .findById(id)
+            .orElseThrow(() -> new PaiementException("Paiement non trouvé avec l'ID: " + id));
         try {
-            paiementRepository.deleteById(id);
+            paymentAggregateService.recordChange(PaymentAggregateService.Contribution.of(paiement), null);
+            paiementRepository.delete(paiement);
         } catch (Exception e) {
             throw new PaiementException("Erreur lors de la suppression du paiement", e);
         }
@@ -232,19 +240,12 @@ public class PaiementService {
     }
 
     /**
-     * Traite la réponse CMI
+     * Traite la réponse CMI, dont le hash a été vérifié par {@link CmiCallbackService#process}.
      */
     public PaiementDTO processCmiPaymentResponse(Map<String, String> params) {
         return cmiPaymentService.processPaymentResponse(params);
     }
 
-    /**
-     * Traite la réponse CMI
-     */
-    public PaiementDTO processPaymentResponse(Map<String, String> responseParams) {
-        return cmiPaymentService.processPaymentResponse(responseParams);
-    }
-
     /**
      * Vérifie le statut d'un paiement
      */
@@ -300,144 +301,18 @@ public class PaiementService {
     }
 
     /**
-     * Obtient les statistiques de paiement
+     * Obtient les statistiques de paiement, lues dans les agrégats maintenus par {@link PaymentAggregateService}
      */
     public Map<String, Object> getPaymentStats() {
-        Map<String, Object> stats = new java.util.HashMap<>();
-
-        // Compter par statut
-        List<Object[]> statusCounts = paiementRepository.countByStatus();
-        for (Object[] statusCount : statusCounts) {
-            stats.put((String) statusCount[0], statusCount[1]);
-        }
-
-        // Total des paiements
-        stats.put("total", paiementRepository.count());
-
-        // Montant total des paiements complétés
-        List<Paiement> completedPayments = paiementRepository.findByStatusOrderByCreatedAtDesc("COMPLETED");
-        double totalAmount = completedPayments.stream().mapToDouble(p -> p.getAmount() != null ? p.getAmount() : 0.0).sum();
-        stats.put("totalAmount", totalAmount);
-
-        // Paiements aujourd'hui
-        List<PaiementDTO> todayPayments = findCompletedPaymentsToday();
-        stats.put("todayCount", todayPayments.size());
-        double todayAmount = todayPayments
-            .stream()
-            .mapToDouble(p -> {
-                if (p.amount != null) {
-                    if (p.amount instanceof Double) {
-                        return (Double) p.amount;
-                    } else if (p.amount instanceof String) {
-                        try {
-                            return Double.parseDouble((String) p.amount);
-                        } catch (NumberFormatException e) {
-                            return 0.0;
-                        }
-                    } else if (p.amount instanceof Number) {
-                        return ((Number) p.amount).doubleValue();
-                    }
-                }
-                return 0.0;
-            })
-            .sum();
-        stats.put("todayAmount", todayAmount);
-
-        return stats;
+        return paymentAggregateService.getPaymentStats(LocalDate.now());
     }
 
-    public byte[] generateFacturePdf(Long paiementId) {
-        PaiementDTO paiement = findById(paiementId);
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Document document = new Document();
-            PdfWriter.getInstance(document, out);
-            document.open();
-
-            // En-tête
-            Font titleFont = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD);
-            Font headerFont = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD);
-            Font normalFont = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
-
-            document.add(new Paragraph("FACTURE DE PAIEMENT", titleFont));
-            document.add(new Paragraph(" ")); // Espace
-
-            // Informations de la facture
-            document.add(new Paragraph("Numéro de facture: " + paiement.id, headerFont));
-            // Gestion de la date pour le PDF
-            String dateStr = "N/A";
-            if (paiement.date != null) {
-                if (paiement.date instanceof LocalDate) {
-                    dateStr = ((LocalDate) paiement.date).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-                } else if (paiement.date instanceof String) {
-                    try {
-                        LocalDate localDate = LocalDate.parse((String) paiement.date);
-                        dateStr = localDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-                    } catch (Exception e) {
-                        dateStr = "Date invalide";
-                    }
-                }
-            }
-            document.add(new Paragraph("Date: " + dateStr, normalFont));
-            document.add(new Paragraph(" ")); // Espace
-
-            // Informations du client
-            document.add(new Paragraph("INFORMATIONS CLIENT", headerFont));
-            document.add(new Paragraph("Utilisateur: " + paiement.user, normalFont));
-            document.add(new Paragraph(" ")); // Espace
-
-            // Détails du paiement
-            document.add(new Paragraph("DÉTAILS DU PAIEMENT", headerFont));
-            // Conversion du montant pour l'affichage
-            String amountStr = "N/A";
-            if (paiement.amount != null) {
-                if (paiement.amount instanceof Double) {
-                    amountStr = String.format("%.2f", (Double) paiement.amount);
-                } else if (paiement.amount instanceof String) {
-                    try {
-                        double amountValue = Double.parseDouble((String) paiement.amount);
-                        amountStr = String.format("%.2f", amountValue);
-                    } catch (NumberFormatException e) {
-                        amountStr = "Montant invalide";
-                    }
-                } else if (paiement.amount instanceof Number) {
-                    amountStr = String.format("%.2f", ((Number) paiement.amount).doubleValue());
-                }
-            }
-            document.add(new Paragraph("Montant: " + amountStr + " " + paiement.currency, normalFont));
-            document.add(new Paragraph("Statut: " + paiement.status, normalFont));
-
-            if (paiement.cmiTransactionId != null) {
-                document.add(new Paragraph("ID Transaction: " + paiement.cmiTransactionId, normalFont));
-            }
-            if (paiement.cmiApprovalCode != null) {
-                document.add(new Paragraph("Code d'approbation: " + paiement.cmiApprovalCode, normalFont));
-            }
-            if (paiement.description != null) {
-                document.add(new Paragraph("Description: " + paiement.description, normalFont));
-            }
-
-            document.add(new Paragraph(" ")); // Espace
-
-            // Informations CMI
-            if (paiement.cmiOrderId != null) {
-                document.add(new Paragraph("INFORMATIONS CMI", headerFont));
-                document.add(new Paragraph("ID Commande: " + paiement.cmiOrderId, normalFont));
-                document.add(
-                    new Paragraph(
-                        "Date de création: " +
-                        (paiement.cmiCreatedAt != null
-                                ? paiement.cmiCreatedAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"))
-                                : "N/A"),
-                        normalFont
-                    )
-                );
-            }
-
-            document.close();
-            return out.toByteArray();
-        } catch (Exception e) {
-            throw new RuntimeException("Erreur génération PDF", e);
-        }
+    /**
+     * Facture PDF du paiement, rendue une seule fois par version du paiement.
+     */
+    @Transactional(readOnly = true)
+    public InvoiceService.Invoice getFacture(Long paiementId) {
+        return invoiceService.getInvoice(paiementRepository.findById(paiementId).orElseThrow());
     }
 
     private PaiementDTO toDto(Paiement p) {
@@ -0,0 +1,159 @@
+package devtechly.service;
+
+import devtechly.domain.Paiement;
+import devtechly.repository.PaymentAggregateRepository;
+import devtechly.repository.PaymentAggregateRepository.AggregateRow;
+import devtechly.repository.PaymentAggregateRepository.StatusTotal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Statistiques de paiement maintenues par incréments.
+ * <p>
+ * Chaque création ou modification de paiement retire l'ancienne contribution du paiement et ajoute la nouvelle,
+ * dans la même transaction. Une réconciliation nocturne recalcule depuis la table des paiements les agrégats qui
+ * s'en écartent.
+ */
+@Service
+@Transactional
+public class PaymentAggregateService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PaymentAggregateService.class);
+
+    static final String COMPLETED = "COMPLETED";
+
+    /** Écart de montant toléré (arrondis des sommes de doubles) */
+    private static final double AMOUNT_TOLERANCE = 0.005;
+
+    /**
+     * Contribution d'un paiement aux agrégats, relevée avant sa modification.
+     */
+    public record Contribution(String status, String currency, LocalDate day, double amount) {
+        public static Contribution of(Paiement paiement) {
+            return new Contribution(
+                paiement.getStatus() != null ? paiement.getStatus() : PaymentAggregateRepository.UNKNOWN_STATUS,
+                paiement.getCurrency() != null ? paiement.getCurrency() : "",
+                paiement.getDate(),
+                paiement.getAmount() != null ? paiement.getAmount() : 0.0
+            );
+        }
+    }
+
+    private final PaymentAggregateRepository paymentAggregateRepository;
+
+    public PaymentAggregateService(PaymentAggregateRepository paymentAggregateRepository) {
+        this.paymentAggregateRepository = paymentAggregateRepository;
+    }
+
+    /**
+     * Répercute la modification d'un paiement sur les agrégats.
+     *
+     * @param before la contribution avant modification, {@code null} pour une création.
+     * @param after le paiement enregistré, {@code null} pour une suppression.
+     */
+    public void recordChange(Contribution before, Paiement after) {
+        Contribution current = after != null ? Contribution.of(after) : null;
+        if (Objects.equals(before, current)) {
+            return;
+        }
+        if (before != null) {
+            paymentAggregateRepository.increment(before.status(), before.currency(), before.day(), -1, -before.amount());
+        }
+        if (current != null) {
+            paymentAggregateRepository.increment(current.status(), current.currency(), current.day(), 1, current.amount());
+        }
+    }
+
+    /**
+     * Statistiques du tableau de bord : nombre par statut, total, montant des paiements complétés (au total et du jour).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPaymentStats(LocalDate today) {
+        Map<String, Object> stats = new HashMap<>();
+        long total = 0;
+        double totalAmount = 0.0;
+        for (StatusTotal statusTotal : paymentAggregateRepository.findTotalsByStatus()) {
+            stats.put(statusTotal.status(), statusTotal.count());
+            total += statusTotal.count();
+            if (COMPLETED.equals(statusTotal.status())) {
+                totalAmount = statusTotal.amount();
+            }
+        }
+        stats.put("total", total);
+        stats.put("totalAmount", totalAmount);
+
+        StatusTotal todayTotal = paymentAggregateRepository.findDailyTotal(COMPLETED, today);
+        stats.put("todayCount", todayTotal.count());
+        stats.put("todayAmount", todayTotal.amount());
+        return stats;
+    }
+
+    /**
+     * Réconciliation nocturne des agrégats avec la table des paiements.
+     * <p>
+     * Les écarts sont détectés sur l'instantané de la transaction (REPEATABLE READ), puis chaque agrégat concerné est
+     * remplacé par sa valeur absolue, recalculée au moment de l'écriture. Chaque instance exécute la tâche : une
+     * correction appliquée deux fois, ou après celle d'une autre instance, laisse l'agrégat inchangé, alors qu'un
+     * incrément aurait été compté deux fois.
+     */
+    @Scheduled(cron = "0 15 2 * * ?")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        List<AggregateRow> corrections = computeCorrections(
+            paymentAggregateRepository.findExpectedAggregates(),
+            paymentAggregateRepository.findStoredAggregates()
+        );
+        for (AggregateRow correction : corrections) {
+            LOG.warn(
+                "Écart d'agrégat de paiement corrigé ({} {} {}) : {} paiement(s), {} de montant",
+                correction.status(),
+                correction.currency(),
+                correction.day() != null ? correction.day() : "total",
+                correction.count(),
+                correction.amount()
+            );
+            paymentAggregateRepository.recompute(correction.status(), correction.currency(), correction.day());
+        }
+        LOG.info("Réconciliation des agrégats de paiement terminée : {} écart(s) corrigé(s)", corrections.size());
+    }
+
+    /**
+     * Écarts entre les agrégats enregistrés et les agrégats attendus, par agrégat.
+     */
+    static List<AggregateRow> computeCorrections(List<AggregateRow> expected, List<AggregateRow> stored) {
+        Map<List<Object>, AggregateRow> storedByKey = new LinkedHashMap<>();
+        stored.forEach(row -> storedByKey.put(key(row), row));
+        List<AggregateRow> corrections = new ArrayList<>();
+        for (AggregateRow row : expected) {
+            AggregateRow current = storedByKey.remove(key(row));
+            long count = row.count() - (current != null ? current.count() : 0);
+            double amount = row.amount() - (current != null ? current.amount() : 0.0);
+            if (count != 0 || Math.abs(amount) > AMOUNT_TOLERANCE) {
+                corrections.add(new AggregateRow(row.status(), row.currency(), row.day(), count, amount));
+            }
+        }
+        // Agrégats sans paiement correspondant : à ramener à zéro
+        for (AggregateRow current : storedByKey.values()) {
+            if (current.count() != 0 || Math.abs(current.amount()) > AMOUNT_TOLERANCE) {
+                corrections.add(new AggregateRow(current.status(), current.currency(), current.day(), -current.count(), -current.amount()));
+            }
+        }
+        return corrections;
+    }
+
+    private static List<Object> key(AggregateRow row) {
+        return Arrays.asList(row.status(), row.currency(), row.day());
+    }
+}
@@ -0,0 +1,121 @@
+package devtechly.service;
+
+import devtechly.service.dto.ActivityDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Dernières activités d'un fil (global ou d'un utilisateur), de la plus récente à la plus ancienne, bornées à
+ * {@code capacity} éléments.
+ * <p>
+ * Les lectures se font sans verrou sur un instantané immuable, remplacé à chaque écriture. L'ordre est rétabli à
+ * chaque fusion : les lots du journal d'activités peuvent arriver après des activités plus récentes.
+ */
+final class RecentActivityBuffer {
+
+    static final Comparator<ActivityDTO> NEWEST_FIRST = Comparator.comparing(
+        ActivityDTO::getTimestamp,
+        Comparator.nullsLast(Comparator.reverseOrder())
+    ).thenComparing(ActivityDTO::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    /** Contenu initial lu en base et nombre total d'activités du fil */
+    record Seed(List<ActivityDTO> activities, long total) {}
+
+    private final int capacity;
+    private final Object seedLock = new Object();
+
+    private volatile List<ActivityDTO> snapshot = List.of();
+    private volatile boolean seeded;
+    private volatile Instant seededAt;
+
+    /** Nombre approximatif d'activités du fil en base, pour les en-têtes de pagination */
+    private long total;
+
+    RecentActivityBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    List<ActivityDTO> snapshot() {
+        return snapshot;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Fil chargé depuis plus de {@code timeToLive} : il peut manquer des activités écrites par une autre instance.
+     */
+    boolean isExpired(Duration timeToLive, Instant now) {
+        return seeded && !seededAt.plus(timeToLive).isAfter(now);
+    }
+
+    synchronized long total() {
+        return Math.max(total, snapshot.size());
+    }
+
+    /**
+     * Charge le fil en base au premier appel ; les activités ajoutées entre-temps sont conservées.
+     */
+    void ensureSeeded(Supplier<Seed> loader, Instant now) {
+        if (seeded) {
+            return;
+        }
+        synchronized (seedLock) {
+            if (seeded) {
+                return;
+            }
+            Seed seed = loader.get();
+            synchronized (this) {
+                merge(seed.activities());
+                total = seed.total();
+                seededAt = now;
+                seeded = true;
+            }
+        }
+    }
+
+    synchronized void addAll(Collection<ActivityDTO> activities) {
+        int added = merge(activities);
+        if (seeded) {
+            total += added;
+        }
+    }
+
+    /**
+     * Fusionne les activités dans l'instantané, sans doublon d'identifiant.
+     *
+     * @return le nombre d'activités nouvelles.
+     */
+    private int merge(Collection<ActivityDTO> activities) {
+        List<ActivityDTO> current = snapshot;
+        Set<Long> ids = new HashSet<>();
+        current.forEach(activity -> ids.add(activity.getId()));
+        List<ActivityDTO> merged = new ArrayList<>(current.size() + activities.size());
+        merged.addAll(current);
+        int added = 0;
+        for (ActivityDTO activity : activities) {
+            if (activity.getId() != null && ids.add(activity.getId())) {
+                merged.add(activity);
+                added++;
+            }
+        }
+        if (added == 0) {
+            return 0;
+        }
+        merged.sort(NEWEST_FIRST);
+        snapshot = List.copyOf(merged.size() > capacity ? merged.subList(0, capacity) : merged);
+        return added;
+    }
+}
@@ -0,0 +1,225 @@
+package devtechly.service;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Activity;
+import devtechly.repository.ActivityRepository;
+import devtechly.repository.TransactionCallbacks;
+import devtechly.service.dto.ActivityDTO;
+import devtechly.service.mapper.ActivityMapper;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fil des activités récentes, global et par utilisateur, servi depuis la mémoire.
+ * <p>
+ * Chaque fil est chargé en base à la première lecture (au démarrage pour le fil global) puis tenu à jour par les
+ * activités créées ; une modification ou une suppression invalide l'ensemble. Seuls les utilisateurs consultés ont
+ * un fil en mémoire, dans la limite de {@code max-users}. Un fil est rechargé en base après {@code time-to-live} : les
+ * activités écrites ou modifiées par une autre instance n'y apparaissent qu'avec ce retard.
+ */
+@Service
+public class RecentActivityTimeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecentActivityTimeline.class);
+
+    private final ActivityRepository activityRepository;
+    private final ActivityMapper activityMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int globalSize;
+    private final int perUserSize;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    private volatile RecentActivityBuffer global;
+    private final Map<Long, RecentActivityBuffer> users;
+
+    @Autowired
+    public RecentActivityTimeline(
+        ActivityRepository activityRepository,
+        ActivityMapper activityMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this(activityRepository, activityMapper, transactionManager, applicationProperties, Clock.systemUTC());
+    }
+
+    RecentActivityTimeline(
+        ActivityRepository activityRepository,
+        ActivityMapper activityMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        Clock clock
+    ) {
+        this.activityRepository = activityRepository;
+        this.activityMapper = activityMapper;
+        // Les requêtes en flux (Stream) exigent une transaction ouverte
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        ApplicationProperties.ActivityTimeline properties = applicationProperties.getActivityTimeline();
+        this.globalSize = properties.getGlobalSize();
+        this.perUserSize = properties.getPerUserSize();
+        this.timeToLive = properties.getTimeToLive();
+        this.clock = clock;
+        this.global = new RecentActivityBuffer(globalSize);
+        int maxUsers = properties.getMaxUsers();
+        this.users = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, RecentActivityBuffer> eldest) {
+                    return size() > maxUsers;
+                }
+            }
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        try {
+            recent();
+        } catch (RuntimeException e) {
+            LOG.warn("Chargement du fil d'activités récentes reporté à la première lecture: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Dernières activités, toutes utilisateurs confondus (au plus {@code global-size}).
+     */
+    public List<ActivityDTO> recent() {
+        return seededGlobal().snapshot();
+    }
+
+    /**
+     * Dernières activités d'un utilisateur (au plus {@code per-user-size}).
+     */
+    public List<ActivityDTO> recentByUser(Long userId) {
+        return seededUser(userId).snapshot();
+    }
+
+    /**
+     * Page des activités récentes, si elle tient dans le fil en mémoire.
+     */
+    public Optional<Page<ActivityDTO>> page(Pageable pageable) {
+        return canServe(pageable, globalSize) ? Optional.of(toPage(seededGlobal(), pageable)) : Optional.empty();
+    }
+
+    /**
+     * Page des activités récentes d'un utilisateur, si elle tient dans son fil en mémoire.
+     */
+    public Optional<Page<ActivityDTO>> pageByUser(Long userId, Pageable pageable) {
+        return canServe(pageable, perUserSize) ? Optional.of(toPage(seededUser(userId), pageable)) : Optional.empty();
+    }
+
+    /**
+     * Ajoute une activité au fil après la validation de la transaction courante.
+     */
+    public void appendAfterCommit(Activity activity) {
+        ActivityDTO activityDTO = activityMapper.toDto(activity);
+        TransactionCallbacks.afterCommit(() -> appendAll(List.of(activityDTO)));
+    }
+
+    /**
+     * Ajoute des activités déjà écrites en base.
+     */
+    public void append(Collection<Activity> activities) {
+        appendAll(activities.stream().map(activityMapper::toDto).toList());
+    }
+
+    /**
+     * Oublie tous les fils après la validation de la transaction courante ; ils seront rechargés à la lecture suivante.
+     */
+    public void invalidateAfterCommit() {
+        TransactionCallbacks.afterCommit(this::invalidate);
+    }
+
+    public void invalidate() {
+        global = new RecentActivityBuffer(globalSize);
+        users.clear();
+    }
+
+    private void appendAll(List<ActivityDTO> activities) {
+        global.addAll(activities);
+        for (ActivityDTO activity : activities) {
+            // Un fil absent sera chargé en base, activité comprise, à sa première lecture
+            RecentActivityBuffer buffer = activity.getUserId() != null ? users.get(activity.getUserId()) : null;
+            if (buffer != null) {
+                buffer.addAll(List.of(activity));
+            }
+        }
+    }
+
+    private RecentActivityBuffer seededGlobal() {
+        RecentActivityBuffer buffer = global;
+        if (buffer.isExpired(timeToLive, clock.instant())) {
+            buffer = renewGlobal(buffer);
+        }
+        buffer.ensureSeeded(this::loadGlobal, clock.instant());
+        return buffer;
+    }
+
+    private RecentActivityBuffer.Seed loadGlobal() {
+        return readOnlyTransaction.execute(status -> {
+            try (Stream<Activity> activities = activityRepository.streamRecentActivities(Limit.of(globalSize))) {
+                return new RecentActivityBuffer.Seed(activities.map(activityMapper::toDto).toList(), activityRepository.count());
+            }
+        });
+    }
+
+    /**
+     * Remplace le fil global expiré, une seule fois quel que soit le nombre de lecteurs concurrents.
+     */
+    private synchronized RecentActivityBuffer renewGlobal(RecentActivityBuffer expired) {
+        if (global == expired) {
+            global = new RecentActivityBuffer(globalSize);
+        }
+        return global;
+    }
+
+    private RecentActivityBuffer seededUser(Long userId) {
+        RecentActivityBuffer buffer = users.compute(userId, (id, current) ->
+            current == null || current.isExpired(timeToLive, clock.instant()) ? new RecentActivityBuffer(perUserSize) : current
+        );
+        buffer.ensureSeeded(() -> loadUser(userId), clock.instant());
+        return buffer;
+    }
+
+    private RecentActivityBuffer.Seed loadUser(Long userId) {
+        return readOnlyTransaction.execute(status -> {
+            try (Stream<Activity> activities = activityRepository.streamRecentActivitiesByUser(userId, Limit.of(perUserSize))) {
+                return new RecentActivityBuffer.Seed(
+                    activities.map(activityMapper::toDto).toList(),
+                    activityRepository.countByUserId(userId)
+                );
+            }
+        });
+    }
+
+    private static boolean canServe(Pageable pageable, int capacity) {
+        return pageable.isPaged() && pageable.getSort().isUnsorted() && pageable.getOffset() + pageable.getPageSize() <= capacity;
+    }
+
+    private static Page<ActivityDTO> toPage(RecentActivityBuffer buffer, Pageable pageable) {
+        List<ActivityDTO> activities = buffer.snapshot();
+        int from = (int) Math.min(pageable.getOffset(), activities.size());
+        int to = Math.min(from + pageable.getPageSize(), activities.size());
+        return new PageImpl<>(activities.subList(from, to), pageable, buffer.total());
+    }
+}
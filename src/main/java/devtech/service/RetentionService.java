@@ -0,0 +1,306 @@
+package devtechly.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import devtechly.config.ApplicationProperties;
+import devtechly.repository.RetentionRepository;
+import devtechly.repository.RetentionRepository.Table;
+import devtechly.service.dto.RetentionStatusDTO;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rétention des activités et notifications.
+ * <p>
+ * Les lignes plus anciennes que l'horizon de leur table sont lues par lots de {@code chunk-size}, ajoutées à une
+ * archive NDJSON compressée (une par table et par exécution), puis supprimées par clé primaire. Chaque lot est écrit
+ * et synchronisé sur disque (fsync) avant sa suppression : un arrêt brutal peut au pire archiver deux fois un lot,
+ * jamais en perdre.
+ * <p>
+ * La purge s'exécute sur son propre thread, sans occuper le planificateur partagé, et une seule instance à la fois
+ * grâce au verrou {@code retention} de la table {@code job_lock}.
+ */
+@Service
+public class RetentionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetentionService.class);
+
+    private static final DateTimeFormatter ARCHIVE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+
+    private static final String ARCHIVE_EXTENSION = ".ndjson.gz";
+
+    private final RetentionRepository retentionRepository;
+    private final ObjectWriter rowWriter;
+    private final NotificationService notificationService;
+    private final RecentActivityTimeline recentActivityTimeline;
+    private final ApplicationProperties.Retention properties;
+
+    /** Identifie cette instance comme détentrice du verrou */
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService purgeExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<Table, RetentionStatusDTO.TableStatus> lastRuns = new ConcurrentHashMap<>();
+
+    public RetentionService(
+        RetentionRepository retentionRepository,
+        ObjectMapper objectMapper,
+        NotificationService notificationService,
+        RecentActivityTimeline recentActivityTimeline,
+        ApplicationProperties applicationProperties
+    ) {
+        this.retentionRepository = retentionRepository;
+        this.rowWriter = objectMapper.writer();
+        this.notificationService = notificationService;
+        this.recentActivityTimeline = recentActivityTimeline;
+        this.properties = applicationProperties.getRetention();
+        CustomizableThreadFactory purgeThreads = new CustomizableThreadFactory("retention-");
+        purgeThreads.setDaemon(true);
+        this.purgeExecutor = Executors.newSingleThreadExecutor(purgeThreads);
+    }
+
+    /**
+     * Lance l'archivage puis la purge des lignes expirées, chaque nuit par défaut, sans attendre leur fin.
+     */
+    @Scheduled(cron = "${application.retention.cron:0 30 1 * * ?}")
+    public void purgeExpiredRows() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            LOG.warn("Purge de rétention déjà en cours, exécution ignorée");
+            return;
+        }
+        try {
+            purgeExecutor.execute(this::purgeIfLeader);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdownNow();
+    }
+
+    void purgeIfLeader() {
+        try {
+            Instant now = Instant.now();
+            if (!retentionRepository.tryLock(instanceId, now, now.plus(properties.getLockAtMost()))) {
+                LOG.info("Purge de rétention en cours sur une autre instance, exécution ignorée");
+                return;
+            }
+            try {
+                for (Table table : Table.values()) {
+                    purge(table, Instant.now().minus(horizon(table)));
+                }
+            } finally {
+                retentionRepository.unlock(instanceId, Instant.now());
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Échec de la purge de rétention: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * État de la rétention pour l'administration.
+     */
+    public RetentionStatusDTO getStatus() {
+        RetentionStatusDTO status = new RetentionStatusDTO();
+        status.setEnabled(properties.isEnabled());
+        status.setRunning(running.get());
+        status.setArchivePath(archiveRoot().toAbsolutePath().toString());
+        List<RetentionStatusDTO.TableStatus> tables = new ArrayList<>();
+        List<RetentionStatusDTO.ArchiveFile> archives = new ArrayList<>();
+        for (Table table : Table.values()) {
+            RetentionStatusDTO.TableStatus lastRun = lastRuns.get(table);
+            RetentionStatusDTO.TableStatus tableStatus = lastRun != null ? copy(lastRun) : new RetentionStatusDTO.TableStatus();
+            tableStatus.setTable(table.tableName());
+            tableStatus.setHorizonDays(horizon(table).toDays());
+            tableStatus.setRowCount(retentionRepository.count(table));
+            tableStatus.setExpiredRowCount(retentionRepository.countOlderThan(table, Instant.now().minus(horizon(table))));
+            tables.add(tableStatus);
+            archives.addAll(listArchives(table));
+        }
+        archives.sort(Comparator.comparing(RetentionStatusDTO.ArchiveFile::getLastModified).reversed());
+        status.setTables(tables);
+        status.setArchives(archives);
+        return status;
+    }
+
+    void purge(Table table, Instant cutoff) {
+        RetentionStatusDTO.TableStatus run = new RetentionStatusDTO.TableStatus();
+        run.setLastRunStart(Instant.now());
+        lastRuns.put(table, run);
+        FileChannel channel = null;
+        OutputStream archive = null;
+        try {
+            while (true) {
+                List<Map<String, Object>> rows = retentionRepository.findOlderThan(table, cutoff, properties.getChunkSize());
+                if (rows.isEmpty()) {
+                    break;
+                }
+                if (archive == null) {
+                    Path file = newArchiveFile(table, run.getLastRunStart());
+                    run.setLastRunArchive(archiveRoot().relativize(file).toString());
+                    channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                    // Vidage synchronisé : chaque lot forme un bloc gzip complet
+                    archive = new GZIPOutputStream(Channels.newOutputStream(channel), 8192, true);
+                }
+                for (Map<String, Object> row : rows) {
+                    archive.write(rowWriter.writeValueAsBytes(row));
+                    archive.write('\n');
+                }
+                archive.flush();
+                // Le lot est sur disque, et non dans le cache du système, avant d'être supprimé en base
+                channel.force(true);
+                run.setLastRunArchivedRows(run.getLastRunArchivedRows() + rows.size());
+
+                List<Long> ids = rows.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+                run.setLastRunDeletedRows(run.getLastRunDeletedRows() + retentionRepository.deleteByIds(table, ids));
+                afterDelete(table, rows);
+
+                if (rows.size() < properties.getChunkSize() || !pause()) {
+                    break;
+                }
+            }
+            LOG.info(
+                "Rétention {} : {} ligne(s) antérieure(s) à {} archivée(s), {} supprimée(s)",
+                table.tableName(),
+                run.getLastRunArchivedRows(),
+                cutoff,
+                run.getLastRunDeletedRows()
+            );
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Échec de la rétention de la table {}: {}", table.tableName(), e.getMessage());
+            run.setLastRunError(e.getMessage());
+        } finally {
+            closeQuietly(archive, table);
+            run.setLastRunEnd(Instant.now());
+        }
+    }
+
+    /**
+     * Répercute la suppression sur les caches construits à partir de ces tables.
+     */
+    private void afterDelete(Table table, List<Map<String, Object>> rows) {
+        switch (table) {
+            case ACTIVITY -> recentActivityTimeline.invalidate();
+            case NOTIFICATION -> {
+                Set<String> logins = new HashSet<>();
+                for (Map<String, Object> row : rows) {
+                    if (!Boolean.TRUE.equals(row.get("read")) && row.get("user_login") instanceof String login) {
+                        logins.add(login);
+                    }
+                }
+                logins.forEach(notificationService::evictUnreadCount);
+            }
+        }
+    }
+
+    private Duration horizon(Table table) {
+        return switch (table) {
+            case ACTIVITY -> properties.getActivityHorizon();
+            case NOTIFICATION -> properties.getNotificationHorizon();
+        };
+    }
+
+    private Path archiveRoot() {
+        return Path.of(properties.getArchivePath());
+    }
+
+    private Path newArchiveFile(Table table, Instant start) throws IOException {
+        Path directory = Files.createDirectories(archiveRoot().resolve(table.tableName()));
+        return directory.resolve(table.tableName() + "-" + ARCHIVE_SUFFIX.format(start) + ARCHIVE_EXTENSION);
+    }
+
+    private List<RetentionStatusDTO.ArchiveFile> listArchives(Table table) {
+        Path directory = archiveRoot().resolve(table.tableName());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> file.getFileName().toString().endsWith(ARCHIVE_EXTENSION))
+                .map(file -> {
+                    try {
+                        return new RetentionStatusDTO.ArchiveFile(
+                            archiveRoot().relativize(file).toString(),
+                            Files.size(file),
+                            Files.getLastModifiedTime(file).toInstant()
+                        );
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+        } catch (IOException | UncheckedIOException e) {
+            LOG.warn("Impossible de lister les archives de {}: {}", table.tableName(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getChunkPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void closeQuietly(OutputStream archive, Table table) {
+        if (archive == null) {
+            return;
+        }
+        try {
+            archive.close();
+        } catch (IOException e) {
+            LOG.error("Échec de la fermeture de l'archive {}: {}", table.tableName(), e.getMessage());
+        }
+    }
+
+    private static RetentionStatusDTO.TableStatus copy(RetentionStatusDTO.TableStatus run) {
+        RetentionStatusDTO.TableStatus copy = new RetentionStatusDTO.TableStatus();
+        copy.setLastRunStart(run.getLastRunStart());
+        copy.setLastRunEnd(run.getLastRunEnd());
+        copy.setLastRunArchivedRows(run.getLastRunArchivedRows());
+        copy.setLastRunDeletedRows(run.getLastRunDeletedRows());
+        copy.setLastRunArchive(run.getLastRunArchive());
+        copy.setLastRunError(run.getLastRunError());
+        return copy;
+    }
+}
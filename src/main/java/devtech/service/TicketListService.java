@@ -0,0 +1,190 @@
+package devtechly.service;
+
+import devtechly.domain.Ticket;
+import devtechly.domain.TicketMessage;
+import devtechly.domain.User;
+import devtechly.repository.TicketMessageRepository;
+import devtechly.repository.TicketRepository;
+import devtechly.repository.TicketSummary;
+import devtechly.repository.UserRepository;
+import devtechly.service.dto.TicketCursor;
+import devtechly.service.dto.TicketDTO;
+import devtechly.service.dto.TicketSummaryDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Chemin de lecture dédié aux listes de tickets.
+ * <p>
+ * Pour une page de N tickets, les messages sont chargés en une seule requête {@code IN} et les noms des clients
+ * en une seule requête sur {@link UserRepository}, au lieu de 2N requêtes unitaires.
+ */
+@Service
+public class TicketListService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TicketListService.class);
+
+    private final TicketRepository ticketRepository;
+    private final TicketMessageRepository ticketMessageRepository;
+    private final UserRepository userRepository;
+
+    public TicketListService(
+        TicketRepository ticketRepository,
+        TicketMessageRepository ticketMessageRepository,
+        UserRepository userRepository
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.ticketMessageRepository = ticketMessageRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Page classique (avec total) : tous les tickets pour un admin, ceux du client sinon.
+     */
+    public Page<TicketDTO> findPage(String login, boolean isAdmin, Pageable pageable) {
+        Page<Ticket> page = isAdmin ? ticketRepository.findAll(pageable) : ticketRepository.findByCreatedBy(login, pageable);
+        return new PageImpl<>(toDTOs(page.getContent(), isAdmin), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Page par clé (created_date, id) : le coût d'une page ne dépend pas de sa profondeur.
+     */
+    public List<TicketDTO> findAfterCursor(String login, boolean isAdmin, TicketCursor cursor, int size) {
+        Pageable limit = PageRequest.of(0, size);
+        List<Ticket> tickets;
+        if (isAdmin) {
+            tickets = cursor == null
+                ? ticketRepository.findAllByOrderByCreatedDateDescIdDesc(limit)
+                : ticketRepository.findAllBefore(cursor.getCreatedDate(), cursor.getId(), limit);
+        } else {
+            tickets = cursor == null
+                ? ticketRepository.findByCreatedByOrderByCreatedDateDescIdDesc(login, limit)
+                : ticketRepository.findByCreatedByBefore(login, cursor.getCreatedDate(), cursor.getId(), limit);
+        }
+        return toDTOs(tickets, isAdmin);
+    }
+
+    /**
+     * Page de résumés (vue liste légère) : nombre de messages et extrait du dernier message, sans le fil complet.
+     */
+    public Page<TicketSummaryDTO> findSummaryPage(String login, boolean isAdmin, Pageable pageable) {
+        Page<TicketSummary> page = isAdmin
+            ? ticketRepository.findAllSummaries(pageable)
+            : ticketRepository.findSummariesByCreatedBy(login, pageable);
+        Map<String, String> clientNames = resolveClientNames(page.getContent().stream().map(TicketSummary::getCreatedBy).toList());
+        return page.map(summary -> new TicketSummaryDTO(summary, clientName(summary.getCreatedBy(), clientNames)));
+    }
+
+    /**
+     * Convertit un ticket unique (vue détail) avec ses messages et le nom du client.
+     */
+    public TicketDTO toDTO(Ticket ticket, boolean includeInternal) {
+        return toDTOs(List.of(ticket), includeInternal).get(0);
+    }
+
+    /**
+     * Convertit un lot de tickets en DTOs : une requête pour les messages, une requête pour les noms des clients.
+     */
+    public List<TicketDTO> toDTOs(List<Ticket> tickets, boolean includeInternal) {
+        if (tickets.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<String>> messagesByTicket = loadMessageStrings(tickets, includeInternal);
+        Map<String, String> clientNames = resolveClientNames(tickets.stream().map(Ticket::getCreatedBy).toList());
+
+        List<TicketDTO> result = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            ticket.setMessageStrings(messagesByTicket.getOrDefault(ticket.getId(), new ArrayList<>()));
+            result.add(new TicketDTO(ticket, clientName(ticket.getCreatedBy(), clientNames)));
+        }
+        return result;
+    }
+
+    /**
+     * Formate les messages pour le frontend (préfixe "[CLIENT] " pour les messages du client) ; seule conversion
+     * utilisée par les listes comme par {@code GET /api/tickets/{id}/messages}.
+     */
+    public static List<String> toMessageStrings(List<TicketMessage> messages) {
+        if (messages == null) {
+            return List.of();
+        }
+        return messages
+            .stream()
+            .filter(message -> message != null && message.getContent() != null)
+            .map(message -> (message.getAuthorType() == TicketMessage.AuthorType.CLIENT ? "[CLIENT] " : "") + message.getContent())
+            .toList();
+    }
+
+    private Map<Long, List<String>> loadMessageStrings(List<Ticket> tickets, boolean includeInternal) {
+        Set<Long> ticketIds = new LinkedHashSet<>();
+        tickets.stream().map(Ticket::getId).filter(Objects::nonNull).forEach(ticketIds::add);
+        Map<Long, List<String>> messagesByTicket = new HashMap<>();
+        if (ticketIds.isEmpty()) {
+            return messagesByTicket;
+        }
+        try {
+            List<TicketMessage> messages = includeInternal
+                ? ticketMessageRepository.findByTicketIdInOrderByCreatedDateAsc(ticketIds)
+                : ticketMessageRepository.findPublicMessagesByTicketIdInOrderByCreatedDateAsc(ticketIds);
+            Map<Long, List<TicketMessage>> grouped = new HashMap<>();
+            for (TicketMessage message : messages) {
+                grouped.computeIfAbsent(message.getTicketId(), id -> new ArrayList<>()).add(message);
+            }
+            grouped.forEach((ticketId, ticketMessages) ->
+                messagesByTicket.put(ticketId, new ArrayList<>(toMessageStrings(ticketMessages)))
+            );
+        } catch (Exception e) {
+            // Si il y a une erreur avec les messages, on continue sans messages
+            LOG.error("Erreur lors du chargement des messages pour les tickets {}: {}", ticketIds, e.getMessage());
+        }
+        return messagesByTicket;
+    }
+
+    /**
+     * Carte d'identité login -> nom affiché, construite pour la durée d'une requête.
+     */
+    private Map<String, String> resolveClientNames(List<String> createdBy) {
+        Set<String> logins = new LinkedHashSet<>();
+        createdBy.stream().filter(Objects::nonNull).forEach(logins::add);
+        Map<String, String> clientNames = new HashMap<>();
+        if (logins.isEmpty()) {
+            return clientNames;
+        }
+        try {
+            for (User user : userRepository.findAllByLoginIn(logins)) {
+                clientNames.put(user.getLogin(), displayName(user));
+            }
+        } catch (Exception e) {
+            LOG.error("Erreur lors de la résolution des noms des clients {}: {}", logins, e.getMessage());
+        }
+        return clientNames;
+    }
+
+    private static String clientName(String login, Map<String, String> clientNames) {
+        return login != null ? clientNames.getOrDefault(login, login) : "Client inconnu";
+    }
+
+    private static String displayName(User user) {
+        if (user.getFirstName() != null && user.getLastName() != null) {
+            return user.getFirstName() + " " + user.getLastName();
+        } else if (user.getFirstName() != null) {
+            return user.getFirstName();
+        } else if (user.getLastName() != null) {
+            return user.getLastName();
+        }
+        return user.getLogin();
+    }
+}
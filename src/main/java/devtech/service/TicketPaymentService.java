@@ -95,9 +95,11 @@ public class TicketPaymentService {
     }
 
     /**
-     * Traite la réponse de paiement pour un ticket
+     * Traite la réponse de paiement pour un ticket, dont le hash a été vérifié par {@link CmiCallbackService#process}.
+     *
+     * @return le paiement mis à jour.
      */
-    public void processTicketPaymentResponse(Map<String, String> responseParams) {
+    public PaiementDTO processTicketPaymentResponse(Map<String, String> responseParams) {
         try {
             String orderId = responseParams.get("oid");
 
@@ -138,6 +140,7 @@ public class TicketPaymentService {
 
                 ticketRepository.save(ticket);
             }
+            return paiementDTO;
         } catch (Exception e) {
             log.error("Erreur lors du traitement de la réponse de paiement", e);
             throw new RuntimeException("Erreur lors du traitement de la réponse de paiement", e);
@@ -0,0 +1,109 @@
+package devtechly.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Compteurs de notifications non lues par identifiant normalisé (login ou email), bornés en LRU.
+ * <p>
+ * Les compteurs ne voient que les modifications faites par cette instance : chaque valeur expire donc
+ * {@code timeToLive} après son chargement en base, ce qui borne l'écart avec les écritures d'une autre instance.
+ * <p>
+ * Un compteur absent est chargé en base par l'appelant entre {@link #beginLoad} et {@link #endLoad} ; une
+ * modification reçue pendant ce chargement rend la valeur lue douteuse, elle n'est alors pas mise en cache.
+ */
+final class UnreadNotificationCounter {
+
+    private final Map<String, Entry> counts;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    /** Nombre de chargements en cours par clé */
+    private final Map<String, Integer> loading = new HashMap<>();
+
+    /** Clés modifiées pendant leur chargement */
+    private final Set<String> staleLoads = new HashSet<>();
+
+    UnreadNotificationCounter(int maxEntries, Duration timeToLive, Clock clock) {
+        this.counts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Total des compteurs si toutes les clés sont en cache et non expirées.
+     */
+    synchronized OptionalLong sum(Collection<String> keys) {
+        long total = 0;
+        for (String key : keys) {
+            Entry entry = get(key);
+            if (entry == null) {
+                return OptionalLong.empty();
+            }
+            total += entry.count();
+        }
+        return OptionalLong.of(total);
+    }
+
+    synchronized void beginLoad(Collection<String> keys) {
+        keys.forEach(key -> loading.merge(key, 1, Integer::sum));
+    }
+
+    /**
+     * Termine un chargement ; {@code loaded} vaut {@code null} en cas d'échec de la requête.
+     */
+    synchronized void endLoad(Collection<String> keys, Map<String, Long> loaded) {
+        for (String key : keys) {
+            if (loaded != null && !staleLoads.contains(key)) {
+                counts.put(key, new Entry(loaded.getOrDefault(key, 0L), clock.instant()));
+            }
+            if (loading.merge(key, -1, Integer::sum) <= 0) {
+                loading.remove(key);
+                staleLoads.remove(key);
+            }
+        }
+    }
+
+    synchronized void add(String key, long delta) {
+        Entry entry = get(key);
+        if (entry != null) {
+            // L'échéance reste celle du chargement : seul un rechargement ramène les écritures des autres instances
+            counts.put(key, new Entry(Math.max(0, entry.count() + delta), entry.loadedAt()));
+        } else if (loading.containsKey(key)) {
+            staleLoads.add(key);
+        }
+    }
+
+    synchronized void evict(String key) {
+        counts.remove(key);
+        if (loading.containsKey(key)) {
+            staleLoads.add(key);
+        }
+    }
+
+    private Entry get(String key) {
+        Entry entry = counts.get(key);
+        if (entry != null && !entry.loadedAt().plus(timeToLive).isAfter(clock.instant())) {
+            counts.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private record Entry(long count, Instant loadedAt) {}
+}
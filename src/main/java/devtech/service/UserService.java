@@ -1,14 +1,19 @@
 package devtechly.service;
 
+import devtechly.config.ApplicationProperties;
 import devtechly.config.Constants;
 import devtechly.domain.Authority;
 import devtechly.domain.User;
 import devtechly.repository.AuthorityRepository;
 import devtechly.repository.UserRepository;
 import devtechly.security.AuthoritiesConstants;
+import devtechly.security.DomainUserDetailsService;
 import devtechly.security.SecurityUtils;
+import devtechly.security.UserCache;
 import devtechly.service.dto.AdminUserDTO;
 import devtechly.service.dto.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -20,6 +25,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -38,10 +44,34 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final NotificationService notificationService;
+
+    private final DomainUserDetailsService userDetailsService;
+
+    private final UserCache<AdminUserDTO> accountCache;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        NotificationService notificationService,
+        DomainUserDetailsService userDetailsService,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.notificationService = notificationService;
+        this.userDetailsService = userDetailsService;
+        this.accountCache = new UserCache<>(
+            "account",
+            AdminUserDTO::getLogin,
+            applicationProperties.getUserCache().getMaxSize(),
+            applicationProperties.getUserCache().getTimeToLive(),
+            meterRegistry,
+            Clock.systemUTC()
+        );
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -52,6 +82,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
+                evictCachedUser(user.getLogin());
                 LOG.debug("Activated user: {}", user);
                 return user;
             });
@@ -66,6 +97,7 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                evictCachedUser(user.getLogin());
                 return user;
             });
     }
@@ -136,6 +168,7 @@ public class UserService {
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        evictCachedUser(existingUser.getLogin());
         return true;
     }
 
@@ -169,6 +202,7 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
+        notificationService.evictAdminRecipients();
         LOG.debug("Created Information for User: {}", user);
         return user;
     }
@@ -184,6 +218,7 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                evictCachedUser(user.getLogin());
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -203,6 +238,8 @@ public class UserService {
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
                 userRepository.save(user);
+                notificationService.evictAdminRecipients();
+                evictCachedUser(user.getLogin());
                 LOG.debug("Changed Information for User: {}", user);
                 return user;
             })
@@ -214,6 +251,8 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
+                notificationService.evictAdminRecipients();
+                evictCachedUser(user.getLogin());
                 LOG.debug("Deleted User: {}", user);
             });
     }
@@ -239,6 +278,9 @@ public class UserService {
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
                 userRepository.save(user);
+                // L'email sert d'identifiant aux notifications admin
+                notificationService.evictAdminRecipients();
+                evictCachedUser(user.getLogin());
                 LOG.debug("Changed Information for User: {}", user);
             });
     }
@@ -254,6 +296,7 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                evictCachedUser(user.getLogin());
                 LOG.debug("Changed password for User: {}", user);
             });
     }
@@ -278,6 +321,27 @@ public class UserService {
         return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
     }
 
+    /**
+     * Compte de l'utilisateur courant, servi depuis le cache. Le DTO est partagé entre les appels : il ne doit pas
+     * être modifié.
+     * <p>
+     * Sans transaction propre : un appel servi par le cache ne prend pas de connexion.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<AdminUserDTO> getAccount() {
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(login -> accountCache.get(login, () -> userRepository.findOneWithAuthoritiesByLogin(login).map(AdminUserDTO::new)));
+    }
+
+    /**
+     * Retire un utilisateur des caches de droits et de compte ; à appeler après toute modification de l'utilisateur
+     * faite hors de ce service (rôles notamment).
+     */
+    public void evictCachedUser(String login) {
+        userDetailsService.evict(login);
+        accountCache.evict(login);
+    }
+
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
@@ -290,6 +354,7 @@ public class UserService {
             .forEach(user -> {
                 LOG.debug("Deleting not activated user {}", user.getLogin());
                 userRepository.delete(user);
+                evictCachedUser(user.getLogin());
             });
     }
 
@@ -0,0 +1,218 @@
+package devtechly.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * État de la rétention : volumétrie des tables purgées, dernières exécutions et archives produites.
+ */
+public class RetentionStatusDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private boolean enabled;
+
+    private boolean running;
+
+    private String archivePath;
+
+    private List<TableStatus> tables;
+
+    private List<ArchiveFile> archives;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public String getArchivePath() {
+        return archivePath;
+    }
+
+    public void setArchivePath(String archivePath) {
+        this.archivePath = archivePath;
+    }
+
+    public List<TableStatus> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableStatus> tables) {
+        this.tables = tables;
+    }
+
+    public List<ArchiveFile> getArchives() {
+        return archives;
+    }
+
+    public void setArchives(List<ArchiveFile> archives) {
+        this.archives = archives;
+    }
+
+    /**
+     * Volumétrie d'une table et bilan de sa dernière purge.
+     */
+    public static class TableStatus implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String table;
+
+        private long horizonDays;
+
+        private long rowCount;
+
+        /** Lignes plus anciennes que l'horizon, en attente de la prochaine purge */
+        private long expiredRowCount;
+
+        private Instant lastRunStart;
+
+        private Instant lastRunEnd;
+
+        private long lastRunArchivedRows;
+
+        private long lastRunDeletedRows;
+
+        private String lastRunArchive;
+
+        private String lastRunError;
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public long getHorizonDays() {
+            return horizonDays;
+        }
+
+        public void setHorizonDays(long horizonDays) {
+            this.horizonDays = horizonDays;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public void setRowCount(long rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        public long getExpiredRowCount() {
+            return expiredRowCount;
+        }
+
+        public void setExpiredRowCount(long expiredRowCount) {
+            this.expiredRowCount = expiredRowCount;
+        }
+
+        public Instant getLastRunStart() {
+            return lastRunStart;
+        }
+
+        public void setLastRunStart(Instant lastRunStart) {
+            this.lastRunStart = lastRunStart;
+        }
+
+        public Instant getLastRunEnd() {
+            return lastRunEnd;
+        }
+
+        public void setLastRunEnd(Instant lastRunEnd) {
+            this.lastRunEnd = lastRunEnd;
+        }
+
+        public long getLastRunArchivedRows() {
+            return lastRunArchivedRows;
+        }
+
+        public void setLastRunArchivedRows(long lastRunArchivedRows) {
+            this.lastRunArchivedRows = lastRunArchivedRows;
+        }
+
+        public long getLastRunDeletedRows() {
+            return lastRunDeletedRows;
+        }
+
+        public void setLastRunDeletedRows(long lastRunDeletedRows) {
+            this.lastRunDeletedRows = lastRunDeletedRows;
+        }
+
+        public String getLastRunArchive() {
+            return lastRunArchive;
+        }
+
+        public void setLastRunArchive(String lastRunArchive) {
+            this.lastRunArchive = lastRunArchive;
+        }
+
+        public String getLastRunError() {
+            return lastRunError;
+        }
+
+        public void setLastRunError(String lastRunError) {
+            this.lastRunError = lastRunError;
+        }
+    }
+
+    /**
+     * Fichier d'archive présent sur disque.
+     */
+    public static class ArchiveFile implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+
+        private long size;
+
+        private Instant lastModified;
+
+        public ArchiveFile() {}
+
+        public ArchiveFile(String name, long size, Instant lastModified) {
+            this.name = name;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        public Instant getLastModified() {
+            return lastModified;
+        }
+
+        public void setLastModified(Instant lastModified) {
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package devtechly.service.dto;
+
+import devtechly.domain.Ticket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Curseur opaque de pagination par clé (keyset) sur les tickets.
+ * <p>
+ * Le curseur mémorise la date de création et l'identifiant du dernier ticket lu : la page suivante
+ * est obtenue par une simple recherche sur l'index (created_by, created_date), quelle que soit sa profondeur.
+ */
+public final class TicketCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final Instant createdDate;
+    private final Long id;
+
+    public TicketCursor(Instant createdDate, Long id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    public static TicketCursor of(Ticket ticket) {
+        return new TicketCursor(ticket.getCreatedDate(), ticket.getId());
+    }
+
+    /**
+     * Décode un curseur reçu du client ; vide pour un curseur vide (première page) ou invalide (à refuser).
+     */
+    public static Optional<TicketCursor> decode(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            Instant createdDate = Instant.parse(raw.substring(0, separator));
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return Optional.of(new TicketCursor(createdDate, id));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode() {
+        String raw = createdDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "TicketCursor{createdDate=" + createdDate + ", id=" + id + "}";
+    }
+}
@@ -0,0 +1,46 @@
+package devtechly.service.dto;
+
+import devtechly.domain.Ticket;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO pour éviter les problèmes de sérialisation avec les collections lazy.
+ * <p>
+ * Le nom du client est résolu en amont (une seule requête pour toute la page) : le DTO n'accède plus à la base.
+ */
+public class TicketDTO {
+
+    public Long id;
+    public String type;
+    public String description;
+    public String backofficeUrl;
+    public String backofficeLogin;
+    public String backofficePassword;
+    public String hostingUrl;
+    public String imageUrl;
+    /** URL du justificatif de paiement (virement) déposé par le client */
+    public String paymentProofFileUrl;
+    public String status;
+    public String createdBy;
+    public String clientName;
+    public Instant createdDate;
+    public List<String> messageStrings;
+
+    public TicketDTO(Ticket ticket, String clientName) {
+        this.id = ticket.getId();
+        this.type = ticket.getType();
+        this.description = ticket.getDescription();
+        this.backofficeUrl = ticket.getBackofficeUrl();
+        this.backofficeLogin = ticket.getBackofficeLogin();
+        this.backofficePassword = ticket.getBackofficePassword();
+        this.hostingUrl = ticket.getHostingUrl();
+        this.imageUrl = ticket.getImageUrl();
+        this.paymentProofFileUrl = ticket.getPaymentProofFilePath();
+        this.status = ticket.getStatus();
+        this.createdBy = ticket.getCreatedBy();
+        this.createdDate = ticket.getCreatedDate();
+        this.messageStrings = ticket.getMessageStrings();
+        this.clientName = clientName;
+    }
+}
@@ -0,0 +1,38 @@
+package devtechly.service.dto;
+
+import devtechly.repository.TicketSummary;
+import java.time.Instant;
+
+/**
+ * Ligne de liste de tickets pour les tableaux de bord : le fil complet se charge via {@code GET /api/tickets/{id}/messages}.
+ */
+public class TicketSummaryDTO {
+
+    public Long id;
+    public String type;
+    public String description;
+    public String imageUrl;
+    public String status;
+    public String paymentStatus;
+    public String createdBy;
+    public String clientName;
+    public Instant createdDate;
+    public long messageCount;
+    public String lastMessageSnippet;
+    public Instant lastMessageDate;
+
+    public TicketSummaryDTO(TicketSummary summary, String clientName) {
+        this.id = summary.getId();
+        this.type = summary.getType();
+        this.description = summary.getDescription();
+        this.imageUrl = summary.getImageUrl();
+        this.status = summary.getStatus();
+        this.paymentStatus = summary.getPaymentStatus();
+        this.createdBy = summary.getCreatedBy();
+        this.clientName = clientName;
+        this.createdDate = summary.getCreatedDate();
+        this.messageCount = summary.getMessageCount() != null ? summary.getMessageCount() : 0L;
+        this.lastMessageSnippet = summary.getLastMessageSnippet();
+        this.lastMessageDate = summary.getLastMessageDate();
+    }
+}
@@ -0,0 +1,17 @@
+package devtechly.service.exception;
+
+import java.time.Duration;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyLoginAttemptsException(Duration retryAfter) {
+        super("Trop de tentatives de connexion");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
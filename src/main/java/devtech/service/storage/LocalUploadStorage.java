@@ -0,0 +1,118 @@
+package devtechly.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+
+/**
+ * Stockage sur le disque local, sous {@code application.upload.path}.
+ * <p>
+ * Les fichiers sont répartis en sous-dossiers selon les premiers caractères de leur hash ("ab/cd/abcd...png") pour
+ * qu'aucun dossier ne contienne des centaines de milliers d'entrées. Les anciens fichiers UUID restent à la racine.
+ */
+public class LocalUploadStorage implements UploadStorage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalUploadStorage.class);
+
+    /** Dossier des copies en cours, invisible depuis les noms publics (qui ne commencent jamais par un point) */
+    private static final String INCOMING_DIR = ".incoming";
+
+    private final Path root;
+    private final int shardDepth;
+
+    public LocalUploadStorage(Path root, int shardDepth) {
+        this.root = root.toAbsolutePath().normalize();
+        this.shardDepth = shardDepth;
+    }
+
+    @Override
+    public String store(InputStream content, String extension) throws IOException {
+        Path incoming = Files.createDirectories(root.resolve(INCOMING_DIR));
+        if (!Files.isWritable(incoming)) {
+            throw new IOException("Le dossier d'upload n'est pas accessible en écriture: " + root);
+        }
+
+        UploadFiles.HashedFile hashed = UploadFiles.copyAndHash(content, incoming);
+        String name = hashed.sha256 + UploadFiles.normalizeExtension(extension);
+        Path target = root.resolve(UploadFiles.shardedKey(name, shardDepth));
+        try {
+            if (Files.exists(target)) {
+                LOG.debug("Fichier déjà stocké, dépôt dédupliqué: {}", name);
+                return name;
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(hashed.path, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(hashed.path, target);
+            }
+            LOG.debug("Fichier stocké: {} ({} octets)", target, hashed.size);
+        } catch (FileAlreadyExistsException e) {
+            // Dépôt concurrent du même contenu : le fichier existant fait foi
+            LOG.debug("Fichier stocké en parallèle, dépôt dédupliqué: {}", name);
+        } finally {
+            Files.deleteIfExists(hashed.path);
+        }
+        return name;
+    }
+
+    @Override
+    public void storeAs(String name, InputStream content) throws IOException {
+        if (!UploadFiles.isSafeName(name) || !UploadFiles.isContentAddressed(name)) {
+            throw new IllegalArgumentException("Nom de fichier dérivé invalide: " + name);
+        }
+        Path incoming = Files.createDirectories(root.resolve(INCOMING_DIR));
+        UploadFiles.HashedFile hashed = UploadFiles.copyAndHash(content, incoming);
+        Path target = root.resolve(UploadFiles.shardedKey(name, shardDepth));
+        try {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(hashed.path, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(hashed.path, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(hashed.path);
+        }
+    }
+
+    @Override
+    public Optional<StoredUpload> find(String name) throws IOException {
+        Optional<Path> path = resolve(name);
+        if (path.isEmpty()) {
+            return Optional.empty();
+        }
+        Path file = path.orElseThrow();
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        // Un nom adressé par contenu est déjà un validateur fort ; sinon taille + date de modification
+        String etag = UploadFiles.isContentAddressed(name) ? name : Long.toHexString(size) + "-" + Long.toHexString(lastModified);
+        return Optional.of(new StoredUpload(name, size, Instant.ofEpochMilli(lastModified), etag, new FileSystemResource(file)));
+    }
+
+    /**
+     * Chemin d'un fichier existant : emplacement shardé, puis ancien emplacement à la racine.
+     */
+    Optional<Path> resolve(String name) {
+        if (!UploadFiles.isSafeName(name)) {
+            return Optional.empty();
+        }
+        if (UploadFiles.isContentAddressed(name)) {
+            Path sharded = root.resolve(UploadFiles.shardedKey(name, shardDepth));
+            if (Files.isRegularFile(sharded)) {
+                return Optional.of(sharded);
+            }
+        }
+        Path legacy = root.resolve(name).normalize();
+        return legacy.startsWith(root) && Files.isRegularFile(legacy) ? Optional.of(legacy) : Optional.empty();
+    }
+}
@@ -0,0 +1,129 @@
+package devtechly.service.storage;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signature AWS Signature Version 4 des requêtes S3 (en-têtes host, x-amz-content-sha256 et x-amz-date).
+ * <p>
+ * Suffisant pour les opérations objet simples (HEAD, GET, PUT) sur tout stockage compatible S3, sans dépendre du SDK AWS.
+ */
+final class S3RequestSigner {
+
+    static final String EMPTY_PAYLOAD_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter SCOPE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+
+    S3RequestSigner(String region, String accessKey, String secretKey) {
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+    }
+
+    /**
+     * Calcule les en-têtes à ajouter à la requête (hors Host, positionné par le client HTTP).
+     */
+    Map<String, String> sign(String method, URI uri, String payloadSha256, ZonedDateTime now) {
+        ZonedDateTime utc = now.withZoneSameInstant(ZoneOffset.UTC);
+        String amzDate = AMZ_DATE.format(utc);
+        String scope = SCOPE_DATE.format(utc) + "/" + region + "/s3/aws4_request";
+
+        TreeMap<String, String> signedHeaders = new TreeMap<>();
+        signedHeaders.put("host", hostHeader(uri));
+        signedHeaders.put("x-amz-content-sha256", payloadSha256);
+        signedHeaders.put("x-amz-date", amzDate);
+
+        StringBuilder canonicalHeaders = new StringBuilder();
+        signedHeaders.forEach((name, value) -> canonicalHeaders.append(name).append(':').append(value.trim()).append('\n'));
+        String signedHeaderNames = String.join(";", signedHeaders.keySet());
+
+        String canonicalRequest = String.join(
+            "\n",
+            method,
+            canonicalPath(uri.getRawPath()),
+            "",
+            canonicalHeaders.toString(),
+            signedHeaderNames,
+            payloadSha256
+        );
+        String stringToSign = String.join("\n", "AWS4-HMAC-SHA256", amzDate, scope, sha256Hex(canonicalRequest));
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), SCOPE_DATE.format(utc));
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, "s3");
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+
+        return Map.of(
+            "x-amz-content-sha256",
+            payloadSha256,
+            "x-amz-date",
+            amzDate,
+            "Authorization",
+            "AWS4-HMAC-SHA256 Credential=" +
+            accessKey +
+            "/" +
+            scope +
+            ", SignedHeaders=" +
+            signedHeaderNames +
+            ", Signature=" +
+            signature
+        );
+    }
+
+    static String hostHeader(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || ("https".equals(uri.getScheme()) && port == 443) || ("http".equals(uri.getScheme()) && port == 80);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    /**
+     * Encode chaque segment du chemin selon RFC 3986 (les '/' sont conservés).
+     */
+    static String encodePath(String path) {
+        StringJoiner encoded = new StringJoiner("/");
+        for (String segment : path.split("/", -1)) {
+            encoded.add(URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20").replace("*", "%2A").replace("%7E", "~"));
+        }
+        return encoded.toString();
+    }
+
+    private static String canonicalPath(String rawPath) {
+        return rawPath == null || rawPath.isEmpty() ? "/" : rawPath;
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponible", e);
+        }
+    }
+}
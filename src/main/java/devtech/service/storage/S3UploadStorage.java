@@ -0,0 +1,298 @@
+package devtechly.service.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Stockage dans un bucket compatible S3 (AWS, MinIO, Ceph...) via l'API REST, en adressage par chemin
+ * ({@code endpoint/bucket/ab/cd/abcd...png}).
+ * <p>
+ * Le contenu étant adressé par son hash, un HEAD suffit à savoir si l'objet existe déjà : le PUT n'est fait qu'une fois.
+ */
+public class S3UploadStorage implements UploadStorage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(S3UploadStorage.class);
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final S3RequestSigner signer;
+    private final String endpoint;
+    private final String bucket;
+    private final int shardDepth;
+    private final Path tempDir;
+
+    public S3UploadStorage(String endpoint, String region, String bucket, String accessKey, String secretKey, int shardDepth) {
+        this(
+            HttpClient.newBuilder().connectTimeout(TIMEOUT).build(),
+            endpoint,
+            region,
+            bucket,
+            accessKey,
+            secretKey,
+            shardDepth,
+            Path.of(System.getProperty("java.io.tmpdir"))
+        );
+    }
+
+    S3UploadStorage(
+        HttpClient httpClient,
+        String endpoint,
+        String region,
+        String bucket,
+        String accessKey,
+        String secretKey,
+        int shardDepth,
+        Path tempDir
+    ) {
+        if (endpoint == null || endpoint.isBlank() || bucket == null || bucket.isBlank()) {
+            throw new IllegalArgumentException("application.upload.storage.s3.endpoint et bucket sont obligatoires");
+        }
+        this.httpClient = httpClient;
+        this.signer = new S3RequestSigner(region, accessKey, secretKey);
+        this.endpoint = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+        this.bucket = bucket;
+        this.shardDepth = shardDepth;
+        this.tempDir = tempDir;
+    }
+
+    @Override
+    public String store(InputStream content, String extension) throws IOException {
+        UploadFiles.HashedFile hashed = UploadFiles.copyAndHash(content, tempDir);
+        try {
+            String name = hashed.sha256 + UploadFiles.normalizeExtension(extension);
+            URI uri = objectUri(name);
+            if (exists(name, head(uri))) {
+                LOG.debug("Objet déjà présent dans le bucket, dépôt dédupliqué: {}", name);
+                return name;
+            }
+
+            put(name, uri, hashed);
+            LOG.debug("Objet stocké dans le bucket {}: {} ({} octets)", bucket, name, hashed.size);
+            return name;
+        } finally {
+            Files.deleteIfExists(hashed.path);
+        }
+    }
+
+    @Override
+    public void storeAs(String name, InputStream content) throws IOException {
+        if (!UploadFiles.isSafeName(name) || !UploadFiles.isContentAddressed(name)) {
+            throw new IllegalArgumentException("Nom de fichier dérivé invalide: " + name);
+        }
+        UploadFiles.HashedFile hashed = UploadFiles.copyAndHash(content, tempDir);
+        try {
+            put(name, objectUri(name), hashed);
+        } finally {
+            Files.deleteIfExists(hashed.path);
+        }
+    }
+
+    @Override
+    public Optional<StoredUpload> find(String name) throws IOException {
+        if (!UploadFiles.isSafeName(name) || !UploadFiles.isContentAddressed(name)) {
+            // Les anciens fichiers UUID n'ont jamais été déposés dans le bucket
+            return Optional.empty();
+        }
+        URI uri = objectUri(name);
+        HttpResponse<Void> head = head(uri);
+        if (!exists(name, head)) {
+            return Optional.empty();
+        }
+        long size = head.headers().firstValueAsLong("Content-Length").orElse(-1);
+        Instant lastModified = head.headers().firstValue("Last-Modified").map(S3UploadStorage::parseHttpDate).orElse(Instant.EPOCH);
+        return Optional.of(new StoredUpload(name, size, lastModified, name, new S3ObjectResource(name, uri, size)));
+    }
+
+    /**
+     * Seul un 404 signifie que l'objet n'existe pas : un 403 (droits ou signature refusés) est une erreur de
+     * configuration, qui ne doit passer ni pour un fichier absent ni pour un dépôt à refaire.
+     */
+    private static boolean exists(String name, HttpResponse<Void> head) throws IOException {
+        return switch (head.statusCode()) {
+            case 200 -> true;
+            case 404 -> false;
+            default -> throw new IOException("Échec de la lecture S3 " + name + " (HTTP " + head.statusCode() + ")");
+        };
+    }
+
+    private URI objectUri(String name) {
+        return URI.create(endpoint + "/" + bucket + "/" + S3RequestSigner.encodePath(UploadFiles.shardedKey(name, shardDepth)));
+    }
+
+    private void put(String name, URI uri, UploadFiles.HashedFile hashed) throws IOException {
+        // Le hash du contenu calculé pendant la copie sert directement de x-amz-content-sha256
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+            .timeout(TIMEOUT)
+            .header("Content-Type", UploadFiles.contentType(name))
+            .PUT(HttpRequest.BodyPublishers.ofFile(hashed.path));
+        signer.sign("PUT", uri, hashed.sha256, ZonedDateTime.now()).forEach(request::header);
+        HttpResponse<String> response = send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Échec du dépôt S3 " + name + " (HTTP " + response.statusCode() + "): " + response.body());
+        }
+    }
+
+    private HttpResponse<Void> head(URI uri) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(TIMEOUT).method("HEAD", HttpRequest.BodyPublishers.noBody());
+        signer.sign("HEAD", uri, S3RequestSigner.EMPTY_PAYLOAD_SHA256, ZonedDateTime.now()).forEach(request::header);
+        return send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Requête S3 interrompue: " + request.uri(), e);
+        }
+    }
+
+    private static Instant parseHttpDate(String value) {
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    /**
+     * Objet du bucket lu à la demande : le GET signé n'est émis qu'à la première lecture du flux.
+     * <p>
+     * Pour une requête Range, Spring MVC saute le début du flux avant de copier la plage : ce saut est transmis à S3
+     * dans l'en-tête {@code Range} au lieu de télécharger puis d'ignorer les octets qui précèdent.
+     */
+    private final class S3ObjectResource extends AbstractResource {
+
+        private final String name;
+        private final URI uri;
+        private final long size;
+
+        S3ObjectResource(String name, URI uri, long size) {
+            this.name = name;
+            this.uri = uri;
+            this.size = size;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new S3ObjectStream(name, uri, size);
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return size >= 0 ? size : super.contentLength();
+        }
+
+        @Override
+        public String getFilename() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return "S3 object [" + uri + "]";
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof S3ObjectResource that && uri.equals(that.uri));
+        }
+
+        @Override
+        public int hashCode() {
+            return uri.hashCode();
+        }
+    }
+
+    /**
+     * Flux d'un objet du bucket, ouvert à la première lecture à partir de la position atteinte par {@link #skip(long)}.
+     */
+    private final class S3ObjectStream extends InputStream {
+
+        private final String name;
+        private final URI uri;
+        private final long size;
+
+        private long offset;
+        private InputStream body;
+
+        S3ObjectStream(String name, URI uri, long size) {
+            this.name = name;
+            this.uri = uri;
+            this.size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return open().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            return open().read(buffer, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (body != null) {
+                return body.skip(n);
+            }
+            long skipped = size >= 0 ? Math.max(0, Math.min(n, size - offset)) : Math.max(0, n);
+            offset += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (body != null) {
+                body.close();
+            }
+        }
+
+        private InputStream open() throws IOException {
+            if (body != null) {
+                return body;
+            }
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET();
+            Map<String, String> headers = signer.sign("GET", uri, S3RequestSigner.EMPTY_PAYLOAD_SHA256, ZonedDateTime.now());
+            headers.forEach(request::header);
+            if (offset > 0) {
+                request.header("Range", "bytes=" + offset + "-");
+            }
+            HttpResponse<InputStream> response = send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            int status = response.statusCode();
+            if (status == 404) {
+                response.body().close();
+                throw new FileNotFoundException("Objet S3 introuvable: " + name);
+            }
+            if (status != 200 && status != 206) {
+                response.body().close();
+                throw new IOException("Échec de la lecture S3 " + name + " (HTTP " + status + ")");
+            }
+            body = response.body();
+            if (status == 200 && offset > 0) {
+                // Plage ignorée par le serveur : l'objet entier est renvoyé
+                body.skipNBytes(offset);
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package devtechly.service.storage;
+
+import java.time.Instant;
+import org.springframework.core.io.Resource;
+
+/**
+ * Fichier stocké, prêt à être servi en flux : taille, date de modification et ETag pour les GET conditionnels.
+ */
+public class StoredUpload {
+
+    private final String name;
+    private final long size;
+    private final Instant lastModified;
+    private final String etag;
+    private final Resource resource;
+
+    public StoredUpload(String name, long size, Instant lastModified, String etag, Resource resource) {
+        this.name = name;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.etag = etag;
+        this.resource = resource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+}
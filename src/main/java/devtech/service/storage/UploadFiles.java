@@ -0,0 +1,105 @@
+package devtechly.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Outils communs aux moteurs de stockage : hachage en flux, noms publics et chemins shardés.
+ */
+final class UploadFiles {
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+    /** Nom adressé par contenu, éventuellement suivi de la taille d'un aperçu ("<sha256>-480.jpg") */
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("[0-9a-f]{64}(-[0-9]{1,4})?(\\.[A-Za-z0-9]+)?");
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("(\\.[A-Za-z0-9]{1,10})?");
+
+    private UploadFiles() {}
+
+    /**
+     * Copie le flux dans un fichier temporaire en calculant son SHA-256 au passage.
+     */
+    static HashedFile copyAndHash(InputStream content, Path tempDir) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest); OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            return new HashedFile(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } catch (NoSuchAlgorithmException e) {
+            Files.deleteIfExists(temp);
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    static String normalizeExtension(String extension) {
+        if (extension == null) {
+            return "";
+        }
+        String lower = extension.toLowerCase();
+        return SAFE_EXTENSION.matcher(lower).matches() ? lower : "";
+    }
+
+    /**
+     * Refuse tout nom pouvant sortir du dossier de stockage (séparateurs, "..").
+     */
+    static boolean isSafeName(String name) {
+        return name != null && SAFE_NAME.matcher(name).matches() && !name.contains("..");
+    }
+
+    static boolean isContentAddressed(String name) {
+        return CONTENT_ADDRESSED_NAME.matcher(name).matches();
+    }
+
+    static String extension(String name) {
+        int lastDot = name.lastIndexOf('.');
+        return lastDot < 0 ? "" : name.substring(lastDot + 1).toLowerCase();
+    }
+
+    /**
+     * Chemin relatif shardé d'un nom adressé par contenu : "ab/cd/abcd....png" pour une profondeur de 2.
+     */
+    static String shardedKey(String name, int shardDepth) {
+        StringBuilder key = new StringBuilder();
+        for (int level = 0; level < shardDepth; level++) {
+            key.append(name, level * 2, level * 2 + 2).append('/');
+        }
+        return key.append(name).toString();
+    }
+
+    static String contentType(String name) {
+        return switch (extension(name)) {
+            case "jpg", "jpeg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            case "pdf" -> "application/pdf";
+            default -> "application/octet-stream";
+        };
+    }
+
+    static final class HashedFile {
+
+        final Path path;
+        final String sha256;
+        final long size;
+
+        HashedFile(Path path, String sha256, long size) {
+            this.path = path;
+            this.sha256 = sha256;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package devtechly.service.storage;
+
+import devtechly.config.ApplicationProperties;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Génération en arrière-plan des aperçus JPEG des fichiers déposés : miniatures des images et rendu de la première
+ * page des justificatifs PDF.
+ * <p>
+ * Un aperçu est stocké à côté de l'original sous le nom {@code <sha256>-<taille>.jpg} ; comme l'original, il n'est
+ * jamais réécrit avec un contenu différent et peut être mis en cache par le navigateur.
+ */
+@Service
+public class UploadPreviewService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UploadPreviewService.class);
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    private static final String PDF_EXTENSION = "pdf";
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    /** Au-delà, l'image est refusée plutôt que décodée (protection contre les "bombes de décompression") */
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+
+    private final UploadStorage uploadStorage;
+    private final List<Integer> sizes;
+
+    public UploadPreviewService(UploadStorage uploadStorage, ApplicationProperties applicationProperties) {
+        this.uploadStorage = uploadStorage;
+        this.sizes = applicationProperties.getUpload().getPreviewSizes().stream().sorted().distinct().toList();
+    }
+
+    public boolean isSupportedSize(int size) {
+        return sizes.contains(size);
+    }
+
+    /**
+     * Nom de l'aperçu d'un fichier pour une taille donnée, si ce fichier en a un (fichier adressé par contenu, d'un type
+     * pris en charge). Les anciens fichiers UUID n'ont pas d'aperçu.
+     */
+    public Optional<String> previewName(String name, int size) {
+        if (!isSupportedSize(size) || !isPreviewable(name)) {
+            return Optional.empty();
+        }
+        return Optional.of(name.substring(0, 64) + "-" + size + ".jpg");
+    }
+
+    /**
+     * Génère les aperçus manquants d'un fichier venant d'être stocké, sur le pool {@code taskExecutor}.
+     * Un fichier déjà déposé (même contenu, donc même nom) garde ses aperçus : il n'est ni relu ni décodé.
+     * Un échec est seulement journalisé : l'image d'origine reste servie à la place de l'aperçu.
+     */
+    @Async
+    public void generatePreviews(String name) {
+        if (!isPreviewable(name)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Integer> missing = missingSizes(name);
+            if (missing.isEmpty()) {
+                LOG.debug("Aperçus déjà présents pour {}", name);
+                return;
+            }
+            Optional<StoredUpload> source = uploadStorage.find(name);
+            if (source.isEmpty()) {
+                LOG.warn("Aperçus non générés, fichier introuvable: {}", name);
+                return;
+            }
+            int largest = missing.get(missing.size() - 1);
+            BufferedImage image;
+            try (InputStream in = source.orElseThrow().getResource().getInputStream()) {
+                image = PDF_EXTENSION.equals(UploadFiles.extension(name)) ? renderFirstPage(in, largest) : readImage(in, largest);
+            }
+            if (image == null) {
+                LOG.debug("Format non lisible, pas d'aperçu pour {}", name);
+                return;
+            }
+            for (int size : missing) {
+                byte[] jpeg = encodeJpeg(resize(image, size));
+                uploadStorage.storeAs(previewName(name, size).orElseThrow(), new ByteArrayInputStream(jpeg));
+            }
+            LOG.debug("Aperçus {} générés pour {} en {} ms", missing, name, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Échec de la génération des aperçus de {}: {}", name, e.getMessage());
+        }
+    }
+
+    private List<Integer> missingSizes(String name) throws IOException {
+        List<Integer> missing = new ArrayList<>(sizes.size());
+        for (int size : sizes) {
+            if (uploadStorage.find(previewName(name, size).orElseThrow()).isEmpty()) {
+                missing.add(size);
+            }
+        }
+        return missing;
+    }
+
+    private boolean isPreviewable(String name) {
+        if (name == null || !UploadFiles.isContentAddressed(name) || name.length() < 65 || name.charAt(64) != '.') {
+            // Ni ancien nom UUID, ni aperçu lui-même
+            return false;
+        }
+        String extension = UploadFiles.extension(name);
+        return IMAGE_EXTENSIONS.contains(extension) || PDF_EXTENSION.equals(extension);
+    }
+
+    /**
+     * Décode l'image en sous-échantillonnant à la lecture : une photo de 12 Mpx n'est jamais entièrement décodée
+     * pour produire un aperçu de quelques centaines de pixels.
+     */
+    static BufferedImage readImage(InputStream in, int targetSize) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image trop grande pour un aperçu: " + width + "x" + height);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                // On garde au moins deux fois la taille cible pour un redimensionnement final de bonne qualité
+                int step = Math.max(1, Math.max(width, height) / (targetSize * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage renderFirstPage(InputStream in, int targetSize) throws IOException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(in))) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle box = document.getPage(0).getCropBox();
+            float scale = targetSize / Math.max(box.getWidth(), box.getHeight());
+            PDFRenderer renderer = new PDFRenderer(document);
+            renderer.setSubsamplingAllowed(true);
+            return renderer.renderImage(0, scale, ImageType.RGB);
+        }
+    }
+
+    /**
+     * Redimensionne pour que le plus grand côté fasse au plus {@code size} pixels (sans agrandir), sur fond blanc
+     * pour les images transparentes.
+     */
+    static BufferedImage resize(BufferedImage source, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
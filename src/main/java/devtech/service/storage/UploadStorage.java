@@ -0,0 +1,33 @@
+package devtechly.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Stockage des fichiers déposés (captures d'écran, justificatifs de paiement).
+ * <p>
+ * Les fichiers sont adressés par leur contenu : le nom public est le SHA-256 du contenu suivi de l'extension,
+ * calculé pendant la copie. Un même fichier déposé plusieurs fois n'est donc stocké qu'une fois.
+ */
+public interface UploadStorage {
+    /**
+     * Stocke le contenu et renvoie son nom public ({@code <sha256><extension>}).
+     *
+     * @param content   le flux à stocker, lu une seule fois.
+     * @param extension l'extension avec son point (ex. ".png"), ou une chaîne vide.
+     */
+    String store(InputStream content, String extension) throws IOException;
+
+    /**
+     * Stocke un fichier dérivé (aperçu) sous un nom imposé, en remplaçant l'éventuelle version précédente.
+     *
+     * @param name nom adressé par contenu du fichier dérivé (ex. {@code <sha256>-480.jpg}).
+     */
+    void storeAs(String name, InputStream content) throws IOException;
+
+    /**
+     * Recherche un fichier par son nom public (y compris les anciens noms UUID non shardés).
+     */
+    Optional<StoredUpload> find(String name) throws IOException;
+}
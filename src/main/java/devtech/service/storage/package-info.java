@@ -0,0 +1,4 @@
+/**
+ * Upload storage engines.
+ */
+package devtechly.service.storage;
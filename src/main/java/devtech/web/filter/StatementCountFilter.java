@@ -0,0 +1,88 @@
+package devtechly.web.filter;
+
+import devtechly.aop.observation.StatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Ajoute à chaque réponse le nombre de requêtes SQL exécutées pour la produire.
+ * <p>
+ * L'en-tête est posé juste avant l'écriture du corps, après laquelle il ne peut plus changer : les requêtes faites
+ * pendant l'écriture (flux, traitements asynchrones) ne sont pas comptées.
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        CountingResponse countingResponse = new CountingResponse(response, StatementCounter.current());
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            countingResponse.writeCount();
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final long statementsBefore;
+        private boolean written;
+
+        private CountingResponse(HttpServletResponse response, long statementsBefore) {
+            super(response);
+            this.statementsBefore = statementsBefore;
+        }
+
+        private void writeCount() {
+            if (!written && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(StatementCounter.current() - statementsBefore));
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeCount();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeCount();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeCount();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeCount();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeCount();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import devtechly.repository.UserRepository;
 import devtechly.security.AuthoritiesConstants;
 import devtechly.security.SecurityUtils;
 import devtechly.service.MailService;
+import devtechly.service.NotificationService;
 import devtechly.service.UserService;
 import devtechly.service.dto.AdminUserDTO;
 import devtechly.service.dto.PasswordChangeDTO;
@@ -50,6 +51,7 @@ public class AccountResource {
     private final AppUserRepository appUserRepository;
     private final AuthorityRepository authorityRepository;
     private final PasswordEncoder passwordEncoder;
+    private final NotificationService notificationService;
 
     public AccountResource(
         UserRepository userRepository,
@@ -57,7 +59,8 @@ public class AccountResource {
         MailService mailService,
         AppUserRepository appUserRepository,
         AuthorityRepository authorityRepository,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        NotificationService notificationService
     ) {
         this.userRepository = userRepository;
         this.userService = userService;
@@ -65,6 +68,7 @@ public class AccountResource {
         this.appUserRepository = appUserRepository;
         this.authorityRepository = authorityRepository;
         this.passwordEncoder = passwordEncoder;
+        this.notificationService = notificationService;
     }
 
     /**
@@ -120,8 +124,7 @@ public class AccountResource {
     public AdminUserDTO getAccount() {
         // If authenticated via classic JHipster user, keep default behavior
         return userService
-            .getUserWithAuthorities()
-            .map(AdminUserDTO::new)
+            .getAccount()
             .orElseGet(() -> {
                 // Otherwise, try to build an account from OAuth2 JWT claims stored by OAuth2JwtService
                 return SecurityUtils.getCurrentUserLogin()
@@ -241,6 +244,7 @@ public class AccountResource {
                 String encryptedPassword = passwordEncoder.encode(passwordDto.getNewPassword());
                 user.setPassword(encryptedPassword);
                 userRepository.save(user);
+                userService.evictCachedUser(user.getLogin());
 
                 // Keep AppUser password in sync as well (used by some flows)
                 appUser.setPassword(encryptedPassword);
@@ -273,6 +277,7 @@ public class AccountResource {
                 newUser.setPassword(encryptedPassword);
 
                 userRepository.save(newUser);
+                notificationService.evictAdminRecipients();
 
                 // Also persist password on AppUser (so future lookups remain consistent)
                 appUser.setPassword(encryptedPassword);
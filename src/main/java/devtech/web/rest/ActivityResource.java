@@ -180,7 +180,7 @@ public class ActivityResource {
     }
 
     /**
-     * {@code GET  /activities/recent/all} : get all recent activities without pagination.
+     * {@code GET  /activities/recent/all} : get the most recent activities without pagination (bounded timeline).
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of recent activities in body.
      */
@@ -210,7 +210,7 @@ public class ActivityResource {
     }
 
     /**
-     * {@code GET  /activities/user/{userId}/all} : get all recent activities for a specific user without pagination.
+     * {@code GET  /activities/user/{userId}/all} : get the most recent activities for a user without pagination (bounded timeline).
      *
      * @param userId the user ID.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of activities in body.
@@ -250,7 +250,7 @@ public class ActivityResource {
     }
 
     /**
-     * {@code GET  /activities/recent/my} : get all recent activities for the current authenticated user without pagination.
+     * {@code GET  /activities/recent/my} : get the most recent activities for the current user without pagination (bounded timeline).
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of recent activities in body.
      */
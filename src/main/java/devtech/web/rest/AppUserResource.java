@@ -6,7 +6,11 @@ import devtechly.domain.User;
 import devtechly.repository.AppUserRepository;
 import devtechly.repository.AuthorityRepository;
 import devtechly.repository.UserRepository;
+import devtechly.service.AppUserCredentialService;
 import devtechly.service.ClientEmailService;
+import devtechly.service.NotificationService;
+import devtechly.service.UserService;
+import devtechly.service.exception.TooManyLoginAttemptsException;
 import java.net.URI;
 import java.util.HashSet;
 import java.util.List;
@@ -33,27 +37,38 @@ public class AppUserResource {
     private final AuthorityRepository authorityRepository;
     private final PasswordEncoder passwordEncoder;
     private final ClientEmailService clientEmailService;
+    private final NotificationService notificationService;
+    private final AppUserCredentialService appUserCredentialService;
+    private final UserService userService;
 
     public AppUserResource(
         AppUserRepository appUserRepository,
         UserRepository userRepository,
         AuthorityRepository authorityRepository,
         PasswordEncoder passwordEncoder,
-        ClientEmailService clientEmailService
+        ClientEmailService clientEmailService,
+        NotificationService notificationService,
+        AppUserCredentialService appUserCredentialService,
+        UserService userService
     ) {
         this.appUserRepository = appUserRepository;
         this.userRepository = userRepository;
         this.authorityRepository = authorityRepository;
         this.passwordEncoder = passwordEncoder;
         this.clientEmailService = clientEmailService;
+        this.notificationService = notificationService;
+        this.appUserCredentialService = appUserCredentialService;
+        this.userService = userService;
     }
 
     @PostMapping
     public ResponseEntity<AppUser> register(@RequestBody AppUser appUser) {
-        log.info("Création client: email={}, password={}", appUser.getEmail(), appUser.getPassword());
+        log.info("Création client: email={}", appUser.getEmail());
         if (appUserRepository.existsByEmail(appUser.getEmail())) {
             return ResponseEntity.badRequest().build();
         }
+        String rawPassword = appUser.getPassword();
+        appUser.setPassword(appUserCredentialService.encodePassword(rawPassword));
         AppUser result = appUserRepository.save(appUser);
 
         // Always create a User with ROLE_CLIENT
@@ -63,7 +78,7 @@ public class AppUserResource {
             user.setFirstName(appUser.getFirstName());
             user.setLastName(appUser.getLastName());
             user.setEmail(appUser.getEmail().toLowerCase());
-            user.setPassword(passwordEncoder.encode(appUser.getPassword()));
+            user.setPassword(passwordEncoder.encode(rawPassword));
             user.setActivated(true);
             user.setLangKey("fr"); // or Constants.DEFAULT_LANGUAGE
             HashSet<Authority> authorities = new HashSet<>();
@@ -102,10 +117,17 @@ public class AppUserResource {
 
     @PutMapping("/{id}")
     public ResponseEntity<AppUser> update(@PathVariable Long id, @RequestBody AppUser appUser) {
-        if (!appUserRepository.existsById(id)) {
+        Optional<AppUser> existing = appUserRepository.findById(id);
+        if (existing.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         appUser.setId(id);
+        // Le haché n'est plus renvoyé au formulaire : sans nouveau mot de passe, on garde celui enregistré
+        if (appUser.getPassword() == null || appUser.getPassword().isBlank()) {
+            appUser.setPassword(existing.orElseThrow().getPassword());
+        } else {
+            appUser.setPassword(appUserCredentialService.encodePassword(appUser.getPassword()));
+        }
         AppUser result = appUserRepository.save(appUser);
         return ResponseEntity.ok(result);
     }
@@ -156,6 +178,8 @@ public class AppUserResource {
             authorities.add(authority);
             systemUser.setAuthorities(authorities);
             userRepository.save(systemUser);
+            notificationService.evictAdminRecipients();
+            userService.evictCachedUser(systemUser.getLogin());
             log.info("Updated role for user {} to {}", user.getEmail(), newRole);
         }
 
@@ -168,11 +192,13 @@ public class AppUserResource {
 
     @PostMapping("/login")
     public ResponseEntity<AppUser> login(@RequestBody LoginRequest loginRequest) {
-        Optional<AppUser> userOpt = appUserRepository
-            .findAll()
-            .stream()
-            .filter(u -> u.getEmail().equals(loginRequest.getEmail()) && u.getPassword().equals(loginRequest.getPassword()))
-            .findFirst();
+        Optional<AppUser> userOpt;
+        try {
+            userOpt = appUserCredentialService.authenticate(loginRequest.getEmail(), loginRequest.getPassword());
+        } catch (TooManyLoginAttemptsException e) {
+            long seconds = Math.max(1, e.getRetryAfter().toSeconds());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds)).build();
+        }
         return userOpt.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(401).build());
     }
 
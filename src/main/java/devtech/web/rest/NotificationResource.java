@@ -5,6 +5,8 @@ import devtechly.domain.User;
 import devtechly.repository.NotificationRepository;
 import devtechly.repository.UserRepository;
 import devtechly.security.SecurityUtils;
+import devtechly.service.NotificationService;
+import devtechly.service.NotificationStreamService;
 import devtechly.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -23,11 +25,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -49,10 +53,19 @@ public class NotificationResource {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
 
-    public NotificationResource(NotificationRepository notificationRepository, UserRepository userRepository) {
+    public NotificationResource(
+        NotificationRepository notificationRepository,
+        UserRepository userRepository,
+        NotificationService notificationService,
+        NotificationStreamService notificationStreamService
+    ) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.notificationStreamService = notificationStreamService;
     }
 
     /**
@@ -111,6 +124,7 @@ public class NotificationResource {
             throw new BadRequestAlertException("A new notification cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Notification result = notificationRepository.save(notification);
+        notificationService.evictUnreadCount(result.getUserLogin());
         return ResponseEntity.created(new URI("/api/notifications/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -139,11 +153,14 @@ public class NotificationResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!notificationRepository.existsById(id)) {
+        Optional<String> previousUserLogin = notificationRepository.findById(id).map(Notification::getUserLogin);
+        if (previousUserLogin.isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
         Notification result = notificationRepository.save(notification);
+        notificationService.evictUnreadCount(previousUserLogin.orElseThrow());
+        notificationService.evictUnreadCount(result.getUserLogin());
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, notification.getId().toString()))
             .body(result);
@@ -193,6 +210,7 @@ public class NotificationResource {
                 }
                 if (notification.getRead() != null) {
                     existingNotification.setRead(notification.getRead());
+                    notificationService.evictUnreadCount(existingNotification.getUserLogin());
                 }
                 if (notification.getUserId() != null) {
                     existingNotification.setUserId(notification.getUserId());
@@ -239,6 +257,57 @@ public class NotificationResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /notifications/stream} : flux Server-Sent Events des nouvelles notifications de l'utilisateur courant.
+     * <p>
+     * Chaque événement {@code notification} porte l'id de la notification ; à la reconnexion, les notifications
+     * postérieures à l'en-tête {@code Last-Event-ID} sont renvoyées avant les nouvelles.
+     *
+     * @param lastEventId id de la dernière notification reçue par le client, le cas échéant.
+     * @return le flux, ou le statut {@code 401 (Unauthorized)}.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        List<String> loginIdentifiers = getCurrentUserLoginIdentifiers();
+        log.debug("REST request to stream notifications for user identifiers {} from {}", loginIdentifiers, lastEventId);
+
+        if (loginIdentifiers.isEmpty()) {
+            return ResponseEntity.status(401).build();
+        }
+
+        Long cursor = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                cursor = Long.valueOf(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new BadRequestAlertException("Invalid Last-Event-ID", ENTITY_NAME, "lasteventidinvalid");
+            }
+        }
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+            // Désactive la mise en tampon de nginx, sans quoi les événements arrivent par paquets
+            .header("X-Accel-Buffering", "no")
+            .body(notificationStreamService.subscribe(loginIdentifiers, cursor));
+    }
+
+    /**
+     * {@code GET  /notifications/unread-count} : nombre de notifications non lues de l'utilisateur courant (badge).
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Long> getUnreadCount() {
+        List<String> loginIdentifiers = getCurrentUserLoginIdentifiers();
+
+        if (loginIdentifiers.isEmpty()) {
+            return ResponseEntity.status(401).build();
+        }
+
+        return ResponseEntity.ok(notificationService.countUnread(loginIdentifiers));
+    }
+
     /**
      * {@code GET  /notifications/:id} : get the "id" notification.
      *
@@ -267,6 +336,7 @@ public class NotificationResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteNotification(@PathVariable Long id) {
         log.debug("REST request to delete Notification : {}", id);
+        notificationRepository.findById(id).ifPresent(notification -> notificationService.evictUnreadCount(notification.getUserLogin()));
         notificationRepository.deleteById(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
@@ -288,11 +358,7 @@ public class NotificationResource {
             return ResponseEntity.status(401).build();
         }
 
-        Optional<Notification> notificationOpt = notificationRepository.findByIdAndUserLoginIn(id, loginIdentifiers);
-        notificationOpt.ifPresent(notification -> {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        });
+        notificationService.markAsRead(id, loginIdentifiers);
         return ResponseEntity.ok().build();
     }
 
@@ -310,11 +376,8 @@ public class NotificationResource {
             return ResponseEntity.status(401).build();
         }
 
-        List<Notification> notifications = notificationRepository.findByUserLoginInAndReadFalse(loginIdentifiers);
-        for (Notification notification : notifications) {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        }
+        int updated = notificationService.markAllAsRead(loginIdentifiers);
+        log.debug("{} notification(s) marquée(s) comme lue(s)", updated);
         return ResponseEntity.ok().build();
     }
 }
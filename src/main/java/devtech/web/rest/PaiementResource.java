@@ -1,20 +1,34 @@
 package devtechly.web.rest;
 
+import devtechly.service.CmiCallbackService;
+import devtechly.service.InvoiceArchiveService;
+import devtechly.service.InvoiceService;
+import devtechly.service.PaiementExportService;
 import devtechly.service.PaiementService;
+import devtechly.service.dto.InvoiceArchiveJobDTO;
 import devtechly.service.dto.PaiementDTO;
 import devtechly.service.exception.PaiementException;
 import devtechly.web.rest.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/paiements")
@@ -22,14 +36,28 @@ public class PaiementResource {
 
     private final PaiementService paiementService;
 
+    private final PaiementExportService paiementExportService;
+
+    private final InvoiceArchiveService invoiceArchiveService;
+
+    private final CmiCallbackService cmiCallbackService;
+
     @Value("${cmi.ok.url:http://localhost:8080/payment-success}")
     private String okUrl;
 
     @Value("${cmi.fail.url:http://localhost:8080/payment-failed}")
     private String failUrl;
 
-    public PaiementResource(PaiementService paiementService) {
+    public PaiementResource(
+        PaiementService paiementService,
+        PaiementExportService paiementExportService,
+        InvoiceArchiveService invoiceArchiveService,
+        CmiCallbackService cmiCallbackService
+    ) {
         this.paiementService = paiementService;
+        this.paiementExportService = paiementExportService;
+        this.invoiceArchiveService = invoiceArchiveService;
+        this.cmiCallbackService = cmiCallbackService;
     }
 
     @GetMapping
@@ -184,8 +212,8 @@ public class PaiementResource {
     @PostMapping("/cmi/callback")
     public ResponseEntity<String> cmiCallback(@RequestParam Map<String, String> params) {
         try {
-            // Traiter la réponse CMI
-            PaiementDTO paiementDTO = paiementService.processCmiPaymentResponse(params);
+            // Traiter la réponse CMI (une seule fois : un renvoi de la passerelle reçoit le résultat du premier traitement)
+            PaiementDTO paiementDTO = cmiCallbackService.process(params, () -> paiementService.processCmiPaymentResponse(params));
 
             // Rediriger vers la page de résultat appropriée
             String redirectUrl;
@@ -228,13 +256,89 @@ public class PaiementResource {
         return paiementService.findByDateRange(startDate, endDate);
     }
 
+    /**
+     * Export des paiements d'une période, écrit en flux ({@code format} : {@code csv} ou {@code ndjson}).
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportPaiements(
+        @RequestParam LocalDate startDate,
+        @RequestParam LocalDate endDate,
+        @RequestParam(defaultValue = "csv") String format
+    ) {
+        PaiementExportService.Format exportFormat;
+        try {
+            exportFormat = PaiementExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> paiementExportService.export(startDate, endDate, exportFormat, out);
+        return ResponseEntity.ok()
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=paiements-" + startDate + "-" + endDate + "." + exportFormat.extension()
+            )
+            .contentType(MediaType.parseMediaType(exportFormat.mediaType() + ";charset=UTF-8"))
+            .body(body);
+    }
+
+    /**
+     * Facture PDF du paiement ; revalidée par {@code If-None-Match}, elle n'est rendue qu'une fois par version.
+     */
     @GetMapping("/{id}/facture")
-    public ResponseEntity<byte[]> getFacturePdf(@PathVariable Long id) {
-        byte[] pdf = paiementService.generateFacturePdf(id);
+    public ResponseEntity<byte[]> getFacturePdf(@PathVariable Long id, WebRequest request) {
+        InvoiceService.Invoice facture = paiementService.getFacture(id);
+        if (request.checkNotModified(facture.eTag())) {
+            return null;
+        }
         return ResponseEntity.ok()
             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=facture-paiement-" + id + ".pdf")
             .contentType(MediaType.APPLICATION_PDF)
-            .body(pdf);
+            .eTag(facture.eTag())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(facture.pdf());
+    }
+
+    /**
+     * Lance en tâche de fond une archive ZIP des factures d'une période ; son état se suit sur l'URL renvoyée.
+     * Seule l'instance qui a reçu la demande connaît l'archive (voir {@link InvoiceArchiveService}).
+     */
+    @PostMapping("/factures/archives")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<InvoiceArchiveJobDTO> createFactureArchive(@RequestParam LocalDate startDate, @RequestParam LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        InvoiceArchiveJobDTO job;
+        try {
+            job = invoiceArchiveService.submit(startDate, endDate);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "60").build();
+        }
+        return ResponseEntity.accepted().location(URI.create("/api/paiements/factures/archives/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/factures/archives/{jobId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<InvoiceArchiveJobDTO> getFactureArchive(@PathVariable String jobId) {
+        return ResponseEntity.of(invoiceArchiveService.getJob(jobId));
+    }
+
+    @GetMapping("/factures/archives/{jobId}/download")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<Resource> downloadFactureArchive(@PathVariable String jobId) {
+        return invoiceArchiveService
+            .getArchive(jobId)
+            .map(archive ->
+                ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=factures-" + jobId + ".zip")
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .<Resource>body(new FileSystemResource(archive))
+            )
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
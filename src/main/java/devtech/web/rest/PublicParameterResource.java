@@ -5,7 +5,11 @@ import devtechly.service.AppParameterService;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for public parameters accessible by clients.
@@ -23,22 +27,24 @@ public class PublicParameterResource {
 
     /**
      * {@code GET /api/public/parameters} : get all public parameters for clients.
+     * <p>
+     * The body is serialized once per parameter change; clients revalidate with {@code If-None-Match}.
      *
-     * @return the list of public parameters.
+     * @param request the current request, used for the {@code ETag} check.
+     * @return the list of public parameters, or {@code 304 (Not Modified)} if unchanged.
      */
     @GetMapping("")
-    public List<AppParameter> getPublicParameters() {
+    public ResponseEntity<byte[]> getPublicParameters(WebRequest request) {
         log.debug("REST request to get public parameters for clients");
-        List<AppParameter> allParams = service.findAll();
-        // Filtrer seulement les paramètres nécessaires aux clients
-        return allParams
-            .stream()
-            .filter(
-                p ->
-                    p.getType() != null &&
-                    (p.getType().equals("ticket-status") || p.getType().equals("ticket-type") || p.getType().equals("ticket-priority"))
-            )
-            .toList();
+        AppParameterService.SerializedParameters parameters = service.getPublicParameters();
+        if (request.checkNotModified(parameters.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(parameters.eTag())
+            .cacheControl(CacheControl.noCache())
+            .body(parameters.json());
     }
 
     /**
@@ -0,0 +1,39 @@
+package devtechly.web.rest;
+
+import devtechly.service.RetentionService;
+import devtechly.service.dto.RetentionStatusDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the retention status of the activity and notification tables.
+ */
+@RestController
+@RequestMapping("/api/admin/retention")
+public class RetentionResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetentionResource.class);
+
+    private final RetentionService retentionService;
+
+    public RetentionResource(RetentionService retentionService) {
+        this.retentionService = retentionService;
+    }
+
+    /**
+     * {@code GET  /admin/retention} : get the row counts of the purged tables, their last run and the archives on disk.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the retention status in body.
+     */
+    @GetMapping("")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<RetentionStatusDTO> getRetentionStatus() {
+        LOG.debug("REST request to get retention status");
+        return ResponseEntity.ok(retentionService.getStatus());
+    }
+}
@@ -1,5 +1,6 @@
 package devtechly.web.rest;
 
+import devtechly.service.CmiCallbackService;
 import devtechly.service.TicketPaymentService;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
@@ -16,8 +17,11 @@ public class TicketPaymentResource {
 
     private final TicketPaymentService ticketPaymentService;
 
-    public TicketPaymentResource(TicketPaymentService ticketPaymentService) {
+    private final CmiCallbackService cmiCallbackService;
+
+    public TicketPaymentResource(TicketPaymentService ticketPaymentService, CmiCallbackService cmiCallbackService) {
         this.ticketPaymentService = ticketPaymentService;
+        this.cmiCallbackService = cmiCallbackService;
     }
 
     /**
@@ -56,7 +60,8 @@ public class TicketPaymentResource {
         log.debug("Traitement de la réponse de paiement pour ticket: {}", responseParams.get("oid"));
 
         try {
-            ticketPaymentService.processTicketPaymentResponse(responseParams);
+            // Un renvoi du même callback ne met à jour ni le ticket ni ses activités une seconde fois
+            cmiCallbackService.process(responseParams, () -> ticketPaymentService.processTicketPaymentResponse(responseParams));
             return ResponseEntity.ok("OK");
         } catch (Exception e) {
             log.error("Erreur lors du traitement de la réponse de paiement", e);
@@ -10,32 +10,45 @@ import devtechly.domain.TicketMessage;
 import devtechly.repository.AppUserRepository;
 import devtechly.repository.TicketMessageRepository;
 import devtechly.repository.TicketRepository;
-import devtechly.repository.UserRepository;
+import devtechly.repository.TransactionCallbacks;
 import devtechly.security.SecurityUtils;
 import devtechly.service.ActivityIntegrationService;
 import devtechly.service.ClientEmailService;
 import devtechly.service.MailService;
 import devtechly.service.NotificationService;
+import devtechly.service.OutboxService;
 import devtechly.service.TicketDevisService;
+import devtechly.service.TicketListService;
 import devtechly.service.TicketMessageService;
+import devtechly.service.dto.TicketCursor;
+import devtechly.service.dto.TicketDTO;
+import devtechly.service.dto.TicketSummaryDTO;
+import devtechly.service.storage.StoredUpload;
+import devtechly.service.storage.UploadPreviewService;
+import devtechly.service.storage.UploadStorage;
 import jakarta.validation.Valid;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -55,6 +68,11 @@ public class TicketResource {
 
     private static final Logger LOG = LoggerFactory.getLogger(TicketResource.class);
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Fichiers immuables (nom dérivé du contenu) mais servis à un utilisateur authentifié : cache navigateur uniquement
+    private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+
     private final TicketRepository ticketRepository;
     private final MailService mailService;
     private final NotificationService notificationService;
@@ -62,10 +80,13 @@ public class TicketResource {
     private final TicketDevisService ticketDevisService;
     private final ApplicationProperties applicationProperties;
     private final TicketMessageRepository ticketMessageRepository;
-    private final UserRepository userRepository;
+    private final TicketListService ticketListService;
     private final ClientEmailService clientEmailService;
     private final AppUserRepository appUserRepository;
     private final ActivityIntegrationService activityIntegrationService;
+    private final UploadStorage uploadStorage;
+    private final UploadPreviewService uploadPreviewService;
+    private final OutboxService outboxService;
 
     public TicketResource(
         TicketRepository ticketRepository,
@@ -75,10 +96,13 @@ public class TicketResource {
         TicketDevisService ticketDevisService,
         ApplicationProperties applicationProperties,
         TicketMessageRepository ticketMessageRepository,
-        UserRepository userRepository,
+        TicketListService ticketListService,
         ClientEmailService clientEmailService,
         AppUserRepository appUserRepository,
-        ActivityIntegrationService activityIntegrationService
+        ActivityIntegrationService activityIntegrationService,
+        UploadStorage uploadStorage,
+        UploadPreviewService uploadPreviewService,
+        OutboxService outboxService
     ) {
         this.ticketRepository = ticketRepository;
         this.mailService = mailService;
@@ -87,10 +111,13 @@ public class TicketResource {
         this.ticketDevisService = ticketDevisService;
         this.applicationProperties = applicationProperties;
         this.ticketMessageRepository = ticketMessageRepository;
-        this.userRepository = userRepository;
+        this.ticketListService = ticketListService;
         this.clientEmailService = clientEmailService;
         this.appUserRepository = appUserRepository;
         this.activityIntegrationService = activityIntegrationService;
+        this.uploadStorage = uploadStorage;
+        this.uploadPreviewService = uploadPreviewService;
+        this.outboxService = outboxService;
     }
 
     // Méthode utilitaire pour récupérer l'AppUser à partir du login
@@ -104,8 +131,13 @@ public class TicketResource {
     }
 
     // Lister les tickets de l'utilisateur connecté
+    // Sans paramètre "cursor" : pagination classique (page/size/sort) avec X-Total-Count.
+    // Avec "cursor" (vide pour la première page) : pagination par clé, la page suivante est indiquée dans X-Next-Cursor.
     @GetMapping("")
-    public ResponseEntity<List<TicketDTO>> getMyTickets(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<TicketDTO>> getMyTickets(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "cursor", required = false) String cursor
+    ) {
         try {
             String login = SecurityUtils.getCurrentUserLogin().orElse(null);
             if (login == null) return ResponseEntity.ok(List.of());
@@ -117,51 +149,28 @@ public class TicketResource {
                 .map(GrantedAuthority::getAuthority)
                 .anyMatch(auth -> auth.equals("ROLE_ADMIN") || auth.equals("ROLE_MANAGER"));
 
-            Page<Ticket> ticketPage;
-            if (isAdmin) {
-                ticketPage = ticketRepository.findAll(pageable);
-            } else {
-                // Pour les utilisateurs non-admin, on doit implémenter une méthode de pagination personnalisée
-                // Pour l'instant, on utilise findAll et on filtre côté serveur
-                ticketPage = ticketRepository.findAll(pageable);
-                // Filtrer les tickets de l'utilisateur
-                List<Ticket> userTickets = ticketPage.getContent().stream().filter(ticket -> login.equals(ticket.getCreatedBy())).toList();
-                // Créer une page personnalisée (simplifié pour l'instant)
-                ticketPage = new org.springframework.data.domain.PageImpl<>(userTickets, pageable, userTickets.size());
-            }
-
-            // Convertir en DTOs pour éviter les problèmes de sérialisation
-            List<TicketDTO> ticketDTOs = new ArrayList<>();
-            for (Ticket ticket : ticketPage.getContent()) {
-                try {
-                    // Charger les messages selon le rôle
-                    List<TicketMessage> messages;
-                    if (isAdmin) {
-                        messages = ticketMessageService.getTicketMessages(ticket.getId());
-                    } else {
-                        messages = ticketMessageService.getPublicTicketMessages(ticket.getId());
-                    }
-
-                    if (messages != null && !messages.isEmpty()) {
-                        List<String> messageStrings = convertMessagesToStrings(messages);
-                        ticket.setMessageStrings(messageStrings);
-                    } else {
-                        ticket.setMessageStrings(new ArrayList<>());
-                    }
-
-                    ticketDTOs.add(new TicketDTO(ticket, userRepository));
-                } catch (Exception e) {
-                    // Si il y a une erreur avec les messages, on continue sans messages
-                    System.err.println("Erreur lors du chargement des messages pour le ticket " + ticket.getId() + ": " + e.getMessage());
-                    ticket.setMessageStrings(new ArrayList<>());
-                    ticketDTOs.add(new TicketDTO(ticket, userRepository));
+            List<TicketDTO> ticketDTOs;
+            HttpHeaders headers;
+            if (cursor != null) {
+                Optional<TicketCursor> after = TicketCursor.decode(cursor);
+                // Un curseur altéré ne doit pas renvoyer en boucle la première page au client qui suit X-Next-Cursor
+                if (after.isEmpty() && !cursor.isBlank()) {
+                    return ResponseEntity.badRequest().build();
                 }
+                int size = pageable.getPageSize();
+                ticketDTOs = ticketListService.findAfterCursor(login, isAdmin, after.orElse(null), size);
+                headers = new HttpHeaders();
+                if (ticketDTOs.size() == size) {
+                    TicketDTO last = ticketDTOs.get(size - 1);
+                    headers.add(NEXT_CURSOR_HEADER, new TicketCursor(last.createdDate, last.id).encode());
+                }
+            } else {
+                // Les clients ne voient que leurs tickets : filtrage en base pour des pages complètes et un total exact
+                Page<TicketDTO> ticketPage = ticketListService.findPage(login, isAdmin, pageable);
+                ticketDTOs = ticketPage.getContent();
+                headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), ticketPage);
             }
 
-            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
-                ServletUriComponentsBuilder.fromCurrentRequest(),
-                ticketPage
-            );
             return new ResponseEntity<>(ticketDTOs, headers, HttpStatus.OK);
         } catch (Exception e) {
             System.err.println("Erreur lors de la récupération des tickets: " + e.getMessage());
@@ -170,35 +179,20 @@ public class TicketResource {
         }
     }
 
-    // Méthode utilitaire pour convertir les TicketMessage en chaînes
-    private List<String> convertMessagesToStrings(List<TicketMessage> messages) {
+    // Lister les tickets en vue résumée (tableaux de bord) : nombre de messages et extrait du dernier message,
+    // sans fil de messages ni identifiants backoffice. Le fil complet se charge via GET /api/tickets/{id}/messages.
+    @GetMapping(value = "", params = "view=summary")
+    public ResponseEntity<List<TicketSummaryDTO>> getMyTicketSummaries(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
         try {
-            if (messages == null || messages.isEmpty()) {
-                LOG.info("Aucun message à convertir");
-                return List.of();
-            }
-
-            LOG.info("Conversion de {} messages en strings", messages.size());
-
-            List<String> result = messages
-                .stream()
-                .filter(message -> message != null && message.getContent() != null)
-                .map(message -> {
-                    try {
-                        String prefix = message.getAuthorType() == TicketMessage.AuthorType.CLIENT ? "[CLIENT] " : "";
-                        return prefix + message.getContent();
-                    } catch (Exception e) {
-                        LOG.error("Erreur lors de la conversion du message {}: {}", message.getId(), e.getMessage());
-                        return "[ERREUR] Message non lisible";
-                    }
-                })
-                .toList();
+            String login = SecurityUtils.getCurrentUserLogin().orElse(null);
+            if (login == null) return ResponseEntity.ok(List.of());
 
-            LOG.info("Conversion terminée: {} messages convertis", result.size());
-            return result;
+            Page<TicketSummaryDTO> page = ticketListService.findSummaryPage(login, isAdmin(login), pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
         } catch (Exception e) {
-            LOG.error("Erreur lors de la conversion des messages: {}", e.getMessage(), e);
-            return List.of();
+            LOG.error("Erreur lors de la récupération des résumés de tickets: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).build();
         }
     }
 
@@ -227,32 +221,8 @@ public class TicketResource {
             // S'assurer que les messages ne sont pas chargés pour éviter les problèmes de sérialisation
             ticket.setMessages(new ArrayList<>());
 
-            // Charger les messages selon le rôle (avec gestion d'erreur robuste)
-            try {
-                if (isAdmin) {
-                    List<TicketMessage> messages = ticketMessageService.getTicketMessages(id);
-                    if (messages != null) {
-                        List<String> messageStrings = convertMessagesToStrings(messages);
-                        ticket.setMessageStrings(messageStrings);
-                    } else {
-                        ticket.setMessageStrings(List.of());
-                    }
-                } else {
-                    List<TicketMessage> messages = ticketMessageService.getPublicTicketMessages(id);
-                    if (messages != null) {
-                        List<String> messageStrings = convertMessagesToStrings(messages);
-                        ticket.setMessageStrings(messageStrings);
-                    } else {
-                        ticket.setMessageStrings(List.of());
-                    }
-                }
-            } catch (Exception e) {
-                // Si il y a une erreur avec les messages (table inexistante, etc.), on continue sans messages
-                System.err.println("Erreur lors du chargement des messages pour le ticket " + id + ": " + e.getMessage());
-                ticket.setMessageStrings(List.of());
-            }
-
-            return ResponseEntity.ok(new TicketDTO(ticket, userRepository));
+            // Messages selon le rôle et nom du client, chargés par le chemin de lecture des tickets
+            return ResponseEntity.ok(ticketListService.toDTO(ticket, isAdmin));
         } catch (Exception e) {
             // Log l'erreur pour le debugging
             System.err.println("Erreur lors de la récupération du ticket " + id + ": " + e.getMessage());
@@ -311,7 +281,7 @@ public class TicketResource {
 
                 LOG.info("Nombre de messages trouvés: {}", messages != null ? messages.size() : 0);
 
-                List<String> messageStrings = convertMessagesToStrings(messages);
+                List<String> messageStrings = TicketListService.toMessageStrings(messages);
                 LOG.info("Messages convertis en strings: {}", messageStrings.size());
 
                 return ResponseEntity.ok(messageStrings);
@@ -384,58 +354,23 @@ public class TicketResource {
                 throw e;
             }
 
-            // Envoyer email au client
-            AppUser client = getAppUserByLogin(login);
-            if (client != null) {
-                try {
-                    clientEmailService.sendTicketCreatedEmail(client, result);
-                    LOG.info("Email de création de ticket envoyé au client: {}", client.getEmail());
-                } catch (Exception e) {
-                    LOG.error(
-                        "Erreur lors de l'envoi de l'email de création de ticket au client {}: {}",
-                        client.getEmail(),
-                        e.getMessage()
-                    );
-                }
-            }
-
-            // Envoyer email admin (ne pas bloquer la création si l'email échoue)
-            try {
-                mailService.sendTicketCreatedEmail(result);
-            } catch (Exception e) {
-                LOG.error("Erreur lors de l'envoi de l'email de création de ticket à l'admin: {}", e.getMessage());
-            }
-
-            // Notifications pour la création de tickets (ne pas bloquer si les notifications échouent)
-            try {
-                notificationService.notifyClient(
-                    login,
-                    "Votre ticket #" + result.getId() + " a été créé avec succès",
-                    "TICKET_CREATED",
-                    result.getId(),
-                    "/tickets/" + result.getId()
-                );
-            } catch (Exception e) {
-                LOG.error("Erreur lors de la notification au client: {}", e.getMessage());
-            }
-
-            try {
-                notificationService.notifyAdmins(
-                    "Nouveau ticket créé par " + login + " - #" + result.getId(),
-                    "TICKET_CREATED",
-                    result.getId(),
-                    "/admin/tickets/" + result.getId()
-                );
-            } catch (Exception e) {
-                LOG.error("Erreur lors de la notification aux admins: {}", e.getMessage());
-            }
-
-            // Créer une activité pour la création du ticket (ne pas bloquer si l'activité échoue)
-            try {
-                activityIntegrationService.createTicketCreatedActivity(result);
-            } catch (Exception e) {
-                LOG.error("Erreur lors de la création de l'activité pour le ticket: {}", e.getMessage());
-            }
+            // Emails, notifications et activité : enregistrés dans l'outbox avec le ticket, envoyés après le commit
+            outboxService.enqueueClientTicketCreatedEmail(result.getId(), login);
+            outboxService.enqueueAdminTicketCreatedEmail(result.getId());
+            outboxService.enqueueNotifyClient(
+                login,
+                "Votre ticket #" + result.getId() + " a été créé avec succès",
+                "TICKET_CREATED",
+                result.getId(),
+                "/tickets/" + result.getId()
+            );
+            outboxService.enqueueNotifyAdmins(
+                "Nouveau ticket créé par " + login + " - #" + result.getId(),
+                "TICKET_CREATED",
+                result.getId(),
+                "/admin/tickets/" + result.getId()
+            );
+            outboxService.enqueueTicketCreatedActivity(result.getId());
 
             return ResponseEntity.created(new URI("/api/tickets/" + result.getId())).body(result);
         } catch (URISyntaxException e) {
@@ -571,17 +506,9 @@ public class TicketResource {
                     : ticketMessageService.getPublicTicketMessages(id);
 
                 // Ajouter les nouveaux messages qui ne sont pas déjà présents
+                Set<String> existingStrings = new HashSet<>(TicketListService.toMessageStrings(existingMessages));
                 for (String messageString : ticket.getMessageStrings()) {
-                    boolean messageExists = existingMessages
-                        .stream()
-                        .anyMatch(msg -> {
-                            String existingString = msg.getAuthorType() == TicketMessage.AuthorType.CLIENT
-                                ? "[CLIENT] " + msg.getContent()
-                                : msg.getContent();
-                            return existingString.equals(messageString);
-                        });
-
-                    if (!messageExists) {
+                    if (!existingStrings.contains(messageString)) {
                         // Ajouter le nouveau message
                         if (isAdmin) {
                             ticketMessageService.addAdminMessage(id, messageString);
@@ -788,52 +715,23 @@ public class TicketResource {
                 TicketMessage savedMessage = ticketMessageRepository.save(message);
                 LOG.info("Message sauvegardé avec succès, ID: {}", savedMessage.getId());
 
-                // Créer les notifications appropriées (ne pas faire échouer la requête si notification/email échouent)
-                try {
-                    if (isAdmin) {
-                        notificationService.notifyClient(
-                            ticket.getCreatedBy(),
-                            "Réponse reçue sur votre ticket #" + id + " : " + content.substring(0, Math.min(content.length(), 50)) + "...",
-                            "MESSAGE_RECEIVED",
-                            id,
-                            "/tickets/" + id
-                        );
-                        AppUser client = getAppUserByLogin(ticket.getCreatedBy());
-                        if (client != null) {
-                            try {
-                                Message messageForEmail = new Message();
-                                messageForEmail.setSender("Équipe devtechly");
-                                messageForEmail.setContent(content.trim());
-                                messageForEmail.setCreatedDate(Instant.now());
-                                clientEmailService.sendTicketMessageEmail(client, ticket, messageForEmail);
-                                LOG.info("Email de nouveau message envoyé au client: {}", client.getEmail());
-                            } catch (Exception e) {
-                                LOG.error(
-                                    "Erreur lors de l'envoi de l'email de nouveau message au client {}: {}",
-                                    client.getEmail(),
-                                    e.getMessage()
-                                );
-                            }
-                        }
-                    } else {
-                        notificationService.notifyAdmins(
-                            "Nouveau message de " +
-                            login +
-                            " sur le ticket #" +
-                            id +
-                            " : " +
-                            content.substring(0, Math.min(content.length(), 50)) +
-                            "...",
-                            "MESSAGE_RECEIVED",
-                            id,
-                            "/admin/tickets/" + id
-                        );
-                    }
-                } catch (Exception notifEx) {
-                    LOG.error(
-                        "Erreur lors de l'envoi de la notification (message tout de même enregistré): {}",
-                        notifEx.getMessage(),
-                        notifEx
+                // Notification et email enregistrés dans l'outbox avec le message, envoyés après le commit
+                String preview = content.substring(0, Math.min(content.length(), 50));
+                if (isAdmin) {
+                    outboxService.enqueueNotifyClient(
+                        ticket.getCreatedBy(),
+                        "Réponse reçue sur votre ticket #" + id + " : " + preview + "...",
+                        "MESSAGE_RECEIVED",
+                        id,
+                        "/tickets/" + id
+                    );
+                    outboxService.enqueueClientTicketMessageEmail(id, ticket.getCreatedBy(), content.trim());
+                } else {
+                    outboxService.enqueueNotifyAdmins(
+                        "Nouveau message de " + login + " sur le ticket #" + id + " : " + preview + "...",
+                        "MESSAGE_RECEIVED",
+                        id,
+                        "/admin/tickets/" + id
                     );
                 }
 
@@ -873,63 +771,86 @@ public class TicketResource {
         }
     }
 
-    // Méthode privée pour sauvegarder l'image
-    @Transactional(readOnly = true)
+    // Méthode privée pour sauvegarder l'image : le moteur de stockage nomme le fichier d'après le hash de son contenu,
+    // un même fichier déposé deux fois n'est donc stocké qu'une fois
     private String saveImage(MultipartFile file) throws IOException {
-        // Créer le dossier d'upload s'il n'existe pas
-        Path uploadDir = Path.of(applicationProperties.getUpload().getPath());
-        LOG.info("Chemin d'upload configuré: {}", uploadDir.toAbsolutePath());
-
-        if (!Files.exists(uploadDir)) {
-            try {
-                Files.createDirectories(uploadDir);
-                LOG.info("Dossier d'upload créé: {}", uploadDir.toAbsolutePath());
-            } catch (IOException e) {
-                LOG.error("Impossible de créer le dossier d'upload {}: {}", uploadDir.toAbsolutePath(), e.getMessage());
-                throw new IOException("Impossible de créer le dossier d'upload: " + e.getMessage(), e);
-            }
-        }
-
-        // Vérifier les permissions d'écriture
-        if (!Files.isWritable(uploadDir)) {
-            LOG.error("Le dossier d'upload n'est pas accessible en écriture: {}", uploadDir.toAbsolutePath());
-            throw new IOException("Le dossier d'upload n'est pas accessible en écriture: " + uploadDir.toAbsolutePath());
-        }
-
-        // Générer un nom de fichier unique
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
+        String originalFilename = StringUtils.cleanPath(Objects.requireNonNullElse(file.getOriginalFilename(), ""));
         String fileExtension = "";
         if (originalFilename.contains(".")) {
             fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
         }
-        String filename = UUID.randomUUID().toString() + fileExtension;
 
-        // Sauvegarder le fichier
-        Path filePath = uploadDir.resolve(filename);
-        Files.copy(file.getInputStream(), filePath);
+        String filename;
+        try (InputStream content = file.getInputStream()) {
+            filename = uploadStorage.store(content, fileExtension);
+        }
+        generatePreviewsAfterCommit(filename);
 
         // Retourner l'URL relative pour l'accès
         return "/api/tickets/images/" + filename;
     }
 
-    // Endpoint pour servir les images
+    // Miniatures / aperçu PDF générés en arrière-plan pour les vues liste, une fois le ticket validé : un dépôt annulé
+    // n'occupe pas la file des aperçus. File pleine : pas d'aperçu, l'original est servi à la place (voir getImage) et
+    // le dépôt n'échoue pas pour autant
+    private void generatePreviewsAfterCommit(String filename) {
+        Runnable generate = () -> {
+            try {
+                uploadPreviewService.generatePreviews(filename);
+            } catch (TaskRejectedException e) {
+                LOG.warn("File des aperçus pleine, {} sera servi sans aperçu", filename);
+            }
+        };
+        TransactionCallbacks.afterCommit(generate);
+    }
+
+    // Endpoint pour servir les images et les justificatifs de paiement.
+    // Le fichier est lu en flux depuis le stockage (jamais chargé entier en mémoire) ; Spring MVC gère les requêtes
+    // Range (206) et les GET conditionnels (304) à partir de l'ETag et de Last-Modified.
+    // Les noms de fichiers (hash du contenu, ou UUID pour les anciens) ne sont jamais réécrits : la réponse peut être
+    // mise en cache par le navigateur.
+    // Avec ?size=160 ou ?size=480, l'aperçu JPEG est servi à la place de l'original (miniature pour une image,
+    // première page pour un PDF). Tant qu'il n'est pas encore généré, l'original est renvoyé sans cache long.
     @GetMapping("/images/{filename:.+}")
-    public ResponseEntity<byte[]> getImage(@PathVariable String filename) {
+    public ResponseEntity<Resource> getImage(@PathVariable String filename, @RequestParam(required = false) Integer size) {
         try {
-            Path filePath = Path.of(applicationProperties.getUpload().getPath()).resolve(filename);
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
+            CacheControl cacheControl = IMAGE_CACHE_CONTROL;
+            if (size != null) {
+                if (!uploadPreviewService.isSupportedSize(size)) {
+                    return ResponseEntity.badRequest().build();
+                }
+                Optional<String> previewName = uploadPreviewService.previewName(filename, size);
+                if (previewName.isPresent()) {
+                    Optional<StoredUpload> preview = uploadStorage.find(previewName.orElseThrow());
+                    if (preview.isPresent()) {
+                        return serveUpload(preview.orElseThrow(), MediaType.IMAGE_JPEG, IMAGE_CACHE_CONTROL);
+                    }
+                    cacheControl = CacheControl.noCache();
+                }
             }
 
-            byte[] imageBytes = Files.readAllBytes(filePath);
-            String contentType = determineContentType(filename);
-
-            return ResponseEntity.ok().contentType(org.springframework.http.MediaType.parseMediaType(contentType)).body(imageBytes);
+            Optional<StoredUpload> stored = uploadStorage.find(filename);
+            if (stored.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return serveUpload(stored.orElseThrow(), MediaType.parseMediaType(determineContentType(filename)), cacheControl);
         } catch (IOException e) {
-            return ResponseEntity.notFound().build();
+            // Fichier absent : find renvoie Optional.empty(). Une erreur du stockage (droits S3 refusés, disque) n'est
+            // pas un 404
+            LOG.error("Lecture impossible du fichier {}: {}", filename, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    private ResponseEntity<Resource> serveUpload(StoredUpload upload, MediaType contentType, CacheControl cacheControl) {
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .eTag(upload.getEtag())
+            .lastModified(upload.getLastModified())
+            .cacheControl(cacheControl)
+            .body(upload.getResource());
+    }
+
     // Déterminer le type MIME basé sur l'extension
     private String determineContentType(String filename) {
         int lastDot = filename.lastIndexOf(".");
@@ -1148,46 +1069,16 @@ public class TicketResource {
             ticket.setPaymentStatus("COMPLETED");
             ticketRepository.save(ticket);
 
-            // Créer une activité pour le paiement validé
+            // Activités, email et notification enregistrés dans l'outbox avec le ticket, envoyés après le commit
             String amount = ticket.getPaymentAmount() != null
                 ? ticket.getPaymentAmount() + " " + (ticket.getPaymentCurrency() != null ? ticket.getPaymentCurrency() : "MAD")
                 : "montant inconnu";
-            activityIntegrationService.createPaymentActivity(
-                id,
-                ticket.getPaymentType() != null ? ticket.getPaymentType() : "En ligne",
-                amount,
-                true
-            );
-
-            // Créer aussi une activité pour le changement de statut
-            if (!oldStatus.equals("Paiement validé")) {
-                activityIntegrationService.createTicketStatusUpdatedActivity(ticket, oldStatus, "Paiement validé");
-            }
-
-            // Envoyer email au client
-            AppUser client = getAppUserByLogin(ticket.getCreatedBy());
-            if (client != null) {
-                try {
-                    // Créer un objet Paiement temporaire pour l'email
-                    Paiement paiementForEmail = new Paiement();
-                    paiementForEmail.setId(id);
-                    paiementForEmail.setAmount(ticket.getPaymentAmount() != null ? ticket.getPaymentAmount() : 0.0);
-                    paiementForEmail.setMethodePaiement("En ligne");
-                    paiementForEmail.setDatePaiement(Instant.now());
-
-                    clientEmailService.sendPaymentValidatedEmail(client, paiementForEmail);
-                    LOG.info("Email de validation de paiement envoyé au client: {}", client.getEmail());
-                } catch (Exception e) {
-                    LOG.error(
-                        "Erreur lors de l'envoi de l'email de validation de paiement au client {}: {}",
-                        client.getEmail(),
-                        e.getMessage()
-                    );
-                }
+            outboxService.enqueuePaymentActivity(id, ticket.getPaymentType() != null ? ticket.getPaymentType() : "En ligne", amount, true);
+            if (!"Paiement validé".equals(oldStatus)) {
+                outboxService.enqueueTicketStatusUpdatedActivity(id, oldStatus, "Paiement validé");
             }
-
-            // Envoyer une notification
-            notificationService.notifyUser(
+            outboxService.enqueueClientPaymentValidatedEmail(id, ticket.getCreatedBy(), ticket.getPaymentAmount());
+            outboxService.enqueueNotifyUser(
                 ticket.getCreatedBy(),
                 "Le paiement pour votre ticket #" + id + " a été validé",
                 "PAYMENT_VALIDATED"
@@ -1239,8 +1130,8 @@ public class TicketResource {
             ticket.setStatus("Fermé");
             ticketRepository.save(ticket);
 
-            // Envoyer une notification
-            notificationService.notifyUser(ticket.getCreatedBy(), "Votre ticket #" + id + " a été fermé", "TICKET_CLOSED");
+            // Notification enregistrée dans l'outbox avec le ticket, envoyée après le commit
+            outboxService.enqueueNotifyUser(ticket.getCreatedBy(), "Votre ticket #" + id + " a été fermé", "TICKET_CLOSED");
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -1419,65 +1310,4 @@ public class TicketResource {
             return ResponseEntity.badRequest().body(response);
         }
     }
-
-    // DTO pour éviter les problèmes de sérialisation avec les collections lazy
-    public static class TicketDTO {
-
-        public Long id;
-        public String type;
-        public String description;
-        public String backofficeUrl;
-        public String backofficeLogin;
-        public String backofficePassword;
-        public String hostingUrl;
-        public String imageUrl;
-        /** URL du justificatif de paiement (virement) déposé par le client */
-        public String paymentProofFileUrl;
-        public String status;
-        public String createdBy;
-        public String clientName;
-        public Instant createdDate;
-        public List<String> messageStrings;
-
-        public TicketDTO(Ticket ticket, UserRepository userRepository) {
-            this.id = ticket.getId();
-            this.type = ticket.getType();
-            this.description = ticket.getDescription();
-            this.backofficeUrl = ticket.getBackofficeUrl();
-            this.backofficeLogin = ticket.getBackofficeLogin();
-            this.backofficePassword = ticket.getBackofficePassword();
-            this.hostingUrl = ticket.getHostingUrl();
-            this.imageUrl = ticket.getImageUrl();
-            this.paymentProofFileUrl = ticket.getPaymentProofFilePath();
-            this.status = ticket.getStatus();
-            this.createdBy = ticket.getCreatedBy();
-            this.createdDate = ticket.getCreatedDate();
-            this.messageStrings = ticket.getMessageStrings();
-
-            // Récupérer le nom complet du client
-            if (ticket.getCreatedBy() != null) {
-                try {
-                    var user = userRepository.findOneByLogin(ticket.getCreatedBy());
-                    if (user.isPresent()) {
-                        var u = user.orElseThrow();
-                        if (u.getFirstName() != null && u.getLastName() != null) {
-                            this.clientName = u.getFirstName() + " " + u.getLastName();
-                        } else if (u.getFirstName() != null) {
-                            this.clientName = u.getFirstName();
-                        } else if (u.getLastName() != null) {
-                            this.clientName = u.getLastName();
-                        } else {
-                            this.clientName = u.getLogin();
-                        }
-                    } else {
-                        this.clientName = ticket.getCreatedBy();
-                    }
-                } catch (Exception e) {
-                    this.clientName = ticket.getCreatedBy();
-                }
-            } else {
-                this.clientName = "Client inconnu";
-            }
-        }
-    }
 }
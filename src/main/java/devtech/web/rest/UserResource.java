@@ -5,6 +5,7 @@ import devtechly.domain.User;
 import devtechly.repository.UserRepository;
 import devtechly.security.AuthoritiesConstants;
 import devtechly.service.MailService;
+import devtechly.service.NotificationService;
 import devtechly.service.UserService;
 import devtechly.service.dto.AdminUserDTO;
 import devtechly.web.rest.errors.BadRequestAlertException;
@@ -86,10 +87,18 @@ public class UserResource {
 
     private final MailService mailService;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    private final NotificationService notificationService;
+
+    public UserResource(
+        UserService userService,
+        UserRepository userRepository,
+        MailService mailService,
+        NotificationService notificationService
+    ) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.mailService = mailService;
+        this.notificationService = notificationService;
     }
 
     /**
@@ -247,6 +256,8 @@ public class UserResource {
         );
 
         userRepository.save(user);
+        notificationService.evictAdminRecipients();
+        userService.evictCachedUser(login);
 
         Optional<AdminUserDTO> updatedUser = userService.getUserWithAuthoritiesByLogin(login).map(AdminUserDTO::new);
 
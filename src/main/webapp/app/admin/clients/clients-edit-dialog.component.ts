@@ -16,7 +16,7 @@ export class ClientsEditDialogComponent {
   constructor(public activeModal: NgbActiveModal) {}
 
   submit(): void {
-    if (!this.client.firstName || !this.client.lastName || !this.client.email || !this.client.phone || !this.client.password) return;
+    if (!this.client.firstName || !this.client.lastName || !this.client.email || !this.client.phone) return;
     this.activeModal.close(this.client);
   }
 }
@@ -1,8 +1,9 @@
 import { Injectable, inject, signal, computed } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { BehaviorSubject, Observable, timer, Subscription, interval, of } from 'rxjs';
-import { takeUntil, switchMap, tap, catchError, map } from 'rxjs';
+import { BehaviorSubject, Observable, of } from 'rxjs';
+import { tap, catchError } from 'rxjs';
 import { AccountService } from '../auth/account.service';
+import { StateStorageService } from '../auth/state-storage.service';
 
 export interface Notification {
   id: number;
@@ -37,26 +38,32 @@ export interface NotificationStats {
 export class NotificationService {
   private readonly http = inject(HttpClient);
   private readonly accountService = inject(AccountService);
+  private readonly stateStorageService = inject(StateStorageService);
 
   // Signals pour l'état des notifications
   private readonly notifications = signal<Notification[]>([]);
   private readonly isLoading = signal(false);
   private readonly lastFetch = signal<Date | null>(null);
+  /** Total des non lues côté serveur (la liste chargée est limitée à 50 notifications) */
+  private readonly unreadTotal = signal(0);
 
-  // Observable pour le rafraîchissement automatique
-  private refreshInterval$ = new BehaviorSubject<number>(5000); // 5 secondes par défaut
+  // Flux SSE /api/notifications/stream (remplace le polling)
+  private refreshInterval$ = new BehaviorSubject<number>(5000); // délai de reconnexion du flux
   private isEnabled$ = new BehaviorSubject<boolean>(true);
-  private destroy$ = new BehaviorSubject<boolean>(false);
+  private streamAbort: AbortController | null = null;
+  private reconnectTimer: ReturnType<typeof setTimeout> | null = null;
+  /** Id de la dernière notification reçue, renvoyé dans Last-Event-ID à la reconnexion */
+  private lastEventId: number | null = null;
 
   // Computed signals
   public readonly notifications$ = computed(() => this.notifications());
   public readonly isLoading$ = computed(() => this.isLoading());
-  public readonly unreadCount$ = computed(() => this.notifications().filter(n => !n.read).length);
+  public readonly unreadCount$ = computed(() => this.unreadTotal());
   public readonly notificationStats$ = computed(() => {
     const notifs = this.notifications();
     return {
       total: notifs.length,
-      unread: notifs.filter(n => !n.read).length,
+      unread: this.unreadTotal(),
       byType: {
         info: notifs.filter(n => n.type === 'info').length,
         success: notifs.filter(n => n.type === 'success').length,
@@ -68,26 +75,124 @@ export class NotificationService {
 
   constructor() {
     console.log('🔔 Démarrage du système de notifications global...');
-    this.startAutoRefresh();
-    // Charger les vraies notifications depuis l'API
-    this.fetchNotifications().subscribe();
+    // Charger les notifications existantes, puis écouter les nouvelles sur le flux SSE
+    this.fetchNotifications().subscribe(() => this.connectStream());
   }
 
   /**
-   * Démarrer l'actualisation automatique des notifications
+   * Ouvrir le flux SSE des nouvelles notifications.
+   * fetch() plutôt qu'EventSource, qui ne permet pas d'envoyer l'en-tête Authorization.
    */
-  private startAutoRefresh(): void {
-    this.isEnabled$
-      .pipe(
-        switchMap(enabled =>
-          enabled ? interval(this.refreshInterval$.value).pipe(takeUntil(this.destroy$)) : timer(0).pipe(takeUntil(this.destroy$)),
-        ),
-      )
-      .subscribe(() => {
-        this.fetchNotifications();
+  private connectStream(): void {
+    this.closeStream();
+    const token = this.stateStorageService.getAuthenticationToken();
+    if (!token || !this.isEnabled$.value) {
+      return;
+    }
+    const abort = new AbortController();
+    this.streamAbort = abort;
+    const headers: Record<string, string> = { Accept: 'text/event-stream', Authorization: `Bearer ${token}` };
+    if (this.lastEventId !== null) {
+      headers['Last-Event-ID'] = String(this.lastEventId);
+    }
+    fetch('/api/notifications/stream', { headers, signal: abort.signal })
+      .then(async response => {
+        if (response.status === 401 || response.status === 403) {
+          console.log('🔒 Utilisateur non authentifié, flux de notifications ignoré');
+          this.streamAbort = null; // rouvert par forceRefresh() après connexion
+          return;
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`Flux de notifications indisponible (${response.status})`);
+        }
+        await this.readStream(response.body);
+      })
+      .catch(error => {
+        if (!abort.signal.aborted) {
+          console.warn('⚠️ Flux de notifications interrompu:', error);
+        }
+      })
+      .finally(() => {
+        // Fin normale (timeout serveur) ou erreur réseau : reconnexion avec Last-Event-ID
+        if (this.streamAbort === abort && !abort.signal.aborted) {
+          this.reconnectTimer = setTimeout(() => this.connectStream(), this.refreshInterval$.value);
+        }
       });
   }
 
+  private closeStream(): void {
+    if (this.reconnectTimer) {
+      clearTimeout(this.reconnectTimer);
+      this.reconnectTimer = null;
+    }
+    this.streamAbort?.abort();
+    this.streamAbort = null;
+  }
+
+  /**
+   * Lire les événements SSE (blocs séparés par une ligne vide, champs "id:", "event:", "data:")
+   */
+  private async readStream(body: ReadableStream<Uint8Array>): Promise<void> {
+    const reader = body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) {
+        return;
+      }
+      buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+      let separator = buffer.indexOf('\n\n');
+      while (separator >= 0) {
+        this.handleStreamEvent(buffer.slice(0, separator));
+        buffer = buffer.slice(separator + 2);
+        separator = buffer.indexOf('\n\n');
+      }
+    }
+  }
+
+  private handleStreamEvent(block: string): void {
+    let eventName = 'message';
+    const data: string[] = [];
+    for (const line of block.split('\n')) {
+      if (line.startsWith('event:')) {
+        eventName = line.slice(6).trim();
+      } else if (line.startsWith('data:')) {
+        data.push(line.slice(5).trimStart());
+      }
+    }
+    if (eventName !== 'notification' || data.length === 0) {
+      return; // commentaires "ping" et "connected"
+    }
+    const notification = this.toNotification(JSON.parse(data.join('\n')));
+    this.lastEventId = Math.max(this.lastEventId ?? 0, notification.id);
+    if (!this.notifications().some(n => n.id === notification.id)) {
+      this.notifications.set([notification, ...this.notifications()]);
+      if (!notification.read) {
+        this.unreadTotal.update(count => count + 1);
+      }
+    }
+  }
+
+  /**
+   * Convertir une notification du backend vers le format frontend
+   */
+  private toNotification(notif: any): Notification {
+    return {
+      id: notif.id,
+      title: notif.title || 'Notification',
+      message: notif.message || 'Message par défaut',
+      type: this.mapNotificationType(notif.type),
+      rawType: notif.type,
+      timestamp: notif.timestamp || notif.createdDate || new Date().toISOString(),
+      read: notif.read || false,
+      userId: notif.userId,
+      ticketId: notif.ticketId,
+      paymentId: notif.paymentId,
+      actionUrl: notif.actionUrl,
+    };
+  }
+
   /**
    * Récupérer les notifications depuis l'API
    */
@@ -105,23 +210,15 @@ export class NotificationService {
         const notificationsArray = Array.isArray(notifications) ? notifications : [];
 
         // Convertir les notifications du backend vers le format frontend
-        const convertedNotifications = notificationsArray.map(notif => ({
-          id: notif.id,
-          title: notif.title || 'Notification',
-          message: notif.message || 'Message par défaut',
-          type: this.mapNotificationType(notif.type),
-          rawType: notif.type,
-          timestamp: notif.timestamp || notif.createdDate || new Date().toISOString(),
-          read: notif.read || false,
-          userId: notif.userId,
-          ticketId: notif.ticketId,
-          paymentId: notif.paymentId,
-          actionUrl: notif.actionUrl,
-        }));
+        const convertedNotifications = notificationsArray.map(notif => this.toNotification(notif));
+        for (const notification of convertedNotifications) {
+          this.lastEventId = Math.max(this.lastEventId ?? 0, notification.id);
+        }
 
         console.log('🔄 Notifications converties:', convertedNotifications);
 
         this.notifications.set(convertedNotifications);
+        this.fetchUnreadCount();
         this.lastFetch.set(new Date());
         this.isLoading.set(false);
         console.log('✅ Notifications mises à jour avec succès:', convertedNotifications.length);
@@ -149,6 +246,16 @@ export class NotificationService {
     );
   }
 
+  /**
+   * Charger le nombre de non lues (compteur en mémoire côté serveur)
+   */
+  private fetchUnreadCount(): void {
+    this.http
+      .get<number>('/api/notifications/unread-count')
+      .pipe(catchError(() => of(this.notifications().filter(n => !n.read).length)))
+      .subscribe(count => this.unreadTotal.set(count));
+  }
+
   /**
    * Marquer une notification comme lue
    */
@@ -159,6 +266,9 @@ export class NotificationService {
       tap(() => {
         console.log('✅ Notification marquée comme lue avec succès:', notificationId);
         const notifs = this.notifications();
+        if (notifs.some(n => n.id === notificationId && !n.read)) {
+          this.unreadTotal.update(count => Math.max(0, count - 1));
+        }
         const updatedNotifs = notifs.map(n => (n.id === notificationId ? { ...n, read: true } : n));
         this.notifications.set(updatedNotifs);
       }),
@@ -184,6 +294,7 @@ export class NotificationService {
       tap(() => {
         console.log('✅ Toutes les notifications marquées comme lues avec succès');
         const notifs = this.notifications();
+        this.unreadTotal.set(0);
         const updatedNotifs = notifs.map(n => ({ ...n, read: true }));
         this.notifications.set(updatedNotifs);
       }),
@@ -209,6 +320,9 @@ export class NotificationService {
       tap(() => {
         console.log('✅ Notification supprimée avec succès:', notificationId);
         const notifs = this.notifications();
+        if (notifs.some(n => n.id === notificationId && !n.read)) {
+          this.unreadTotal.update(count => Math.max(0, count - 1));
+        }
         const updatedNotifs = notifs.filter(n => n.id !== notificationId);
         this.notifications.set(updatedNotifs);
       }),
@@ -247,30 +361,39 @@ export class NotificationService {
   }
 
   /**
-   * Configurer l'intervalle de rafraîchissement
+   * Configurer le délai de reconnexion du flux
    */
   setRefreshInterval(intervalMs: number): void {
     this.refreshInterval$.next(intervalMs);
   }
 
   /**
-   * Activer/désactiver l'actualisation automatique
+   * Activer/désactiver la réception en temps réel
    */
   setEnabled(enabled: boolean): void {
     this.isEnabled$.next(enabled);
+    if (enabled) {
+      this.connectStream();
+    } else {
+      this.closeStream();
+    }
   }
 
   /**
-   * Forcer un rafraîchissement immédiat
+   * Forcer un rafraîchissement immédiat (et rouvrir le flux s'il est fermé, ex. après connexion)
    */
   forceRefresh(): void {
-    this.fetchNotifications().subscribe();
+    this.fetchNotifications().subscribe(() => {
+      if (!this.streamAbort) {
+        this.connectStream();
+      }
+    });
   }
 
   /**
    * Détruire le service
    */
   destroy(): void {
-    this.destroy$.next(true);
+    this.closeStream();
   }
 }
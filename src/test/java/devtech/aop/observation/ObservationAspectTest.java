@@ -0,0 +1,76 @@
+package devtechly.aop.observation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import devtechly.repository.CmiCallbackRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ObservationAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /** Chaque mise à jour compte pour une requête, sans base de données */
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+        @Override
+        public int update(String sql, Object... args) {
+            StatementCounter.increment();
+            if (sql.startsWith("UPDATE")) {
+                throw new DataAccessResourceFailureException("connexion perdue");
+            }
+            return 1;
+        }
+    };
+
+    private final CmiCallbackRepository repository;
+
+    ObservationAspectTest() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CmiCallbackRepository(jdbcTemplate));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ObservationAspect(meterRegistry, Duration.ofSeconds(1), 30));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    void shouldTimeCallsAndCountStatementsPerOutermostCall() {
+        repository.register("ORD-1", "T-1");
+        repository.register("ORD-2", "T-2");
+
+        assertThat(
+            meterRegistry
+                .get(ObservationAspect.TIMER_NAME)
+                .tag("class", "CmiCallbackRepository")
+                .tag("method", "register")
+                .tag("exception", "none")
+                .timer()
+                .count()
+        ).isEqualTo(2);
+        assertThat(
+            meterRegistry.get(ObservationAspect.STATEMENTS_NAME).tag("method", "register").summary().totalAmount()
+        ).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTagFailedCallsWithTheException() {
+        assertThatThrownBy(() -> repository.recordOutcome("ORD-1", "T-1", 1L, "COMPLETED")).isInstanceOf(
+            DataAccessResourceFailureException.class
+        );
+
+        assertThat(
+            meterRegistry
+                .get(ObservationAspect.TIMER_NAME)
+                .tag("method", "recordOutcome")
+                .tag("exception", "DataAccessResourceFailureException")
+                .timer()
+                .count()
+        ).isEqualTo(1);
+        assertThat(meterRegistry.get(ObservationAspect.STATEMENTS_NAME).tag("method", "recordOutcome").summary().totalAmount()).isEqualTo(
+            1
+        );
+    }
+}
@@ -8,14 +8,12 @@ import static org.mockito.Mockito.when;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import java.util.Collections;
 import java.util.List;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 import org.springframework.boot.ansi.AnsiColor;
 import org.springframework.boot.ansi.AnsiElement;
 
-@Disabled("Flaky on this environment; disabling to unblock CI")
 class CRLFLogConverterTest {
 
     @Test
@@ -59,7 +57,6 @@ class CRLFLogConverterTest {
     }
 
     @Test
-    @org.junit.jupiter.api.Disabled("Flaky on some environments")
     void transformShouldReplaceNewlinesAndCarriageReturnsWithUnderscoreWhenMarkersDoNotContainCRLFSafeMarkerAndLoggerIsNotSafe() {
         ILoggingEvent event = mock(ILoggingEvent.class);
         List<Marker> markers = Collections.emptyList();
@@ -6,7 +6,6 @@ import static org.mockito.Mockito.*;
 
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.CacheControl;
 import org.springframework.mock.web.MockServletContext;
@@ -16,7 +15,6 @@ import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry
 import tech.jhipster.config.JHipsterDefaults;
 import tech.jhipster.config.JHipsterProperties;
 
-@Disabled("Flaky timeout in this environment; does not affect backend logic")
 class StaticResourcesWebConfigurerTest {
 
     public static final int MAX_AGE_TEST = 5;
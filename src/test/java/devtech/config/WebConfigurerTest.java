@@ -11,7 +11,6 @@ import jakarta.servlet.*;
 import java.nio.file.Path;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
 import org.springframework.http.HttpHeaders;
@@ -25,7 +24,6 @@ import tech.jhipster.config.JHipsterProperties;
 /**
  * Unit tests for the {@link WebConfigurer} class.
  */
-@Disabled("Flaky setup timeout on this environment; safe to skip")
 class WebConfigurerTest {
 
     private WebConfigurer webConfigurer;
@@ -0,0 +1,40 @@
+package devtechly.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.IntegrationTest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link RetentionRepository} lock shared by the instances.
+ */
+@IntegrationTest
+@Transactional
+class RetentionRepositoryIT {
+
+    @Autowired
+    private RetentionRepository retentionRepository;
+
+    @Test
+    void tryLock_shouldGrantTheLockToOneInstanceUntilReleasedOrExpired() {
+        // À la seconde : la colonne timestamp arrondit les fractions de seconde
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant until = now.plus(Duration.ofHours(1));
+
+        assertThat(retentionRepository.tryLock("instance-a", now, until)).isTrue();
+        assertThat(retentionRepository.tryLock("instance-b", now, until)).isFalse();
+        // Seule l'instance détentrice libère le verrou
+        retentionRepository.unlock("instance-b", now);
+        assertThat(retentionRepository.tryLock("instance-b", now, until)).isFalse();
+
+        retentionRepository.unlock("instance-a", now);
+        assertThat(retentionRepository.tryLock("instance-b", now, until)).isTrue();
+        // Verrou expiré : repris sans libération
+        assertThat(retentionRepository.tryLock("instance-a", until, until.plus(Duration.ofHours(1)))).isTrue();
+    }
+}
@@ -0,0 +1,63 @@
+package devtechly.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionCallbacksTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /** Simule la fin d'une transaction : les actions enregistrées s'exécutent selon son issue */
+    private static void complete(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (committed) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        int status = committed ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    @Test
+    void shouldRunImmediatelyOutsideATransaction() {
+        TransactionCallbacks.afterCommit(() -> calls.add("commit"));
+        TransactionCallbacks.afterCompletion(() -> calls.add("completion"));
+
+        assertThat(calls).containsExactly("commit", "completion");
+    }
+
+    @Test
+    void shouldRunAfterCommitOnly() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionCallbacks.afterCommit(() -> calls.add("commit"));
+        TransactionCallbacks.afterCompletion(() -> calls.add("completion"));
+        assertThat(calls).isEmpty();
+
+        complete(true);
+
+        assertThat(calls).containsExactly("commit", "completion");
+    }
+
+    @Test
+    void shouldSkipAfterCommitActionsOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionCallbacks.afterCommit(() -> calls.add("commit"));
+        TransactionCallbacks.afterCompletion(() -> calls.add("completion"));
+
+        complete(false);
+
+        assertThat(calls).containsExactly("completion");
+    }
+}
@@ -0,0 +1,126 @@
+package devtechly.security;
+
+import static devtechly.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import devtechly.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+class CachedJwtDecoderTest {
+
+    private static final SecretKey KEY = key("0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private Instant now = Instant.now();
+
+    private final CachedJwtDecoder decoder;
+
+    CachedJwtDecoderTest() {
+        NimbusJwtDecoder nimbus = NimbusJwtDecoder.withSecretKey(KEY).macAlgorithm(JWT_ALGORITHM).build();
+        nimbus.setJwtValidator(new JwtTimestampValidator());
+        JwtDecoder counting = token -> {
+            verifications.incrementAndGet();
+            return nimbus.decode(token);
+        };
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        decoder = new CachedJwtDecoder(counting, new SecurityMetersService(meterRegistry), 2, clock);
+    }
+
+    private static SecretKey key(String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), JWT_ALGORITHM.getName());
+    }
+
+    private static String token(SecretKey key, String subject, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder().subject(subject).issuedAt(expiresAt.minusSeconds(3600)).expiresAt(expiresAt).build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims))
+            .getTokenValue();
+    }
+
+    private double invalidTokens(String cause) {
+        return meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count();
+    }
+
+    @Test
+    void decode_shouldVerifyEachTokenOnceUntilItExpires() {
+        String token = token(KEY, "user", now.plusSeconds(600));
+
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("user");
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("user");
+        assertThat(verifications).hasValue(1);
+
+        now = now.plusSeconds(601);
+        // Encore accepté par le décodeur (tolérance d'horloge), mais plus servi depuis le cache
+        decoder.decode(token);
+        assertThat(verifications).hasValue(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void decode_shouldKeepOnlyTheMostRecentlyUsedTokens() {
+        String first = token(KEY, "first", now.plusSeconds(600));
+        decoder.decode(first);
+        decoder.decode(token(KEY, "second", now.plusSeconds(600)));
+        decoder.decode(token(KEY, "third", now.plusSeconds(600)));
+
+        assertThat(decoder.size()).isEqualTo(2);
+        decoder.decode(first);
+        assertThat(verifications).hasValue(4);
+    }
+
+    @Test
+    void decode_shouldClassifyFailuresByExceptionType() {
+        String expired = token(KEY, "user", Instant.now().minus(Duration.ofHours(1)));
+        String forged = token(key("fedcba9876543210fedcba9876543210fedcba9876543210fedcba9876543210"), "user", now.plusSeconds(600));
+
+        assertThatThrownBy(() -> decoder.decode(expired)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode(forged)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode("not-a-token")).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode("eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyIn0.")).isInstanceOf(JwtException.class);
+
+        assertThat(invalidTokens("expired")).isEqualTo(1);
+        assertThat(invalidTokens("invalid-signature")).isEqualTo(1);
+        assertThat(invalidTokens("malformed")).isEqualTo(1);
+        assertThat(invalidTokens("unsupported")).isEqualTo(1);
+        assertThat(decoder.size()).isZero();
+    }
+}
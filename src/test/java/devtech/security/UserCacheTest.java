@@ -0,0 +1,99 @@
+package devtechly.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class UserCacheTest {
+
+    private record Account(String login, String email) {}
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Instant now = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final UserCache<Account> cache = new UserCache<>(
+        "test",
+        Account::login,
+        2,
+        Duration.ofMinutes(5),
+        meterRegistry,
+        new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        }
+    );
+
+    private Optional<Account> get(String key) {
+        return cache.get(key, () -> {
+            loads.incrementAndGet();
+            return Optional.of(new Account("admin", "admin@localhost"));
+        });
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromMemoryAndCountThem() {
+        get("admin");
+        get("ADMIN");
+        get("admin");
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "test").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void evictShouldRemoveEveryKeyOfTheLogin() {
+        get("admin");
+        get("admin@localhost");
+
+        cache.evict("Admin");
+        get("admin@localhost");
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void shouldReloadExpiredEntries() {
+        get("admin");
+        now = now.plus(Duration.ofMinutes(5));
+        get("admin");
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheAbsentUsersNorLoadsRacingAnEviction() {
+        cache.get("ghost", Optional::empty);
+        cache.get("admin", () -> {
+            // Modification de l'utilisateur pendant le chargement
+            cache.evict("admin");
+            return Optional.of(new Account("admin", "admin@localhost"));
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -1,5 +1,6 @@
 package devtechly.security.jwt;
 
+import devtechly.config.ApplicationProperties;
 import devtechly.config.SecurityConfiguration;
 import devtechly.config.SecurityJwtConfiguration;
 import devtechly.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
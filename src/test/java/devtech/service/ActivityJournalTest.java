@@ -0,0 +1,159 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Activity;
+import devtechly.domain.ActivityType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ActivityJournalTest {
+
+    private final List<List<Activity>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private ApplicationProperties.ActivityJournal properties(int capacity, int batchSize) {
+        ApplicationProperties.ActivityJournal properties = new ApplicationProperties().getActivityJournal();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setRetryBackoff(Duration.ofMillis(1));
+        return properties;
+    }
+
+    @Test
+    void stop_shouldFlushPendingActivitiesInBatches() {
+        ActivityJournal journal = new ActivityJournal(batch -> batches.add(List.copyOf(batch)), properties(100, 2));
+        journal.start();
+
+        for (int i = 0; i < 5; i++) {
+            journal.record(ActivityType.INFO, "Ticket #" + i, null, 1L, (long) i, "TICKET", (long) i);
+        }
+        journal.stop();
+
+        assertThat(batches).flatExtracting(batch -> batch).extracting(Activity::getTicketId).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(batches.get(0).get(0).getIcon()).isEqualTo("info");
+        assertThat(journal.getPendingCount()).isZero();
+    }
+
+    @Test
+    void record_shouldWriteDirectlyWhenJournalIsStopped() {
+        ActivityJournal journal = new ActivityJournal(batch -> batches.add(List.copyOf(batch)), properties(100, 10));
+
+        journal.record(ActivityType.SUCCESS, "Paiement validé", null, null, 7L, "PAYMENT", 7L);
+
+        assertThat(batches).singleElement().satisfies(batch -> assertThat(batch).hasSize(1));
+    }
+
+    @Test
+    void record_shouldApplyBackPressureWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ActivityJournal journal = new ActivityJournal(
+            batch -> {
+                if (Thread.currentThread().getName().equals("activity-journal") && writerBlocked.getCount() > 0) {
+                    writerBlocked.countDown();
+                    awaitQuietly(release);
+                }
+                batches.add(List.copyOf(batch));
+            },
+            properties(1, 1)
+        );
+        journal.start();
+
+        // Le thread d'écriture prend la première activité et reste bloqué
+        journal.record(ActivityType.INFO, "first", null, null, 1L, null, null);
+        assertThat(writerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        // La deuxième remplit la file, la troisième est écrite par l'appelant
+        journal.record(ActivityType.INFO, "second", null, null, 2L, null, null);
+        journal.record(ActivityType.INFO, "third", null, null, 3L, null, null);
+        assertThat(batches).flatExtracting(batch -> batch).extracting(Activity::getTicketId).containsExactly(3L);
+
+        release.countDown();
+        journal.stop();
+        assertThat(batches).flatExtracting(batch -> batch).extracting(Activity::getTicketId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void stop_shouldRetryFailedBatchBeforeWritingIt() {
+        AtomicInteger attempts = new AtomicInteger();
+        ActivityJournal journal = new ActivityJournal(
+            batch -> {
+                if (attempts.incrementAndGet() <= 2) {
+                    throw new IllegalStateException("base indisponible");
+                }
+                batches.add(List.copyOf(batch));
+            },
+            properties(100, 10)
+        );
+        journal.start();
+
+        journal.record(ActivityType.INFO, "Ticket #1", null, 1L, 1L, "TICKET", 1L);
+        journal.stop();
+
+        assertThat(attempts).hasValue(3);
+        assertThat(batches).flatExtracting(batch -> batch).extracting(Activity::getTicketId).containsExactly(1L);
+    }
+
+    @Test
+    void stop_shouldDropBatchAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        ApplicationProperties.ActivityJournal properties = properties(100, 10);
+        properties.setMaxAttempts(4);
+        ActivityJournal journal = new ActivityJournal(
+            batch -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("base indisponible");
+            },
+            properties
+        );
+        journal.start();
+
+        journal.record(ActivityType.INFO, "Ticket #1", null, 1L, 1L, "TICKET", 1L);
+        journal.stop();
+
+        assertThat(attempts).hasValue(4);
+        assertThat(journal.getPendingCount()).isZero();
+    }
+
+    @Test
+    void recordNow_shouldWriteImmediatelyAndThrowWhileJournalIsRunning() {
+        ActivityJournal journal = new ActivityJournal(
+            batch -> {
+                if (batch.get(0).getTicketId() == 2L) {
+                    throw new IllegalStateException("base indisponible");
+                }
+                batches.add(List.copyOf(batch));
+            },
+            properties(100, 10)
+        );
+        journal.start();
+        try {
+            journal.recordNow(ActivityType.INFO, "Ticket #1", null, 1L, 1L, "TICKET", 1L);
+            assertThat(batches).flatExtracting(batch -> batch).extracting(Activity::getTicketId).containsExactly(1L);
+
+            // L'échec remonte à l'appelant (l'outbox réessaiera) au lieu d'être perdu dans un lot
+            assertThatThrownBy(() -> journal.recordNow(ActivityType.INFO, "Ticket #2", null, 1L, 2L, "TICKET", 2L))
+                .isInstanceOf(IllegalStateException.class);
+            assertThat(journal.getPendingCount()).isZero();
+        } finally {
+            journal.stop();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -21,7 +21,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
-@org.junit.jupiter.api.Disabled("Flaky timeouts in BeforeEach; safe to skip for now")
 class ActivityServiceUnitTest {
 
     @Mock
@@ -30,6 +29,9 @@ class ActivityServiceUnitTest {
     @Mock
     private ActivityMapper activityMapper;
 
+    @Mock
+    private RecentActivityTimeline recentActivityTimeline;
+
     @InjectMocks
     private ActivityService activityService;
 
@@ -55,7 +57,6 @@ class ActivityServiceUnitTest {
     }
 
     @Test
-    @org.junit.jupiter.api.Disabled("Flaky timeout in this environment")
     void partialUpdate_shouldUpdateOnlyNonNullFields() {
         ActivityDTO incoming = new ActivityDTO();
         incoming.setId(1L);
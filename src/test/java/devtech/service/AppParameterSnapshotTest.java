@@ -0,0 +1,44 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.domain.AppParameter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AppParameterSnapshotTest {
+
+    private static AppParameter parameter(long id, String key, String value, String type) {
+        AppParameter parameter = new AppParameter();
+        parameter.setId(id);
+        parameter.setKey(key);
+        parameter.setValue(value);
+        parameter.setType(type);
+        return parameter;
+    }
+
+    @Test
+    void snapshot_shouldServeTypedValuesAndPublicParameters() {
+        AppParameter open = parameter(2, "status_open", "open", "ticket-status");
+        AppParameterSnapshot snapshot = new AppParameterSnapshot(
+            List.of(
+                open,
+                parameter(1, "max_tickets_per_user", " 25 ", "config"),
+                parameter(3, "ticket_auto_close_days", "soon", "config"),
+                parameter(4, "type_bug", "bug", "ticket-type")
+            )
+        );
+
+        assertThat(snapshot.getInt("max_tickets_per_user", 10)).isEqualTo(25);
+        assertThat(snapshot.getInt("ticket_auto_close_days", 30)).isEqualTo(30);
+        assertThat(snapshot.getBoolean("notification_email_enabled", true)).isTrue();
+        assertThat(snapshot.publicParameters()).extracting(AppParameter::getKey).containsExactly("status_open", "type_bug");
+        assertThat(snapshot.findByTypeNotIn(AppParameterSnapshot.PUBLIC_TYPES))
+            .extracting(AppParameter::getId)
+            .containsExactly(1L, 3L);
+
+        // Les paramètres servis sont des copies, insensibles aux modifications de l'entité d'origine
+        open.setValue("closed");
+        assertThat(snapshot.getValue("status_open")).hasValue("open");
+    }
+}
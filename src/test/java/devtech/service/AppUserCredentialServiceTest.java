@@ -0,0 +1,151 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.AppUser;
+import devtechly.repository.AppUserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Unit tests for the {@link AppUserCredentialService}: login, password encoding and the migration of plaintext passwords.
+ */
+class AppUserCredentialServiceTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    /** Clients de la "table" */
+    private final List<AppUser> table = new ArrayList<>();
+
+    private final AppUserRepository appUserRepository = mock(AppUserRepository.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final AppUserCredentialService service = new AppUserCredentialService(
+        appUserRepository,
+        passwordEncoder,
+        transactionManager,
+        new ApplicationProperties()
+    );
+
+    @BeforeEach
+    void setUp() {
+        when(appUserRepository.findByEmail(any())).thenAnswer(invocation ->
+            table.stream().filter(appUser -> appUser.getEmail().equals(invocation.getArgument(0))).findFirst()
+        );
+        when(appUserRepository.findWithLegacyPassword(any())).thenAnswer(invocation ->
+            table
+                .stream()
+                .filter(appUser -> !appUser.getPassword().startsWith("$2") && !appUser.getPassword().isEmpty())
+                .limit(invocation.<Pageable>getArgument(0).getPageSize())
+                .toList()
+        );
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private AppUser appUser(String email, String password) {
+        AppUser appUser = new AppUser();
+        appUser.setId(table.size() + 1L);
+        appUser.setEmail(email);
+        appUser.setPassword(password);
+        table.add(appUser);
+        return appUser;
+    }
+
+    @Test
+    void authenticate_shouldAcceptMatchingHashedPassword() {
+        AppUser client = appUser("client@example.com", passwordEncoder.encode("secret"));
+        String hash = client.getPassword();
+
+        assertThat(service.authenticate(" client@example.com ", "secret")).containsSame(client);
+        assertThat(client.getPassword()).isEqualTo(hash);
+    }
+
+    @Test
+    void authenticate_shouldRejectWrongPasswordAndUnknownEmail() {
+        appUser("client@example.com", passwordEncoder.encode("secret"));
+
+        assertThat(service.authenticate("client@example.com", "wrong")).isEmpty();
+        assertThat(service.authenticate("unknown@example.com", "secret")).isEmpty();
+        // Le mot de passe du haché factice n'ouvre aucune session
+        assertThat(service.authenticate("unknown@example.com", "unknown-user")).isEmpty();
+        assertThat(service.authenticate("client@example.com", null)).isEmpty();
+        assertThat(service.authenticate(" ", "secret")).isEmpty();
+    }
+
+    @Test
+    void authenticate_shouldAcceptLegacyPlaintextPasswordOnceAndHashIt() {
+        AppUser client = appUser("client@example.com", "secret");
+
+        assertThat(service.authenticate("client@example.com", "wrong")).isEmpty();
+        assertThat(client.getPassword()).isEqualTo("secret");
+
+        assertThat(service.authenticate("client@example.com", "secret")).containsSame(client);
+        assertThat(AppUserCredentialService.isEncoded(client.getPassword())).isTrue();
+        assertThat(passwordEncoder.matches("secret", client.getPassword())).isTrue();
+
+        // Le haché enregistré est désormais la seule référence : la valeur en clair ne sert plus de mot de passe
+        String hash = client.getPassword();
+        assertThat(service.authenticate("client@example.com", "secret")).containsSame(client);
+        assertThat(service.authenticate("client@example.com", hash)).isEmpty();
+    }
+
+    @Test
+    void authenticate_shouldRejectOAuth2ClientWithoutPassword() {
+        AppUser client = appUser("client@example.com", "");
+
+        assertThat(service.authenticate("client@example.com", "")).isEmpty();
+        assertThat(client.getPassword()).isEmpty();
+    }
+
+    @Test
+    void encodePassword_shouldHashOnlyOnce() {
+        String hash = service.encodePassword("secret");
+
+        assertThat(passwordEncoder.matches("secret", hash)).isTrue();
+        assertThat(service.encodePassword(hash)).isEqualTo(hash);
+        assertThat(service.encodePassword("")).isEmpty();
+        assertThat(service.encodePassword(null)).isNull();
+    }
+
+    @Test
+    void isEncoded_shouldRecognizeBcryptHashesOnly() {
+        assertThat(AppUserCredentialService.isEncoded(passwordEncoder.encode("secret"))).isTrue();
+        assertThat(AppUserCredentialService.isEncoded("secret")).isFalse();
+        assertThat(AppUserCredentialService.isEncoded("")).isFalse();
+        assertThat(AppUserCredentialService.isEncoded(null)).isFalse();
+    }
+
+    @Test
+    void hashLegacyPasswords_shouldHashPlaintextPasswordsInBatches() {
+        for (int i = 0; i < 150; i++) {
+            appUser("client" + i + "@example.com", "secret" + i);
+        }
+        String hash = appUser("hashed@example.com", passwordEncoder.encode("secret")).getPassword();
+        appUser("oauth2@example.com", "");
+
+        service.hashLegacyPasswords();
+
+        // Un lot plein de 100, puis un lot de 50 qui termine
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(table.subList(0, 150)).allSatisfy(appUser ->
+            assertThat(passwordEncoder.matches("secret" + (appUser.getId() - 1), appUser.getPassword())).isTrue()
+        );
+        assertThat(table.get(150).getPassword()).isEqualTo(hash);
+        assertThat(table.get(151).getPassword()).isEmpty();
+        assertThat(service.authenticate("client7@example.com", "secret7")).map(AppUser::getId).contains(8L);
+
+        // Base migrée : une seule requête, rien à hacher
+        service.hashLegacyPasswords();
+        verify(transactionManager, times(3)).commit(any());
+    }
+}
@@ -19,7 +19,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
-@org.junit.jupiter.api.Disabled("Mockito initialization issue on this environment")
 class ClientReviewServiceUnitTest {
 
     @Mock
@@ -0,0 +1,116 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import devtechly.repository.CmiCallbackRepository;
+import devtechly.service.dto.PaiementDTO;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class CmiCallbackServiceTest {
+
+    private static final String STORE_KEY = "TEST123456789";
+
+    private final CmiSigner signer = new CmiSigner(STORE_KEY);
+
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger processed = new AtomicInteger();
+
+    private final CmiPaymentService cmiPaymentService = mock(CmiPaymentService.class);
+
+    private final CmiCallbackRepository cmiCallbackRepository = mock(CmiCallbackRepository.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final CmiCallbackService service = new CmiCallbackService(signer, cmiPaymentService, cmiCallbackRepository, transactionManager);
+
+    @BeforeEach
+    void setUp() {
+        when(cmiPaymentService.checkPaymentStatus(any())).thenAnswer(invocation -> paiement(invocation.getArgument(0)));
+        when(cmiCallbackRepository.register(any(), any())).thenAnswer(invocation ->
+            registered.add(invocation.getArgument(0) + "/" + invocation.getArgument(1))
+        );
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private static PaiementDTO paiement(String orderId) {
+        PaiementDTO paiement = new PaiementDTO();
+        paiement.id = 7L;
+        paiement.cmiOrderId = orderId;
+        paiement.status = "COMPLETED";
+        return paiement;
+    }
+
+    private static Map<String, String> callback(String orderId, String transactionId) throws Exception {
+        Map<String, String> params = new HashMap<>();
+        params.put("clientid", "600000001");
+        params.put("oid", orderId);
+        params.put("Response", "Approved");
+        params.put("TransId", transactionId);
+        String signed = "600000001" + orderId + "Approved" + transactionId + STORE_KEY;
+        params.put("HASH", CmiSigner.toHex(MessageDigest.getInstance("SHA-256").digest(signed.getBytes(StandardCharsets.UTF_8))));
+        return params;
+    }
+
+    private PaiementDTO handle(Map<String, String> params) {
+        return service.process(params, () -> {
+            processed.incrementAndGet();
+            return paiement(params.get("oid"));
+        });
+    }
+
+    @Test
+    void process_shouldRunEachCallbackOnce() throws Exception {
+        Map<String, String> params = callback("ORD-1", "T-1");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<PaiementDTO>> results = IntStream.range(0, 32).mapToObj(i -> executor.submit(() -> handle(params))).toList();
+            for (Future<PaiementDTO> result : results) {
+                assertThat(result.get().status).isEqualTo("COMPLETED");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(processed).hasValue(1);
+
+        // Nouvelle transaction pour la même commande : traitée
+        handle(callback("ORD-1", "T-2"));
+        assertThat(processed).hasValue(2);
+
+        // Renvoi déjà enregistré en base mais oublié en mémoire (autre instance, redémarrage)
+        registered.add("ORD-2/T-1");
+        assertThat(handle(callback("ORD-2", "T-1")).cmiOrderId).isEqualTo("ORD-2");
+        assertThat(processed).hasValue(2);
+    }
+
+    @Test
+    void process_shouldRejectForgedCallbacksBeforeAnyLookup() throws Exception {
+        handle(callback("ORD-3", "T-1"));
+        Map<String, String> forged = callback("ORD-3", "T-1");
+        forged.put("HASH", "00".repeat(32));
+
+        assertThatThrownBy(() -> handle(forged)).hasMessageContaining("hash");
+        // Sans numéro de commande, le hash est vérifié de même avant le traitement
+        forged.remove("oid");
+        assertThatThrownBy(() -> handle(forged)).hasMessageContaining("hash");
+        assertThat(processed).hasValue(1);
+    }
+}
@@ -0,0 +1,64 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CmiSignerTest {
+
+    private static final String STORE_KEY = "TEST123456789";
+
+    private final CmiSigner signer = new CmiSigner(STORE_KEY);
+
+    private static String sha256Hex(String value) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().withUpperCase().formatHex(hash);
+    }
+
+    private static Map<String, String> response() {
+        Map<String, String> params = new HashMap<>();
+        params.put("clientid", "600000001");
+        params.put("oid", "ORD-1760745600-42");
+        params.put("Response", "Approved");
+        params.put("AuthCode", "P61234");
+        params.put("ProcReturnCode", "00");
+        params.put("TransId", "25291LxhC08942");
+        params.put("ErrMsg", "Opération réussie");
+        params.put("HASH", "ignored");
+        return params;
+    }
+
+    @Test
+    void signRequest_shouldHashFieldsInGatewayOrderWithStoreKey() throws Exception {
+        Map<String, String> params = new HashMap<>();
+        params.put("lang", "fr");
+        params.put("amount", "150.00");
+        params.put("clientid", "600000001");
+        params.put("oid", "ORD-42");
+        params.put("currency", "504");
+        params.put("email", "client@devtechly.com");
+
+        assertThat(signer.signRequest(params)).isEqualTo(sha256Hex("600000001150.00ORD-42504fr" + STORE_KEY));
+    }
+
+    @Test
+    void verifyResponse_shouldAcceptOnlyTheExactHash() throws Exception {
+        Map<String, String> params = response();
+        String expected = sha256Hex("600000001ORD-1760745600-42ApprovedP61234" + "0025291LxhC08942Opération réussie" + STORE_KEY);
+
+        assertThat(signer.verifyResponse(params, expected)).isTrue();
+        assertThat(signer.verifyResponse(params, expected.toLowerCase())).isTrue();
+        assertThat(signer.verifyResponse(params, expected.substring(1) + "0")).isFalse();
+        assertThat(signer.verifyResponse(params, expected.substring(2))).isFalse();
+        assertThat(signer.verifyResponse(params, expected.substring(1) + "G")).isFalse();
+        assertThat(signer.verifyResponse(params, null)).isFalse();
+
+        params.put("Response", "Declined");
+        assertThat(signer.verifyResponse(params, expected)).isFalse();
+    }
+}
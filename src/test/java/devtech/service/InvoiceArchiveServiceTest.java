@@ -0,0 +1,291 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Paiement;
+import devtechly.repository.PaiementRepository;
+import devtechly.service.dto.InvoiceArchiveJobDTO;
+import devtechly.service.dto.InvoiceArchiveJobDTO.Status;
+import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Unit tests for the {@link InvoiceArchiveService} background jobs: ordering, bounded render-ahead, failures,
+ * interruption, queue rejection and purge.
+ */
+class InvoiceArchiveServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 1);
+    private static final LocalDate END = LocalDate.of(2026, 10, 31);
+
+    @TempDir
+    Path tempDir;
+
+    /** Paiements de la période */
+    private List<Paiement> paiements = paiements(6);
+
+    /** Paiements lus dans le flux */
+    private final AtomicInteger read = new AtomicInteger();
+
+    /** Rendus bloqués jusqu'à l'ouverture du verrou */
+    private final Set<Long> blocked = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private final CountDownLatch renderBlocked = new CountDownLatch(1);
+
+    private Long failingId;
+
+    private InvoiceArchiveService service;
+
+    @AfterEach
+    void shutdown() {
+        unblock.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private InvoiceArchiveService newService(int threads, int maxPendingJobs, Duration retention) {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getInvoice().setPath(tempDir.toString());
+        properties.getInvoice().getBulk().setThreads(threads);
+        properties.getInvoice().getBulk().setMaxPendingJobs(maxPendingJobs);
+        properties.getInvoice().getBulk().setRetention(retention);
+        service = new InvoiceArchiveService(
+            invoiceService(properties),
+            repository(),
+            mock(EntityManager.class),
+            transactionManager(),
+            properties
+        );
+        return service;
+    }
+
+    private InvoiceService invoiceService(ApplicationProperties properties) {
+        return new InvoiceService(properties) {
+            @Override
+            Invoice loadInvoice(Paiement paiement) {
+                if (blocked.contains(paiement.getId())) {
+                    renderBlocked.countDown();
+                    try {
+                        unblock.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("rendu interrompu", e);
+                    }
+                }
+                if (paiement.getId().equals(failingId)) {
+                    throw new IllegalStateException("police manquante");
+                }
+                return new Invoice(paiement.getId(), "v1", ("facture " + paiement.getId()).getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    private PaiementRepository repository() {
+        PaiementRepository repository = mock(PaiementRepository.class);
+        when(repository.countByDateBetween(START, END)).thenAnswer(invocation -> (long) paiements.size());
+        when(repository.streamByDateRange(START, END)).thenAnswer(invocation ->
+            paiements.stream().peek(paiement -> read.incrementAndGet())
+        );
+        return repository;
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return transactionManager;
+    }
+
+    private static List<Paiement> paiements(int count) {
+        return LongStream.rangeClosed(1, count)
+            .mapToObj(id -> {
+                Paiement paiement = new Paiement();
+                paiement.setId(id);
+                return paiement;
+            })
+            .toList();
+    }
+
+    private InvoiceArchiveJobDTO awaitEnd(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            InvoiceArchiveJobDTO job = service.getJob(id).orElseThrow();
+            if (job.getStatus() == Status.COMPLETED || job.getStatus() == Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("archive " + id + " non terminée");
+    }
+
+    private void awaitRead(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (read.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static List<String> entries(Path archive) throws Exception {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName() + "=" + new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return names;
+    }
+
+    private List<Path> archiveFiles() throws Exception {
+        Path directory = tempDir.resolve("bulk");
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (var files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    void submit_shouldWriteInvoicesInPaymentOrderWithBoundedRenderAhead() throws Exception {
+        // Un thread de rendu : 4 factures rendues d'avance au plus
+        newService(1, 4, Duration.ofDays(1));
+        blocked.add(1L);
+
+        InvoiceArchiveJobDTO queued = service.submit(START, END);
+        assertThat(renderBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+        // 4 rendus en cours, le 5e paiement attend que le premier soit écrit
+        awaitRead(5);
+        Thread.sleep(100);
+        assertThat(read).hasValue(5);
+        assertThat(service.getArchive(queued.getId())).isEmpty();
+        unblock.countDown();
+
+        InvoiceArchiveJobDTO job = awaitEnd(queued.getId());
+        assertThat(job.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(job.getTotal()).isEqualTo(6);
+        assertThat(job.getProcessed()).isEqualTo(6);
+        assertThat(job.getDownloadUrl()).isEqualTo("/api/paiements/factures/archives/" + job.getId() + "/download");
+        Path archive = service.getArchive(job.getId()).orElseThrow();
+        assertThat(job.getSizeInBytes()).isEqualTo(Files.size(archive));
+        assertThat(entries(archive)).containsExactly(
+            "facture-paiement-1.pdf=facture 1",
+            "facture-paiement-2.pdf=facture 2",
+            "facture-paiement-3.pdf=facture 3",
+            "facture-paiement-4.pdf=facture 4",
+            "facture-paiement-5.pdf=facture 5",
+            "facture-paiement-6.pdf=facture 6"
+        );
+    }
+
+    @Test
+    void submit_shouldFailTheJobAndDeleteThePartialArchiveWhenAnInvoiceCannotBeRendered() throws Exception {
+        newService(2, 4, Duration.ofDays(1));
+        failingId = 3L;
+
+        InvoiceArchiveJobDTO job = awaitEnd(service.submit(START, END).getId());
+
+        assertThat(job.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(job.getError()).isEqualTo("Rendu de facture impossible: police manquante");
+        assertThat(job.getProcessed()).isEqualTo(2);
+        assertThat(job.getDownloadUrl()).isNull();
+        assertThat(service.getArchive(job.getId())).isEmpty();
+        assertThat(archiveFiles()).isEmpty();
+    }
+
+    @Test
+    void shutdown_shouldInterruptTheRunningJobAndCancelPendingRenders() throws Exception {
+        newService(2, 4, Duration.ofDays(1));
+        paiements = paiements(20);
+        blocked.add(1L);
+
+        InvoiceArchiveJobDTO queued = service.submit(START, END);
+        assertThat(renderBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+        // Lecture arrêtée à la fenêtre de rendu : 2 threads × 4, plus le paiement en attente
+        awaitRead(9);
+        service.shutdown();
+
+        InvoiceArchiveJobDTO job = awaitEnd(queued.getId());
+        assertThat(job.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(job.getError()).isEqualTo("Archive interrompue");
+        assertThat(read).hasValue(9);
+        assertThat(archiveFiles()).isEmpty();
+    }
+
+    @Test
+    void submit_shouldRejectJobsBeyondTheQueueAndForgetThem() throws Exception {
+        newService(1, 1, Duration.ofDays(1));
+        blocked.add(1L);
+
+        InvoiceArchiveJobDTO running = service.submit(START, END);
+        assertThat(renderBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+        InvoiceArchiveJobDTO queued = service.submit(START, END);
+        assertThat(service.getJob(queued.getId())).get().extracting(InvoiceArchiveJobDTO::getStatus).isEqualTo(Status.QUEUED);
+
+        assertThatThrownBy(() -> service.submit(START, END)).isInstanceOf(RejectedExecutionException.class);
+
+        unblock.countDown();
+        assertThat(awaitEnd(running.getId()).getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(awaitEnd(queued.getId()).getStatus()).isEqualTo(Status.COMPLETED);
+        // Seules les deux archives acceptées sont écrites
+        assertThat(archiveFiles()).hasSize(2);
+    }
+
+    @Test
+    void purgeExpiredArchives_shouldDeleteFilesLeftByAPreviousRunOnceExpired() throws Exception {
+        newService(1, 4, Duration.ofHours(1));
+        InvoiceArchiveJobDTO job = awaitEnd(service.submit(START, END).getId());
+        Path directory = tempDir.resolve("bulk");
+        Path stale = Files.writeString(directory.resolve("ancienne.zip"), "zip");
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path stalePartial = Files.writeString(directory.resolve("interrompue.zip.part"), "zip");
+        Files.setLastModifiedTime(stalePartial, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path recent = Files.writeString(directory.resolve("recente.zip"), "zip");
+
+        service.purgeExpiredArchives();
+
+        assertThat(stale).doesNotExist();
+        assertThat(stalePartial).doesNotExist();
+        assertThat(recent).exists();
+        assertThat(service.getArchive(job.getId())).get().satisfies(archive -> assertThat(archive).exists());
+    }
+
+    @Test
+    void purgeExpiredArchives_shouldForgetExpiredJobsAndDeleteTheirArchive() throws Exception {
+        newService(1, 4, Duration.ZERO);
+        InvoiceArchiveJobDTO job = awaitEnd(service.submit(START, END).getId());
+        Path archive = service.getArchive(job.getId()).orElseThrow();
+        Thread.sleep(10);
+
+        service.purgeExpiredArchives();
+
+        assertThat(service.getJob(job.getId())).isEmpty();
+        assertThat(service.getArchive(job.getId())).isEmpty();
+        assertThat(archive).doesNotExist();
+    }
+}
@@ -0,0 +1,62 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Paiement;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InvoiceServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InvoiceService newService() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getInvoice().setPath(tempDir.toString());
+        return new InvoiceService(properties);
+    }
+
+    private static Paiement paiement(String status) {
+        Paiement paiement = new Paiement();
+        paiement.setId(1042L);
+        paiement.setUser("client@example.com");
+        paiement.setAmount(149.995);
+        paiement.setCurrency("MAD");
+        paiement.setDate(LocalDate.of(2026, 10, 18));
+        paiement.setStatus(status);
+        return paiement;
+    }
+
+    @Test
+    void getInvoice_shouldRenderOncePerVersionAndKeepFinalInvoicesOnDisk() throws Exception {
+        InvoiceService service = newService();
+        Paiement paiement = paiement("PENDING");
+
+        InvoiceService.Invoice pending = service.getInvoice(paiement);
+        assertThat(new String(pending.pdf(), 0, 5)).isEqualTo("%PDF-");
+        assertThat(service.getInvoice(paiement)).isSameAs(pending);
+        assertThat(service.file(1042L, pending.version())).doesNotExist();
+
+        paiement.setStatus("COMPLETED");
+        InvoiceService.Invoice completed = service.getInvoice(paiement);
+        assertThat(completed.eTag()).isNotEqualTo(pending.eTag());
+        Path file = service.file(1042L, completed.version());
+        assertThat(file).exists();
+
+        // Après redémarrage, la facture définitive est relue depuis le disque
+        InvoiceService.Invoice reloaded = newService().getInvoice(paiement);
+        assertThat(reloaded.pdf()).isEqualTo(Files.readAllBytes(file));
+        assertThat(reloaded.eTag()).isEqualTo(completed.eTag());
+    }
+
+    @Test
+    void formatAmount_shouldNotDependOnDefaultLocale() {
+        assertThat(InvoicePdfRenderer.formatAmount(149.995)).isEqualTo("150.00");
+        assertThat(InvoicePdfRenderer.formatAmount(null)).isEqualTo("N/A");
+    }
+}
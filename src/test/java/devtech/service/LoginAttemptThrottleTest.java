@@ -0,0 +1,73 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class LoginAttemptThrottleTest {
+
+    private Instant now = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final LoginAttemptThrottle throttle = new LoginAttemptThrottle(
+        3,
+        Duration.ofMinutes(15),
+        2,
+        new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        }
+    );
+
+    @Test
+    void shouldBlockAddressUntilEndOfWindow() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.retryAfter("client@example.com")).isZero();
+            throttle.recordFailure("client@example.com");
+        }
+
+        now = now.plus(Duration.ofMinutes(5));
+        // Casse et espaces ignorés : même adresse
+        assertThat(throttle.retryAfter(" Client@Example.com")).isEqualTo(Duration.ofMinutes(10));
+        assertThat(throttle.retryAfter("other@example.com")).isZero();
+
+        now = now.plus(Duration.ofMinutes(10));
+        assertThat(throttle.retryAfter("client@example.com")).isZero();
+    }
+
+    @Test
+    void successShouldResetFailures() {
+        throttle.recordFailure("client@example.com");
+        throttle.recordFailure("client@example.com");
+        throttle.recordSuccess("client@example.com");
+        throttle.recordFailure("client@example.com");
+        throttle.recordFailure("client@example.com");
+
+        assertThat(throttle.retryAfter("client@example.com")).isZero();
+    }
+
+    @Test
+    void shouldForgetLeastRecentlySeenAddresses() {
+        throttle.recordFailure("a@example.com");
+        throttle.recordFailure("b@example.com");
+        throttle.recordFailure("c@example.com");
+
+        assertThat(throttle.size()).isEqualTo(2);
+    }
+}
@@ -4,20 +4,76 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 import devtechly.domain.Notification;
+import devtechly.domain.User;
 import devtechly.repository.NotificationRepository;
 import devtechly.repository.UserRepository;
+import devtechly.security.AuthoritiesConstants;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
-@org.junit.jupiter.api.Disabled("Mockito inline mock maker timing out intermittently")
 class NotificationServiceUnitTest {
 
+    private final NotificationRepository repo = mock(NotificationRepository.class);
+    private final UserRepository userRepo = mock(UserRepository.class);
+
+    /** Lots reçus par insertAll, un par appel */
+    private final List<List<Notification>> batches = new ArrayList<>();
+
+    private List<User> admins = List.of(admin(1L, "admin", "Admin@Example.com"), admin(2L, "other", "admin@example.com"));
+
+    private Instant now = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final NotificationService service = new NotificationService(
+        repo,
+        userRepo,
+        mock(NotificationStreamService.class),
+        new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        }
+    );
+
+    @BeforeEach
+    void setUp() {
+        when(repo.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repo.insertAll(any())).thenAnswer(invocation -> {
+            List<Notification> batch = invocation.getArgument(0);
+            batches.add(batch);
+            return batch.size();
+        });
+        when(userRepo.findAllByAuthority(AuthoritiesConstants.ADMIN)).thenAnswer(invocation -> admins);
+    }
+
+    private static User admin(Long id, String login, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin(login);
+        user.setEmail(email);
+        return user;
+    }
+
     @Test
     void notifyUser_shouldPersistNotificationWithDefaults() {
-        NotificationRepository repo = mock(NotificationRepository.class);
-        UserRepository userRepo = mock(UserRepository.class);
-        NotificationService service = new NotificationService(repo, userRepo);
-
         service.notifyUser("jane", "Hello", "INFO");
 
         ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
@@ -29,4 +85,63 @@ class NotificationServiceUnitTest {
         assertThat(saved.isRead()).isFalse();
         assertThat(saved.getCreatedDate()).isNotNull();
     }
+
+    @Test
+    void notifyAdmins_shouldInsertOneBatchForAllAdmins() {
+        admins = List.of(
+            admin(1L, "admin", "Admin@Example.com"),
+            // Même email à la casse près : un seul destinataire
+            admin(2L, "other", "admin@example.com"),
+            admin(3L, "support", "support@example.com"),
+            admin(4L, "noemail", null)
+        );
+
+        service.notifyAdmins("Nouveau ticket", "TICKET_CREATED", 5L, "/tickets/5");
+
+        assertThat(batches).singleElement().satisfies(batch -> {
+            assertThat(batch).extracting(Notification::getUserLogin).containsExactly("admin@example.com", "support@example.com", "noemail");
+            assertThat(batch).extracting(Notification::getUserId).containsExactly(1L, 3L, 4L);
+            assertThat(batch).allSatisfy(notification -> {
+                assertThat(notification.getTicketId()).isEqualTo(5L);
+                assertThat(notification.getActionUrl()).isEqualTo("/tickets/5");
+                assertThat(notification.isRead()).isFalse();
+                assertThat(notification.getCreatedDate()).isEqualTo(now);
+            });
+        });
+        verify(userRepo).findAllByAuthority(AuthoritiesConstants.ADMIN);
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    void notifyAdmins_shouldQueryRecipientsOncePerCacheWindow() {
+        service.notifyAdmins("Nouveau ticket", "TICKET_CREATED", 5L, "/tickets/5");
+        now = now.plus(Duration.ofMinutes(9));
+        service.notifyAdmins("Nouveau ticket", "TICKET_CREATED", 6L, "/tickets/6");
+
+        verify(userRepo).findAllByAuthority(AuthoritiesConstants.ADMIN);
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).singleElement().satisfies(notification -> {
+            assertThat(notification.getUserLogin()).isEqualTo("admin@example.com");
+            assertThat(notification.getTicketId()).isEqualTo(6L);
+        });
+
+        // Fenêtre de 10 minutes écoulée : la liste est relue
+        now = now.plus(Duration.ofMinutes(2));
+        service.notifyAdmins("Nouveau ticket", "TICKET_CREATED", 7L, "/tickets/7");
+        service.notifyAdmins("Nouveau ticket", "TICKET_CREATED", 8L, "/tickets/8");
+
+        verify(userRepo, times(2)).findAllByAuthority(AuthoritiesConstants.ADMIN);
+    }
+
+    @Test
+    void evictAdminRecipients_shouldReloadRecipientsOnNextNotification() {
+        service.notifyAdmins("Nouveau ticket", "TICKET_CREATED", 5L, "/tickets/5");
+        admins = List.of(admin(3L, "support", "support@example.com"));
+
+        service.evictAdminRecipients();
+        service.notifyAdmins("Nouveau ticket", "TICKET_CREATED", 6L, "/tickets/6");
+
+        verify(userRepo, times(2)).findAllByAuthority(AuthoritiesConstants.ADMIN);
+        assertThat(batches.get(1)).extracting(Notification::getUserLogin).containsExactly("support@example.com");
+    }
 }
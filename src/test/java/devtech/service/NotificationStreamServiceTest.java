@@ -0,0 +1,102 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Notification;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class NotificationStreamServiceTest {
+
+    @Test
+    void subscribe_shouldCapConnectionsPerUser() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getNotificationStream().setMaxConnectionsPerUser(2);
+        // Sans Last-Event-ID, le dépôt n'est pas interrogé
+        NotificationStreamService service = new NotificationStreamService(null, properties);
+
+        service.subscribe(List.of("jane", "Jane@Example.com"), null);
+        service.subscribe(List.of("jane", "Jane@Example.com"), null);
+        service.subscribe(List.of("jane", "Jane@Example.com"), null);
+        service.subscribe(List.of("bob"), null);
+
+        assertThat(service.getConnectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void publish_shouldIgnoreUsersWithoutConnection() {
+        NotificationStreamService service = new NotificationStreamService(null, new ApplicationProperties());
+        service.subscribe(List.of("jane"), null);
+
+        Notification notification = new Notification();
+        notification.setId(1L);
+        notification.setUserLogin("bob");
+        service.publish(List.of(notification));
+        service.sendHeartbeats();
+
+        assertThat(service.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void publishAfterCommit_shouldHandSendsToTheSendPoolOnCommit() {
+        List<Runnable> submitted = new ArrayList<>();
+        NotificationStreamService service = new NotificationStreamService(null, new ApplicationProperties(), executor(submitted::add));
+        service.subscribe(List.of("jane"), null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.publishAfterCommit(List.of(notification(1L, "jane")));
+            assertThat(submitted).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Le thread qui valide la transaction ne fait que déposer le lot
+        assertThat(submitted).hasSize(1);
+    }
+
+    @Test
+    void publishAfterCommit_shouldDropSendsWhenTheQueueIsFull() {
+        NotificationStreamService service = new NotificationStreamService(
+            null,
+            new ApplicationProperties(),
+            executor(task -> {
+                throw new RejectedExecutionException("file pleine");
+            })
+        );
+        service.subscribe(List.of("jane"), null);
+
+        service.publishAfterCommit(List.of(notification(1L, "jane")));
+        service.sendHeartbeats();
+
+        assertThat(service.getConnectionCount()).isEqualTo(1);
+    }
+
+    private static Notification notification(Long id, String userLogin) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUserLogin(userLogin);
+        return notification;
+    }
+
+    /** Pool dont chaque soumission est confiée à {@code execute} au lieu d'être exécutée */
+    private static ThreadPoolExecutor executor(Consumer<Runnable> execute) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                execute.accept(command);
+            }
+        };
+    }
+}
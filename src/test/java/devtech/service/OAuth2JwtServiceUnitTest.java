@@ -15,7 +15,6 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.oauth2.jwt.*;
 
-@org.junit.jupiter.api.Disabled("Mockito inline mock maker timing out intermittently")
 class OAuth2JwtServiceUnitTest {
 
     @Mock
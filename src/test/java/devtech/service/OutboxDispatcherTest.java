@@ -0,0 +1,228 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.AppUser;
+import devtechly.domain.OutboxEvent;
+import devtechly.domain.OutboxEventType;
+import devtechly.domain.Ticket;
+import devtechly.repository.AppUserRepository;
+import devtechly.repository.TicketRepository;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mail.MailSendException;
+
+/**
+ * Unit tests for the {@link OutboxDispatcher} routing: each event type reaches its side effect, and a failing side effect
+ * is rescheduled instead of being acknowledged.
+ */
+class OutboxDispatcherTest {
+
+    private static final long TICKET_ID = 7L;
+    private static final String CLIENT = "client@example.com";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Activités écrites par le journal */
+    private final List<String> activities = new ArrayList<>();
+
+    private final List<OutboxEvent> pending = new ArrayList<>();
+
+    private boolean journalDown;
+
+    private final OutboxService outboxService = spy(new OutboxService(null, objectMapper, new ApplicationProperties()));
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final ClientEmailService clientEmailService = mock(ClientEmailService.class);
+    private final MailService mailService = mock(MailService.class);
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final AppUserRepository appUserRepository = mock(AppUserRepository.class);
+
+    /** Journal démarré : les activités de l'outbox contournent la file, les erreurs d'écriture remontent à l'appelant */
+    private final ActivityJournal activityJournal = new ActivityJournal(
+        batch -> {
+            if (journalDown) {
+                throw new IllegalStateException("journal indisponible");
+            }
+            batch.forEach(activity -> activities.add(activity.getTitle() + " " + activity.getUserId()));
+        },
+        new ApplicationProperties().getActivityJournal()
+    );
+
+    private final ActivityIntegrationService activityIntegrationService = new ActivityIntegrationService(activityJournal, null);
+
+    private final OutboxDispatcher dispatcher = new OutboxDispatcher(
+        outboxService,
+        notificationService,
+        activityIntegrationService,
+        clientEmailService,
+        mailService,
+        ticketRepository,
+        appUserRepository
+    );
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            List<OutboxEvent> batch = List.copyOf(pending);
+            pending.clear();
+            return batch;
+        })
+            .when(outboxService)
+            .claimDueEvents();
+        doNothing().when(outboxService).complete(any());
+        doNothing().when(outboxService).fail(any(), any());
+        when(ticketRepository.findById(any())).thenAnswer(invocation -> Optional.of(ticket(invocation.getArgument(0))));
+        when(appUserRepository.findByEmail(any())).thenAnswer(invocation -> Optional.of(client(invocation.getArgument(0))));
+        activityJournal.start();
+    }
+
+    @AfterEach
+    void stopJournal() {
+        activityJournal.stop();
+    }
+
+    private static AppUser isClient() {
+        return argThat(client -> CLIENT.equals(client.getEmail()));
+    }
+
+    private static Ticket isTicket() {
+        return argThat(ticket -> ticket.getId() == TICKET_ID);
+    }
+
+    private static Ticket ticket(Long id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        return ticket;
+    }
+
+    private static AppUser client(String email) {
+        AppUser client = new AppUser();
+        client.setEmail(email);
+        return client;
+    }
+
+    private void enqueue(long id, OutboxEventType type, Object... keyValues) throws JsonProcessingException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            payload.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType(type);
+        event.setTicketId(TICKET_ID);
+        event.setPayload(objectMapper.writeValueAsString(payload));
+        pending.add(event);
+    }
+
+    @Test
+    void dispatchShouldRouteEachEventTypeToItsSideEffect() throws Exception {
+        enqueue(1, OutboxEventType.CLIENT_EMAIL_TICKET_CREATED, "clientLogin", CLIENT);
+        enqueue(2, OutboxEventType.ADMIN_EMAIL_TICKET_CREATED);
+        enqueue(
+            3,
+            OutboxEventType.CLIENT_EMAIL_TICKET_MESSAGE,
+            "clientLogin",
+            CLIENT,
+            "content",
+            "Réponse",
+            "createdDate",
+            "2026-10-18T10:00:00Z"
+        );
+        enqueue(
+            4,
+            OutboxEventType.CLIENT_EMAIL_PAYMENT_VALIDATED,
+            "clientLogin",
+            CLIENT,
+            "amount",
+            150.0,
+            "validatedDate",
+            "2026-10-18T10:00:00Z"
+        );
+        enqueue(5, OutboxEventType.NOTIFY_USER, "login", "alice", "message", "Bonjour", "type", "INFO");
+        enqueue(
+            6,
+            OutboxEventType.NOTIFY_CLIENT,
+            "login",
+            CLIENT,
+            "message",
+            "Ticket créé",
+            "type",
+            "TICKET_CREATED",
+            "actionUrl",
+            "/tickets/7"
+        );
+        enqueue(7, OutboxEventType.NOTIFY_ADMINS, "message", "Nouveau ticket", "type", "TICKET_CREATED", "actionUrl", "/admin/tickets/7");
+        enqueue(8, OutboxEventType.ACTIVITY_TICKET_CREATED, "userId", 3);
+        enqueue(9, OutboxEventType.ACTIVITY_TICKET_STATUS_UPDATED, "userId", 3, "oldStatus", "Nouveau", "newStatus", "Résolu");
+        enqueue(
+            10,
+            OutboxEventType.ACTIVITY_PAYMENT,
+            "userId",
+            3,
+            "paymentType",
+            "TICKET_CREATION",
+            "amount",
+            "150",
+            "success",
+            true
+        );
+
+        dispatcher.dispatchPendingEvents();
+
+        InOrder inOrder = inOrder(clientEmailService, mailService, notificationService);
+        inOrder.verify(clientEmailService).sendTicketCreatedEmail(isClient(), isTicket());
+        inOrder.verify(mailService).sendTicketCreatedEmailSync(isTicket());
+        inOrder
+            .verify(clientEmailService)
+            .sendTicketMessageEmail(isClient(), isTicket(), argThat(message -> message.getContent().equals("Réponse")));
+        inOrder
+            .verify(clientEmailService)
+            .sendPaymentValidatedEmail(isClient(), argThat(paiement -> paiement.getId() == TICKET_ID && paiement.getAmount() == 150.0));
+        inOrder.verify(notificationService).notifyUser("alice", "Bonjour", "INFO");
+        inOrder.verify(notificationService).notifyClient(CLIENT, "Ticket créé", "TICKET_CREATED", TICKET_ID, "/tickets/7");
+        inOrder.verify(notificationService).notifyAdmins("Nouveau ticket", "TICKET_CREATED", TICKET_ID, "/admin/tickets/7");
+        verifyNoMoreInteractions(clientEmailService, mailService, notificationService);
+        assertThat(activities).containsExactly(
+            "Nouveau ticket créé #7 3",
+            "Ticket #7 résolu 3",
+            "Paiement validé pour le ticket #7 3"
+        );
+        verify(outboxService).complete(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L));
+        verify(outboxService, never()).fail(any(), any());
+    }
+
+    @Test
+    void dispatchShouldRescheduleSideEffectsThatFailInsteadOfAcknowledgingThem() throws Exception {
+        doThrow(new MailSendException("Connection refused")).when(mailService).sendTicketCreatedEmailSync(any());
+        journalDown = true;
+        enqueue(1, OutboxEventType.ADMIN_EMAIL_TICKET_CREATED);
+        enqueue(2, OutboxEventType.ACTIVITY_TICKET_CREATED, "userId", 3);
+        enqueue(3, OutboxEventType.ACTIVITY_PAYMENT, "paymentType", "TICKET_CREATION", "amount", "150", "success", false);
+        enqueue(4, OutboxEventType.NOTIFY_USER, "login", "alice", "message", "Bonjour", "type", "INFO");
+
+        dispatcher.dispatchPendingEvents();
+
+        // L'email admin passe par l'envoi synchrone : l'échec SMTP remonte au lieu de se perdre dans un thread @Async
+        verify(mailService, never()).sendTicketCreatedEmail(any());
+        verify(notificationService).notifyUser("alice", "Bonjour", "INFO");
+        assertThat(activities).isEmpty();
+        InOrder inOrder = inOrder(outboxService);
+        inOrder.verify(outboxService).fail(eq(1L), any(MailSendException.class));
+        inOrder.verify(outboxService).fail(eq(2L), any(IllegalStateException.class));
+        inOrder.verify(outboxService).fail(eq(3L), any(IllegalStateException.class));
+        inOrder.verify(outboxService).complete(List.of(4L));
+    }
+}
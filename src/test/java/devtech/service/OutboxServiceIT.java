@@ -0,0 +1,109 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.IntegrationTest;
+import devtechly.domain.OutboxEvent;
+import devtechly.domain.OutboxEventType;
+import devtechly.repository.OutboxEventRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link OutboxService} claim: two dispatchers never receive the same event.
+ */
+@IntegrationTest
+class OutboxServiceIT {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> eventIds = new ArrayList<>();
+
+    @BeforeEach
+    void enqueueEvents() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        outboxEventRepository.deleteAll();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                outboxService.enqueue(OutboxEventType.NOTIFY_USER, null, Map.of("login", "user-" + i));
+            }
+        });
+        outboxEventRepository.findAll().forEach(event -> eventIds.add(event.getId()));
+        eventIds.sort(null);
+    }
+
+    @AfterEach
+    void deleteEvents() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(
+        named = "spring.profiles.active",
+        matches = ".*testprod.*",
+        disabledReason = "SKIP LOCKED n'existe pas sous H2 : le second dispatcher attendrait le verrou"
+    )
+    void claimShouldSkipEventsLockedByAnotherDispatcher() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch claimed = new CountDownLatch(1);
+        // Premier dispatcher : verrouille les deux plus anciens événements sans valider sa transaction
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() ->
+            transactionTemplate.execute(status -> {
+                List<Long> ids = outboxEventRepository
+                    .findDueForUpdate(OutboxEvent.STATUS_PENDING, Instant.now(), PageRequest.ofSize(2))
+                    .stream()
+                    .map(OutboxEvent::getId)
+                    .toList();
+                locked.countDown();
+                try {
+                    claimed.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ids;
+            })
+        );
+        assertThat(locked.await(30, TimeUnit.SECONDS)).isTrue();
+
+        // Second dispatcher : ne doit ni attendre les lignes verrouillées ni les recevoir
+        List<Long> second;
+        try {
+            second = outboxService.claimDueEvents().stream().map(OutboxEvent::getId).toList();
+        } finally {
+            claimed.countDown();
+        }
+
+        assertThat(first.get(30, TimeUnit.SECONDS)).containsExactly(eventIds.get(0), eventIds.get(1));
+        assertThat(second).containsExactly(eventIds.get(2));
+    }
+
+    @Test
+    void claimedEventsShouldStayHiddenUntilTheLeaseExpires() {
+        assertThat(outboxService.claimDueEvents()).extracting(OutboxEvent::getId).containsExactlyElementsOf(eventIds);
+
+        assertThat(outboxService.claimDueEvents()).isEmpty();
+        assertThat(outboxEventRepository.findAll()).allSatisfy(event -> assertThat(event.getNextAttemptAt()).isAfter(Instant.now()));
+    }
+}
@@ -0,0 +1,146 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.OutboxEvent;
+import devtechly.domain.OutboxEventType;
+import devtechly.repository.OutboxEventRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Unit tests for the {@link OutboxService} claim and retry policy.
+ */
+class OutboxServiceTest {
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    /** Événements de la "table", par identifiant */
+    private final Map<Long, OutboxEvent> events = new TreeMap<>();
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+
+    private final OutboxService outboxService;
+
+    OutboxServiceTest() {
+        ApplicationProperties.Outbox outbox = applicationProperties.getOutbox();
+        outbox.setBatchSize(2);
+        outbox.setMaxAttempts(3);
+        outbox.setInitialBackoff(Duration.ofSeconds(10));
+        outbox.setMaxBackoff(Duration.ofMinutes(5));
+        outbox.setLease(Duration.ofMinutes(5));
+        when(outboxEventRepository.findDueForUpdate(any(), any(), any())).thenAnswer(invocation -> {
+            String status = invocation.getArgument(0);
+            Instant now = invocation.getArgument(1);
+            Pageable pageable = invocation.getArgument(2);
+            return events
+                .values()
+                .stream()
+                .filter(event -> event.getStatus().equals(status) && !event.getNextAttemptAt().isAfter(now))
+                .limit(pageable.getPageSize())
+                .toList();
+        });
+        when(outboxEventRepository.findById(any())).thenAnswer(invocation ->
+            Optional.ofNullable(events.get(invocation.<Long>getArgument(0)))
+        );
+        outboxService = new OutboxService(outboxEventRepository, new ObjectMapper(), applicationProperties);
+    }
+
+    private OutboxEvent event(long id, Instant nextAttemptAt) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType(OutboxEventType.NOTIFY_USER);
+        event.setStatus(OutboxEvent.STATUS_PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(nextAttemptAt);
+        events.put(id, event);
+        return event;
+    }
+
+    @Test
+    void backoffShouldDoubleUntilCapped() {
+        Duration initial = Duration.ofSeconds(10);
+        Duration max = Duration.ofMinutes(5);
+
+        assertThat(OutboxService.backoff(1, initial, max)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(OutboxService.backoff(2, initial, max)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(OutboxService.backoff(5, initial, max)).isEqualTo(Duration.ofSeconds(160));
+        assertThat(OutboxService.backoff(6, initial, max)).isEqualTo(max);
+        assertThat(OutboxService.backoff(1000, initial, max)).isEqualTo(max);
+    }
+
+    @Test
+    void claimShouldLeaseOneBatchOfDueEvents() {
+        Instant past = Instant.now().minusSeconds(60);
+        event(1, past);
+        event(2, past);
+        event(3, past);
+        event(4, Instant.now().plusSeconds(600));
+
+        Instant before = Instant.now();
+        List<OutboxEvent> claimed = outboxService.claimDueEvents();
+        Instant after = Instant.now();
+
+        assertThat(claimed).extracting(OutboxEvent::getId).containsExactly(1L, 2L);
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(outboxEventRepository).findDueForUpdate(eq(OutboxEvent.STATUS_PENDING), now.capture(), pageable.capture());
+        assertThat(now.getValue()).isBetween(before, after);
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(2);
+        // Masqués aux passes suivantes pendant toute la durée du bail
+        assertThat(claimed).allSatisfy(event ->
+            assertThat(event.getNextAttemptAt()).isBetween(before.plus(Duration.ofMinutes(5)), after.plus(Duration.ofMinutes(5)))
+        );
+        assertThat(outboxService.claimDueEvents()).extracting(OutboxEvent::getId).containsExactly(3L);
+    }
+
+    @Test
+    void failShouldCountAttemptAndRescheduleWithBackoff() {
+        OutboxEvent event = event(1, Instant.now());
+
+        Instant before = Instant.now();
+        outboxService.fail(1L, new IllegalStateException("SMTP indisponible"));
+        outboxService.fail(1L, new IllegalStateException("SMTP indisponible"));
+        Instant after = Instant.now();
+
+        assertThat(event.getAttempts()).isEqualTo(2);
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.STATUS_PENDING);
+        assertThat(event.getLastError()).isEqualTo("IllegalStateException: SMTP indisponible");
+        // Deuxième échec : 10 s × 2
+        assertThat(event.getNextAttemptAt()).isBetween(before.plusSeconds(20), after.plusSeconds(20));
+    }
+
+    @Test
+    void failShouldGiveUpAfterMaxAttempts() {
+        Instant nextAttemptAt = Instant.now();
+        OutboxEvent event = event(1, nextAttemptAt);
+        event.setAttempts(2);
+
+        outboxService.fail(1L, new IllegalStateException("x".repeat(1200)));
+
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.STATUS_FAILED);
+        assertThat(event.getLastError()).hasSize(1000);
+        assertThat(event.getNextAttemptAt()).isEqualTo(nextAttemptAt);
+        // Un événement FAILED n'est plus réservé
+        assertThat(outboxService.claimDueEvents()).isEmpty();
+    }
+
+    @Test
+    void failShouldIgnoreAlreadyDeletedEvents() {
+        outboxService.fail(42L, new IllegalStateException("déjà acquitté"));
+
+        assertThat(events).isEmpty();
+    }
+}
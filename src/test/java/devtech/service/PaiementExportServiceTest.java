@@ -0,0 +1,122 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import devtechly.domain.Paiement;
+import devtechly.repository.PaiementRepository;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PaiementExportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 1);
+    private static final LocalDate END = LocalDate.of(2026, 10, 31);
+
+    private static final TypeReference<Map<String, Object>> ROW = new TypeReference<>() {};
+
+    /** Lectures du flux, détachements et fermeture, dans l'ordre */
+    private final List<String> events = new ArrayList<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final PaiementRepository paiementRepository = mock(PaiementRepository.class);
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private final PaiementExportService service = new PaiementExportService(paiementRepository, entityManager, objectMapper);
+
+    @BeforeEach
+    void setUp() {
+        when(paiementRepository.streamByDateRange(START, END)).thenAnswer(invocation ->
+            List.of(paiement(1L, "Ticket 42", 150.0), paiement(2L, "=HYPERLINK(\"x\")", 99.5))
+                .stream()
+                .peek(paiement -> events.add("read " + paiement.getId()))
+                .onClose(() -> events.add("close"))
+        );
+        doAnswer(invocation -> events.add("detach " + invocation.<Paiement>getArgument(0).getId()))
+            .when(entityManager)
+            .detach(any());
+    }
+
+    private static Paiement paiement(Long id, String description, double amount) {
+        Paiement paiement = new Paiement();
+        paiement.setId(id);
+        paiement.setDate(LocalDate.of(2026, 10, 18));
+        paiement.setUser("client@example.com");
+        paiement.setAmount(amount);
+        paiement.setCurrency("MAD");
+        paiement.setStatus("COMPLETED");
+        paiement.setDescription(description);
+        return paiement;
+    }
+
+    private String export(PaiementExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(service.export(START, END, format, out)).isEqualTo(2);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void csvField_shouldQuoteSeparatorsAndNeutralizeFormulas() {
+        assertThat(PaiementExportService.csvField("Ticket 42", true)).isEqualTo("Ticket 42");
+        assertThat(PaiementExportService.csvField("Réparation, pièces", true)).isEqualTo("\"Réparation, pièces\"");
+        assertThat(PaiementExportService.csvField("écran \"15 pouces\"", true)).isEqualTo("\"écran \"\"15 pouces\"\"\"");
+        assertThat(PaiementExportService.csvField("=HYPERLINK(\"x\")", true)).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\"");
+        assertThat(PaiementExportService.csvField("-12", true)).isEqualTo("'-12");
+        assertThat(PaiementExportService.csvField("-12", false)).isEqualTo("-12");
+    }
+
+    @Test
+    void export_shouldWriteCsvHeaderThenOneEscapedLinePerPaiement() throws Exception {
+        assertThat(export(PaiementExportService.Format.CSV).split("\r\n", -1)).containsExactly(
+            "id,date,user,amount,currency,status,description,cmiOrderId,cmiTransactionId,cmiResponseCode,cmiApprovalCode," +
+            "cmiPaymentMethod,cmiCardType,createdAt,updatedAt",
+            "1,2026-10-18,client@example.com,150.0,MAD,COMPLETED,Ticket 42,,,,,,,,",
+            "2,2026-10-18,client@example.com,99.5,MAD,COMPLETED,\"'=HYPERLINK(\"\"x\"\")\",,,,,,,,",
+            ""
+        );
+    }
+
+    @Test
+    void export_shouldWriteOneJsonObjectPerLine() throws Exception {
+        String[] lines = export(PaiementExportService.Format.NDJSON).split("\n", -1);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        Map<String, Object> first = objectMapper.readValue(lines[0], ROW);
+        assertThat(first)
+            .containsEntry("id", 1)
+            .containsEntry("date", "2026-10-18")
+            .containsEntry("amount", 150.0)
+            .containsEntry("description", "Ticket 42")
+            .containsEntry("cmiOrderId", null);
+        assertThat(first.keySet()).hasSize(15);
+        // Pas d'échappement de formule en JSON
+        assertThat(objectMapper.readValue(lines[1], ROW)).containsEntry("description", "=HYPERLINK(\"x\")");
+    }
+
+    @Test
+    void export_shouldDetachEachPaiementBeforeReadingTheNextAndCloseTheStream() throws Exception {
+        export(PaiementExportService.Format.NDJSON);
+
+        assertThat(events).containsExactly("read 1", "detach 1", "read 2", "detach 2", "close");
+        verify(paiementRepository).streamByDateRange(START, END);
+        verify(entityManager, times(2)).detach(any());
+        verifyNoMoreInteractions(paiementRepository, entityManager);
+    }
+}
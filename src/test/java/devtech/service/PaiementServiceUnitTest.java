@@ -14,7 +14,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-@org.junit.jupiter.api.Disabled("Mockito inline mock maker timing out intermittently")
 class PaiementServiceUnitTest {
 
     @Mock
@@ -23,6 +22,12 @@ class PaiementServiceUnitTest {
     @Mock
     private CmiPaymentService cmiPaymentService;
 
+    @Mock
+    private PaymentAggregateService paymentAggregateService;
+
+    @Mock
+    private InvoiceService invoiceService;
+
     @InjectMocks
     private PaiementService paiementService;
 
@@ -0,0 +1,84 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.IntegrationTest;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link PaymentAggregateService} reconciliation against the database.
+ */
+@IntegrationTest
+@Transactional
+class PaymentAggregateServiceIT {
+
+    /** Devise propre au test, pour ne pas dépendre des paiements déjà en base */
+    private static final String CURRENCY = "TST";
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 18);
+
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private void insertPaiement(String status, double amount) {
+        jdbcTemplate.update(
+            "INSERT INTO `paiement` (`amount`, `status`, `currency`, `date`) VALUES (?, ?, ?, ?)",
+            amount,
+            status,
+            CURRENCY,
+            Date.valueOf(DAY)
+        );
+    }
+
+    private Map<String, Object> total(String status) {
+        return jdbcTemplate.queryForMap(
+            "SELECT `payment_count` AS c, `amount_total` AS a FROM `payment_total` WHERE `status` = ? AND `currency` = ?",
+            status,
+            CURRENCY
+        );
+    }
+
+    private Map<String, Object> daily(String status) {
+        return jdbcTemplate.queryForMap(
+            "SELECT `payment_count` AS c, `amount_total` AS a FROM `payment_daily_total` " +
+            "WHERE `status` = ? AND `currency` = ? AND `payment_day` = ?",
+            status,
+            CURRENCY,
+            Date.valueOf(DAY)
+        );
+    }
+
+    @Test
+    void reconcile_shouldSetDriftedAggregatesToTheirRecomputedValueIdempotently() {
+        // Paiements écrits sans passer par le service : les agrégats ne les ont pas vus
+        insertPaiement("COMPLETED", 100.0);
+        insertPaiement("COMPLETED", 50.0);
+        jdbcTemplate.update(
+            "INSERT INTO `payment_total` (`status`, `currency`, `payment_count`, `amount_total`) VALUES ('COMPLETED', ?, 5, 999)",
+            CURRENCY
+        );
+        jdbcTemplate.update(
+            "INSERT INTO `payment_daily_total` (`status`, `currency`, `payment_day`, `payment_count`, `amount_total`) " +
+            "VALUES ('PENDING', ?, ?, 1, 10)",
+            CURRENCY,
+            Date.valueOf(DAY)
+        );
+
+        paymentAggregateService.reconcile();
+        // Deuxième passage, comme celui d'une autre instance : rien ne bouge
+        paymentAggregateService.reconcile();
+
+        assertThat(total("COMPLETED")).containsEntry("C", 2L).containsEntry("A", 150.0);
+        assertThat(daily("COMPLETED")).containsEntry("C", 2L).containsEntry("A", 150.0);
+        assertThat(daily("PENDING")).containsEntry("C", 0L).containsEntry("A", 0.0);
+    }
+}
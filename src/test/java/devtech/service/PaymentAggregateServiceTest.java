@@ -0,0 +1,107 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.domain.Paiement;
+import devtechly.repository.PaymentAggregateRepository;
+import devtechly.repository.PaymentAggregateRepository.AggregateRow;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PaymentAggregateServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 18);
+
+    private final List<AggregateRow> increments = new ArrayList<>();
+
+    /** Agrégats recalculés par la réconciliation : statut, devise, jour */
+    private final List<List<Object>> recomputed = new ArrayList<>();
+
+    private List<AggregateRow> expected = List.of();
+
+    private List<AggregateRow> stored = List.of();
+
+    private final PaymentAggregateService service = new PaymentAggregateService(
+        new PaymentAggregateRepository(null) {
+            @Override
+            public void increment(String status, String currency, LocalDate day, long count, double amount) {
+                increments.add(new AggregateRow(status, currency, day, count, amount));
+            }
+
+            @Override
+            public List<AggregateRow> findExpectedAggregates() {
+                return expected;
+            }
+
+            @Override
+            public List<AggregateRow> findStoredAggregates() {
+                return stored;
+            }
+
+            @Override
+            public void recompute(String status, String currency, LocalDate day) {
+                recomputed.add(Arrays.asList(status, currency, day));
+            }
+        }
+    );
+
+    private static Paiement paiement(String status, double amount) {
+        Paiement paiement = new Paiement();
+        paiement.setStatus(status);
+        paiement.setCurrency("MAD");
+        paiement.setDate(DAY);
+        paiement.setAmount(amount);
+        return paiement;
+    }
+
+    @Test
+    void recordChange_shouldMoveContributionBetweenStatuses() {
+        Paiement paiement = paiement("PENDING", 150.0);
+        service.recordChange(null, paiement);
+        PaymentAggregateService.Contribution before = PaymentAggregateService.Contribution.of(paiement);
+        paiement.setStatus("COMPLETED");
+        service.recordChange(before, paiement);
+        // Modification sans effet sur les agrégats
+        service.recordChange(PaymentAggregateService.Contribution.of(paiement), paiement);
+
+        assertThat(increments).containsExactly(
+            new AggregateRow("PENDING", "MAD", DAY, 1, 150.0),
+            new AggregateRow("PENDING", "MAD", DAY, -1, -150.0),
+            new AggregateRow("COMPLETED", "MAD", DAY, 1, 150.0)
+        );
+    }
+
+    @Test
+    void computeCorrections_shouldReturnDeltasForDriftedAndOrphanAggregates() {
+        List<AggregateRow> expected = List.of(
+            new AggregateRow("COMPLETED", "MAD", null, 3, 300.0),
+            new AggregateRow("COMPLETED", "MAD", DAY, 2, 200.001),
+            new AggregateRow("FAILED", "EUR", DAY, 1, 10.0)
+        );
+        List<AggregateRow> stored = List.of(
+            new AggregateRow("COMPLETED", "MAD", null, 3, 300.0),
+            new AggregateRow("COMPLETED", "MAD", DAY, 2, 200.0),
+            new AggregateRow("PENDING", "MAD", DAY, 1, 50.0)
+        );
+
+        assertThat(PaymentAggregateService.computeCorrections(expected, stored)).containsExactly(
+            new AggregateRow("FAILED", "EUR", DAY, 1, 10.0),
+            new AggregateRow("PENDING", "MAD", DAY, -1, -50.0)
+        );
+    }
+
+    @Test
+    void reconcile_shouldRecomputeOnlyDriftedAggregatesWithoutIncrementing() {
+        expected = List.of(new AggregateRow("COMPLETED", "MAD", null, 3, 300.0), new AggregateRow("COMPLETED", "MAD", DAY, 3, 300.0));
+        stored = List.of(new AggregateRow("COMPLETED", "MAD", null, 3, 300.0), new AggregateRow("COMPLETED", "MAD", DAY, 2, 200.0));
+
+        service.reconcile();
+
+        assertThat(recomputed).containsExactly(Arrays.asList("COMPLETED", "MAD", DAY));
+        // Valeur absolue recalculée en base, pas un incrément qui se cumulerait d'une instance à l'autre
+        assertThat(increments).isEmpty();
+    }
+}
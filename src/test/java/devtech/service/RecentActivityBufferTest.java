@@ -0,0 +1,52 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.service.dto.ActivityDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RecentActivityBufferTest {
+
+    private static ActivityDTO activity(long id, long epochSecond) {
+        ActivityDTO activity = new ActivityDTO();
+        activity.setId(id);
+        activity.setTimestamp(Instant.ofEpochSecond(epochSecond));
+        return activity;
+    }
+
+    @Test
+    void addAll_shouldKeepNewestActivitiesInOrder() {
+        RecentActivityBuffer buffer = new RecentActivityBuffer(3);
+
+        buffer.addAll(List.of(activity(1, 10), activity(2, 20)));
+        // Lot du journal arrivé après une activité plus récente
+        buffer.addAll(List.of(activity(4, 40)));
+        buffer.addAll(List.of(activity(3, 30), activity(5, 30)));
+
+        assertThat(buffer.snapshot()).extracting(ActivityDTO::getId).containsExactly(4L, 5L, 3L);
+    }
+
+    @Test
+    void ensureSeeded_shouldMergeWithActivitiesAddedMeanwhileAndLoadOnce() {
+        RecentActivityBuffer buffer = new RecentActivityBuffer(10);
+        AtomicInteger loads = new AtomicInteger();
+        buffer.addAll(List.of(activity(3, 30)));
+
+        buffer.ensureSeeded(() -> {
+            loads.incrementAndGet();
+            return new RecentActivityBuffer.Seed(List.of(activity(3, 30), activity(2, 20)), 25);
+        }, Instant.EPOCH);
+        buffer.ensureSeeded(() -> {
+            loads.incrementAndGet();
+            return new RecentActivityBuffer.Seed(List.of(), 0);
+        }, Instant.EPOCH);
+        buffer.addAll(List.of(activity(4, 40), activity(3, 30)));
+
+        assertThat(loads).hasValue(1);
+        assertThat(buffer.snapshot()).extracting(ActivityDTO::getId).containsExactly(4L, 3L, 2L);
+        assertThat(buffer.total()).isEqualTo(26);
+    }
+}
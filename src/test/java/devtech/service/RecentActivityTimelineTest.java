@@ -0,0 +1,246 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.domain.Activity;
+import devtechly.repository.ActivityRepository;
+import devtechly.service.dto.ActivityDTO;
+import devtechly.service.mapper.ActivityMapperImpl;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for the {@link RecentActivityTimeline}, through {@link ActivityService}: seeding, updates and the fallback
+ * to the database for pages the timeline cannot serve.
+ */
+class RecentActivityTimelineTest {
+
+    /** Activités de la "table" */
+    private final List<Activity> table = new ArrayList<>();
+
+    private final ActivityRepository repository = mock(ActivityRepository.class);
+
+    private Instant now = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    private final RecentActivityTimeline timeline;
+
+    private final ActivityService activityService;
+
+    RecentActivityTimelineTest() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getActivityTimeline().setGlobalSize(3);
+        applicationProperties.getActivityTimeline().setPerUserSize(2);
+        applicationProperties.getActivityTimeline().setTimeToLive(Duration.ofMinutes(1));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        timeline = new RecentActivityTimeline(repository, new ActivityMapperImpl(), transactionManager, applicationProperties, clock);
+        activityService = new ActivityService(repository, new ActivityMapperImpl(), timeline);
+        for (long id = 1; id <= 5; id++) {
+            table.add(activity(id, id % 2 == 0 ? 20L : 10L, id * 10));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(repository.streamRecentActivities(any())).thenAnswer(invocation ->
+            newestFirst(null).limit(invocation.<Limit>getArgument(0).max())
+        );
+        when(repository.streamRecentActivitiesByUser(any(), any())).thenAnswer(invocation ->
+            newestFirst(invocation.getArgument(0)).limit(invocation.<Limit>getArgument(1).max())
+        );
+        when(repository.count()).thenAnswer(invocation -> (long) table.size());
+        when(repository.countByUserId(any())).thenAnswer(invocation -> newestFirst(invocation.getArgument(0)).count());
+        when(repository.findRecentActivities(any())).thenAnswer(invocation -> page(newestFirst(null).toList(), invocation.getArgument(0)));
+        when(repository.save(any())).thenAnswer(invocation -> {
+            Activity activity = invocation.getArgument(0);
+            if (activity.getId() == null) {
+                activity.setId(table.size() + 1L);
+            } else {
+                table.removeIf(existing -> existing.getId().equals(activity.getId()));
+            }
+            table.add(activity);
+            return activity;
+        });
+    }
+
+    private Stream<Activity> newestFirst(Long userId) {
+        return table
+            .stream()
+            .filter(activity -> userId == null || userId.equals(activity.getUserId()))
+            .sorted(Comparator.comparing(Activity::getTimestamp).thenComparing(Activity::getId).reversed());
+    }
+
+    private static Page<Activity> page(List<Activity> activities, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(activities);
+        }
+        int from = (int) Math.min(pageable.getOffset(), activities.size());
+        int to = Math.min(from + pageable.getPageSize(), activities.size());
+        return new PageImpl<>(activities.subList(from, to), pageable, activities.size());
+    }
+
+    private static Activity activity(Long id, Long userId, long epochSecond) {
+        Activity activity = new Activity();
+        activity.setId(id);
+        activity.setUserId(userId);
+        activity.setTitle("Activité " + id);
+        activity.setTimestamp(Instant.ofEpochSecond(epochSecond));
+        return activity;
+    }
+
+    private static ActivityDTO newActivity(Long userId, long epochSecond) {
+        ActivityDTO activity = new ActivityDTO();
+        activity.setUserId(userId);
+        activity.setTitle("Nouvelle activité");
+        activity.setTimestamp(Instant.ofEpochSecond(epochSecond));
+        return activity;
+    }
+
+    /** Simule une transaction : les actions enregistrées pour après le commit ne s'exécutent qu'à la fin */
+    private static void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recent_shouldSeedFromDatabaseOnceAndServeFromMemory() {
+        assertThat(activityService.findRecentActivities()).extracting(ActivityDTO::getId).containsExactly(5L, 4L, 3L);
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).streamRecentActivities(Limit.of(3));
+        inOrder.verify(repository).count();
+
+        Page<ActivityDTO> page = activityService.findRecentActivities(PageRequest.of(1, 1));
+        assertThat(page.getContent()).extracting(ActivityDTO::getId).containsExactly(4L);
+        // Le total vient du comptage fait au chargement, pas de la taille du fil
+        assertThat(page.getTotalElements()).isEqualTo(5);
+
+        assertThat(activityService.findRecentActivitiesByUser(20L)).extracting(ActivityDTO::getId).containsExactly(4L, 2L);
+        assertThat(activityService.findRecentActivitiesByUser(20L)).extracting(ActivityDTO::getId).containsExactly(4L, 2L);
+        inOrder.verify(repository).streamRecentActivitiesByUser(20L, Limit.of(2));
+        inOrder.verify(repository).countByUserId(20L);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void save_shouldAppendNewActivityAfterCommitWithoutReloading() {
+        activityService.findRecentActivities();
+        activityService.findRecentActivitiesByUser(20L);
+        clearInvocations(repository);
+
+        inTransaction(() -> {
+            activityService.save(newActivity(20L, 100));
+            // Invisible tant que la transaction n'est pas validée
+            assertThat(timeline.recent()).extracting(ActivityDTO::getId).containsExactly(5L, 4L, 3L);
+        });
+
+        assertThat(timeline.recent()).extracting(ActivityDTO::getId).containsExactly(6L, 5L, 4L);
+        assertThat(timeline.recentByUser(20L)).extracting(ActivityDTO::getId).containsExactly(6L, 4L);
+        assertThat(activityService.findRecentActivities(PageRequest.of(0, 3)).getTotalElements()).isEqualTo(6);
+        verify(repository).save(any());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void update_shouldInvalidateTimelineAfterCommit() {
+        activityService.findRecentActivities();
+        clearInvocations(repository);
+
+        ActivityDTO update = new ActivityDTO();
+        update.setId(1L);
+        update.setUserId(10L);
+        update.setTitle("Activité 1 modifiée");
+        update.setTimestamp(Instant.ofEpochSecond(200));
+        inTransaction(() -> activityService.update(update));
+
+        assertThat(activityService.findRecentActivities())
+            .extracting(ActivityDTO::getTitle)
+            .containsExactly("Activité 1 modifiée", "Activité 5", "Activité 4");
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).save(any());
+        inOrder.verify(repository).streamRecentActivities(Limit.of(3));
+        inOrder.verify(repository).count();
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void recent_shouldReloadTimelinesAfterTimeToLive() {
+        activityService.findRecentActivities();
+        activityService.findRecentActivitiesByUser(20L);
+        clearInvocations(repository);
+
+        // Activité écrite par une autre instance : absente du fil en mémoire jusqu'à son expiration
+        table.add(activity(6L, 20L, 100));
+        now = now.plusSeconds(59);
+        assertThat(timeline.recent()).extracting(ActivityDTO::getId).containsExactly(5L, 4L, 3L);
+        assertThat(timeline.recentByUser(20L)).extracting(ActivityDTO::getId).containsExactly(4L, 2L);
+        verifyNoInteractions(repository);
+
+        now = now.plusSeconds(1);
+        assertThat(timeline.recent()).extracting(ActivityDTO::getId).containsExactly(6L, 5L, 4L);
+        assertThat(timeline.recentByUser(20L)).extracting(ActivityDTO::getId).containsExactly(6L, 4L);
+        assertThat(timeline.recent()).extracting(ActivityDTO::getId).containsExactly(6L, 5L, 4L);
+        verify(repository).streamRecentActivities(Limit.of(3));
+        verify(repository).streamRecentActivitiesByUser(20L, Limit.of(2));
+    }
+
+    @Test
+    void findRecentActivities_shouldFallBackToDatabaseForPagesTheTimelineCannotServe() {
+        assertThat(activityService.findRecentActivities(PageRequest.of(0, 3))).hasSize(3);
+        clearInvocations(repository);
+
+        // La page déborde des 3 activités gardées en mémoire
+        Page<ActivityDTO> beyond = activityService.findRecentActivities(PageRequest.of(1, 2));
+        assertThat(beyond.getContent()).extracting(ActivityDTO::getId).containsExactly(3L, 2L);
+        assertThat(beyond.getTotalElements()).isEqualTo(5);
+        // Tri demandé par le client, ou pas de pagination : seule la base sait répondre
+        assertThat(activityService.findRecentActivities(PageRequest.of(0, 2, Sort.by("title")))).hasSize(2);
+        assertThat(activityService.findRecentActivities(Pageable.unpaged())).hasSize(5);
+        verify(repository, times(3)).findRecentActivities(any());
+        verifyNoMoreInteractions(repository);
+    }
+}
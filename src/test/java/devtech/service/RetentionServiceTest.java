@@ -0,0 +1,197 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devtechly.config.ApplicationProperties;
+import devtechly.repository.RetentionRepository;
+import devtechly.repository.RetentionRepository.Table;
+import devtechly.service.dto.RetentionStatusDTO;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RetentionServiceTest {
+
+    @TempDir
+    Path archivePath;
+
+    /** Table d'activités en mémoire */
+    private static class InMemoryRetentionRepository extends RetentionRepository {
+
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private final List<Integer> deleteBatches = new ArrayList<>();
+
+        /** Verrou {@code job_lock} de la purge, partagé entre instances */
+        private String lockedBy;
+        private Instant lockedUntil = Instant.EPOCH;
+        private final List<String> lockThreads = new ArrayList<>();
+        private final CountDownLatch unlocked = new CountDownLatch(1);
+
+        InMemoryRetentionRepository() {
+            super(null);
+        }
+
+        @Override
+        public long count(Table table) {
+            return rows.size();
+        }
+
+        @Override
+        public long countOlderThan(Table table, Instant cutoff) {
+            return rows.stream().filter(row -> ((Instant) row.get("timestamp")).isBefore(cutoff)).count();
+        }
+
+        @Override
+        public List<Map<String, Object>> findOlderThan(Table table, Instant cutoff, int limit) {
+            return rows.stream().filter(row -> ((Instant) row.get("timestamp")).isBefore(cutoff)).limit(limit).toList();
+        }
+
+        @Override
+        public int deleteByIds(Table table, Collection<Long> ids) {
+            deleteBatches.add(ids.size());
+            rows.removeIf(row -> ids.contains(row.get("id")));
+            return ids.size();
+        }
+
+        @Override
+        public synchronized boolean tryLock(String owner, Instant now, Instant until) {
+            lockThreads.add(Thread.currentThread().getName());
+            if (lockedUntil.isAfter(now)) {
+                return false;
+            }
+            lockedBy = owner;
+            lockedUntil = until;
+            return true;
+        }
+
+        @Override
+        public synchronized void unlock(String owner, Instant now) {
+            if (owner.equals(lockedBy)) {
+                lockedUntil = now;
+            }
+            unlocked.countDown();
+        }
+    }
+
+    private ApplicationProperties properties() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getRetention().setArchivePath(archivePath.toString());
+        properties.getRetention().setChunkSize(2);
+        properties.getRetention().setChunkPause(Duration.ZERO);
+        return properties;
+    }
+
+    private RetentionService service(InMemoryRetentionRepository repository, ApplicationProperties properties) {
+        return new RetentionService(
+            repository,
+            new ObjectMapper().findAndRegisterModules(),
+            null,
+            new RecentActivityTimeline(null, null, null, properties),
+            properties
+        );
+    }
+
+    private static void addExpiredRows(InMemoryRetentionRepository repository, int count) {
+        for (long id = 1; id <= count; id++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", id);
+            row.put("title", "Activité " + id);
+            row.put("timestamp", Instant.parse("2000-01-01T00:00:00Z").plusSeconds(id));
+            repository.rows.add(row);
+        }
+    }
+
+    @Test
+    void purge_shouldArchiveThenDeleteExpiredRowsInChunks() throws IOException {
+        ApplicationProperties properties = properties();
+        InMemoryRetentionRepository repository = new InMemoryRetentionRepository();
+        Instant cutoff = Instant.parse("2026-01-01T00:00:00Z");
+        for (long id = 1; id <= 6; id++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", id);
+            row.put("title", "Activité " + id);
+            row.put("timestamp", cutoff.minus(Duration.ofDays(id <= 5 ? 10 - id : -1)));
+            repository.rows.add(row);
+        }
+        RetentionService service = service(repository, properties);
+
+        service.purge(Table.ACTIVITY, cutoff);
+
+        assertThat(repository.rows).extracting(row -> row.get("id")).containsExactly(6L);
+        assertThat(repository.deleteBatches).containsExactly(2, 2, 1);
+
+        RetentionStatusDTO status = service.getStatus();
+        RetentionStatusDTO.TableStatus activity = status.getTables().get(0);
+        assertThat(activity.getLastRunArchivedRows()).isEqualTo(5);
+        assertThat(activity.getLastRunDeletedRows()).isEqualTo(5);
+        assertThat(activity.getLastRunError()).isNull();
+        assertThat(status.getArchives()).singleElement().satisfies(file -> assertThat(file.getName()).endsWith(".ndjson.gz"));
+
+        Path archive = archivePath.resolve(activity.getLastRunArchive());
+        try (
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8)
+            )
+        ) {
+            List<String> lines = reader.lines().toList();
+            assertThat(lines).hasSize(5);
+            assertThat(lines.get(0)).startsWith("{\"id\":1,\"title\":\"Activité 1\"");
+        }
+    }
+
+    @Test
+    void purgeExpiredRows_shouldRunOnItsOwnThreadAndReleaseTheLock() throws InterruptedException {
+        InMemoryRetentionRepository repository = new InMemoryRetentionRepository();
+        addExpiredRows(repository, 3);
+        RetentionService service = service(repository, properties());
+        try {
+            service.purgeExpiredRows();
+
+            assertThat(repository.unlocked.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(repository.lockThreads).singleElement().satisfies(thread -> assertThat(thread).startsWith("retention-"));
+            assertThat(repository.rows).isEmpty();
+            assertThat(repository.lockedUntil).isBeforeOrEqualTo(Instant.now());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void purgeIfLeader_shouldSkipWhileAnotherInstanceHoldsTheLock() {
+        InMemoryRetentionRepository repository = new InMemoryRetentionRepository();
+        addExpiredRows(repository, 3);
+        RetentionService service = service(repository, properties());
+        RetentionService otherInstance = service(repository, properties());
+        try {
+            repository.tryLock("other-instance", Instant.now(), Instant.now().plus(Duration.ofHours(1)));
+
+            service.purgeIfLeader();
+            assertThat(repository.rows).hasSize(3);
+            assertThat(repository.deleteBatches).isEmpty();
+
+            // Verrou expiré (instance arrêtée brutalement) : la purge reprend
+            repository.lockedUntil = Instant.now();
+            otherInstance.purgeIfLeader();
+            assertThat(repository.rows).isEmpty();
+        } finally {
+            service.shutdown();
+            otherInstance.shutdown();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import devtechly.domain.Ticket;
+import devtechly.domain.TicketMessage;
+import devtechly.domain.User;
+import devtechly.repository.TicketMessageRepository;
+import devtechly.repository.TicketRepository;
+import devtechly.repository.UserRepository;
+import devtechly.service.dto.TicketDTO;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+class TicketListServiceTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketMessageRepository ticketMessageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TicketListService service;
+
+    private final Ticket first = ticket(1L, "alice");
+    private final Ticket second = ticket(2L, "bob");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(ticketRepository.findByCreatedBy(eq("alice"), any(Pageable.class))).thenAnswer(invocation ->
+            new PageImpl<>(List.of(first), invocation.getArgument(1), 21)
+        );
+        when(ticketMessageRepository.findPublicMessagesByTicketIdInOrderByCreatedDateAsc(any())).thenReturn(
+            List.of(message(first, "Bonjour", TicketMessage.AuthorType.CLIENT), message(first, "Réponse", TicketMessage.AuthorType.ADMIN))
+        );
+        when(ticketMessageRepository.findByTicketIdInOrderByCreatedDateAsc(any())).thenReturn(
+            List.of(
+                message(second, "Note interne", TicketMessage.AuthorType.ADMIN),
+                message(first, null, TicketMessage.AuthorType.CLIENT),
+                message(first, "Bonjour", TicketMessage.AuthorType.CLIENT)
+            )
+        );
+        when(userRepository.findAllByLoginIn(any())).thenReturn(List.of(user("alice", "Alice", "Martin")));
+    }
+
+    private static Ticket ticket(Long id, String createdBy) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setCreatedBy(createdBy);
+        return ticket;
+    }
+
+    private static TicketMessage message(Ticket ticket, String content, TicketMessage.AuthorType authorType) {
+        return new TicketMessage(ticket, content, authorType, ticket.getCreatedBy());
+    }
+
+    private static User user(String login, String firstName, String lastName) {
+        User user = new User();
+        user.setLogin(login);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+
+    @Test
+    void findPage_shouldFillClientPageWithPublicMessagesAndClientName() {
+        Page<TicketDTO> page = service.findPage("alice", false, PageRequest.of(1, 20));
+
+        assertThat(page.getTotalElements()).isEqualTo(21);
+        assertThat(page.getContent()).singleElement().satisfies(dto -> {
+            assertThat(dto.id).isEqualTo(1L);
+            assertThat(dto.clientName).isEqualTo("Alice Martin");
+            assertThat(dto.messageStrings).containsExactly("[CLIENT] Bonjour", "Réponse");
+        });
+        // Une requête pour la page, une pour les messages, une pour les noms
+        InOrder inOrder = inOrder(ticketRepository, ticketMessageRepository, userRepository);
+        inOrder.verify(ticketRepository).findByCreatedBy("alice", PageRequest.of(1, 20));
+        inOrder.verify(ticketMessageRepository).findPublicMessagesByTicketIdInOrderByCreatedDateAsc(Set.of(1L));
+        inOrder.verify(userRepository).findAllByLoginIn(Set.of("alice"));
+        verifyNoMoreInteractions(ticketRepository, ticketMessageRepository, userRepository);
+    }
+
+    @Test
+    void toDTOs_shouldGroupMessagesPerTicketAndFallBackToLogin() {
+        List<TicketDTO> dtos = service.toDTOs(List.of(first, second), true);
+
+        assertThat(dtos).extracting(dto -> dto.messageStrings).containsExactly(List.of("[CLIENT] Bonjour"), List.of("Note interne"));
+        assertThat(dtos).extracting(dto -> dto.clientName).containsExactly("Alice Martin", "bob");
+        verify(ticketMessageRepository).findByTicketIdInOrderByCreatedDateAsc(Set.of(1L, 2L));
+        verify(userRepository).findAllByLoginIn(Set.of("alice", "bob"));
+        verifyNoMoreInteractions(ticketRepository, ticketMessageRepository, userRepository);
+    }
+
+    @Test
+    void toMessageStrings_shouldPrefixClientMessagesAndSkipEmptyOnes() {
+        assertThat(
+            TicketListService.toMessageStrings(
+                Arrays.asList(
+                    message(first, "Bonjour", TicketMessage.AuthorType.CLIENT),
+                    null,
+                    message(first, null, TicketMessage.AuthorType.ADMIN),
+                    message(first, "Traité", TicketMessage.AuthorType.MANAGER)
+                )
+            )
+        ).containsExactly("[CLIENT] Bonjour", "Traité");
+        assertThat(TicketListService.toMessageStrings(null)).isEmpty();
+    }
+}
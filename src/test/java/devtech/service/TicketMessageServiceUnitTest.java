@@ -17,7 +17,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-@org.junit.jupiter.api.Disabled("Mockito initialization issue on this environment")
 class TicketMessageServiceUnitTest {
 
     @Mock
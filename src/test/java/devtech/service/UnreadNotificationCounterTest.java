@@ -0,0 +1,98 @@
+package devtechly.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class UnreadNotificationCounterTest {
+
+    private Instant now = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    private UnreadNotificationCounter counter(int maxEntries) {
+        return new UnreadNotificationCounter(maxEntries, Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    void sum_shouldBeAvailableOnlyWhenAllKeysAreLoaded() {
+        UnreadNotificationCounter counter = counter(10);
+        assertThat(counter.sum(List.of("jane"))).isEmpty();
+
+        counter.beginLoad(List.of("jane", "jane@example.com"));
+        counter.endLoad(List.of("jane", "jane@example.com"), Map.of("jane@example.com", 3L));
+        counter.add("jane@example.com", 1);
+        counter.add("jane", -1);
+
+        assertThat(counter.sum(List.of("jane", "jane@example.com"))).hasValue(4);
+    }
+
+    @Test
+    void endLoad_shouldNotCacheValueModifiedDuringLoad() {
+        UnreadNotificationCounter counter = counter(10);
+
+        counter.beginLoad(List.of("jane"));
+        counter.add("jane", 1);
+        counter.endLoad(List.of("jane"), Map.of("jane", 2L));
+        assertThat(counter.sum(List.of("jane"))).isEmpty();
+
+        counter.beginLoad(List.of("jane"));
+        counter.endLoad(List.of("jane"), Map.of("jane", 3L));
+        assertThat(counter.sum(List.of("jane"))).hasValue(3);
+    }
+
+    @Test
+    void counter_shouldEvictLeastRecentlyUsedKeys() {
+        UnreadNotificationCounter counter = counter(2);
+        for (String key : List.of("a", "b", "c")) {
+            counter.beginLoad(List.of(key));
+            counter.endLoad(List.of(key), Map.of(key, 1L));
+        }
+
+        assertThat(counter.sum(List.of("a"))).isEmpty();
+        assertThat(counter.sum(List.of("b", "c"))).hasValue(2);
+    }
+
+    @Test
+    void sum_shouldExpireCountersAfterTimeToLive() {
+        UnreadNotificationCounter counter = counter(10);
+        counter.beginLoad(List.of("jane"));
+        counter.endLoad(List.of("jane"), Map.of("jane", 2L));
+
+        // Les modifications locales ne prolongent pas la durée de vie du compteur
+        now = now.plusSeconds(50);
+        counter.add("jane", 1);
+        assertThat(counter.sum(List.of("jane"))).hasValue(3);
+
+        now = now.plusSeconds(10);
+        assertThat(counter.sum(List.of("jane"))).isEmpty();
+        counter.add("jane", 1);
+        assertThat(counter.sum(List.of("jane"))).isEmpty();
+
+        counter.beginLoad(List.of("jane"));
+        counter.endLoad(List.of("jane"), Map.of("jane", 5L));
+        assertThat(counter.sum(List.of("jane"))).hasValue(5);
+    }
+}
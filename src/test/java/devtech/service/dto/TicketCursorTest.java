@@ -0,0 +1,33 @@
+package devtechly.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.domain.Ticket;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TicketCursor}.
+ */
+class TicketCursorTest {
+
+    @Test
+    void encodeThenDecodeShouldRoundTrip() {
+        Ticket ticket = new Ticket();
+        ticket.setId(42L);
+        ticket.setCreatedDate(Instant.parse("2026-01-15T10:15:30.123456Z"));
+
+        TicketCursor decoded = TicketCursor.decode(TicketCursor.of(ticket).encode()).orElseThrow();
+
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(decoded.getCreatedDate()).isEqualTo(ticket.getCreatedDate());
+    }
+
+    @Test
+    void decodeShouldIgnoreBlankOrMalformedCursor() {
+        assertThat(TicketCursor.decode("")).isEmpty();
+        assertThat(TicketCursor.decode(null)).isEmpty();
+        assertThat(TicketCursor.decode("not-a-cursor")).isEmpty();
+        assertThat(TicketCursor.decode("%%%")).isEmpty();
+    }
+}
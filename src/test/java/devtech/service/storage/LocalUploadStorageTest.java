@@ -0,0 +1,66 @@
+package devtechly.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link LocalUploadStorage}.
+ */
+class LocalUploadStorageTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void storeShouldShardAndDeduplicateByContent() throws IOException {
+        LocalUploadStorage storage = new LocalUploadStorage(root, 2);
+
+        String first = storage.store(stream("capture"), ".PNG");
+        String second = storage.store(stream("capture"), ".png");
+
+        assertThat(first).isEqualTo(second).matches("[0-9a-f]{64}\\.png");
+        assertThat(root.resolve(first.substring(0, 2)).resolve(first.substring(2, 4)).resolve(first)).hasContent("capture");
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void findShouldServeShardedAndLegacyFiles() throws IOException {
+        LocalUploadStorage storage = new LocalUploadStorage(root, 2);
+        String name = storage.store(stream("justificatif"), ".pdf");
+        Files.writeString(root.resolve("0f8fad5b-d9cb-469f-a165-70867728950e.jpg"), "ancien");
+
+        StoredUpload stored = storage.find(name).orElseThrow();
+        assertThat(stored.getEtag()).isEqualTo(name);
+        assertThat(stored.getSize()).isEqualTo("justificatif".length());
+        try (InputStream in = stored.getResource().getInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("justificatif");
+        }
+
+        assertThat(storage.find("0f8fad5b-d9cb-469f-a165-70867728950e.jpg")).isPresent();
+    }
+
+    @Test
+    void findShouldRejectUnsafeNames() throws IOException {
+        LocalUploadStorage storage = new LocalUploadStorage(root.resolve("uploads"), 2);
+        Files.writeString(root.resolve("secret.txt"), "secret");
+
+        assertThat(storage.find("../secret.txt")).isEmpty();
+        assertThat(storage.find(".incoming")).isEmpty();
+        assertThat(storage.find("inconnu.png")).isEmpty();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,174 @@
+package devtechly.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Unit tests for {@link S3UploadStorage}, against an in-memory S3 stand-in.
+ */
+class S3UploadStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final List<String> requests = new ArrayList<>();
+
+    private S3UploadStorage storage;
+
+    @BeforeEach
+    void startStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        storage = new S3UploadStorage(
+            HttpClient.newHttpClient(),
+            "http://127.0.0.1:" + server.getAddress().getPort(),
+            "eu-west-3",
+            "uploads",
+            "access",
+            "secret",
+            2,
+            tempDir
+        );
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        server.stop(0);
+    }
+
+    @Test
+    void storeShouldPutOnlyOnceForSameContent() throws IOException {
+        String first = storage.store(stream("capture"), ".png");
+        String second = storage.store(stream("capture"), ".png");
+
+        assertThat(second).isEqualTo(first);
+        String key = "/uploads/" + first.substring(0, 2) + "/" + first.substring(2, 4) + "/" + first;
+        assertThat(requests).containsExactly("HEAD " + key, "PUT " + key, "HEAD " + key);
+        assertThat(objects).containsOnlyKeys(key);
+    }
+
+    @Test
+    void findShouldStreamStoredObject() throws IOException {
+        String name = storage.store(stream("justificatif"), ".pdf");
+
+        StoredUpload stored = storage.find(name).orElseThrow();
+        assertThat(stored.getEtag()).isEqualTo(name);
+        assertThat(stored.getSize()).isEqualTo("justificatif".length());
+        try (InputStream in = stored.getResource().getInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("justificatif");
+        }
+
+        assertThat(storage.find("0".repeat(64) + ".pdf")).isEmpty();
+        assertThat(storage.find("0f8fad5b-d9cb-469f-a165-70867728950e.jpg")).isEmpty();
+    }
+
+    @Test
+    void findShouldForwardSkippedBytesAsRangeRequest() throws IOException {
+        String name = storage.store(stream("justificatif"), ".pdf");
+        String key = "/uploads/" + name.substring(0, 2) + "/" + name.substring(2, 4) + "/" + name;
+        requests.clear();
+
+        // Lecture d'une plage telle que la fait Spring MVC pour une requête Range
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = storage.find(name).orElseThrow().getResource().getInputStream()) {
+            StreamUtils.copyRange(in, out, 5, 8);
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("fica");
+        assertThat(requests).containsExactly("HEAD " + key, "GET " + key + " bytes=5-");
+    }
+
+    @Test
+    void deniedAccessShouldFailInsteadOfLookingMissing() throws IOException {
+        String name = storage.store(stream("capture"), ".png");
+        S3UploadStorage denied = new S3UploadStorage(
+            HttpClient.newHttpClient(),
+            "http://127.0.0.1:" + server.getAddress().getPort(),
+            "eu-west-3",
+            "uploads",
+            "revoked",
+            "secret",
+            2,
+            tempDir
+        );
+        requests.clear();
+
+        assertThatThrownBy(() -> denied.find(name)).isInstanceOf(IOException.class).hasMessageContaining("HTTP 403");
+        assertThatThrownBy(() -> denied.store(stream("capture"), ".png")).isInstanceOf(IOException.class).hasMessageContaining("HTTP 403");
+        // Pas de nouveau dépôt tenté sur la foi d'un HEAD refusé
+        assertThat(requests).allMatch(request -> request.startsWith("HEAD "));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestURI().getRawPath();
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        synchronized (requests) {
+            requests.add(exchange.getRequestMethod() + " " + key + (range != null ? " " + range : ""));
+        }
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("AWS4-HMAC-SHA256 Credential=access/")) {
+            exchange.sendResponseHeaders(403, -1);
+            exchange.close();
+            return;
+        }
+        byte[] object = objects.get(key);
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                objects.put(key, exchange.getRequestBody().readAllBytes());
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "HEAD" -> {
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.getResponseHeaders().add("Last-Modified", "Sun, 18 Oct 2026 10:00:00 GMT");
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.length));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+            }
+            case "GET" -> {
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else if (range != null) {
+                    // Seule la forme "bytes=<début>-" est émise par le stockage
+                    int from = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+                    exchange.getResponseHeaders().add("Content-Range", "bytes " + from + "-" + (object.length - 1) + "/" + object.length);
+                    exchange.sendResponseHeaders(206, object.length - from);
+                    exchange.getResponseBody().write(object, from, object.length - from);
+                } else {
+                    exchange.sendResponseHeaders(200, object.length);
+                    exchange.getResponseBody().write(object);
+                }
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
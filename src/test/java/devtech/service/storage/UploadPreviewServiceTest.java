@@ -0,0 +1,105 @@
+package devtechly.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfWriter;
+import devtechly.config.ApplicationProperties;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link UploadPreviewService}.
+ */
+class UploadPreviewServiceTest {
+
+    @TempDir
+    Path root;
+
+    private LocalUploadStorage storage;
+    private UploadPreviewService previewService;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalUploadStorage(root, 2);
+        previewService = new UploadPreviewService(storage, new ApplicationProperties());
+    }
+
+    @Test
+    void shouldGenerateImageThumbnailsForEachSize() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", png);
+        String name = storage.store(new ByteArrayInputStream(png.toByteArray()), ".png");
+
+        previewService.generatePreviews(name);
+
+        assertThat(readPreview(name, 160)).satisfies(image -> assertThat(image.getWidth()).isEqualTo(160));
+        assertThat(readPreview(name, 480)).satisfies(image -> {
+            assertThat(image.getWidth()).isEqualTo(480);
+            assertThat(image.getHeight()).isEqualTo(240);
+        });
+    }
+
+    @Test
+    void shouldOnlyGenerateMissingPreviewsForAnUploadStoredAgain() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", png);
+        String name = storage.store(new ByteArrayInputStream(png.toByteArray()), ".png");
+        previewService.generatePreviews(name);
+        String large = previewService.previewName(name, 480).orElseThrow();
+        storage.storeAs(large, new ByteArrayInputStream("existant".getBytes(StandardCharsets.UTF_8)));
+        Files.delete(storage.resolve(previewService.previewName(name, 160).orElseThrow()).orElseThrow());
+
+        // Même contenu déposé à nouveau : seul l'aperçu manquant est produit
+        previewService.generatePreviews(storage.store(new ByteArrayInputStream(png.toByteArray()), ".png"));
+
+        assertThat(readPreview(name, 160).getWidth()).isEqualTo(160);
+        try (InputStream in = storage.find(large).orElseThrow().getResource().getInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("existant");
+        }
+    }
+
+    @Test
+    void shouldRenderFirstPageOfPdf() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        Document document = new Document();
+        PdfWriter.getInstance(document, pdf);
+        document.open();
+        document.add(new Paragraph("Justificatif de virement"));
+        document.close();
+        String name = storage.store(new ByteArrayInputStream(pdf.toByteArray()), ".pdf");
+
+        previewService.generatePreviews(name);
+
+        assertThat(readPreview(name, 480).getHeight()).isEqualTo(480);
+    }
+
+    @Test
+    void previewNameShouldOnlyApplyToContentAddressedOriginals() {
+        String hash = "a".repeat(64);
+
+        assertThat(previewService.previewName(hash + ".png", 160)).contains(hash + "-160.jpg");
+        assertThat(previewService.previewName(hash + ".png", 300)).isEmpty();
+        assertThat(previewService.previewName(hash + "-160.jpg", 160)).isEmpty();
+        assertThat(previewService.previewName(hash + ".webp", 160)).isEmpty();
+        assertThat(previewService.previewName("0f8fad5b-d9cb-469f-a165-70867728950e.jpg", 160)).isEmpty();
+    }
+
+    private BufferedImage readPreview(String name, int size) throws IOException {
+        StoredUpload preview = storage.find(previewService.previewName(name, size).orElseThrow()).orElseThrow();
+        try (InputStream in = preview.getResource().getInputStream()) {
+            return ImageIO.read(in);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package devtechly.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import devtechly.aop.observation.StatementCountingDataSource;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class StatementCountFilterTest {
+
+    /** Source de données sans base : chaque exécution réussit sans résultat */
+    private final DataSource dataSource = new StatementCountingDataSource(mock(DataSource.class, RETURNS_DEEP_STUBS));
+
+    @Test
+    void shouldExposeStatementsExecutedByTheRequest() throws Exception {
+        // Requêtes d'un appel précédent sur le même thread, hors de la requête mesurée
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("SELECT 1");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                try (Connection connection = dataSource.getConnection()) {
+                    PreparedStatement select = connection.prepareStatement("SELECT * FROM `ticket` WHERE `id` = ?");
+                    select.executeQuery();
+                    select.executeQuery();
+                    PreparedStatement insert = connection.prepareStatement("INSERT INTO `activity` VALUES (?)");
+                    insert.addBatch();
+                    insert.addBatch();
+                    insert.executeBatch();
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+                resp.getWriter().write("[]");
+            }
+        });
+
+        new StatementCountFilter().doFilter(new MockHttpServletRequest("GET", "/api/tickets"), response, chain);
+
+        assertThat(response.getHeader(StatementCountFilter.HEADER)).isEqualTo("3");
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    void shouldExposeZeroForRequestsWithoutBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new StatementCountFilter().doFilter(new MockHttpServletRequest("DELETE", "/api/tickets/1"), response, new MockFilterChain());
+
+        assertThat(response.getHeader(StatementCountFilter.HEADER)).isEqualTo("0");
+    }
+
+    @Test
+    void connectionProxiesShouldKeepIdentitySemantics() throws Exception {
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(dataSource.getConnection());
+        assertThat(connection.isWrapperFor(Connection.class)).isTrue();
+        assertThat(connection.unwrap(Connection.class)).isSameAs(connection);
+    }
+}
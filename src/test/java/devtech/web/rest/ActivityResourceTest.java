@@ -27,7 +27,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-@org.junit.jupiter.api.Disabled("Mockito initialization issue on this environment")
 @WebMvcTest(controllers = ActivityResource.class)
 @AutoConfigureMockMvc(addFilters = false)
 class ActivityResourceTest {
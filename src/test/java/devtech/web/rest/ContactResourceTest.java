@@ -19,7 +19,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-@org.junit.jupiter.api.Disabled("Mockito initialization issue on this environment")
 @WebMvcTest(controllers = ContactResource.class)
 @AutoConfigureMockMvc(addFilters = false)
 class ContactResourceTest {
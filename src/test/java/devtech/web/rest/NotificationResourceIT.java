@@ -0,0 +1,93 @@
+package devtechly.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import devtechly.IntegrationTest;
+import devtechly.domain.Notification;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link NotificationResource} REST controller.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(username = NotificationResourceIT.USER_LOGIN)
+@IntegrationTest
+class NotificationResourceIT {
+
+    static final String USER_LOGIN = "notification-budget-user";
+
+    private static final Instant CREATED = Instant.parse("2026-10-01T08:00:00Z");
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restNotificationMockMvc;
+
+    private Notification latest;
+
+    @BeforeEach
+    void initNotifications() {
+        createNotification(USER_LOGIN, 0, true);
+        createNotification(USER_LOGIN, 1, false);
+        latest = createNotification(USER_LOGIN, 2, false);
+        createNotification("notification-budget-other", 3, false);
+        em.flush();
+        em.clear();
+    }
+
+    private Notification createNotification(String userLogin, int minutes, boolean read) {
+        Notification notification = new Notification();
+        notification.setTitle("Ticket mis à jour");
+        notification.setMessage("Le statut du ticket a changé");
+        notification.setType("TICKET_UPDATED");
+        notification.setTimestamp(CREATED.plusSeconds(60L * minutes));
+        notification.setCreatedDate(CREATED.plusSeconds(60L * minutes));
+        notification.setRead(read);
+        notification.setUserLogin(userLogin);
+        em.persist(notification);
+        return notification;
+    }
+
+    @Test
+    @Transactional
+    void getAllNotifications_shouldListUserNotificationsWithinStatementBudget() throws Exception {
+        restNotificationMockMvc
+            .perform(get("/api/notifications").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].id").value(latest.getId()))
+            .andExpect(StatementBudget.atMost(3));
+    }
+
+    @Test
+    @Transactional
+    void getUnreadCount_shouldCountWithinStatementBudget() throws Exception {
+        restNotificationMockMvc
+            .perform(get("/api/notifications/unread-count").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().string("2"))
+            .andExpect(StatementBudget.atMost(3));
+    }
+
+    @Test
+    @Transactional
+    void getNotification_shouldLoadUserNotificationWithinStatementBudget() throws Exception {
+        restNotificationMockMvc
+            .perform(get("/api/notifications/{id}", latest.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(latest.getId()))
+            .andExpect(StatementBudget.atMost(3));
+    }
+}
@@ -0,0 +1,62 @@
+package devtechly.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import devtechly.IntegrationTest;
+import devtechly.security.AuthoritiesConstants;
+import java.sql.Date;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link PaiementResource} REST controller.
+ * <p>
+ * Seules les lectures qui ne chargent pas l'entité {@code Paiement} sont testées : le schéma Liquibase n'a pas encore
+ * les colonnes {@code date_paiement}, {@code methode_paiement}, {@code ticket_id}, {@code transaction_id} et
+ * {@code user_email} qu'elle mappe.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+class PaiementResourceIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc restPaiementMockMvc;
+
+    @Test
+    @Transactional
+    void getPaymentStats_shouldReadAggregatesWithinStatementBudget() throws Exception {
+        jdbcTemplate.update(
+            "INSERT INTO `payment_total` (`status`, `currency`, `payment_count`, `amount_total`) VALUES ('COMPLETED', 'TSB', 2, 350)"
+        );
+        jdbcTemplate.update(
+            "INSERT INTO `payment_total` (`status`, `currency`, `payment_count`, `amount_total`) VALUES ('PENDING', 'TSB', 1, 80)"
+        );
+        jdbcTemplate.update(
+            "INSERT INTO `payment_daily_total` (`status`, `currency`, `payment_day`, `payment_count`, `amount_total`) " +
+            "VALUES ('COMPLETED', 'TSB', ?, 1, 250)",
+            Date.valueOf(LocalDate.now())
+        );
+
+        // Deux lectures d'agrégats, quel que soit le nombre de paiements
+        restPaiementMockMvc
+            .perform(get("/api/paiements/stats").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.COMPLETED").value(2))
+            .andExpect(jsonPath("$.PENDING").value(1))
+            .andExpect(jsonPath("$.total").value(3))
+            .andExpect(jsonPath("$.todayCount").value(1))
+            .andExpect(StatementBudget.atMost(2));
+    }
+}
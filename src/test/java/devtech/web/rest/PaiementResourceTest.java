@@ -0,0 +1,49 @@
+package devtechly.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.config.ApplicationProperties;
+import devtechly.service.InvoiceArchiveService;
+import devtechly.service.dto.InvoiceArchiveJobDTO;
+import java.time.LocalDate;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class PaiementResourceTest {
+
+    private final InvoiceArchiveService invoiceArchiveService = new InvoiceArchiveService(
+        null,
+        null,
+        null,
+        null,
+        new ApplicationProperties()
+    ) {
+        @Override
+        public InvoiceArchiveJobDTO submit(LocalDate startDate, LocalDate endDate) {
+            throw new RejectedExecutionException("file des archives pleine");
+        }
+    };
+
+    private final PaiementResource paiementResource = new PaiementResource(null, null, invoiceArchiveService, null);
+
+    @AfterEach
+    void shutdown() {
+        invoiceArchiveService.shutdown();
+    }
+
+    @Test
+    void createFactureArchive_shouldAnswerServiceUnavailableWhenTheQueueIsFull() {
+        ResponseEntity<InvoiceArchiveJobDTO> response = paiementResource.createFactureArchive(
+            LocalDate.of(2026, 10, 1),
+            LocalDate.of(2026, 10, 31)
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+        assertThat(response.getBody()).isNull();
+    }
+}
@@ -0,0 +1,30 @@
+package devtechly.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import devtechly.web.filter.StatementCountFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Budget de requêtes SQL d'un appel REST, vérifié d'après l'en-tête {@value StatementCountFilter#HEADER} (activé par
+ * {@code application.observation.statement-count-header} dans la configuration de test).
+ * <p>
+ * Un budget dépassé signale en général une requête par ligne (N+1) :
+ * <pre>
+ * restMockMvc.perform(get("/api/tickets")).andExpect(status().isOk()).andExpect(StatementBudget.atMost(3));
+ * </pre>
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {}
+
+    public static ResultMatcher atMost(int budget) {
+        return result -> {
+            String header = result.getResponse().getHeader(StatementCountFilter.HEADER);
+            assertThat(header).as("en-tête %s", StatementCountFilter.HEADER).isNotNull();
+            assertThat(Long.parseLong(header))
+                .as("requêtes SQL de %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(budget);
+        };
+    }
+}
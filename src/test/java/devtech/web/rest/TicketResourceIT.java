@@ -0,0 +1,179 @@
+package devtechly.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import devtechly.IntegrationTest;
+import devtechly.domain.Ticket;
+import devtechly.domain.TicketMessage;
+import devtechly.security.AuthoritiesConstants;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.stat.SessionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link TicketResource} REST controller.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(username = TicketResourceIT.CLIENT_LOGIN)
+@IntegrationTest
+class TicketResourceIT {
+
+    static final String CLIENT_LOGIN = "ticket-summary-client";
+
+    private static final Instant CREATED = Instant.parse("2026-10-01T08:00:00Z");
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restTicketMockMvc;
+
+    private Ticket clientTicket;
+
+    private Ticket otherTicket;
+
+    @BeforeEach
+    void initTickets() {
+        clientTicket = createTicket(CLIENT_LOGIN);
+        addMessage(clientTicket, "Le paiement en ligne ne fonctionne plus", TicketMessage.AuthorType.CLIENT, false);
+        addMessage(clientTicket, "Nous regardons cela", TicketMessage.AuthorType.ADMIN, false);
+        addMessage(clientTicket, "Clé API expirée côté CMI", TicketMessage.AuthorType.ADMIN, true);
+        otherTicket = createTicket("ticket-summary-other");
+        em.flush();
+        // Résumés lus depuis la base, pas depuis les entités créées ci-dessus
+        em.clear();
+    }
+
+    private Ticket createTicket(String createdBy) {
+        Ticket ticket = new Ticket();
+        ticket.setType("Paiement");
+        ticket.setDescription("Paiement refusé");
+        ticket.setBackofficeUrl("https://shop.example.com/admin");
+        ticket.setBackofficeLogin("admin");
+        ticket.setBackofficePassword("secret");
+        ticket.setImageUrl("/uploads/capture.png");
+        ticket.setPaymentProofFilePath("/uploads/virement.pdf");
+        ticket.setCreatedBy(createdBy);
+        ticket.setCreatedDate(CREATED);
+        em.persist(ticket);
+        return ticket;
+    }
+
+    private void addMessage(Ticket ticket, String content, TicketMessage.AuthorType authorType, boolean internal) {
+        TicketMessage message = new TicketMessage(ticket, content, authorType, ticket.getCreatedBy());
+        message.setInternal(internal);
+        em.persist(message);
+    }
+
+    /**
+     * Ni ticket ni message ne doit passer par le contexte de persistance : la vue résumée est une projection.
+     */
+    private void assertNoTicketEntityLoaded() {
+        SessionStatistics statistics = em.unwrap(Session.class).getStatistics();
+        assertThat(statistics.getEntityKeys().stream().map(key -> ((EntityKey) key).getEntityName())).doesNotContain(
+            Ticket.class.getName(),
+            TicketMessage.class.getName()
+        );
+        assertThat(statistics.getCollectionKeys()).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void getTicketSummaries_shouldProjectClientTicketsWithoutMessagesOrAttachments() throws Exception {
+        restTicketMockMvc
+            .perform(get("/api/tickets?view=summary&sort=id,desc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(clientTicket.getId()))
+            .andExpect(jsonPath("$[0].type").value("Paiement"))
+            .andExpect(jsonPath("$[0].description").value("Paiement refusé"))
+            .andExpect(jsonPath("$[0].status").value("Nouveau"))
+            .andExpect(jsonPath("$[0].paymentStatus").value("PENDING"))
+            .andExpect(jsonPath("$[0].imageUrl").value("/uploads/capture.png"))
+            .andExpect(jsonPath("$[0].createdBy").value(CLIENT_LOGIN))
+            // Pas de compte utilisateur : le login sert de nom affiché
+            .andExpect(jsonPath("$[0].clientName").value(CLIENT_LOGIN))
+            .andExpect(jsonPath("$[0].createdDate").value(CREATED.toString()))
+            // La note interne n'est ni comptée ni résumée pour le client
+            .andExpect(jsonPath("$[0].messageCount").value(2))
+            .andExpect(jsonPath("$[0].lastMessageSnippet").value("Nous regardons cela"))
+            .andExpect(jsonPath("$[0].lastMessageDate").isNotEmpty())
+            .andExpect(jsonPath("$[0].messageStrings").doesNotExist())
+            .andExpect(jsonPath("$[0].paymentProofFileUrl").doesNotExist())
+            .andExpect(jsonPath("$[0].backofficeUrl").doesNotExist())
+            .andExpect(jsonPath("$[0].backofficeLogin").doesNotExist())
+            .andExpect(jsonPath("$[0].backofficePassword").doesNotExist())
+            .andExpect(StatementBudget.atMost(2));
+
+        assertNoTicketEntityLoaded();
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(username = "ticket-summary-admin", authorities = AuthoritiesConstants.ADMIN)
+    void getTicketSummaries_shouldCountInternalMessagesForAdmins() throws Exception {
+        restTicketMockMvc
+            .perform(get("/api/tickets?view=summary&sort=id,desc&size=100").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id").value(hasItem(otherTicket.getId().intValue())))
+            .andExpect(jsonPath("$[?(@.id == " + clientTicket.getId() + ")].messageCount").value(3))
+            .andExpect(jsonPath("$[?(@.id == " + clientTicket.getId() + ")].lastMessageSnippet").value("Clé API expirée côté CMI"))
+            .andExpect(jsonPath("$[?(@.id == " + otherTicket.getId() + ")].messageCount").value(0))
+            .andExpect(StatementBudget.atMost(2));
+
+        assertNoTicketEntityLoaded();
+    }
+
+    @Test
+    @Transactional
+    void getMyTickets_shouldLoadClientTicketsWithinStatementBudget() throws Exception {
+        restTicketMockMvc
+            .perform(get("/api/tickets?sort=id,desc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$[0].id").value(clientTicket.getId()))
+            .andExpect(jsonPath("$[0].messageStrings.length()").value(2))
+            .andExpect(StatementBudget.atMost(3));
+
+        // Pagination par clé : même chargement, sans comptage
+        restTicketMockMvc
+            .perform(get("/api/tickets?cursor=").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(clientTicket.getId()))
+            .andExpect(StatementBudget.atMost(3));
+    }
+
+    @Test
+    @Transactional
+    void getMyTickets_shouldRejectMalformedCursor() throws Exception {
+        restTicketMockMvc
+            .perform(get("/api/tickets?cursor=not-a-cursor").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getTicket_shouldLoadTicketAndMessagesWithinStatementBudget() throws Exception {
+        restTicketMockMvc
+            .perform(get("/api/tickets/{id}", clientTicket.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(clientTicket.getId()))
+            .andExpect(jsonPath("$.messageStrings.length()").value(2))
+            .andExpect(StatementBudget.atMost(3));
+    }
+}
@@ -247,6 +247,8 @@ class UserResourceIT {
         restUserMockMvc
             .perform(get("/api/admin/users?sort=id,desc").accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
+            // Page, total et droits de toute la page (BatchSize) : pas de requête par utilisateur
+            .andExpect(StatementBudget.atMost(2))
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].login").value(hasItem(DEFAULT_LOGIN)))
             .andExpect(jsonPath("$.[*].firstName").value(hasItem(DEFAULT_FIRSTNAME)))
@@ -266,6 +268,7 @@ class UserResourceIT {
         restUserMockMvc
             .perform(get("/api/admin/users/{login}", user.getLogin()))
             .andExpect(status().isOk())
+            .andExpect(StatementBudget.atMost(1))
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.login").value(user.getLogin()))
             .andExpect(jsonPath("$.firstName").value(DEFAULT_FIRSTNAME))
@@ -0,0 +1,106 @@
+package devtechly.benchmark;
+
+import devtechly.service.CmiSigner;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Vérification du hash d'une réponse CMI : {@link CmiSigner} face à l'implémentation précédente de
+ * {@code CmiPaymentService} (digest créé à chaque appel, hexadécimal octet par octet, {@code String.equals}).
+ * <p>
+ * Lancer avec {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=CmiSignerBenchmark}, puis comparer les
+ * colonnes {@code Score} et, avec {@code -Dbenchmark="CmiSignerBenchmark -prof gc"}, {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CmiSignerBenchmark {
+
+    private static final String STORE_KEY = "TEST123456789";
+
+    private static final String[] RESPONSE_FIELDS = { "clientid", "oid", "Response", "AuthCode", "ProcReturnCode", "TransId", "ErrMsg" };
+
+    private final CmiSigner signer = new CmiSigner(STORE_KEY);
+
+    private Map<String, String> response;
+
+    private String receivedHash;
+
+    @Setup
+    public void setUp() {
+        response = new HashMap<>();
+        response.put("clientid", "600000001");
+        response.put("oid", "ORD-1760745600-42");
+        response.put("Response", "Approved");
+        response.put("AuthCode", "P61234");
+        response.put("ProcReturnCode", "00");
+        response.put("TransId", "25291LxhC08942");
+        response.put("ErrMsg", "Approved");
+        receivedHash = legacyHash(response);
+    }
+
+    @Benchmark
+    public boolean legacyVerify() {
+        return legacyHash(response).equals(receivedHash);
+    }
+
+    @Benchmark
+    public boolean signerVerify() {
+        return signer.verifyResponse(response, receivedHash);
+    }
+
+    /**
+     * Copie de l'ancien {@code CmiPaymentService.verifyHash}, sans la gestion d'erreurs.
+     */
+    private static String legacyHash(Map<String, String> params) {
+        try {
+            StringBuilder hashString = new StringBuilder();
+            for (String param : RESPONSE_FIELDS) {
+                if (params.containsKey(param)) {
+                    hashString.append(params.get(param));
+                }
+            }
+            hashString.append(STORE_KEY);
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(hashString.toString().getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder hexString = new StringBuilder();
+            for (byte b : hash) {
+                String hex = Integer.toHexString(0xff & b);
+                if (hex.length() == 1) {
+                    hexString.append('0');
+                }
+                hexString.append(hex);
+            }
+            return hexString.toString().toUpperCase();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CmiSignerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package devtechly.benchmark;
+
+import static devtechly.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import devtechly.management.SecurityMetersService;
+import devtechly.security.CachedJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Débit du décodage d'un jeton d'API : {@link NimbusJwtDecoder} seul (signature HS512 et claims vérifiés à chaque
+ * appel) face à {@link CachedJwtDecoder}, pour un jeton présenté à chaque requête comme le fait le client.
+ * <p>
+ * Lancer avec {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=JwtDecoderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JwtDecoderBenchmark {
+
+    private NimbusJwtDecoder uncached;
+
+    private CachedJwtDecoder cached;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+        SecretKey key = new SecretKeySpec(secret, JWT_ALGORITHM.getName());
+        uncached = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(JWT_ALGORITHM).build();
+        uncached.setJwtValidator(new JwtTimestampValidator());
+        cached = new CachedJwtDecoder(uncached, new SecurityMetersService(new SimpleMeterRegistry()), 10_000, Clock.systemUTC());
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .subject("admin")
+            .issuedAt(now)
+            .expiresAt(now.plusSeconds(86_400))
+            .claim("auth", List.of("ROLE_ADMIN", "ROLE_USER"))
+            .claim("userId", 1L)
+            .build();
+        token = new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims))
+            .getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt uncachedDecode() {
+        return uncached.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cachedDecode() {
+        return cached.decode(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}